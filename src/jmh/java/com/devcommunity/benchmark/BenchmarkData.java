@@ -0,0 +1,109 @@
+package com.devcommunity.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.devcommunity.entity.Comment;
+import com.devcommunity.entity.Developer;
+import com.devcommunity.entity.Post;
+import com.devcommunity.entity.Response;
+import com.devcommunity.entity.Vote;
+import com.devcommunity.util.VoteType;
+
+/**
+ * Builds detached entity graphs shaped like the ones the post endpoints load
+ */
+final class BenchmarkData {
+
+	private BenchmarkData() {
+	}
+
+	static Developer developer(int id) {
+		Developer developer = new Developer();
+		developer.setId(id);
+		developer.setDevName("dev" + id);
+		developer.setDevSkill("java,spring");
+		developer.setMemberSince(LocalDate.of(2024, 1, 1));
+		developer.setReputation(id * 10);
+		developer.setListOfPosts(new ArrayList<>());
+		developer.setListOfResponses(new ArrayList<>());
+		developer.setListOfComments(new ArrayList<>());
+		developer.setListOfVotes(new ArrayList<>());
+		return developer;
+	}
+
+	/**
+	 * A post with the given number of responses, and that many comments and
+	 * votes on the post and on every response
+	 */
+	static Post post(int postId, int fanOut) {
+		Developer author = developer(1);
+		Post post = new Post();
+		post.setPostId(postId);
+		post.setQuery("How do I keep mapping off the allocation profile?");
+		post.setTopic("Java");
+		post.setPostDateTime(LocalDateTime.of(2024, 1, 1, 12, 0));
+		post.setDeveloper(author);
+		post.setUpVotes(fanOut);
+
+		List<Response> responses = new ArrayList<>(fanOut);
+		List<Comment> comments = new ArrayList<>(fanOut);
+		List<Vote> votes = new ArrayList<>(fanOut);
+		int id = postId * 10_000;
+		for (int i = 0; i < fanOut; i++) {
+			Developer developer = developer(i + 2);
+
+			Response response = new Response();
+			response.setRespId(++id);
+			response.setAnswer("Answer " + i);
+			response.setRespDateTime(post.getPostDateTime().plusMinutes(i));
+			response.setPost(post);
+			response.setDeveloper(developer);
+			List<Comment> responseComments = new ArrayList<>(fanOut);
+			List<Vote> responseVotes = new ArrayList<>(fanOut);
+			for (int j = 0; j < fanOut; j++) {
+				Comment comment = comment(++id, developer);
+				comment.setResponse(response);
+				responseComments.add(comment);
+				Vote vote = vote(++id, developer(j + 2), VoteType.UPVOTE);
+				vote.setResponse(response);
+				responseVotes.add(vote);
+			}
+			response.setListOfComments(responseComments);
+			response.setListOfVotes(responseVotes);
+			responses.add(response);
+
+			Comment comment = comment(++id, developer);
+			comment.setPost(post);
+			comment.setListOfVotes(new ArrayList<>());
+			comments.add(comment);
+
+			Vote vote = vote(++id, developer, i % 3 == 0 ? VoteType.DOWNVOTE : VoteType.UPVOTE);
+			vote.setPost(post);
+			votes.add(vote);
+		}
+		post.setResponses(responses);
+		post.setComments(comments);
+		post.setVotes(votes);
+		return post;
+	}
+
+	private static Comment comment(int commentId, Developer developer) {
+		Comment comment = new Comment();
+		comment.setCommentId(commentId);
+		comment.setText("Comment " + commentId);
+		comment.setCreatedDate(LocalDate.of(2024, 1, 2));
+		comment.setDeveloper(developer);
+		return comment;
+	}
+
+	private static Vote vote(int voteId, Developer developer, VoteType voteType) {
+		Vote vote = new Vote();
+		vote.setVoteId(voteId);
+		vote.setVoteType(voteType);
+		vote.setDeveloper(developer);
+		return vote;
+	}
+}
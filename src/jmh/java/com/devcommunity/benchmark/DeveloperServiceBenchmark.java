@@ -0,0 +1,68 @@
+package com.devcommunity.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.devcommunity.dto.DeveloperResponseDTO;
+import com.devcommunity.dto.DeveloperStatsDTO;
+import com.devcommunity.entity.Developer;
+import com.devcommunity.exception.DeveloperCommunityException;
+import com.devcommunity.mapper.DeveloperMapperImpl;
+import com.devcommunity.repository.IDevRepo;
+import com.devcommunity.service.impl.DeveloperServiceImpl;
+
+/**
+ * Builds a page of the developer directory from in-memory stats rows, which
+ * measures developerFieldSetterHelper (mapping and reputation) without a database
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeveloperServiceBenchmark {
+
+	@Param({ "100" })
+	public int developers;
+
+	private DeveloperServiceImpl developerService;
+
+	@Setup
+	public void setUp() {
+		List<DeveloperStatsDTO> all = new ArrayList<>(developers);
+		for (int i = 1; i <= developers; i++) {
+			Developer developer = BenchmarkData.developer(i);
+			all.add(new DeveloperStatsDTO(developer.getId(), developer.getDevName(), developer.getDevSkill(),
+					developer.getMemberSince(), developer.getReputation(), 20L, 20L, 20L, 20L));
+		}
+
+		IDevRepo devRepo = (IDevRepo) Proxy.newProxyInstance(IDevRepo.class.getClassLoader(),
+				new Class<?>[] { IDevRepo.class }, (proxy, method, args) -> {
+					if (method.getName().equals("findStatsPage")) {
+						return all;
+					}
+					throw new UnsupportedOperationException(method.getName());
+				});
+		developerService = new DeveloperServiceImpl(devRepo, null, new DeveloperMapperImpl(), null, null);
+	}
+
+	@Benchmark
+	public List<DeveloperResponseDTO> getAllDevelopers() throws DeveloperCommunityException {
+		return developerService.getAllDevelopers(0, developers, "id");
+	}
+}
@@ -0,0 +1,78 @@
+package com.devcommunity.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.devcommunity.service.JWTService;
+
+/**
+ * Token issuing and checking as done on login and by the JwtFilter on every
+ * authenticated request
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+	// 256 bit key, Base64 encoded, only used here
+	private static final String SECRET = "YmVuY2htYXJrLWtleS1ub3QtZm9yLXByb2R1Y3Rpb24tMTIzNDU2Nzg5MGFiYw==";
+
+	private JWTService jwtService;
+	private JWTService uncachedJwtService;
+	private UserDetails userDetails;
+	private String token;
+	private String[] alternatingTokens;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		jwtService = newService(10_000);
+		// with room for one entry, alternating between two tokens never hits the cache
+		uncachedJwtService = newService(1);
+		userDetails = User.withUsername("alice").password("unused").build();
+		token = jwtService.generateToken("alice");
+		alternatingTokens = new String[] { uncachedJwtService.generateToken("alice"),
+				uncachedJwtService.generateToken("bob") };
+	}
+
+	private static JWTService newService(int claimsCacheMaxSize) {
+		JWTService service = new JWTService();
+		ReflectionTestUtils.setField(service, "secretkey", SECRET);
+		ReflectionTestUtils.setField(service, "accessTokenExpiration", 900_000L);
+		ReflectionTestUtils.setField(service, "claimsCacheMaxSize", claimsCacheMaxSize);
+		service.init();
+		return service;
+	}
+
+	@Benchmark
+	public String generateToken() {
+		return jwtService.generateToken("alice");
+	}
+
+	@Benchmark
+	public boolean validateTokenCached() {
+		return jwtService.validateToken(token, userDetails);
+	}
+
+	@Benchmark
+	public String validateTokenUncached() {
+		next ^= 1;
+		return uncachedJwtService.getValidUserName(alternatingTokens[next]);
+	}
+}
@@ -0,0 +1,42 @@
+package com.devcommunity.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.devcommunity.util.PasswordPolicy;
+
+/**
+ * Password rule check on registration and password updates, against the
+ * String.matches call it replaced, which compiles the pattern every time
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordPolicyBenchmark {
+
+	@Param({ "Password@123", "password-without-rules" })
+	public String password;
+
+	@Benchmark
+	public boolean precompiled() {
+		return PasswordPolicy.isValid(password);
+	}
+
+	@Benchmark
+	public boolean stringMatches() {
+		return password.matches(PasswordPolicy.REGEX);
+	}
+}
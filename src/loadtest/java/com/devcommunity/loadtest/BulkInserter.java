@@ -0,0 +1,86 @@
+package com.devcommunity.loadtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Buffers rows and writes them as multi-row {@code INSERT ... VALUES (..), (..)}
+ * statements, one round trip per few hundred rows instead of one per entity.
+ * Rows are streamed, so millions of them never have to sit in memory at once.
+ */
+final class BulkInserter implements AutoCloseable {
+
+	/**
+	 * Stays well below the 65535 placeholders MySQL accepts per statement
+	 */
+	private static final int MAX_PARAMETERS = 10_000;
+	private static final int MAX_ROWS = 1000;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final String insertPrefix;
+	private final String rowPlaceholders;
+	private final int columns;
+	private final int rowsPerStatement;
+	private final String fullStatement;
+	private final List<Object> parameters = new ArrayList<>();
+	private long rows;
+
+	BulkInserter(JdbcTemplate jdbcTemplate, String table, String... columns) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.insertPrefix = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ";
+		this.rowPlaceholders = "(" + String.join(", ", Collections.nCopies(columns.length, "?")) + ")";
+		this.columns = columns.length;
+		this.rowsPerStatement = Math.min(MAX_ROWS, MAX_PARAMETERS / columns.length);
+		this.fullStatement = statement(rowsPerStatement);
+	}
+
+	void add(Object... row) {
+		if (row.length != columns) {
+			throw new IllegalArgumentException("Expected " + columns + " values but got " + row.length);
+		}
+		for (Object value : row) {
+			parameters.add(value);
+		}
+		rows++;
+		if (parameters.size() == rowsPerStatement * columns) {
+			flush();
+		}
+	}
+
+	/**
+	 * @return rows added so far, including the ones still buffered
+	 */
+	long rows() {
+		return rows;
+	}
+
+	@Override
+	public void close() {
+		flush();
+	}
+
+	private void flush() {
+		if (parameters.isEmpty()) {
+			return;
+		}
+		int buffered = parameters.size() / columns;
+		String sql = buffered == rowsPerStatement ? fullStatement : statement(buffered);
+		jdbcTemplate.update(sql, parameters.toArray());
+		parameters.clear();
+	}
+
+	private String statement(int rowCount) {
+		StringBuilder sql = new StringBuilder(insertPrefix.length() + rowCount * (rowPlaceholders.length() + 2))
+				.append(insertPrefix);
+		for (int i = 0; i < rowCount; i++) {
+			if (i > 0) {
+				sql.append(", ");
+			}
+			sql.append(rowPlaceholders);
+		}
+		return sql.toString();
+	}
+}
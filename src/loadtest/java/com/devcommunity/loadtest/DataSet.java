@@ -0,0 +1,66 @@
+package com.devcommunity.loadtest;
+
+import java.util.Random;
+
+/**
+ * Id ranges of the generated rows. Ids are assigned by the database in insert
+ * order, so every range is contiguous. Random ids follow the same Zipf
+ * popularity the data was generated with, so the load hits the same hot posts
+ * and authors that collected most of the content.
+ */
+final class DataSet {
+
+	private final IdRange developers;
+	private final IdRange posts;
+	private final IdRange responses;
+	private final IdRange comments;
+
+	/**
+	 * @param responses null when no responses were generated, same for comments
+	 */
+	DataSet(IdRange developers, IdRange posts, IdRange responses, IdRange comments) {
+		this.developers = developers;
+		this.posts = posts;
+		this.responses = responses;
+		this.comments = comments;
+	}
+
+	int users() {
+		return developers.count();
+	}
+
+	int posts() {
+		return posts.count();
+	}
+
+	int responses() {
+		return responses == null ? 0 : responses.count();
+	}
+
+	int comments() {
+		return comments == null ? 0 : comments.count();
+	}
+
+	/**
+	 * Developers share the id of their user
+	 */
+	int userId(int index) {
+		return developers.idAt(index);
+	}
+
+	int randomDeveloperId(Random random) {
+		return developers.next(random);
+	}
+
+	int randomPostId(Random random) {
+		return posts.next(random);
+	}
+
+	int randomResponseId(Random random) {
+		return responses == null ? 0 : responses.next(random);
+	}
+
+	int randomCommentId(Random random) {
+		return comments == null ? 0 : comments.next(random);
+	}
+}
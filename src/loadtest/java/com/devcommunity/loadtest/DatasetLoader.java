@@ -0,0 +1,83 @@
+package com.devcommunity.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.devcommunity.BackendApplication;
+import com.devcommunity.repository.IdAllocationTable;
+import com.devcommunity.service.DeveloperSkillIndex;
+import com.devcommunity.service.PasswordHasher;
+import com.devcommunity.service.PostSearchIndex;
+import com.devcommunity.service.ReputationLeaderboard;
+import com.devcommunity.service.ReputationService;
+import com.devcommunity.service.VoteTallyService;
+
+/**
+ * Loads a synthetic dataset into a real database, e.g. to warm up a staging
+ * environment before measuring it. The application is started against that
+ * database only to reuse its schema and to rebuild the vote counters,
+ * reputation and search index once the rows are in.
+ * <p>
+ * Generator settings are key=value arguments, see {@link LoadTestOptions};
+ * arguments starting with {@code --} go to Spring, e.g.
+ * {@code mvn -Ploadtest verify -Dloadtest.main=com.devcommunity.loadtest.DatasetLoader
+ * -Dloadtest.args="posts=500000 votes=5000000 --spring.datasource.url=jdbc:mysql://staging:3306/devcommunity"}
+ */
+public final class DatasetLoader {
+
+	private static final Logger logger = LoggerFactory.getLogger(DatasetLoader.class);
+
+	private DatasetLoader() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		List<String> generatorArgs = new ArrayList<>();
+		List<String> springArgs = new ArrayList<>();
+		for (String arg : args) {
+			(arg.startsWith("--") ? springArgs : generatorArgs).add(arg);
+		}
+		LoadTestOptions options = new LoadTestOptions(generatorArgs.toArray(new String[0]));
+		System.setProperty("spring.devtools.restart.enabled", "false");
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendApplication.class)
+				.properties("server.port=0").run(springArgs.toArray(new String[0]));
+		try {
+			populate(context, options);
+		} finally {
+			context.close();
+		}
+	}
+
+	/**
+	 * Generates the rows and brings every derived value of the running
+	 * application up to date with them.
+	 */
+	static DataSet populate(ConfigurableApplicationContext context, LoadTestOptions options)
+			throws InterruptedException {
+		PostSearchIndex searchIndex = context.getBean(PostSearchIndex.class);
+		DeveloperSkillIndex skillIndex = context.getBean(DeveloperSkillIndex.class);
+		// the indexes load themselves on startup, wait for that so they cannot overwrite the rebuild below
+		while (!searchIndex.isReady() || !skillIndex.isReady()) {
+			Thread.sleep(50);
+		}
+
+		String passwordHash = context.getBean(PasswordHasher.class).encode(SyntheticDataGenerator.PASSWORD);
+		DataSet data = new SyntheticDataGenerator(context.getBean(JdbcTemplate.class),
+				context.getBean(IdAllocationTable.class), options.seed())
+				.generate(options, passwordHash);
+		long start = System.nanoTime();
+		context.getBean(VoteTallyService.class).rebuildAll();
+		context.getBean(ReputationService.class).rebuildAll();
+		searchIndex.rebuild();
+		skillIndex.rebuild();
+		context.getBean(ReputationLeaderboard.class).rebuild();
+		logger.info("Rebuilt counters, reputation, indexes and leaderboard in {} ms",
+				(System.nanoTime() - start) / 1_000_000);
+		return data;
+	}
+}
@@ -0,0 +1,60 @@
+package com.devcommunity.loadtest;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+/**
+ * Contiguous block of generated ids with a Zipf popularity over it. Ranks are
+ * spread over the block with a fixed stride, so the most popular rows are not
+ * simply the oldest ones.
+ */
+final class IdRange {
+
+	private final int first;
+	private final ZipfSampler sampler;
+	private final long stride;
+
+	IdRange(int first, int count, double skew) {
+		this.first = first;
+		this.sampler = new ZipfSampler(count, skew);
+		this.stride = strideFor(count);
+	}
+
+	int count() {
+		return sampler.count();
+	}
+
+	/**
+	 * @return id of the row with the given popularity rank, 0 being the most popular
+	 */
+	int idOf(int rank) {
+		return first + (int) (rank * stride % sampler.count());
+	}
+
+	/**
+	 * @return id of the row at the given insert position
+	 */
+	int idAt(int index) {
+		return first + index;
+	}
+
+	int nextRank(Random random) {
+		return sampler.nextRank(random);
+	}
+
+	int next(Random random) {
+		return idOf(nextRank(random));
+	}
+
+	/**
+	 * Stride near the golden ratio of the range that shares no factor with it,
+	 * which makes rank to position a permutation
+	 */
+	private static long strideFor(int count) {
+		long stride = Math.max(1, Math.round(count * 0.618));
+		while (!BigInteger.valueOf(stride).gcd(BigInteger.valueOf(count)).equals(BigInteger.ONE)) {
+			stride++;
+		}
+		return stride;
+	}
+}
@@ -0,0 +1,79 @@
+package com.devcommunity.loadtest;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Collects response times per endpoint. Each worker thread owns a recorder, so
+ * recording needs no locking; the recorders are merged once the run is over.
+ */
+final class LatencyRecorder {
+
+	private final Map<String, Samples> samples = new TreeMap<>();
+
+	void record(String endpoint, long nanos, boolean error) {
+		samples.computeIfAbsent(endpoint, e -> new Samples()).add(nanos, error);
+	}
+
+	static Map<String, Samples> merge(Collection<LatencyRecorder> recorders) {
+		Map<String, Samples> merged = new TreeMap<>();
+		for (LatencyRecorder recorder : recorders) {
+			recorder.samples.forEach((endpoint, s) -> merged.computeIfAbsent(endpoint, e -> new Samples()).addAll(s));
+		}
+		return merged;
+	}
+
+	static final class Samples {
+		private long[] nanos = new long[1024];
+		private int count;
+		private int errors;
+		private boolean sorted;
+
+		private void add(long value, boolean error) {
+			if (count == nanos.length) {
+				nanos = Arrays.copyOf(nanos, count * 2);
+			}
+			nanos[count++] = value;
+			if (error) {
+				errors++;
+			}
+			sorted = false;
+		}
+
+		private void addAll(Samples other) {
+			for (int i = 0; i < other.count; i++) {
+				add(other.nanos[i], false);
+			}
+			errors += other.errors;
+		}
+
+		int count() {
+			return count;
+		}
+
+		int errors() {
+			return errors;
+		}
+
+		/**
+		 * Nearest-rank percentile in milliseconds
+		 */
+		double percentileMillis(double percentile) {
+			if (count == 0) {
+				return 0;
+			}
+			if (!sorted) {
+				Arrays.sort(nanos, 0, count);
+				sorted = true;
+			}
+			int rank = (int) Math.ceil(percentile / 100.0 * count);
+			return nanos[Math.max(0, Math.min(count, rank) - 1)] / 1_000_000.0;
+		}
+
+		double maxMillis() {
+			return percentileMillis(100);
+		}
+	}
+}
@@ -0,0 +1,211 @@
+package com.devcommunity.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.devcommunity.loadtest.LatencyRecorder.Samples;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Closed-loop load generator: every worker thread sends one request, waits for
+ * the answer and immediately sends the next one. Requests are drawn from a
+ * weighted mix of read and write endpoints; samples taken during the warmup
+ * are discarded.
+ */
+final class LoadDriver {
+
+	private static final Logger logger = LoggerFactory.getLogger(LoadDriver.class);
+
+	private static final int VOTES_PER_BATCH = 50;
+
+	private static final String[] KEYWORDS = { "java", "spring", "transaction", "cache", "index", "docker", "token",
+			"batch" };
+
+	private final URI baseUri;
+	private final DataSet data;
+	private final LoadTestOptions options;
+	private final HttpClient client;
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final List<Endpoint> reads = new ArrayList<>();
+	private final List<Endpoint> writes = new ArrayList<>();
+
+	LoadDriver(URI baseUri, DataSet data, LoadTestOptions options) {
+		this.baseUri = baseUri;
+		this.data = data;
+		this.options = options;
+		this.client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(5)).build();
+
+		reads.add(new Endpoint("GET /api/posts/feed", 30, r -> get("/api/posts/feed?size=20")));
+		reads.add(new Endpoint("GET /api/posts/{id}", 25, r -> get("/api/posts/" + data.randomPostId(r))));
+		reads.add(new Endpoint("GET /api/posts/topic/{keyword}", 10,
+				r -> get("/api/posts/topic/" + URLEncoder.encode(KEYWORDS[r.nextInt(KEYWORDS.length)], StandardCharsets.UTF_8))));
+		reads.add(new Endpoint("GET /api/dev/{id}", 10, r -> get("/api/dev/" + data.randomDeveloperId(r))));
+		reads.add(new Endpoint("GET /api/votes/getVotesByPostId/{id}", 10,
+				r -> get("/api/votes/getVotesByPostId/" + data.randomPostId(r))));
+		// answers 400 for posts without comments, which shows up in the error column
+		reads.add(new Endpoint("GET /api/comments/post/{id}", 10,
+				r -> get("/api/comments/post/" + data.randomPostId(r))));
+		reads.add(new Endpoint("GET /api/dev/all", 3, r -> get("/api/dev/all?sort=reputation&page=" + r.nextInt(10))));
+		reads.add(new Endpoint("GET /api/dev/leaderboard/{id}", 2,
+				r -> get("/api/dev/leaderboard/" + data.randomDeveloperId(r))));
+
+		writes.add(new Endpoint("POST /api/votes/addVote", 40, r -> post("/api/votes/addVote", voteBody(r))));
+		writes.add(new Endpoint("POST /api/comments/add", 25, r -> post("/api/comments/add",
+				"{\"text\":\"load test comment\",\"developerId\":" + data.randomDeveloperId(r) + ",\"postId\":"
+						+ data.randomPostId(r) + "}")));
+		writes.add(new Endpoint("POST /api/posts/", 15, r -> post("/api/posts/",
+				"{\"query\":\"load test question " + r.nextInt(1000) + "\",\"topic\":\"Java\",\"developerId\":"
+						+ data.randomDeveloperId(r) + "}")));
+		writes.add(new Endpoint("POST /api/responses/", 15, r -> post("/api/responses/",
+				"{\"answer\":\"load test answer\",\"postId\":" + data.randomPostId(r) + ",\"developerId\":"
+						+ data.randomDeveloperId(r) + "}")));
+		writes.add(new Endpoint("POST /api/votes/buffered", 5, r -> post("/api/votes/buffered", voteBody(r))));
+		writes.add(new Endpoint("POST /api/votes/batch", 2, r -> post("/api/votes/batch", voteBatchBody(r))));
+	}
+
+	/**
+	 * Logs in the first users of the data set, the login latencies are part of the report
+	 */
+	List<String> login(LatencyRecorder recorder) throws IOException, InterruptedException {
+		List<String> tokens = new ArrayList<>(options.sessions());
+		for (int i = 0; i < options.sessions(); i++) {
+			HttpRequest request = post("/api/auth/login", "{\"username\":\"" + SyntheticDataGenerator.username(i)
+					+ "\",\"password\":\"" + SyntheticDataGenerator.PASSWORD + "\"}").build();
+			long start = System.nanoTime();
+			HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+			recorder.record("POST /api/auth/login", System.nanoTime() - start, response.statusCode() >= 400);
+			if (response.statusCode() != 200) {
+				throw new IllegalStateException("Login failed with " + response.statusCode() + ": " + response.body());
+			}
+			tokens.add(objectMapper.readTree(response.body()).get("accessToken").asText());
+		}
+		return tokens;
+	}
+
+	Map<String, Samples> run(List<String> tokens, LatencyRecorder loginRecorder) throws Exception {
+		long warmupEnd = System.nanoTime() + options.warmupSeconds() * 1_000_000_000L;
+		long end = warmupEnd + options.durationSeconds() * 1_000_000_000L;
+
+		ExecutorService workers = Executors.newFixedThreadPool(options.threads());
+		List<Future<LatencyRecorder>> results = new ArrayList<>();
+		for (int i = 0; i < options.threads(); i++) {
+			long seed = options.seed() + i;
+			results.add(workers.submit(() -> work(new Random(seed), tokens, warmupEnd, end)));
+		}
+		workers.shutdown();
+
+		List<LatencyRecorder> recorders = new ArrayList<>();
+		recorders.add(loginRecorder);
+		for (Future<LatencyRecorder> result : results) {
+			recorders.add(result.get());
+		}
+		return LatencyRecorder.merge(recorders);
+	}
+
+	private LatencyRecorder work(Random random, List<String> tokens, long warmupEnd, long end) {
+		LatencyRecorder recorder = new LatencyRecorder();
+		double writeShare = options.mix().writeShare();
+		while (true) {
+			Endpoint endpoint = Endpoint.pick(random.nextDouble() < writeShare ? writes : reads, random);
+			HttpRequest request = endpoint.request(random)
+					.header("Authorization", "Bearer " + tokens.get(random.nextInt(tokens.size()))).build();
+			long start = System.nanoTime();
+			if (start >= end) {
+				return recorder;
+			}
+			boolean error;
+			try {
+				error = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() >= 400;
+			} catch (IOException e) {
+				logger.debug("{} failed", endpoint.name, e);
+				error = true;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return recorder;
+			}
+			if (start >= warmupEnd) {
+				recorder.record(endpoint.name, System.nanoTime() - start, error);
+			}
+		}
+	}
+
+	private String voteBody(Random random) {
+		String voteType = random.nextInt(4) == 0 ? "DOWNVOTE" : "UPVOTE";
+		String target = random.nextInt(3) == 0 && data.responses() > 0
+				? "\"respId\":" + data.randomResponseId(random)
+				: "\"postId\":" + data.randomPostId(random);
+		return "{\"voteType\":\"" + voteType + "\",\"developerId\":" + data.randomDeveloperId(random) + "," + target
+				+ "}";
+	}
+
+	// a queue of votes replayed by a client that was offline
+	private String voteBatchBody(Random random) {
+		StringJoiner items = new StringJoiner(",", "{\"items\":[", "]}");
+		for (int i = 0; i < VOTES_PER_BATCH; i++) {
+			items.add(voteBody(random));
+		}
+		return items.toString();
+	}
+
+	private HttpRequest.Builder get(String path) {
+		return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(Duration.ofSeconds(30)).GET();
+	}
+
+	private HttpRequest.Builder post(String path, String json) {
+		return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(Duration.ofSeconds(30))
+				.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(json));
+	}
+
+	private interface RequestFactory {
+		HttpRequest.Builder build(Random random);
+	}
+
+	private static final class Endpoint {
+		private final String name;
+		private final int weight;
+		private final RequestFactory factory;
+
+		private Endpoint(String name, int weight, RequestFactory factory) {
+			this.name = name;
+			this.weight = weight;
+			this.factory = factory;
+		}
+
+		private HttpRequest.Builder request(Random random) {
+			return factory.build(random);
+		}
+
+		private static Endpoint pick(List<Endpoint> endpoints, Random random) {
+			int total = 0;
+			for (Endpoint endpoint : endpoints) {
+				total += endpoint.weight;
+			}
+			int roll = random.nextInt(total);
+			for (Endpoint endpoint : endpoints) {
+				roll -= endpoint.weight;
+				if (roll < 0) {
+					return endpoint;
+				}
+			}
+			return endpoints.get(endpoints.size() - 1);
+		}
+	}
+}
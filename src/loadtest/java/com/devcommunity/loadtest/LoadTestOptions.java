@@ -0,0 +1,141 @@
+package com.devcommunity.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings of a load test run, given as key=value arguments, e.g.
+ * {@code posts=20000 threads=32 duration=60 mix=balanced}
+ */
+final class LoadTestOptions {
+
+	private final Map<String, String> values = new LinkedHashMap<>();
+
+	LoadTestOptions(String[] args) {
+		values.put("users", "200");
+		values.put("posts", "2000");
+		values.put("responses", "6000");
+		values.put("comments", "8000");
+		values.put("votes", "20000");
+		values.put("skew", "1.0");
+		values.put("sessions", "20");
+		values.put("threads", "16");
+		values.put("warmup", "5");
+		values.put("duration", "30");
+		values.put("mix", "read-heavy");
+		values.put("seed", "42");
+		values.put("report", "target/loadtest-report.csv");
+		for (String arg : args) {
+			String trimmed = arg.startsWith("--") ? arg.substring(2) : arg;
+			int separator = trimmed.indexOf('=');
+			if (separator <= 0 || !values.containsKey(trimmed.substring(0, separator))) {
+				throw new IllegalArgumentException("Unknown argument '" + arg + "', expected one of " + values.keySet());
+			}
+			values.put(trimmed.substring(0, separator), trimmed.substring(separator + 1));
+		}
+	}
+
+	int users() {
+		return positive("users");
+	}
+
+	int posts() {
+		return positive("posts");
+	}
+
+	int responses() {
+		return count("responses");
+	}
+
+	int comments() {
+		return count("comments");
+	}
+
+	int votes() {
+		return count("votes");
+	}
+
+	/**
+	 * Zipf exponent of authorship, topics and targets, 0 spreads them uniformly
+	 */
+	double skew() {
+		double value = Double.parseDouble(values.get("skew"));
+		if (value < 0) {
+			throw new IllegalArgumentException("skew must not be negative");
+		}
+		return value;
+	}
+
+	/**
+	 * Number of users that log in before the run, their tokens are shared by the workers
+	 */
+	int sessions() {
+		return Math.min(positive("sessions"), users());
+	}
+
+	int threads() {
+		return positive("threads");
+	}
+
+	int warmupSeconds() {
+		return count("warmup");
+	}
+
+	int durationSeconds() {
+		return positive("duration");
+	}
+
+	Mix mix() {
+		return Mix.of(values.get("mix"));
+	}
+
+	long seed() {
+		return Long.parseLong(values.get("seed"));
+	}
+
+	String report() {
+		return values.get("report");
+	}
+
+	@Override
+	public String toString() {
+		return values.toString();
+	}
+
+	private int count(String key) {
+		int value = Integer.parseInt(values.get(key));
+		if (value < 0) {
+			throw new IllegalArgumentException(key + " must not be negative");
+		}
+		return value;
+	}
+
+	private int positive(String key) {
+		int value = count(key);
+		if (value == 0) {
+			throw new IllegalArgumentException(key + " must be positive");
+		}
+		return value;
+	}
+
+	/**
+	 * Share of write requests in the traffic
+	 */
+	enum Mix {
+		READ_HEAVY(0.1), BALANCED(0.3), WRITE_HEAVY(0.6);
+
+		private final double writeShare;
+
+		Mix(double writeShare) {
+			this.writeShare = writeShare;
+		}
+
+		double writeShare() {
+			return writeShare;
+		}
+
+		static Mix of(String name) {
+			return valueOf(name.trim().toUpperCase().replace('-', '_'));
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package com.devcommunity.loadtest;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.devcommunity.BackendApplication;
+import com.devcommunity.loadtest.LatencyRecorder.Samples;
+
+/**
+ * Starts the application on a random port against an in-memory database,
+ * generates synthetic data, drives the real controllers over HTTP and reports
+ * latency percentiles and throughput per endpoint.
+ * <p>
+ * Run with {@code mvn -Ploadtest verify -Dloadtest.args="posts=20000 threads=32"},
+ * see {@link LoadTestOptions} for all settings.
+ */
+public final class LoadTestRunner {
+
+	private static final Logger logger = LoggerFactory.getLogger(LoadTestRunner.class);
+
+	private LoadTestRunner() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		LoadTestOptions options = new LoadTestOptions(args);
+		// a devtools restart would run main again in a new class loader, without the arguments
+		System.setProperty("spring.devtools.restart.enabled", "false");
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendApplication.class)
+				.profiles("loadtest").run();
+		try {
+			int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+			DataSet data = DatasetLoader.populate(context, options);
+
+			LoadDriver driver = new LoadDriver(URI.create("http://localhost:" + port), data, options);
+			LatencyRecorder loginRecorder = new LatencyRecorder();
+			logger.info("Running {} threads for {} s after {} s warmup", options.threads(), options.durationSeconds(),
+					options.warmupSeconds());
+			Map<String, Samples> results = driver.run(driver.login(loginRecorder), loginRecorder);
+
+			report(results, options);
+		} finally {
+			context.close();
+		}
+	}
+
+	private static void report(Map<String, Samples> results, LoadTestOptions options) throws IOException {
+		String header = String.format(Locale.ROOT, "%-40s %9s %7s %9s %9s %9s %9s %9s", "endpoint", "requests",
+				"errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+		StringBuilder table = new StringBuilder(System.lineSeparator()).append(header).append(System.lineSeparator());
+		Path reportPath = Paths.get(options.report());
+		if (reportPath.getParent() != null) {
+			Files.createDirectories(reportPath.getParent());
+		}
+		long total = 0;
+		try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(reportPath, StandardCharsets.UTF_8))) {
+			csv.println("endpoint,requests,errors,requests_per_second,p50_ms,p95_ms,p99_ms,max_ms");
+			for (Map.Entry<String, Samples> entry : results.entrySet()) {
+				Samples samples = entry.getValue();
+				total += samples.count();
+				double throughput = (double) samples.count() / options.durationSeconds();
+				table.append(String.format(Locale.ROOT, "%-40s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f", entry.getKey(),
+						samples.count(), samples.errors(), throughput, samples.percentileMillis(50),
+						samples.percentileMillis(95), samples.percentileMillis(99), samples.maxMillis()))
+						.append(System.lineSeparator());
+				csv.printf(Locale.ROOT, "%s,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f%n", entry.getKey(), samples.count(),
+						samples.errors(), throughput, samples.percentileMillis(50), samples.percentileMillis(95),
+						samples.percentileMillis(99), samples.maxMillis());
+			}
+		}
+		table.append(String.format(Locale.ROOT, "%-40s %9d %7s %9.1f", "total", total, "",
+				(double) total / options.durationSeconds()));
+		logger.info("Results for {}{}", options, table);
+		logger.info("Report written to {}", reportPath.toAbsolutePath());
+	}
+}
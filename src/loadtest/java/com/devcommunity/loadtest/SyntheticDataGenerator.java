@@ -0,0 +1,214 @@
+package com.devcommunity.loadtest;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.devcommunity.repository.IdAllocationTable;
+import com.devcommunity.util.VoteType;
+
+/**
+ * Fills the schema with users, developers, posts, responses, comments and
+ * votes through multi-row inserts, bypassing the entity save() path. Posts,
+ * responses and comments take a block of ids from the id allocation table, so
+ * the application keeps handing out fresh ids after the load. Authors,
+ * topics, answered posts and vote targets follow a Zipf distribution with the
+ * configured skew, so a handful of developers write most of the content and a
+ * handful of posts collect most of the answers and votes. Every user logs in
+ * with {@link #PASSWORD}.
+ */
+final class SyntheticDataGenerator {
+
+	private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+	static final String PASSWORD = "Password@123";
+
+	/**
+	 * Ordered by popularity, the first topic is picked most often
+	 */
+	private static final String[] TOPICS = { "Java", "Spring", "MySQL", "Hibernate", "Security", "Docker", "Testing",
+			"React", "Performance", "Kubernetes", "Kotlin", "Python", "Microservices", "Kafka", "Redis", "Gradle",
+			"Maven", "Linux", "Git", "AWS" };
+	private static final String[] WORDS = { "how", "why", "configure", "transaction", "stream", "index", "query",
+			"cache", "thread", "pool", "lazy", "loading", "mapping", "token", "deploy", "container", "join", "batch",
+			"latency", "memory", "garbage", "collector", "bean", "proxy", "annotation", "test", "mock", "schema" };
+	private static final String[] SKILLS = { "java", "spring", "sql", "docker", "react", "kotlin", "python", "go" };
+
+	private final JdbcTemplate jdbcTemplate;
+	private final IdAllocationTable idAllocation;
+	private final Random random;
+	private final LocalDateTime now = LocalDateTime.now();
+
+	SyntheticDataGenerator(JdbcTemplate jdbcTemplate, IdAllocationTable idAllocation, long seed) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.idAllocation = idAllocation;
+		this.random = new Random(seed);
+	}
+
+	/**
+	 * Adds the rows next to whatever the tables already contain, as long as no
+	 * earlier run left its users behind.
+	 *
+	 * @param passwordHash hash of {@link #PASSWORD}, computed once and shared by all users
+	 */
+	DataSet generate(LoadTestOptions options, String passwordHash) {
+		long start = System.nanoTime();
+		Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user WHERE username = ?", Integer.class,
+				username(0));
+		if (existing != null && existing > 0) {
+			throw new IllegalStateException("Synthetic users already exist, start from a fresh schema");
+		}
+		double skew = options.skew();
+		ZipfSampler topics = new ZipfSampler(TOPICS.length, skew);
+
+		int firstUserId = insert("user", "id", options.users(), rows -> {
+			for (int i = 0; i < options.users(); i++) {
+				rows.add(username(i), passwordHash);
+			}
+		}, "username", "password");
+		IdRange developers = new IdRange(firstUserId, options.users(), skew);
+		try (BulkInserter rows = new BulkInserter(jdbcTemplate, "developer", "id", "dev_name", "dev_skill",
+				"member_since", "reputation")) {
+			for (int i = 0; i < options.users(); i++) {
+				rows.add(developers.idAt(i), "Developer " + i, skills(),
+						Date.valueOf(LocalDate.now().minusDays(random.nextInt(1000))), 0);
+			}
+		}
+
+		IdRange posts = new IdRange(idAllocation.reserve(IdAllocationTable.POST, options.posts()), options.posts(),
+				skew);
+		try (BulkInserter rows = new BulkInserter(jdbcTemplate, "post", "post_id", "query", "topic",
+				"post_date_time", "developer_id", "up_votes", "down_votes")) {
+			for (int i = 0; i < options.posts(); i++) {
+				rows.add(posts.idAt(i), sentence(8), TOPICS[topics.nextRank(random)], pastTimestamp(),
+						developers.next(random), 0, 0);
+			}
+		}
+
+		IdRange responses = null;
+		if (options.responses() > 0) {
+			responses = new IdRange(idAllocation.reserve(IdAllocationTable.RESPONSE, options.responses()),
+					options.responses(), skew);
+			try (BulkInserter rows = new BulkInserter(jdbcTemplate, "response", "resp_id", "answer",
+					"resp_date_time", "post_id", "developer_id", "up_votes", "down_votes")) {
+				for (int i = 0; i < options.responses(); i++) {
+					rows.add(responses.idAt(i), sentence(20), pastTimestamp(), posts.next(random),
+							developers.next(random), 0, 0);
+				}
+			}
+		}
+
+		IdRange comments = null;
+		if (options.comments() > 0) {
+			comments = new IdRange(idAllocation.reserve(IdAllocationTable.COMMENT, options.comments()),
+					options.comments(), skew);
+			try (BulkInserter rows = new BulkInserter(jdbcTemplate, "comment", "comment_id", "text", "created_date",
+					"post_id", "response_id", "developer_id", "up_votes", "down_votes")) {
+				for (int i = 0; i < options.comments(); i++) {
+					boolean onResponse = responses != null && random.nextBoolean();
+					rows.add(comments.idAt(i), sentence(10), Date.valueOf(now.toLocalDate()),
+							onResponse ? null : posts.next(random), onResponse ? responses.next(random) : null,
+							developers.next(random), 0, 0);
+				}
+			}
+		}
+
+		DataSet dataSet = new DataSet(developers, posts, responses, comments);
+		long votes = insertVotes(dataSet, developers, options.votes());
+
+		logger.info("Generated {} with {} votes in {} ms", options, votes, (System.nanoTime() - start) / 1_000_000);
+		return dataSet;
+	}
+
+	static String username(int index) {
+		return "loaduser" + index;
+	}
+
+	/**
+	 * Spreads the votes over developers with the Zipf skew, then lets every
+	 * developer vote on distinct targets, as the unique keys of the votes table
+	 * require. Only one developer's targets are remembered at a time.
+	 */
+	private long insertVotes(DataSet dataSet, IdRange developers, int count) {
+		int[] votesPerRank = new int[developers.count()];
+		for (int i = 0; i < count; i++) {
+			votesPerRank[developers.nextRank(random)]++;
+		}
+		try (BulkInserter rows = new BulkInserter(jdbcTemplate, "votes", "vote_type", "developer_id", "post_id",
+				"response_id", "comment_id")) {
+			for (int rank = 0; rank < votesPerRank.length; rank++) {
+				int developerId = developers.idOf(rank);
+				Set<Long> targets = new HashSet<>();
+				for (int attempts = 0; targets.size() < votesPerRank[rank]
+						&& attempts < votesPerRank[rank] * 10; attempts++) {
+					Integer postId = null;
+					Integer responseId = null;
+					Integer commentId = null;
+					int target = random.nextInt(10);
+					if (target < 5 || (dataSet.responses() == 0 && dataSet.comments() == 0)) {
+						postId = dataSet.randomPostId(random);
+					} else if ((target < 8 && dataSet.responses() > 0) || dataSet.comments() == 0) {
+						responseId = dataSet.randomResponseId(random);
+					} else {
+						commentId = dataSet.randomCommentId(random);
+					}
+					long key = postId != null ? postId
+							: responseId != null ? (1L << 32) | responseId : (2L << 32) | commentId;
+					if (targets.add(key)) {
+						VoteType voteType = random.nextInt(4) == 0 ? VoteType.DOWNVOTE : VoteType.UPVOTE;
+						rows.add(voteType.name(), developerId, postId, responseId, commentId);
+					}
+				}
+			}
+			return rows.rows();
+		}
+	}
+
+	/**
+	 * Inserts rows into a table with a database generated id and returns the
+	 * first new id. Fails when the new ids are not contiguous, e.g. because
+	 * something else was writing to the table at the same time.
+	 */
+	private int insert(String table, String idColumn, int count, Consumer<BulkInserter> generator, String... columns) {
+		Integer previousMax = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(" + idColumn + "), 0) FROM " + table,
+				Integer.class);
+		try (BulkInserter rows = new BulkInserter(jdbcTemplate, table, columns)) {
+			generator.accept(rows);
+		}
+		Integer first = jdbcTemplate.queryForObject(
+				"SELECT MIN(" + idColumn + ") FROM " + table + " WHERE " + idColumn + " > ?", Integer.class, previousMax);
+		Integer last = jdbcTemplate.queryForObject("SELECT MAX(" + idColumn + ") FROM " + table, Integer.class);
+		if (first == null || last == null || last - first + 1 != count) {
+			throw new IllegalStateException("Generated ids of " + table + " are not contiguous");
+		}
+		return first;
+	}
+
+	private String sentence(int words) {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < words; i++) {
+			if (i > 0) {
+				text.append(' ');
+			}
+			text.append(WORDS[random.nextInt(WORDS.length)]);
+		}
+		return text.toString();
+	}
+
+	private String skills() {
+		return SKILLS[random.nextInt(SKILLS.length)] + "," + SKILLS[random.nextInt(SKILLS.length)];
+	}
+
+	private Timestamp pastTimestamp() {
+		return Timestamp.valueOf(now.minusMinutes(random.nextInt(365 * 24 * 60)));
+	}
+}
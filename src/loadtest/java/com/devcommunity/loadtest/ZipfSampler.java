@@ -0,0 +1,53 @@
+package com.devcommunity.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Draws ranks 0..count-1 where rank k is picked with a probability proportional
+ * to 1 / (k + 1)^exponent, so a few items get most of the traffic the way a few
+ * posts and authors do in production. An exponent of 0 gives a uniform
+ * distribution, 1 is the classic Zipf law.
+ */
+final class ZipfSampler {
+
+	private final int count;
+	private final double[] cumulative;
+
+	ZipfSampler(int count, double exponent) {
+		if (count <= 0) {
+			throw new IllegalArgumentException("count must be positive");
+		}
+		if (exponent < 0) {
+			throw new IllegalArgumentException("exponent must not be negative");
+		}
+		this.count = count;
+		if (exponent == 0) {
+			this.cumulative = null;
+			return;
+		}
+		this.cumulative = new double[count];
+		double sum = 0;
+		for (int k = 0; k < count; k++) {
+			sum += 1 / Math.pow(k + 1, exponent);
+			cumulative[k] = sum;
+		}
+		for (int k = 0; k < count; k++) {
+			cumulative[k] /= sum;
+		}
+	}
+
+	int count() {
+		return count;
+	}
+
+	int nextRank(Random random) {
+		if (cumulative == null) {
+			return random.nextInt(count);
+		}
+		int index = Arrays.binarySearch(cumulative, random.nextDouble());
+		int rank = index >= 0 ? index : -index - 1;
+		// rounding can leave the last cumulative value just below 1
+		return Math.min(rank, count - 1);
+	}
+}
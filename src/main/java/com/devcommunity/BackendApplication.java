@@ -2,8 +2,6 @@ package com.devcommunity;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.Bean;
-import org.modelmapper.ModelMapper;
 
 @SpringBootApplication
 public class BackendApplication {
@@ -11,11 +9,5 @@ public class BackendApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(BackendApplication.class, args);
 	}
-	
-	@Bean
-	public ModelMapper getModelMapper()
-	{
-		return new ModelMapper();
-	}
 
 }
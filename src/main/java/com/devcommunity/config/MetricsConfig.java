@@ -0,0 +1,51 @@
+package com.devcommunity.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.devcommunity.service.PasswordHasher;
+import com.devcommunity.service.VoteBuffer;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes the internal state of the worker pools and buffers next to the
+ * endpoint, repository, Hibernate, connection pool and JVM metrics that Spring
+ * Boot registers on its own. Everything is scraped from /actuator/prometheus.
+ */
+@Configuration
+public class MetricsConfig {
+
+	@Bean
+	public MeterBinder passwordHasherMetrics(PasswordHasher passwordHasher) {
+		return registry -> {
+			Gauge.builder("password.hashing.queued", passwordHasher, PasswordHasher::getQueueDepth)
+					.description("Hashes waiting for a free thread").register(registry);
+			Gauge.builder("password.hashing.active", passwordHasher, PasswordHasher::getActiveCount)
+					.description("Hashes currently running").register(registry);
+			FunctionCounter.builder("password.hashing.rejected", passwordHasher, PasswordHasher::getRejectedCount)
+					.description("Hashes refused because the queue was full").register(registry);
+			FunctionTimer.builder("password.hashing", passwordHasher, PasswordHasher::getHashCount,
+					PasswordHasher::getTotalHashMillis, TimeUnit.MILLISECONDS)
+					.description("Time spent hashing and verifying passwords, excluding the queue").register(registry);
+			Gauge.builder("password.hashing.max", passwordHasher, PasswordHasher::getMaxHashMillis)
+					.description("Slowest hash since startup").baseUnit("milliseconds").register(registry);
+		};
+	}
+
+	@Bean
+	public MeterBinder voteBufferMetrics(VoteBuffer voteBuffer) {
+		return registry -> {
+			Gauge.builder("vote.buffer.pending", voteBuffer, VoteBuffer::pending)
+					.description("Votes accepted but not yet stored").register(registry);
+			FunctionCounter.builder("vote.buffer.syncs", voteBuffer, VoteBuffer::getSyncCount)
+					.description("Forces of the spill segment, each covering every vote appended before it")
+					.register(registry);
+		};
+	}
+}
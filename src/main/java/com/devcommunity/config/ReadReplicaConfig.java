@@ -0,0 +1,115 @@
+package com.devcommunity.config;
+
+import java.time.Clock;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Splits the database traffic between the primary and a read replica when
+ * datasource.replica.url is set. Read-only transactions run on the replica while
+ * it is at most datasource.replica.max-lag-ms behind, everything else runs on
+ * the primary. The two Hikari pools are named primary and replica, so the
+ * hikaricp metrics are reported per pool.
+ */
+@Configuration
+@ConditionalOnExpression("!'${datasource.replica.url:}'.isEmpty()")
+public class ReadReplicaConfig {
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		dataSource.setPoolName("primary");
+		return dataSource;
+	}
+
+	@Bean
+	public HikariDataSource replicaDataSource(@Value("${datasource.replica.url}") String url,
+			@Value("${datasource.replica.username:${spring.datasource.username:}}") String username,
+			@Value("${datasource.replica.password:${spring.datasource.password:}}") String password,
+			@Value("${datasource.replica.pool-size:10}") int poolSize) {
+		HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class).url(url)
+				.username(username).password(password).build();
+		dataSource.setPoolName("replica");
+		dataSource.setMaximumPoolSize(poolSize);
+		dataSource.setReadOnly(true);
+		return dataSource;
+	}
+
+	@Bean
+	public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+			@Qualifier("replicaDataSource") DataSource replica,
+			@Value("${datasource.replica.max-lag-ms:5000}") long maxLagMillis) {
+		return new ReplicaLagMonitor(new JdbcTemplate(primary), new JdbcTemplate(replica), maxLagMillis,
+				Clock.systemUTC());
+	}
+
+	@Bean
+	public ReadWriteRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+			@Qualifier("replicaDataSource") DataSource replica, ReplicaLagMonitor lagMonitor) {
+		return new ReadWriteRoutingDataSource(primary, replica, lagMonitor);
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+		return new LazyConnectionDataSourceProxy(routingDataSource);
+	}
+
+	/**
+	 * By default Hibernate keeps its connection until the EntityManager is closed,
+	 * which with spring.jpa.open-in-view switched on is the end of the request, so
+	 * later transactions of the request would reuse the pool of the first one.
+	 * Releasing the connection after each transaction routes every transaction on
+	 * its own either way.
+	 */
+	@Bean
+	public HibernatePropertiesCustomizer connectionPerTransactionCustomizer() {
+		return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+				PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+	}
+
+	@Bean
+	public MeterBinder readReplicaMetrics(ReadWriteRoutingDataSource routingDataSource,
+			ReplicaLagMonitor lagMonitor) {
+		return registry -> {
+			FunctionCounter.builder("datasource.routing.connections", routingDataSource,
+					ReadWriteRoutingDataSource::getPrimaryConnections).tag("pool", "primary")
+					.description("Connections opened on each pool").register(registry);
+			FunctionCounter.builder("datasource.routing.connections", routingDataSource,
+					ReadWriteRoutingDataSource::getReplicaConnections).tag("pool", "replica")
+					.description("Connections opened on each pool").register(registry);
+			FunctionCounter.builder("datasource.routing.fallbacks", routingDataSource,
+					ReadWriteRoutingDataSource::getFallbacks)
+					.description("Read-only connections opened on the primary because the replica was behind")
+					.register(registry);
+			Gauge.builder("datasource.replica.lag", lagMonitor,
+					monitor -> monitor.getLagMillis() < 0 ? Double.NaN : monitor.getLagMillis())
+					.description("Replication lag measured by the last heartbeat, NaN if the replica cannot be read")
+					.baseUnit("milliseconds").register(registry);
+			Gauge.builder("datasource.replica.usable", lagMonitor, monitor -> monitor.isReplicaUsable() ? 1 : 0)
+					.description("1 while read-only transactions use the replica").register(registry);
+		};
+	}
+}
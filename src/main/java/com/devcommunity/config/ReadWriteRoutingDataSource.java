@@ -0,0 +1,68 @@
+package com.devcommunity.config;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends the connections of read-only transactions to the replica pool and all
+ * others to the primary, falling back to the primary while the replica lags.
+ * The pool is picked when the connection is opened, so this must sit behind a
+ * LazyConnectionDataSourceProxy: transaction managers open the connection
+ * before the transaction is marked read-only, the proxy defers opening the
+ * real connection to the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+	enum Route {
+		PRIMARY, REPLICA
+	}
+
+	private final ReplicaLagMonitor lagMonitor;
+
+	private final LongAdder primaryConnections = new LongAdder();
+	private final LongAdder replicaConnections = new LongAdder();
+	private final LongAdder fallbacks = new LongAdder();
+
+	public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+		this.lagMonitor = lagMonitor;
+		setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+		setDefaultTargetDataSource(primary);
+		setLenientFallback(false);
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			primaryConnections.increment();
+			return Route.PRIMARY;
+		}
+		if (!lagMonitor.isReplicaUsable()) {
+			fallbacks.increment();
+			primaryConnections.increment();
+			return Route.PRIMARY;
+		}
+		replicaConnections.increment();
+		return Route.REPLICA;
+	}
+
+	public long getPrimaryConnections() {
+		return primaryConnections.sum();
+	}
+
+	public long getReplicaConnections() {
+		return replicaConnections.sum();
+	}
+
+	/**
+	 * @return connections of read-only transactions sent to the primary because
+	 *         the replica was behind or could not be read
+	 */
+	public long getFallbacks() {
+		return fallbacks.sum();
+	}
+}
@@ -0,0 +1,102 @@
+package com.devcommunity.config;
+
+import java.time.Clock;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Measures how far the read replica is behind the primary with a heartbeat row.
+ * Every check writes the current time to the heartbeat table on the primary and
+ * reads the row back from the replica. The lag is the age of the newest beat the
+ * replica has applied, so a replica that keeps up reports at most one check
+ * interval. While the lag is above the maximum, or the replica cannot be read,
+ * isReplicaUsable() is false and read-only transactions stay on the primary.
+ */
+public class ReplicaLagMonitor implements SmartInitializingSingleton {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+	public static final String TABLE = "replica_heartbeat";
+
+	private static final String CREATE_SQL = "CREATE TABLE IF NOT EXISTS " + TABLE
+			+ " (id INT NOT NULL PRIMARY KEY, beat_at BIGINT NOT NULL)";
+	private static final String BEAT_SQL = "UPDATE " + TABLE + " SET beat_at = ? WHERE id = 1";
+	private static final String INSERT_SQL = "INSERT INTO " + TABLE + " (id, beat_at) VALUES (1, ?)";
+	private static final String READ_SQL = "SELECT beat_at FROM " + TABLE + " WHERE id = 1";
+
+	private final JdbcTemplate primary;
+	private final JdbcTemplate replica;
+	private final long maxLagMillis;
+	private final Clock clock;
+
+	// -1 until the replica has been read
+	private volatile long lagMillis = -1;
+	private volatile boolean replicaUsable;
+
+	public ReplicaLagMonitor(JdbcTemplate primary, JdbcTemplate replica, long maxLagMillis, Clock clock) {
+		this.primary = primary;
+		this.replica = replica;
+		this.maxLagMillis = maxLagMillis;
+		this.clock = clock;
+	}
+
+	public boolean isReplicaUsable() {
+		return replicaUsable;
+	}
+
+	/**
+	 * @return lag measured by the last check in milliseconds, -1 if the replica
+	 *         could not be read
+	 */
+	public long getLagMillis() {
+		return lagMillis;
+	}
+
+	/**
+	 * Creates the heartbeat table on the primary, the replica receives it through
+	 * replication, and takes the first measurement
+	 */
+	@Override
+	public void afterSingletonsInstantiated() {
+		primary.execute(CREATE_SQL);
+		check();
+	}
+
+	@Scheduled(fixedDelayString = "${datasource.replica.lag-check-ms:1000}")
+	public void check() {
+		try {
+			long now = clock.millis();
+			if (primary.update(BEAT_SQL, now) == 0) {
+				primary.update(INSERT_SQL, now);
+			}
+		} catch (DataAccessException e) {
+			logger.warn("Could not write the replica heartbeat: {}", e.getMessage());
+		}
+
+		long lag = -1;
+		try {
+			List<Long> beats = replica.queryForList(READ_SQL, Long.class);
+			if (!beats.isEmpty()) {
+				lag = Math.max(0, clock.millis() - beats.get(0));
+			}
+		} catch (DataAccessException e) {
+			logger.debug("Could not read the replica heartbeat: {}", e.getMessage());
+		}
+
+		boolean usable = lag >= 0 && lag <= maxLagMillis;
+		if (usable && !replicaUsable) {
+			logger.info("Read replica in use, {} ms behind the primary", lag);
+		} else if (!usable && replicaUsable) {
+			logger.warn("Read replica {}, reads go to the primary",
+					lag < 0 ? "cannot be read" : "is " + lag + " ms behind");
+		}
+		lagMillis = lag;
+		replicaUsable = usable;
+	}
+}
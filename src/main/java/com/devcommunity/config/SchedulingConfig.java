@@ -2,11 +2,16 @@ package com.devcommunity.config;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 
 import com.devcommunity.service.RefreshTokenService;
+import com.devcommunity.service.ReputationService;
+import com.devcommunity.service.VoteTallyService;
 
 @Configuration
 @EnableScheduling
@@ -14,9 +19,17 @@ public class SchedulingConfig {
     
     private static final Logger logger = LoggerFactory.getLogger(SchedulingConfig.class);
     private final RefreshTokenService refreshTokenService;
+    private final ReputationService reputationService;
+    private final VoteTallyService voteTallyService;
+    private final boolean backfillVoteTallies;
     
-    public SchedulingConfig(RefreshTokenService refreshTokenService) {
+    public SchedulingConfig(RefreshTokenService refreshTokenService, ReputationService reputationService,
+            VoteTallyService voteTallyService,
+            @Value("${vote.tally.backfill-on-startup:false}") boolean backfillVoteTallies) {
         this.refreshTokenService = refreshTokenService;
+        this.reputationService = reputationService;
+        this.voteTallyService = voteTallyService;
+        this.backfillVoteTallies = backfillVoteTallies;
     }
     
     /**
@@ -28,4 +41,46 @@ public class SchedulingConfig {
         refreshTokenService.cleanupExpiredTokens();
         logger.info("Expired refresh tokens cleanup completed");
     }
+    
+    /**
+     * Rebuild developer reputation from the votes table daily at 4 AM
+     */
+    @Scheduled(cron = "0 0 4 * * *")
+    public void rebuildReputation() {
+        logger.info("Running scheduled rebuild of developer reputation");
+        reputationService.rebuildAll();
+        logger.info("Developer reputation rebuild completed");
+    }
+    
+    /**
+     * Rebuild the vote counters of posts, responses and comments daily at 4:30 AM
+     */
+    @Scheduled(cron = "0 30 4 * * *")
+    public void rebuildVoteTallies() {
+        logger.info("Running scheduled rebuild of vote counters");
+        voteTallyService.rebuildAll();
+        logger.info("Vote counters rebuild completed");
+    }
+    
+    /**
+     * One-off backfill of the vote counters after an upgrade, so rows created before the
+     * counters existed report their real totals. Only runs when vote.tally.backfill-on-startup
+     * is set: the recount touches every post, response and comment on the primary, and an
+     * increment committed while a row is recounted is overwritten until the nightly rebuild.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillVoteTalliesOnStartup() {
+        if (!backfillVoteTallies) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                voteTallyService.rebuildAll();
+            } catch (RuntimeException e) {
+                logger.error("Vote counters rebuild failed", e);
+            }
+        }, "vote-tally-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
 }
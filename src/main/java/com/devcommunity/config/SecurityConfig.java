@@ -1,5 +1,6 @@
 package com.devcommunity.config;
 
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,23 +13,26 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
 
+import com.devcommunity.service.PasswordHasher;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
 	private JwtFilter jwtFilter;
 	private UserDetailsService userDetailsService;
+	private PasswordHasher passwordHasher;
 
-	public SecurityConfig(JwtFilter jwtFilter, UserDetailsService userDetailsService) {
+	public SecurityConfig(JwtFilter jwtFilter, UserDetailsService userDetailsService, PasswordHasher passwordHasher) {
 		this.jwtFilter = jwtFilter;
 		this.userDetailsService = userDetailsService;
+		this.passwordHasher = passwordHasher;
 	}
 
 	@Bean
@@ -43,11 +47,14 @@ public class SecurityConfig {
 	                "/api/auth/register",
 	                "/api/auth/refresh",
 	                "/api/posts/all",
+	                "/api/posts/feed",
 	                "/api/posts/topic/**",
 	                "/api/dev/reputation/max",
 	                "/api/dev/**",
 	                "/api/votes/getVotesByPostId/**"
 	            ).permitAll()
+	            // health checks and the Prometheus scrape stay open, every other actuator endpoint needs a login
+	            .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
 	            .anyRequest().authenticated()
 	        )
 	        // Remove this in production if you don't want Basic Auth fallback
@@ -61,7 +68,7 @@ public class SecurityConfig {
 	@Bean
 	public AuthenticationProvider authenticationProvider() {
 		DaoAuthenticationProvider provider = new DaoAuthenticationProvider(); // NOSONAR
-		provider.setPasswordEncoder(new BCryptPasswordEncoder(12));
+		provider.setPasswordEncoder(passwordHasher);
 		provider.setUserDetailsService(userDetailsService); // NOSONAR
 
 		return provider;
@@ -0,0 +1,39 @@
+package com.devcommunity.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class SqlStatementConfig {
+
+	private final SqlStatementCounter counter = new SqlStatementCounter();
+
+	@Bean
+	public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+		return properties -> {
+			properties.put(AvailableSettings.STATEMENT_INSPECTOR, counter);
+			properties.put(AvailableSettings.INTERCEPTOR, counter);
+		};
+	}
+
+	/**
+	 * Runs ahead of the security filters so the user lookups of authentication are counted too
+	 */
+	@Bean
+	public FilterRegistrationBean<SqlStatementFilter> sqlStatementFilter(MeterRegistry meterRegistry,
+			@Value("${sql.statement-counter.headers:false}") boolean addHeaders,
+			@Value("${sql.statement-counter.warn-threshold:50}") int warnThreshold,
+			@Value("${sql.statement-counter.repeat-threshold:10}") int repeatThreshold) {
+		FilterRegistrationBean<SqlStatementFilter> registration = new FilterRegistrationBean<>(
+				new SqlStatementFilter(meterRegistry, addHeaders, warnThreshold, repeatThreshold));
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+		return registration;
+	}
+}
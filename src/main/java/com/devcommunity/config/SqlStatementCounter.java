@@ -0,0 +1,107 @@
+package com.devcommunity.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+/**
+ * Counts the SQL statements Hibernate prepares and the entities it loads on the
+ * current thread. Nothing is counted outside a scope opened with
+ * {@link #start()}, so background jobs cost no more than a ThreadLocal lookup.
+ * Identical statements are counted separately as well: the same select running
+ * dozens of times in one request is the signature of an N+1 query.
+ */
+public class SqlStatementCounter implements StatementInspector, Interceptor {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+	/**
+	 * Opens a counting scope on this thread. Scopes nest, statements counted in
+	 * an inner scope are counted in the outer ones too.
+	 */
+	public static Counts start() {
+		Counts counts = new Counts(CURRENT.get());
+		CURRENT.set(counts);
+		return counts;
+	}
+
+	@Override
+	public String inspect(String sql) {
+		Counts counts = CURRENT.get();
+		if (counts != null) {
+			counts.statement(sql);
+		}
+		return sql;
+	}
+
+	@Override
+	public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+		Counts counts = CURRENT.get();
+		if (counts != null) {
+			counts.entityLoad();
+		}
+		return false;
+	}
+
+	public static final class Counts implements AutoCloseable {
+
+		private final Counts parent;
+		private final Map<String, Integer> executions = new HashMap<>();
+		private int statements;
+		private int entityLoads;
+
+		private Counts(Counts parent) {
+			this.parent = parent;
+		}
+
+		public int getStatements() {
+			return statements;
+		}
+
+		public int getEntityLoads() {
+			return entityLoads;
+		}
+
+		/**
+		 * @return the statement that ran most often in this scope, null if none ran
+		 */
+		public String getMostRepeatedStatement() {
+			return executions.entrySet().stream().max(Map.Entry.comparingByValue()).map(Map.Entry::getKey)
+					.orElse(null);
+		}
+
+		/**
+		 * @return how often the most repeated statement ran
+		 */
+		public int getMostRepeatedCount() {
+			return executions.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+		}
+
+		@Override
+		public void close() {
+			if (parent == null) {
+				CURRENT.remove();
+			} else {
+				CURRENT.set(parent);
+			}
+		}
+
+		private void statement(String sql) {
+			for (Counts counts = this; counts != null; counts = counts.parent) {
+				counts.statements++;
+				counts.executions.merge(sql, 1, Integer::sum);
+			}
+		}
+
+		private void entityLoad() {
+			for (Counts counts = this; counts != null; counts = counts.parent) {
+				counts.entityLoads++;
+			}
+		}
+	}
+}
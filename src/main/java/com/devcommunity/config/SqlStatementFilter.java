@@ -0,0 +1,87 @@
+package com.devcommunity.config;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Counts the SQL statements and entity loads of every request, including the
+ * lazy loads that happen while the body is serialized. The counts are recorded
+ * per endpoint, logged when they cross a threshold and, if enabled, returned in
+ * the X-SQL-Statement-Count and X-Entity-Load-Count headers. The body is
+ * buffered in that case so the headers can still be added after it is written.
+ */
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+	public static final String STATEMENT_COUNT_HEADER = "X-SQL-Statement-Count";
+	public static final String ENTITY_LOAD_COUNT_HEADER = "X-Entity-Load-Count";
+
+	private static final Logger logger = LoggerFactory.getLogger(SqlStatementFilter.class);
+
+	private final MeterRegistry meterRegistry;
+	private final boolean addHeaders;
+	private final int warnThreshold;
+	private final int repeatThreshold;
+
+	/**
+	 * @param warnThreshold   statements per request above which the request is logged
+	 * @param repeatThreshold executions of one statement per request from which
+	 *                        it is logged as a possible N+1 query
+	 */
+	public SqlStatementFilter(MeterRegistry meterRegistry, boolean addHeaders, int warnThreshold,
+			int repeatThreshold) {
+		this.meterRegistry = meterRegistry;
+		this.addHeaders = addHeaders;
+		this.warnThreshold = warnThreshold;
+		this.repeatThreshold = repeatThreshold;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		ContentCachingResponseWrapper buffered = addHeaders ? new ContentCachingResponseWrapper(response) : null;
+		try (SqlStatementCounter.Counts counts = SqlStatementCounter.start()) {
+			try {
+				filterChain.doFilter(request, buffered != null ? buffered : response);
+			} finally {
+				record(request, counts);
+				if (buffered != null) {
+					buffered.setHeader(STATEMENT_COUNT_HEADER, String.valueOf(counts.getStatements()));
+					buffered.setHeader(ENTITY_LOAD_COUNT_HEADER, String.valueOf(counts.getEntityLoads()));
+					buffered.copyBodyToResponse();
+				}
+			}
+		}
+	}
+
+	private void record(HttpServletRequest request, SqlStatementCounter.Counts counts) {
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+		DistributionSummary.builder("http.server.requests.sql.statements").baseUnit("statements")
+				.description("SQL statements executed per request").tags("method", request.getMethod(), "uri", uri)
+				.register(meterRegistry).record(counts.getStatements());
+		DistributionSummary.builder("http.server.requests.entity.loads").baseUnit("entities")
+				.description("Entities loaded per request").tags("method", request.getMethod(), "uri", uri)
+				.register(meterRegistry).record(counts.getEntityLoads());
+
+		if (counts.getStatements() > warnThreshold) {
+			logger.warn("{} {} executed {} SQL statements and loaded {} entities", request.getMethod(),
+					request.getRequestURI(), counts.getStatements(), counts.getEntityLoads());
+		}
+		if (counts.getMostRepeatedCount() >= repeatThreshold) {
+			logger.warn("Possible N+1 query in {} {}, this statement ran {} times: {}", request.getMethod(),
+					request.getRequestURI(), counts.getMostRepeatedCount(), counts.getMostRepeatedStatement());
+		}
+	}
+}
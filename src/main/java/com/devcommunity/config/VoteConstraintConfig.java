@@ -0,0 +1,26 @@
+package com.devcommunity.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Registers the VoteConstraintGuard so it removes duplicate votes before the
+ * entity manager factory updates the schema
+ */
+@Configuration
+public class VoteConstraintConfig {
+
+	@Bean
+	public VoteConstraintGuard voteConstraintGuard(DataSource dataSource) {
+		return new VoteConstraintGuard(new JdbcTemplate(dataSource));
+	}
+
+	@Bean
+	public static EntityManagerFactoryDependsOnPostProcessor voteConstraintGuardDependency() {
+		return new EntityManagerFactoryDependsOnPostProcessor("voteConstraintGuard");
+	}
+}
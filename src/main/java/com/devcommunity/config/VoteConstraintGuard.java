@@ -0,0 +1,115 @@
+package com.devcommunity.config;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Makes sure the votes table holds at most one vote per developer and target.
+ * Before Hibernate updates the schema, duplicate votes left by older versions are
+ * deleted, keeping the lowest vote_id, so the unique constraints of Vote can be
+ * added. Once the schema is up to date startup fails if any of them is missing,
+ * because the vote upsert relies on them to detect an existing vote.
+ */
+public class VoteConstraintGuard implements InitializingBean, SmartInitializingSingleton {
+
+	private static final Logger logger = LoggerFactory.getLogger(VoteConstraintGuard.class);
+
+	public static final String TABLE = "votes";
+
+	private static final String[][] CONSTRAINTS = { { "uk_vote_developer_post", "post_id" },
+			{ "uk_vote_developer_response", "response_id" }, { "uk_vote_developer_comment", "comment_id" } };
+
+	// DISTINCT keeps MySQL from merging the derived table, which would read the table being deleted from
+	private static final String DELETE_DUPLICATES_SQL = "DELETE FROM " + TABLE + " WHERE vote_id IN ("
+			+ "SELECT vote_id FROM (SELECT DISTINCT v.vote_id FROM " + TABLE + " v JOIN " + TABLE + " k "
+			+ "ON k.developer_id = v.developer_id AND k.%1$s = v.%1$s AND k.vote_id < v.vote_id) d)";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public VoteConstraintGuard(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		int removed = removeDuplicates();
+		if (removed > 0) {
+			logger.warn("Removed {} duplicate votes, vote counters and reputation are corrected by the nightly rebuild",
+					removed);
+		}
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		checkConstraints();
+	}
+
+	/**
+	 * Deletes every vote of a developer on a target except the first one
+	 *
+	 * @return number of deleted votes, 0 if the votes table does not exist yet
+	 */
+	public int removeDuplicates() {
+		if (indexNames() == null) {
+			return 0;
+		}
+		int removed = 0;
+		for (String[] constraint : CONSTRAINTS) {
+			removed += jdbcTemplate.update(DELETE_DUPLICATES_SQL.formatted(constraint[1]));
+		}
+		return removed;
+	}
+
+	/**
+	 * @throws IllegalStateException if the votes table lacks one of the unique constraints
+	 */
+	public void checkConstraints() {
+		List<String> indexNames = indexNames();
+		List<String> missing = new ArrayList<>();
+		for (String[] constraint : CONSTRAINTS) {
+			// some databases append a suffix to the name of the index backing the constraint
+			if (indexNames == null || indexNames.stream().noneMatch(name -> name.startsWith(constraint[0]))) {
+				missing.add(constraint[0]);
+			}
+		}
+		if (!missing.isEmpty()) {
+			throw new IllegalStateException("The " + TABLE + " table is missing the unique constraints " + missing
+					+ ", add them before starting the application");
+		}
+	}
+
+	/**
+	 * @return lower case names of the unique indexes on the votes table, null if the table does not exist
+	 */
+	private List<String> indexNames() {
+		return jdbcTemplate.execute((ConnectionCallback<List<String>>) connection -> {
+			DatabaseMetaData metaData = connection.getMetaData();
+			String table = metaData.storesUpperCaseIdentifiers() ? TABLE.toUpperCase(Locale.ROOT) : TABLE;
+			try (ResultSet tables = metaData.getTables(connection.getCatalog(), null, table, null)) {
+				if (!tables.next()) {
+					return null;
+				}
+			}
+			List<String> names = new ArrayList<>();
+			try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), null, table, true, false)) {
+				while (indexes.next()) {
+					String name = indexes.getString("INDEX_NAME");
+					if (name != null) {
+						names.add(name.toLowerCase(Locale.ROOT));
+					}
+				}
+			}
+			return names;
+		});
+	}
+}
@@ -17,6 +17,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.devcommunity.dto.BatchRequestDTO;
 import com.devcommunity.dto.CommentRequestDTO;
 import com.devcommunity.dto.CommentResponseDTO;
 import com.devcommunity.exception.DeveloperCommunityException;
@@ -57,6 +58,15 @@ public class CommentController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    //Adds several comments at once, returns the new ids in request order.
+
+    @PostMapping("/batch")
+    @Operation(summary = "Add multiple comments", description = "Adds new comments to posts or responses in one transaction.")
+    public ResponseEntity<List<Integer>> addComments(@Valid @RequestBody BatchRequestDTO<CommentRequestDTO> batch) throws DeveloperCommunityException {
+    	logger.info("Adding {} comments", batch.getItems().size());
+        return ResponseEntity.status(HttpStatus.CREATED).body(commentService.addComments(batch.getItems()));
+    }
+
     //Updates an existing comment.
     
     @PutMapping("/update")
@@ -11,10 +11,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.devcommunity.dto.DeveloperRequestDTO;
 import com.devcommunity.dto.DeveloperResponseDTO;
+import com.devcommunity.dto.LeaderboardEntryDTO;
 import com.devcommunity.exception.DeveloperCommunityException;
 import com.devcommunity.service.interfaces.IDeveloperService;
 
@@ -36,13 +38,46 @@ public class DeveloperController {
 	
 	/**
 	 * 
-	 * @return All developers present in db.
+	 * @param page zero based page number
+	 * @param size number of developers per page
+	 * @param sort id, name, reputation or memberSince
+	 * @return One page of the developers present in db, all of them when page and size are omitted.
+	 * @throws DeveloperCommunityException 
 	 */
 	@GetMapping("/all")
-	@Operation(summary = "Get all developers in the database.")
-	public ResponseEntity<List<DeveloperResponseDTO>> getAllDevelopers(){
+	@Operation(summary = "Get all developers, or one page of them.", description = "Enter page, size and sort (id, name, reputation or memberSince). Without page and size every developer is returned.")
+	public ResponseEntity<List<DeveloperResponseDTO>> getAllDevelopers(@RequestParam(required = false) Integer page,
+			@RequestParam(required = false) Integer size, @RequestParam(required = false) String sort)
+			throws DeveloperCommunityException {
 		logger.info("Get all developers API called.");
-		return ResponseEntity.ok(service.getAllDevelopers());
+		return ResponseEntity.ok(service.getAllDevelopers(page, size, sort));
+	}
+	
+	/**
+	 * 
+	 * @param page zero based page number
+	 * @param size number of developers per page
+	 * @return Developers ranked by reputation, highest first.
+	 */
+	@GetMapping("/leaderboard")
+	@Operation(summary = "Get the reputation leaderboard page by page.", description = "Enter page and size.")
+	public ResponseEntity<List<LeaderboardEntryDTO>> getLeaderboard(@RequestParam(required = false) Integer page,
+			@RequestParam(required = false) Integer size) {
+		logger.info("Get leaderboard API called.");
+		return ResponseEntity.ok(service.getLeaderboard(page, size));
+	}
+	
+	/**
+	 * 
+	 * @param id
+	 * @return Leaderboard rank of the developer with provided id.
+	 * @throws DeveloperCommunityException 
+	 */
+	@GetMapping("/leaderboard/{id}")
+	@Operation(summary = "Get the leaderboard rank of a developer.", description = "Enter the developerId.")
+	public ResponseEntity<LeaderboardEntryDTO> getLeaderboardRank(@PathVariable int id) throws DeveloperCommunityException {
+		logger.info("Get leaderboard rank API called.");
+		return ResponseEntity.ok(service.getLeaderboardRank(id));
 	}
 	
 	/**
@@ -72,14 +107,20 @@ public class DeveloperController {
 	
 	/**
 	 * 
-	 * @param skill
-	 * @return Developers having the provided skill.
+	 * @param skill one or more skills separated by commas or spaces
+	 * @param match all to require every skill (default), any to require one of them
+	 * @param page zero based page number
+	 * @param size number of developers per page
+	 * @return Developers having the provided skills, highest reputation first.
+	 * @throws DeveloperCommunityException 
 	 */
 	@GetMapping("/skill/{skill}")
-	@Operation(summary = "Get all developers by their skill.", description = "Enter the skill.")
-	public ResponseEntity<List<DeveloperResponseDTO>> getDevelopersHavingSkill(@PathVariable String skill){
+	@Operation(summary = "Get developers by their skills.", description = "Enter one or more skills, and all or any as match.")
+	public ResponseEntity<List<DeveloperResponseDTO>> getDevelopersHavingSkill(@PathVariable String skill,
+			@RequestParam(required = false) String match, @RequestParam(required = false) Integer page,
+			@RequestParam(required = false) Integer size) throws DeveloperCommunityException {
 		logger.info("Get all developers by skill API called.");
-		return ResponseEntity.ok(service.searchDevelopersBySkill(skill));
+		return ResponseEntity.ok(service.searchDevelopersBySkill(skill, match, page, size));
 	}
 	
 	/**
@@ -14,10 +14,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.devcommunity.dto.BatchRequestDTO;
+import com.devcommunity.dto.BulkDeleteDTO;
+import com.devcommunity.dto.PostFeedDTO;
 import com.devcommunity.dto.PostRequestDTO;
 import com.devcommunity.dto.PostResponseDTO;
+import com.devcommunity.dto.PostSummaryDTO;
 import com.devcommunity.exception.DeveloperCommunityException;
 import com.devcommunity.service.interfaces.IPostService;
 
@@ -39,17 +44,32 @@ public class PostController {
 	}
 	
 	/**
-	 * Fetches all posts
-	 * @return List of posts
+	 * Fetches summaries of all posts
+	 * @return List of post summaries
 	 * @throws DeveloperCommunityException
 	 */
 	@GetMapping("/all")
 	@Operation(summary = "Get all posts")
-	public ResponseEntity<List<PostResponseDTO>> getAllPosts() throws DeveloperCommunityException {
+	public ResponseEntity<List<PostSummaryDTO>> getAllPosts() throws DeveloperCommunityException {
 		logger.info("Get all posts API called");
 		return ResponseEntity.ok(postService.getAllPost());
 	}
 	
+	/**
+	 * Fetches one page of the post feed, newest first
+	 * @param cursor returned as nextCursor by the previous page, omit for the first page
+	 * @param size number of posts per page
+	 * @return page of posts
+	 * @throws DeveloperCommunityException
+	 */
+	@GetMapping("/feed")
+	@Operation(summary = "Get posts page by page", description = "Enter cursor from previous page and page size")
+	public ResponseEntity<PostFeedDTO> getPostFeed(@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer size) throws DeveloperCommunityException {
+		logger.info("Get post feed API called");
+		return ResponseEntity.ok(postService.getPostFeed(cursor, size));
+	}
+	
 	/**
 	 * Fetches post by its post id
 	 * @param postId of the post
@@ -64,29 +84,33 @@ public class PostController {
 	}
 	
 	/**
-	 * Fetches all posts created by a developer
+	 * Fetches summaries of all posts created by a developer
 	 * @param devId of the developer
-	 * @return List of posts
+	 * @return List of post summaries
 	 * @throws DeveloperCommunityException
 	 */
 	@GetMapping("/developer/{devId}")
 	@Operation(summary = "Get post by dev id", description = "Enter developer id")
-	public ResponseEntity<List<PostResponseDTO>> getPostByDev(@PathVariable Integer devId) throws DeveloperCommunityException {
+	public ResponseEntity<List<PostSummaryDTO>> getPostByDev(@PathVariable Integer devId) throws DeveloperCommunityException {
 		logger.info("Get post by dev id API called");
 		return ResponseEntity.ok(postService.getAllPostByDev(devId));
 	}
 	
 	/**
-	 * Fetches all posts containing a keyword either in query or topic fields
+	 * Fetches summaries of posts containing a keyword either in query or topic fields, best match first
 	 * @param keyword
-	 * @return List of posts
+	 * @param page zero based page number
+	 * @param size number of posts per page
+	 * @return List of post summaries
 	 * @throws DeveloperCommunityException
 	 */
 	@GetMapping("/topic/{keyword}")
 	@Operation(summary = "Get post by keyword", description = "Enter keyword")
-	public ResponseEntity<List<PostResponseDTO>> searchPostByKeyword(@PathVariable String keyword) throws DeveloperCommunityException {
+	public ResponseEntity<List<PostSummaryDTO>> searchPostByKeyword(@PathVariable String keyword,
+			@RequestParam(required = false) Integer page, @RequestParam(required = false) Integer size)
+			throws DeveloperCommunityException {
 		logger.info("Get post by keyword API called");
-		return ResponseEntity.ok(postService.getPostByKeyword(keyword));
+		return ResponseEntity.ok(postService.getPostByKeyword(keyword, page, size));
 	}
 	
 	/**
@@ -102,6 +126,20 @@ public class PostController {
 		
 	}
 	
+	/**
+	 * Adds several posts at once
+	 * @param batch containing the details of each post
+	 * @return ids of the new posts, in request order
+	 * @throws DeveloperCommunityException
+	 */
+	@PostMapping("/batch")
+	@Operation(summary = "Add multiple posts", description = "Enter items, each with query, topic, dev id")
+	public ResponseEntity<List<Integer>> addPosts(@Valid @RequestBody BatchRequestDTO<PostRequestDTO> batch)
+			throws DeveloperCommunityException {
+		logger.info("Add multiple posts API called");
+		return ResponseEntity.status(HttpStatus.CREATED).body(postService.addPosts(batch.getItems()));
+	}
+	
 	/**
 	 * Updates a post by its post id
 	 * Does not validate the DTO as some fields are allowed to be blank, handled in service layer
@@ -133,12 +171,12 @@ public class PostController {
 	/**
 	 * Deletes multiple posts by their ids
 	 * @param List of the post ids
-	 * @return String confirming operation
+	 * @return rows removed from each table
 	 * @throws DeveloperCommunityException
 	 */
 	@DeleteMapping("/delete")
 	@Operation(summary = "Delete multiple posts", description = "Enter list of post ids")
-	public ResponseEntity<String> deleteMultiplePost(@RequestBody List<Integer> ids) throws DeveloperCommunityException {
+	public ResponseEntity<BulkDeleteDTO> deleteMultiplePost(@RequestBody List<Integer> ids) throws DeveloperCommunityException {
 		logger.info("Delete multiple posts API called");
 		return ResponseEntity.ok(postService.removeMultiplePost(ids));
 	}
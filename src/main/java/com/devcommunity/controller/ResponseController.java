@@ -17,6 +17,8 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.devcommunity.dto.BatchRequestDTO;
+import com.devcommunity.dto.BulkDeleteDTO;
 import com.devcommunity.dto.ResponseRequestDTO;
 import com.devcommunity.dto.ResponseResponseDTO;
 import com.devcommunity.exception.DeveloperCommunityException;
@@ -80,6 +82,20 @@ public class ResponseController {
 		return ResponseEntity.status(HttpStatus.CREATED).body(respService.addResponse(respDTO));
 	}
 	
+	/**
+	 * Add several responses at once
+	 * @param batch containing the details of each response
+	 * @return ids of the new responses, in request order
+	 * @throws DeveloperCommunityException
+	 */
+	@PostMapping("/batch")
+	@Operation(summary = "Add multiple responses", description = "Enter items, each with response, post id, dev id")
+	public ResponseEntity<List<Integer>> addResponses(@Valid @RequestBody BatchRequestDTO<ResponseRequestDTO> batch)
+			throws DeveloperCommunityException {
+		logger.info("Add multiple responses API called");
+		return ResponseEntity.status(HttpStatus.CREATED).body(respService.addResponses(batch.getItems()));
+	}
+	
 	/**
 	 * Update a response by its id
 	 * @param respId of the response
@@ -110,12 +126,12 @@ public class ResponseController {
 	/**
 	 * Delete multiple responses by their ids
 	 * @param List of the response ids
-	 * @return String confirming operation
+	 * @return rows removed from each table
 	 * @throws DeveloperCommunityException
 	 */
 	@DeleteMapping("/delete")
 	@Operation(summary = "Delete multiple responses", description = "Enter list of response ids")
-	public ResponseEntity<String> deleteMultipleResponse(@RequestBody List<Integer> ids) throws DeveloperCommunityException {
+	public ResponseEntity<BulkDeleteDTO> deleteMultipleResponse(@RequestBody List<Integer> ids) throws DeveloperCommunityException {
 		logger.info("Delete multiple responses API called");
 		return ResponseEntity.ok(respService.removeMultipleResponse(ids));
 	}
@@ -8,6 +8,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,6 +19,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.devcommunity.dto.BatchRequestDTO;
+import com.devcommunity.dto.VoteBatchResultDTO;
 import com.devcommunity.dto.VoteRequestDTO;
 import com.devcommunity.dto.VoteResponseDTO;
 import com.devcommunity.exception.DeveloperCommunityException;
@@ -59,6 +62,27 @@ public class VoteController {
     return ResponseEntity.status(HttpStatus.CREATED).body(responseDTO);
     }
 
+    //Queues a vote for write-behind storage, it is stored within the buffer flush interval.
+
+    @PostMapping("/buffered")
+    @Operation(summary = "Add a vote asynchronously", description = "Accepts a vote into the write-behind buffer. Duplicate votes by the same developer on the same target collapse into the latest one.")
+    public ResponseEntity<String> submitVote(@Valid @RequestBody VoteRequestDTO voteDTO) throws DeveloperCommunityException
+    {
+    logger.info("Buffering vote: {}", voteDTO);
+    voteService.submitVote(voteDTO);
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body("Vote accepted");
+    }
+
+    //Stores a batch of votes at once and reports the outcome of each vote in the order sent.
+
+    @PostMapping("/batch")
+    @Operation(summary = "Add votes in a batch", description = "Stores up to " + BatchRequestDTO.MAX_ITEMS + " votes in one request, e.g. votes queued by an offline client. Each vote gets its own status: INSERTED, CHANGED, UNCHANGED, SUPERSEDED by a later vote on the same target, NOT_FOUND or INVALID when the vote fails validation.")
+    public ResponseEntity<List<VoteBatchResultDTO>> addVotes(
+            @Validated(BatchRequestDTO.Envelope.class) @RequestBody BatchRequestDTO<VoteRequestDTO> batch)
+    {
+    return ResponseEntity.ok(voteService.addVotes(batch.getItems()));
+    }
+
    
     @DeleteMapping("/deleteVote/{voteId}")
     @Operation(summary = "Delete a vote", description = "Deletes a vote by its unique vote ID.")
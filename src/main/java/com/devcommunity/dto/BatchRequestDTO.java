@@ -0,0 +1,38 @@
+package com.devcommunity.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import jakarta.validation.groups.Default;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchRequestDTO<T> {
+
+	public static final int MAX_ITEMS = 500;
+
+	/**
+	 * Validation group that checks the size of the batch but not its items, for
+	 * endpoints that validate and report each item on its own
+	 */
+	public interface Envelope {
+	}
+
+	/**
+	 * Items of the batch, each validated like a single request. The create
+	 * endpoints reject the batch if any item is invalid and then create all of
+	 * the items or none; the vote batch stores each item on its own and reports
+	 * a status per item.
+	 */
+	@NotEmpty(message = "Items cannot be empty", groups = { Default.class, Envelope.class })
+	@Size(max = MAX_ITEMS, message = "At most " + MAX_ITEMS + " items can be sent at once", groups = {
+			Default.class, Envelope.class })
+	private List<@Valid T> items;
+
+}
@@ -0,0 +1,37 @@
+package com.devcommunity.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkDeleteDTO {
+
+	/**
+	 * Message confirming the operation
+	 */
+	private String message;
+
+	/**
+	 * Number of posts removed
+	 */
+	private int posts;
+
+	/**
+	 * Number of responses removed, including the answers of removed posts
+	 */
+	private int responses;
+
+	/**
+	 * Number of comments removed from the removed posts and responses
+	 */
+	private int comments;
+
+	/**
+	 * Number of votes removed from the removed posts, responses and comments
+	 */
+	private int votes;
+
+}
@@ -22,5 +22,9 @@ public class CommentResponseDTO {
 	
 	private int responseId;
 	
+	private int upVotes;
+	
+	private int downVotes;
+	
 	private List<VoteResponseDTO> votes;
 }
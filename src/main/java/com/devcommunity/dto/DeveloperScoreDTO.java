@@ -0,0 +1,13 @@
+package com.devcommunity.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DeveloperScoreDTO {
+	private Integer developerId;
+	private Long score;
+}
@@ -0,0 +1,59 @@
+package com.devcommunity.dto;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DeveloperStatsDTO {
+
+	/**
+	 * ID of the developer
+	 */
+	private Integer id;
+
+	/**
+	 * Name of the developer
+	 */
+	private String devName;
+
+	/**
+	 * Skills of the developer
+	 */
+	private String devSkill;
+
+	/**
+	 * Date the developer joined
+	 */
+	private LocalDate memberSince;
+
+	/**
+	 * Stored reputation score, not yet converted for display
+	 */
+	private Integer reputation;
+
+	/**
+	 * Number of posts created by the developer
+	 */
+	private Long postCount;
+
+	/**
+	 * Number of comments added by the developer
+	 */
+	private Long commentCount;
+
+	/**
+	 * Number of responses added by the developer
+	 */
+	private Long responseCount;
+
+	/**
+	 * Number of votes cast by the developer
+	 */
+	private Long voteCount;
+
+}
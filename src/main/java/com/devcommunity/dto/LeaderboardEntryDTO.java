@@ -0,0 +1,33 @@
+package com.devcommunity.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaderboardEntryDTO {
+
+	/**
+	 * Position on the leaderboard, 1 for the highest reputation. Developers with
+	 * the same reputation share a rank.
+	 */
+	private int rank;
+
+	/**
+	 * ID of the developer
+	 */
+	private Integer developerId;
+
+	/**
+	 * Name of the developer
+	 */
+	private String devName;
+
+	/**
+	 * Reputation of the developer, as shown on the profile
+	 */
+	private int reputation;
+
+}
@@ -0,0 +1,29 @@
+package com.devcommunity.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostFeedDTO {
+
+	/**
+	 * Posts of the current page, newest first
+	 */
+	private List<PostSummaryDTO> posts;
+
+	/**
+	 * Token to pass as cursor to fetch the next page, null on the last page
+	 */
+	private String nextCursor;
+
+	/**
+	 * Whether there are more posts after this page
+	 */
+	private boolean hasMore;
+
+}
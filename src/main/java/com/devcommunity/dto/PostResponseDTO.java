@@ -48,6 +48,16 @@ public class PostResponseDTO {
 	 */
 	private List<CommentResponseDTO> comments;
 	
+	/**
+	 * Number of upvotes on the post
+	 */
+	private int upVotes;
+	
+	/**
+	 * Number of downvotes on the post
+	 */
+	private int downVotes;
+	
 	/**
 	 * Votes added to the post
 	 */
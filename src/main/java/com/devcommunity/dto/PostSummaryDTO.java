@@ -0,0 +1,64 @@
+package com.devcommunity.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostSummaryDTO {
+
+	/**
+	 * Maximum number of characters of the query included in a summary
+	 */
+	public static final int QUERY_PREVIEW_LENGTH = 200;
+
+	/**
+	 * ID of the post
+	 */
+	private Integer postId;
+
+	/**
+	 * Topic of the post
+	 */
+	private String topic;
+
+	/**
+	 * Main body of the post, truncated to QUERY_PREVIEW_LENGTH characters
+	 */
+	private String query;
+
+	/**
+	 * Time the post was created or updated
+	 */
+	private LocalDateTime postDateTime;
+
+	/**
+	 * ID of the developer who created the post
+	 */
+	private Integer developerId;
+
+	/**
+	 * Name of the developer who created the post
+	 */
+	private String developerName;
+
+	/**
+	 * Number of responses added to the post
+	 */
+	private Long responseCount;
+
+	/**
+	 * Number of comments added to the post
+	 */
+	private Long commentCount;
+
+	/**
+	 * Upvotes minus downvotes on the post
+	 */
+	private Long score;
+
+}
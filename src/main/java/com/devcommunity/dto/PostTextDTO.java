@@ -0,0 +1,14 @@
+package com.devcommunity.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostTextDTO {
+	private Integer postId;
+	private String topic;
+	private String query;
+}
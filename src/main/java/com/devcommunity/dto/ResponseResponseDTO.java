@@ -43,6 +43,16 @@ public class ResponseResponseDTO {
 	 */
 	private List<CommentResponseDTO> comments;
 	
+	/**
+	 * Number of upvotes on the response
+	 */
+	private int upVotes;
+	
+	/**
+	 * Number of downvotes on the response
+	 */
+	private int downVotes;
+	
 	/**
 	 * Votes added to the Response
 	 */
@@ -0,0 +1,42 @@
+package com.devcommunity.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class VoteBatchResultDTO {
+
+	public enum Status {
+		/** the vote was added */
+		INSERTED,
+		/** the developer's existing vote on the target was flipped */
+		CHANGED,
+		/** the developer had already cast this vote */
+		UNCHANGED,
+		/** a later vote in the batch by the same developer on the same target replaced it */
+		SUPERSEDED,
+		/** the developer or the target does not exist */
+		NOT_FOUND,
+		/** the vote failed validation or named no post, response or comment */
+		INVALID
+	}
+
+	/**
+	 * Position of the vote in the submitted batch, starting at 0
+	 */
+	private int index;
+
+	/**
+	 * What happened to the vote
+	 */
+	private Status status;
+
+	/**
+	 * Reason the vote was not stored, null otherwise
+	 */
+	private String message;
+
+}
@@ -3,10 +3,15 @@ package com.devcommunity.entity;
 import java.time.LocalDate;
 import java.util.List;
 
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+
+import com.devcommunity.repository.IdAllocationTable;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -14,21 +19,36 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.TableGenerator;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
 @NoArgsConstructor
 @Entity
+@DynamicUpdate
 public class Comment {
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	// ids come in blocks from the allocation table, so a flush can batch its inserts
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "comment_ids")
+	@TableGenerator(name = "comment_ids", table = IdAllocationTable.TABLE, pkColumnName = IdAllocationTable.NAME_COLUMN,
+			valueColumnName = IdAllocationTable.VALUE_COLUMN, pkColumnValue = IdAllocationTable.COMMENT,
+			allocationSize = IdAllocationTable.BLOCK_SIZE)
 	private int commentId;
 	
 	private String text;
 	private LocalDate createdDate;
 	
+	// vote counters are only written by the UPDATE queries in the repository, never by save()
+	@ColumnDefault("0")
+	@Column(nullable = false, updatable = false)
+	private int upVotes;
+	
+	@ColumnDefault("0")
+	@Column(nullable = false, updatable = false)
+	private int downVotes;
+	
 	@ManyToOne 
 	@JoinColumn(name = "postId",nullable = true)
 	@JsonBackReference
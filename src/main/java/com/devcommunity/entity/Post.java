@@ -3,7 +3,11 @@ package com.devcommunity.entity;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.devcommunity.repository.IdAllocationTable;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 import jakarta.persistence.CascadeType;
@@ -12,17 +16,36 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.Data;
 
 @Data
 @Entity
+@DynamicUpdate
+@Table(indexes = @Index(name = "idx_post_feed", columnList = "postDateTime, postId"))
+// author and answers with their authors in one select, the other collections are batch fetched
+@NamedEntityGraph(name = Post.DETAIL_GRAPH,
+		attributeNodes = { @NamedAttributeNode("developer"),
+				@NamedAttributeNode(value = "responses", subgraph = "responses") },
+		subgraphs = @NamedSubgraph(name = "responses", attributeNodes = @NamedAttributeNode("developer")))
 public class Post {
+
+	public static final String DETAIL_GRAPH = "Post.detail";
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	// ids come in blocks from the allocation table, so a flush can batch its inserts
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "post_ids")
+	@TableGenerator(name = "post_ids", table = IdAllocationTable.TABLE, pkColumnName = IdAllocationTable.NAME_COLUMN,
+			valueColumnName = IdAllocationTable.VALUE_COLUMN, pkColumnValue = IdAllocationTable.POST,
+			allocationSize = IdAllocationTable.BLOCK_SIZE)
 	private Integer postId;
 	
 	@Column(name = "query")
@@ -31,6 +54,15 @@ public class Post {
 	private LocalDateTime postDateTime;
 	
 	private String topic;
+
+	// vote counters are only written by the UPDATE queries in the repository, never by save()
+	@ColumnDefault("0")
+	@Column(nullable = false, updatable = false)
+	private int upVotes;
+	
+	@ColumnDefault("0")
+	@Column(nullable = false, updatable = false)
+	private int downVotes;
 	
 	@ManyToOne
 	@JoinColumn(name = "developerId")
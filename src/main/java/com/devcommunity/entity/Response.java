@@ -3,30 +3,60 @@ package com.devcommunity.entity;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+
+import com.devcommunity.repository.IdAllocationTable;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.TableGenerator;
 import lombok.Data;
 
 @Data
 @Entity
+@DynamicUpdate
+// post, author and comments with their authors in one select, the votes are batch fetched
+@NamedEntityGraph(name = Response.DETAIL_GRAPH,
+		attributeNodes = { @NamedAttributeNode("post"), @NamedAttributeNode("developer"),
+				@NamedAttributeNode(value = "listOfComments", subgraph = "comments") },
+		subgraphs = @NamedSubgraph(name = "comments", attributeNodes = @NamedAttributeNode("developer")))
 public class Response {
+
+	public static final String DETAIL_GRAPH = "Response.detail";
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	// ids come in blocks from the allocation table, so a flush can batch its inserts
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "response_ids")
+	@TableGenerator(name = "response_ids", table = IdAllocationTable.TABLE, pkColumnName = IdAllocationTable.NAME_COLUMN,
+			valueColumnName = IdAllocationTable.VALUE_COLUMN, pkColumnValue = IdAllocationTable.RESPONSE,
+			allocationSize = IdAllocationTable.BLOCK_SIZE)
 	private Integer respId;
 	
 	private String answer;
 	
 	private LocalDateTime respDateTime;
+
+	// vote counters are only written by the UPDATE queries in the repository, never by save()
+	@ColumnDefault("0")
+	@Column(nullable = false, updatable = false)
+	private int upVotes;
+	
+	@ColumnDefault("0")
+	@Column(nullable = false, updatable = false)
+	private int downVotes;
 	
 	@ManyToOne
 	@JoinColumn(name = "postId")
@@ -1,5 +1,6 @@
 package com.devcommunity.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 import jakarta.persistence.Column;
@@ -29,6 +30,8 @@ public class User {
 
 	@OneToOne(mappedBy = "user")
 	@JsonManagedReference
+	// the lazy collections cannot be loaded once the service transaction has ended
+	@JsonIgnoreProperties({ "listOfPosts", "listOfComments", "listOfResponses", "listOfVotes" })
 	private Developer developer;
 
 	public User(String username, String password) {
@@ -13,11 +13,16 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.Data;
 
 @Data
 @Entity
-@Table(name = "votes")
+// one vote per developer and target, enforced by the database so concurrent votes cannot duplicate
+@Table(name = "votes", uniqueConstraints = {
+		@UniqueConstraint(name = "uk_vote_developer_post", columnNames = { "developerId", "postId" }),
+		@UniqueConstraint(name = "uk_vote_developer_response", columnNames = { "developerId", "responseId" }),
+		@UniqueConstraint(name = "uk_vote_developer_comment", columnNames = { "developerId", "comment_id" }) })
 public class Vote {
 	
 	@Id
@@ -5,6 +5,7 @@ import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -33,5 +34,15 @@ public class GlobalExceptionHandler {
 		return new ResponseEntity<>(er,HttpStatus.BAD_REQUEST);
 	}
 	
+	@ExceptionHandler(ServiceBusyException.class)
+	public ResponseEntity<ErrorResponse> handleServiceBusy(ServiceBusyException ex) {
+		ErrorResponse er=new ErrorResponse();
+		er.setDate(LocalDate.now());
+		er.setMessage(ex.getMessage());
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+				.body(er);
+	}
+	
 	
 }
\ No newline at end of file
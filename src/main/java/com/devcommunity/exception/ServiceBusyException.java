@@ -0,0 +1,20 @@
+package com.devcommunity.exception;
+
+/**
+ * Thrown when a bounded worker pool cannot accept more work. It is unchecked
+ * because it has to cross Spring Security's PasswordEncoder calls, and is turned
+ * into a 503 with a Retry-After header by the GlobalExceptionHandler.
+ */
+public class ServiceBusyException extends RuntimeException {
+
+	private final long retryAfterSeconds;
+
+	public ServiceBusyException(String message, long retryAfterSeconds) {
+		super(message);
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	public long getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+}
@@ -0,0 +1,18 @@
+package com.devcommunity.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import com.devcommunity.dto.CommentResponseDTO;
+import com.devcommunity.entity.Comment;
+
+@Mapper(config = MapperSettings.class, uses = VoteMapper.class)
+public interface CommentMapper {
+
+	@Mapping(target = "developerId", source = "developer.id")
+	@Mapping(target = "developerName", source = "developer.devName")
+	@Mapping(target = "postId", source = "post.postId")
+	@Mapping(target = "responseId", source = "response.respId")
+	@Mapping(target = "votes", source = "listOfVotes")
+	CommentResponseDTO toResponseDTO(Comment comment);
+}
@@ -0,0 +1,38 @@
+package com.devcommunity.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import com.devcommunity.dto.DeveloperRequestDTO;
+import com.devcommunity.dto.DeveloperResponseDTO;
+import com.devcommunity.dto.DeveloperStatsDTO;
+import com.devcommunity.entity.Developer;
+
+@Mapper(config = MapperSettings.class)
+public interface DeveloperMapper {
+
+	/**
+	 * The totals are counted by the caller
+	 */
+	@Mapping(target = "totalPosts", ignore = true)
+	@Mapping(target = "totalComments", ignore = true)
+	@Mapping(target = "totalResponses", ignore = true)
+	@Mapping(target = "totalVotes", ignore = true)
+	DeveloperResponseDTO toResponseDTO(Developer developer);
+
+	@Mapping(target = "totalPosts", source = "postCount")
+	@Mapping(target = "totalComments", source = "commentCount")
+	@Mapping(target = "totalResponses", source = "responseCount")
+	@Mapping(target = "totalVotes", source = "voteCount")
+	DeveloperResponseDTO toResponseDTO(DeveloperStatsDTO stats);
+
+	@Mapping(target = "id", ignore = true)
+	@Mapping(target = "user", ignore = true)
+	@Mapping(target = "memberSince", ignore = true)
+	@Mapping(target = "reputation", ignore = true)
+	@Mapping(target = "listOfPosts", ignore = true)
+	@Mapping(target = "listOfComments", ignore = true)
+	@Mapping(target = "listOfResponses", ignore = true)
+	@Mapping(target = "listOfVotes", ignore = true)
+	Developer toEntity(DeveloperRequestDTO developerDTO);
+}
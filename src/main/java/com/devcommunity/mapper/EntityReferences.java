@@ -0,0 +1,31 @@
+package com.devcommunity.mapper;
+
+import org.springframework.stereotype.Component;
+
+import com.devcommunity.entity.Developer;
+import com.devcommunity.entity.Post;
+
+/**
+ * Turns the ids of request DTOs into entity references that only carry the id
+ */
+@Component
+public class EntityReferences {
+
+	public Developer toDeveloper(Integer developerId) {
+		if (developerId == null) {
+			return null;
+		}
+		Developer developer = new Developer();
+		developer.setId(developerId);
+		return developer;
+	}
+
+	public Post toPost(Integer postId) {
+		if (postId == null) {
+			return null;
+		}
+		Post post = new Post();
+		post.setPostId(postId);
+		return post;
+	}
+}
@@ -0,0 +1,15 @@
+package com.devcommunity.mapper;
+
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.MapperConfig;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Settings shared by all DTO mappers. The implementations are generated at
+ * compile time as plain getter/setter code, and a DTO field that no mapping
+ * covers fails the build instead of silently staying empty.
+ */
+@MapperConfig(componentModel = MappingConstants.ComponentModel.SPRING, injectionStrategy = InjectionStrategy.CONSTRUCTOR, unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface MapperSettings {
+}
@@ -0,0 +1,31 @@
+package com.devcommunity.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import com.devcommunity.dto.PostRequestDTO;
+import com.devcommunity.dto.PostResponseDTO;
+import com.devcommunity.entity.Post;
+
+@Mapper(config = MapperSettings.class, uses = { ResponseMapper.class, CommentMapper.class, VoteMapper.class,
+		EntityReferences.class })
+public interface PostMapper {
+
+	@Mapping(target = "developerId", source = "developer.id")
+	@Mapping(target = "developerName", source = "developer.devName")
+	PostResponseDTO toResponseDTO(Post post);
+
+	/**
+	 * The developer is only a reference holding the id, the post id is never
+	 * taken from the request
+	 */
+	@Mapping(target = "postId", ignore = true)
+	@Mapping(target = "postDateTime", ignore = true)
+	@Mapping(target = "upVotes", ignore = true)
+	@Mapping(target = "downVotes", ignore = true)
+	@Mapping(target = "developer", source = "developerId")
+	@Mapping(target = "responses", ignore = true)
+	@Mapping(target = "comments", ignore = true)
+	@Mapping(target = "votes", ignore = true)
+	Post toEntity(PostRequestDTO postDTO);
+}
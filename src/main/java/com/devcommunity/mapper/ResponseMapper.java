@@ -0,0 +1,33 @@
+package com.devcommunity.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import com.devcommunity.dto.ResponseRequestDTO;
+import com.devcommunity.dto.ResponseResponseDTO;
+import com.devcommunity.entity.Response;
+
+@Mapper(config = MapperSettings.class, uses = { CommentMapper.class, VoteMapper.class, EntityReferences.class })
+public interface ResponseMapper {
+
+	@Mapping(target = "postId", source = "post.postId")
+	@Mapping(target = "developerId", source = "developer.id")
+	@Mapping(target = "developerName", source = "developer.devName")
+	@Mapping(target = "comments", source = "listOfComments")
+	@Mapping(target = "votes", source = "listOfVotes")
+	ResponseResponseDTO toResponseDTO(Response response);
+
+	/**
+	 * Post and developer are only references holding the id, the caller replaces
+	 * them with the loaded entities
+	 */
+	@Mapping(target = "respId", ignore = true)
+	@Mapping(target = "respDateTime", ignore = true)
+	@Mapping(target = "upVotes", ignore = true)
+	@Mapping(target = "downVotes", ignore = true)
+	@Mapping(target = "post", source = "postId")
+	@Mapping(target = "developer", source = "developerId")
+	@Mapping(target = "listOfComments", ignore = true)
+	@Mapping(target = "listOfVotes", ignore = true)
+	Response toEntity(ResponseRequestDTO responseDTO);
+}
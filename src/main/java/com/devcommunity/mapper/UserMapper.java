@@ -0,0 +1,19 @@
+package com.devcommunity.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import com.devcommunity.dto.UserRequestDTO;
+import com.devcommunity.dto.UserResponseDTO;
+import com.devcommunity.entity.User;
+
+@Mapper(config = MapperSettings.class)
+public interface UserMapper {
+
+	@Mapping(target = "token", ignore = true)
+	UserResponseDTO toResponseDTO(User user);
+
+	@Mapping(target = "id", ignore = true)
+	@Mapping(target = "developer", ignore = true)
+	User toEntity(UserRequestDTO userDTO);
+}
@@ -0,0 +1,18 @@
+package com.devcommunity.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import com.devcommunity.dto.VoteResponseDTO;
+import com.devcommunity.entity.Vote;
+
+@Mapper(config = MapperSettings.class)
+public interface VoteMapper {
+
+	@Mapping(target = "developerId", source = "developer.id")
+	@Mapping(target = "developerName", source = "developer.devName")
+	@Mapping(target = "postId", source = "post.postId")
+	@Mapping(target = "respId", source = "response.respId")
+	@Mapping(target = "commentId", source = "comment.commentId")
+	VoteResponseDTO toResponseDTO(Vote vote);
+}
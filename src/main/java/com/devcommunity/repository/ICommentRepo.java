@@ -1,9 +1,13 @@
 package com.devcommunity.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.devcommunity.entity.Comment;
@@ -19,6 +23,37 @@ public interface ICommentRepo extends JpaRepository<Comment,Integer> {
 
 	Optional<Comment> findByCommentId(int commentId);
 
+	@Query("SELECT c.upVotes FROM Comment c WHERE c.commentId = :commentId")
+	Optional<Integer> findUpVotesByCommentId(@Param("commentId") int commentId);
+
+	@Query("SELECT c.downVotes FROM Comment c WHERE c.commentId = :commentId")
+	Optional<Integer> findDownVotesByCommentId(@Param("commentId") int commentId);
+
+	@Modifying
+	@Query("UPDATE Comment c SET c.upVotes = c.upVotes + :up, c.downVotes = c.downVotes + :down WHERE c.commentId = :commentId")
+	int adjustVotes(@Param("commentId") int commentId, @Param("up") int up, @Param("down") int down);
+
+	//recomputes the vote counters of every comment from the votes table
+	@Modifying
+	@Query("UPDATE Comment c SET "
+			+ "c.upVotes = (SELECT COUNT(v) FROM Vote v WHERE v.comment = c AND v.voteType = com.devcommunity.util.VoteType.UPVOTE), "
+			+ "c.downVotes = (SELECT COUNT(v) FROM Vote v WHERE v.comment = c AND v.voteType = com.devcommunity.util.VoteType.DOWNVOTE)")
+	int recountVotes();
+
+	//comments on the posts and on their answers, the votes on them must be deleted first
+	@Modifying
+	@Query("DELETE FROM Comment c WHERE c.post.postId IN :postIds "
+			+ "OR c.response.respId IN (SELECT r.respId FROM Response r WHERE r.post.postId IN :postIds)")
+	int deleteOnPosts(@Param("postIds") Collection<Integer> postIds);
+
+	//comments on the responses, the votes on them must be deleted first
+	@Modifying
+	@Query("DELETE FROM Comment c WHERE c.response.respId IN :respIds")
+	int deleteOnResponses(@Param("respIds") Collection<Integer> respIds);
+
+	@Query("SELECT c.commentId FROM Comment c WHERE c.commentId IN :ids")
+	List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
 
 
 }
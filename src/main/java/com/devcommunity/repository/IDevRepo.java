@@ -1,15 +1,84 @@
 package com.devcommunity.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.devcommunity.dto.DeveloperNameDTO;
+import com.devcommunity.dto.DeveloperScoreDTO;
+import com.devcommunity.dto.DeveloperSkillDTO;
+import com.devcommunity.dto.DeveloperStatsDTO;
 import com.devcommunity.entity.Developer;
 
 @Repository
 public interface IDevRepo extends JpaRepository<Developer, Integer> {
 
-    Developer findTopByOrderByReputationDesc();
-    List<Developer> findByDevSkillContainingIgnoreCase(String skill);
-}
\ No newline at end of file
+    //columns of DeveloperStatsDTO, the four totals are counted in the same statement
+    String STATS_SELECT = "SELECT new com.devcommunity.dto.DeveloperStatsDTO("
+            + "d.id, d.devName, d.devSkill, d.memberSince, d.reputation, "
+            + "(SELECT COUNT(p) FROM Post p WHERE p.developer = d), "
+            + "(SELECT COUNT(c) FROM Comment c WHERE c.developer = d), "
+            + "(SELECT COUNT(r) FROM Response r WHERE r.developer = d), "
+            + "(SELECT COUNT(v) FROM Vote v WHERE v.developer = d)) "
+            + "FROM Developer d ";
+
+    @Query(STATS_SELECT + "WHERE d.id = :id")
+    Optional<DeveloperStatsDTO> findStatsById(@Param("id") Integer id);
+
+    //one page of the developer directory, or all of it when unpaged, ordered by the sort of the pageable
+    @Query(STATS_SELECT)
+    List<DeveloperStatsDTO> findStatsPage(Pageable pageable);
+
+    @Query(STATS_SELECT + "ORDER BY d.reputation DESC, d.id")
+    List<DeveloperStatsDTO> findStatsByReputation(Pageable pageable);
+
+    @Query(STATS_SELECT + "WHERE d.id IN :ids")
+    List<DeveloperStatsDTO> findStatsByIds(@Param("ids") Collection<Integer> ids);
+
+    //full scan, only used while DeveloperSkillIndex is still being built
+    @Query(STATS_SELECT + "WHERE LOWER(d.devSkill) LIKE LOWER(CONCAT('%', :skill, '%')) ORDER BY d.id")
+    List<DeveloperStatsDTO> searchStatsBySkill(@Param("skill") String skill);
+
+    //skills of the developers after the given id, used to rebuild the skill index in batches
+    @Query("SELECT new com.devcommunity.dto.DeveloperSkillDTO(d.id, d.devSkill) FROM Developer d "
+            + "WHERE d.id > :afterId ORDER BY d.id")
+    List<DeveloperSkillDTO> findSkillBatchAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+    //reputation of the developers after the given id, used to rebuild the leaderboard in batches
+    @Query("SELECT new com.devcommunity.dto.DeveloperScoreDTO(d.id, CAST(COALESCE(d.reputation, 0) AS Long)) "
+            + "FROM Developer d WHERE d.id > :afterId ORDER BY d.id")
+    List<DeveloperScoreDTO> findScoreBatchAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+    @Query("SELECT d.id FROM Developer d WHERE d.id IN :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT new com.devcommunity.dto.DeveloperNameDTO(d.id, d.devName) FROM Developer d WHERE d.id IN :ids")
+    List<DeveloperNameDTO> findNamesByIds(@Param("ids") Collection<Integer> ids);
+
+    //number of developers ranked above the given reputation, a range count on idx_developer_reputation
+    long countByReputationGreaterThan(Integer reputation);
+
+    @Modifying
+    @Query("UPDATE Developer d SET d.reputation = COALESCE(d.reputation, 0) + :delta WHERE d.id = :id")
+    int adjustReputation(@Param("id") Integer id, @Param("delta") int delta);
+
+    //net vote score of every developer from the votes table in one statement; the grouped scores are
+    //computed once and looked up per developer, developers without votes get 0
+    @Modifying
+    @Query(value = "UPDATE developer d SET d.reputation = COALESCE((SELECT s.score FROM ("
+            + "SELECT COALESCE(p.developer_id, r.developer_id, c.developer_id) AS author_id, "
+            + "SUM(CASE WHEN v.vote_type = 'UPVOTE' THEN 1 ELSE -1 END) AS score FROM votes v "
+            + "LEFT JOIN post p ON p.post_id = v.post_id "
+            + "LEFT JOIN response r ON r.resp_id = v.response_id "
+            + "LEFT JOIN comment c ON c.comment_id = v.comment_id "
+            + "GROUP BY COALESCE(p.developer_id, r.developer_id, c.developer_id)) s "
+            + "WHERE s.author_id = d.id), 0)", nativeQuery = true)
+    int rebuildAllReputation();
+}
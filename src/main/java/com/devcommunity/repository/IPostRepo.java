@@ -1,23 +1,97 @@
 package com.devcommunity.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import com.devcommunity.dto.PostSummaryDTO;
+import com.devcommunity.dto.PostTextDTO;
 import com.devcommunity.entity.Developer;
 import com.devcommunity.entity.Post;
 
 public interface IPostRepo extends JpaRepository<Post, Integer>{
 	
 	List<Post> findByDeveloper(Developer developer);
+
+	//post with its author and answers in one select, for the detail view
+	@EntityGraph(Post.DETAIL_GRAPH)
+	Optional<Post> findDetailByPostId(Integer postId);
 	List<Post> findByTopic(String topic);
 	
+	//columns of PostSummaryDTO, counts and score are computed in the same statement
+	String SUMMARY_SELECT = "SELECT new com.devcommunity.dto.PostSummaryDTO("
+			+ "p.postId, p.topic, SUBSTRING(p.query, 1, " + PostSummaryDTO.QUERY_PREVIEW_LENGTH + "), "
+			+ "p.postDateTime, d.id, d.devName, "
+			+ "(SELECT COUNT(r) FROM Response r WHERE r.post = p), "
+			+ "(SELECT COUNT(c) FROM Comment c WHERE c.post = p), "
+			+ "CAST(p.upVotes - p.downVotes AS Long)) "
+			+ "FROM Post p LEFT JOIN p.developer d ";
+
+	@Query(SUMMARY_SELECT + "ORDER BY p.postDateTime DESC, p.postId DESC")
+	List<PostSummaryDTO> findAllSummaries();
+
+	@Modifying
+	@Query("UPDATE Post p SET p.upVotes = p.upVotes + :up, p.downVotes = p.downVotes + :down WHERE p.postId = :postId")
+	int adjustVotes(@Param("postId") Integer postId, @Param("up") int up, @Param("down") int down);
+
+	//recomputes the vote counters of every post from the votes table
+	@Modifying
+	@Query("UPDATE Post p SET "
+			+ "p.upVotes = (SELECT COUNT(v) FROM Vote v WHERE v.post = p AND v.voteType = com.devcommunity.util.VoteType.UPVOTE), "
+			+ "p.downVotes = (SELECT COUNT(v) FROM Vote v WHERE v.post = p AND v.voteType = com.devcommunity.util.VoteType.DOWNVOTE)")
+	int recountVotes();
+
+	@Query(SUMMARY_SELECT + "WHERE d.id = :devId ORDER BY p.postDateTime DESC, p.postId DESC")
+	List<PostSummaryDTO> findSummariesByDeveloperId(@Param("devId") Integer devId);
+
+	@Query(SUMMARY_SELECT + "WHERE p.postId IN :ids")
+	List<PostSummaryDTO> findSummariesByIds(@Param("ids") Collection<Integer> ids);
+
+	@Query("SELECT p.postId FROM Post p WHERE p.postId IN :ids")
+	List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
+	//set-based delete that skips the cascades, responses, comments and votes must be deleted first
+	@Modifying
+	@Query("DELETE FROM Post p WHERE p.postId IN :ids")
+	int deleteInBulk(@Param("ids") Collection<Integer> ids);
+
+	//searchable text of the posts after the given id, used to rebuild the search index in batches
+	@Query("SELECT new com.devcommunity.dto.PostTextDTO(p.postId, p.topic, p.query) FROM Post p "
+			+ "WHERE p.postId > :afterId ORDER BY p.postId")
+	List<PostTextDTO> findTextBatchAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
 	//to get posts which contains the keyword in both query and topic
-	@Query("SELECT p FROM Post p "
+	@Query(SUMMARY_SELECT
 			+ "WHERE LOWER(p.query) LIKE LOWER(CONCAT('%', :keyword, '%')) "
 			+ "OR LOWER(p.topic) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-	List<Post> searchPosts(@Param("keyword") String keyword);
+	List<PostSummaryDTO> searchPosts(@Param("keyword") String keyword);
+
+	//first page of the feed, newest first; posts without a date sort lowest, so they come last
+	@Query(SUMMARY_SELECT + "ORDER BY p.postDateTime DESC, p.postId DESC")
+	List<PostSummaryDTO> findFeedFirstPage(Pageable pageable);
+
+	//next page of the feed, strictly after the (postDateTime, postId) of the last post already seen,
+	//followed by the posts without a date
+	@Query(SUMMARY_SELECT
+			+ "WHERE p.postDateTime < :dateTime "
+			+ "OR (p.postDateTime = :dateTime AND p.postId < :postId) "
+			+ "OR p.postDateTime IS NULL "
+			+ "ORDER BY p.postDateTime DESC, p.postId DESC")
+	List<PostSummaryDTO> findFeedPageAfter(@Param("dateTime") LocalDateTime dateTime, @Param("postId") Integer postId,
+			Pageable pageable);
+
+	//next page of the feed when the last post already seen has no date, only undated posts remain
+	@Query(SUMMARY_SELECT
+			+ "WHERE p.postDateTime IS NULL AND p.postId < :postId "
+			+ "ORDER BY p.postId DESC")
+	List<PostSummaryDTO> findUndatedFeedPageAfter(@Param("postId") Integer postId, Pageable pageable);
 
-	
 }
@@ -1,13 +1,44 @@
 package com.devcommunity.repository;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.devcommunity.entity.Response;
 
 public interface IResponseRepo extends JpaRepository<Response, Integer>{
 
-	List<Response> findByPost_postId(Integer postId);
+	//answers of a post with their authors and comments in one select
+	@EntityGraph(Response.DETAIL_GRAPH)
+	List<Response> findDetailByPost_postId(Integer postId);
 	List<Response> findByDeveloper_id(Integer devId);
+
+	@Modifying
+	@Query("UPDATE Response r SET r.upVotes = r.upVotes + :up, r.downVotes = r.downVotes + :down WHERE r.respId = :respId")
+	int adjustVotes(@Param("respId") Integer respId, @Param("up") int up, @Param("down") int down);
+
+	//recomputes the vote counters of every response from the votes table
+	@Modifying
+	@Query("UPDATE Response r SET "
+			+ "r.upVotes = (SELECT COUNT(v) FROM Vote v WHERE v.response = r AND v.voteType = com.devcommunity.util.VoteType.UPVOTE), "
+			+ "r.downVotes = (SELECT COUNT(v) FROM Vote v WHERE v.response = r AND v.voteType = com.devcommunity.util.VoteType.DOWNVOTE)")
+	int recountVotes();
+
+	@Query("SELECT r.respId FROM Response r WHERE r.respId IN :respIds")
+	List<Integer> findExistingIds(@Param("respIds") Collection<Integer> respIds);
+
+	//answers of the posts, their comments and votes must be deleted first
+	@Modifying
+	@Query("DELETE FROM Response r WHERE r.post.postId IN :postIds")
+	int deleteOnPosts(@Param("postIds") Collection<Integer> postIds);
+
+	//set-based delete that skips the cascades, the comments and votes must be deleted first
+	@Modifying
+	@Query("DELETE FROM Response r WHERE r.respId IN :respIds")
+	int deleteInBulk(@Param("respIds") Collection<Integer> respIds);
 }
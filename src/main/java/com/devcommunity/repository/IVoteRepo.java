@@ -1,9 +1,13 @@
 package com.devcommunity.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.devcommunity.entity.Vote;
 import com.devcommunity.util.VoteType;
@@ -23,4 +27,18 @@ public interface IVoteRepo extends JpaRepository<Vote,Integer>
 	public List<Vote> findByDeveloperIdAndComment_CommentId(int developerId, int commentId);
 	public List<Vote> findByDeveloperIdAndResponse_RespId(Integer id, Integer respId);
 
+	//votes on the posts, their answers and the comments on either, in one statement
+	@Modifying
+	@Query("DELETE FROM Vote v WHERE v.post.postId IN :postIds "
+			+ "OR v.response.respId IN (SELECT r.respId FROM Response r WHERE r.post.postId IN :postIds) "
+			+ "OR v.comment.commentId IN (SELECT c.commentId FROM Comment c WHERE c.post.postId IN :postIds) "
+			+ "OR v.comment.commentId IN (SELECT c.commentId FROM Comment c JOIN c.response r WHERE r.post.postId IN :postIds)")
+	public int deleteOnPosts(@Param("postIds") Collection<Integer> postIds);
+
+	//votes on the responses and the comments on them, in one statement
+	@Modifying
+	@Query("DELETE FROM Vote v WHERE v.response.respId IN :respIds "
+			+ "OR v.comment.commentId IN (SELECT c.commentId FROM Comment c WHERE c.response.respId IN :respIds)")
+	public int deleteOnResponses(@Param("respIds") Collection<Integer> respIds);
+
 }
@@ -0,0 +1,102 @@
+package com.devcommunity.repository;
+
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Table the ids of posts, responses and comments are handed out from, one row
+ * per entity holding the next free id. Hibernate takes BLOCK_SIZE ids at a time
+ * (the pooled-lo optimizer) and assigns them in memory, so unlike IDENTITY
+ * columns the inserts of a flush can be sent as one JDBC batch. The table works
+ * the same on MySQL, which has no sequences, and on H2.
+ *
+ * On startup every row is moved past the highest id already in its table, so
+ * rows written before the switch from IDENTITY, or by plain JDBC, are never
+ * handed out again. Plain JDBC writers take their ids with {@link #reserve}.
+ */
+@Repository
+public class IdAllocationTable implements SmartInitializingSingleton {
+
+	private static final Logger logger = LoggerFactory.getLogger(IdAllocationTable.class);
+
+	public static final String TABLE = "id_allocation";
+	public static final String NAME_COLUMN = "sequence_name";
+	public static final String VALUE_COLUMN = "next_val";
+	public static final int BLOCK_SIZE = 50;
+
+	public static final String POST = "post";
+	public static final String RESPONSE = "response";
+	public static final String COMMENT = "comment";
+
+	// table and id column of the entity behind each row
+	private static final Map<String, String[]> ID_COLUMNS = Map.of(
+			POST, new String[] { "post", "post_id" },
+			RESPONSE, new String[] { "response", "resp_id" },
+			COMMENT, new String[] { "comment", "comment_id" });
+
+	private static final String ADVANCE_SQL = "UPDATE " + TABLE + " SET " + VALUE_COLUMN + " = ? WHERE "
+			+ NAME_COLUMN + " = ? AND " + VALUE_COLUMN + " < ?";
+	private static final String COUNT_SQL = "SELECT COUNT(*) FROM " + TABLE + " WHERE " + NAME_COLUMN + " = ?";
+	private static final String INSERT_SQL = "INSERT INTO " + TABLE + " (" + NAME_COLUMN + ", " + VALUE_COLUMN
+			+ ") VALUES (?, ?)";
+	private static final String RESERVE_SQL = "UPDATE " + TABLE + " SET " + VALUE_COLUMN + " = " + VALUE_COLUMN
+			+ " + ? WHERE " + NAME_COLUMN + " = ?";
+	private static final String NEXT_SQL = "SELECT " + VALUE_COLUMN + " FROM " + TABLE + " WHERE " + NAME_COLUMN
+			+ " = ?";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public IdAllocationTable(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	/**
+	 * Runs once the schema exists and before the web server accepts requests
+	 */
+	@Override
+	public void afterSingletonsInstantiated() {
+		ID_COLUMNS.forEach((name, column) -> advancePastExistingIds(name, column[0], column[1]));
+	}
+
+	/**
+	 * Takes a block of consecutive ids for rows inserted without Hibernate
+	 *
+	 * @param name  row of the table, one of POST, RESPONSE or COMMENT
+	 * @param count number of ids
+	 * @return the first id of the block
+	 */
+	@Transactional
+	public int reserve(String name, int count) {
+		if (jdbcTemplate.update(RESERVE_SQL, count, name) == 0) {
+			throw new IllegalStateException("No id allocation row for " + name);
+		}
+		Long next = jdbcTemplate.queryForObject(NEXT_SQL, Long.class, name);
+		return (int) (next - count);
+	}
+
+	private void advancePastExistingIds(String name, String table, String idColumn) {
+		Long next = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(" + idColumn + "), 0) + 1 FROM " + table,
+				Long.class);
+		if (jdbcTemplate.update(ADVANCE_SQL, next, name, next) > 0) {
+			logger.info("Ids of {} now start at {}", name, next);
+			return;
+		}
+		Integer rows = jdbcTemplate.queryForObject(COUNT_SQL, Integer.class, name);
+		if (rows != null && rows > 0) {
+			return;
+		}
+		try {
+			jdbcTemplate.update(INSERT_SQL, name, next);
+		} catch (DuplicateKeyException e) {
+			// another instance created the row first
+			jdbcTemplate.update(ADVANCE_SQL, next, name, next);
+		}
+	}
+}
@@ -0,0 +1,328 @@
+package com.devcommunity.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devcommunity.util.BufferedVote;
+import com.devcommunity.util.BufferedVote.Target;
+import com.devcommunity.util.VoteType;
+
+/**
+ * Stores votes with plain JDBC, relying on the unique (developer, target) keys of
+ * the votes table instead of checking for an existing vote first.
+ * A vote is first inserted with INSERT IGNORE, which only adds a row if the
+ * developer and target exist and the developer has not voted on the target yet.
+ * If nothing was inserted the existing vote is flipped with a conditional UPDATE,
+ * which touches the row only when the vote type differs. Both statements are
+ * atomic, so concurrent clicks cannot create two votes.
+ * Every write first locks the rows of the voted posts, responses or comments
+ * with SELECT ... FOR UPDATE, in id order, so no other writer can add or flip a
+ * vote on them until it commits. A batch then reads its existing votes with a
+ * locking read and classifies each vote from it: a vote without a row is
+ * inserted, one whose stored type differs is flipped, the others are left
+ * alone. When the driver rewrites the insert batch (rewriteBatchedStatements)
+ * it reports SUCCESS_NO_INFO instead of an update count per statement; the new
+ * votes are then read back, and a row that exists now was inserted by the
+ * batch, since the target locks kept everyone else from inserting it.
+ */
+@Repository
+public class VoteWriter {
+
+	public enum Change {
+		INSERTED, CHANGED, UNCHANGED
+	}
+
+	/**
+	 * Outcome of storing a single vote
+	 */
+	public static final class Upsert {
+		private final int voteId;
+		private final Change change;
+
+		public Upsert(int voteId, Change change) {
+			this.voteId = voteId;
+			this.change = change;
+		}
+
+		public int getVoteId() {
+			return voteId;
+		}
+
+		public Change getChange() {
+			return change;
+		}
+	}
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public VoteWriter(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	/**
+	 * Stores a vote, re-vote or vote flip
+	 *
+	 * @return the stored vote, or null if the developer or the target does not exist
+	 */
+	@Transactional
+	public Upsert upsert(Target target, int targetId, int developerId, VoteType voteType) {
+		Table table = Table.of(target);
+		lockTargets(table, List.of(targetId));
+		KeyHolder keyHolder = new GeneratedKeyHolder();
+		int inserted = jdbcTemplate.update(con -> {
+			PreparedStatement ps = con.prepareStatement(table.insertSql, Statement.RETURN_GENERATED_KEYS);
+			ps.setString(1, voteType.name());
+			ps.setInt(2, developerId);
+			ps.setInt(3, targetId);
+			return ps;
+		}, keyHolder);
+		if (inserted > 0) {
+			return new Upsert(keyHolder.getKey().intValue(), Change.INSERTED);
+		}
+
+		int changed = jdbcTemplate.update(table.changeSql, voteType.name(), developerId, targetId, voteType.name());
+		List<Integer> voteIds = jdbcTemplate.queryForList(table.findIdSql, Integer.class, developerId, targetId);
+		if (voteIds.isEmpty()) {
+			return null;
+		}
+		return new Upsert(voteIds.get(0), changed > 0 ? Change.CHANGED : Change.UNCHANGED);
+	}
+
+	/**
+	 * Stores a batch of votes. The vote counters and the authors' reputation are
+	 * adjusted once per target instead of once per vote.
+	 *
+	 * @return number of votes inserted or flipped
+	 */
+	@Transactional
+	public int write(Collection<BufferedVote> votes) {
+		int stored = 0;
+		for (Change change : writeEach(new ArrayList<>(votes))) {
+			if (change != Change.UNCHANGED) {
+				stored++;
+			}
+		}
+		return stored;
+	}
+
+	/**
+	 * Stores a batch of votes like {@link #write(Collection)}, reporting what
+	 * happened to each. A vote by a developer or on a target that does not exist
+	 * is reported UNCHANGED. The batch must hold at most one vote per developer
+	 * and target.
+	 *
+	 * @return the change of each vote, in the order of the batch
+	 */
+	@Transactional
+	public List<Change> writeEach(List<BufferedVote> votes) {
+		Map<Target, List<Integer>> byTarget = new EnumMap<>(Target.class);
+		for (int i = 0; i < votes.size(); i++) {
+			byTarget.computeIfAbsent(votes.get(i).getTarget(), t -> new ArrayList<>()).add(i);
+		}
+
+		Change[] changes = new Change[votes.size()];
+		for (Map.Entry<Target, List<Integer>> entry : byTarget.entrySet()) {
+			List<Integer> positions = entry.getValue();
+			List<BufferedVote> group = new ArrayList<>(positions.size());
+			for (int position : positions) {
+				group.add(votes.get(position));
+			}
+			Change[] groupChanges = write(Table.of(entry.getKey()), group);
+			for (int i = 0; i < groupChanges.length; i++) {
+				changes[positions.get(i)] = groupChanges[i];
+			}
+		}
+		return Arrays.asList(changes);
+	}
+
+	private Change[] write(Table table, List<BufferedVote> votes) {
+		Set<Integer> targetIds = new TreeSet<>();
+		for (BufferedVote vote : votes) {
+			targetIds.add(vote.getTargetId());
+		}
+		lockTargets(table, targetIds);
+		Map<Long, VoteType> storedTypes = readStoredTypes(table, votes);
+
+		// up and down deltas per target id, sorted so concurrent flushes lock rows in the same order
+		Map<Integer, int[]> tallies = new TreeMap<>();
+		List<BufferedVote> added = new ArrayList<>();
+		List<Integer> addedPositions = new ArrayList<>();
+		List<Object[]> insertArgs = new ArrayList<>();
+		List<Object[]> changeArgs = new ArrayList<>();
+		Change[] changes = new Change[votes.size()];
+		Arrays.fill(changes, Change.UNCHANGED);
+		for (int i = 0; i < votes.size(); i++) {
+			BufferedVote vote = votes.get(i);
+			VoteType storedType = storedTypes.get(key(vote));
+			if (storedType == null) {
+				added.add(vote);
+				addedPositions.add(i);
+				insertArgs.add(new Object[] { vote.getVoteType().name(), vote.getDeveloperId(), vote.getTargetId() });
+			} else if (storedType != vote.getVoteType()) {
+				changeArgs.add(new Object[] { vote.getVoteType().name(), vote.getDeveloperId(), vote.getTargetId(),
+						vote.getVoteType().name() });
+				count(tallies, vote.getTargetId(), vote.getVoteType(), 1);
+				count(tallies, vote.getTargetId(), storedType, -1);
+				changes[i] = Change.CHANGED;
+			}
+		}
+
+		if (!insertArgs.isEmpty()) {
+			int[] insertCounts = jdbcTemplate.batchUpdate(table.insertSql, insertArgs);
+			if (!allReported(insertCounts)) {
+				// a vote without a row is on a developer or target that does not exist
+				Map<Long, VoteType> insertedTypes = readStoredTypes(table, added);
+				for (int i = 0; i < insertCounts.length; i++) {
+					insertCounts[i] = insertedTypes.containsKey(key(added.get(i))) ? 1 : 0;
+				}
+			}
+			for (int i = 0; i < insertCounts.length; i++) {
+				if (insertCounts[i] > 0) {
+					BufferedVote vote = added.get(i);
+					count(tallies, vote.getTargetId(), vote.getVoteType(), 1);
+					changes[addedPositions.get(i)] = Change.INSERTED;
+				}
+			}
+		}
+		// the vote rows are locked by the read, so every one of these updates applies
+		if (!changeArgs.isEmpty()) {
+			jdbcTemplate.batchUpdate(table.changeSql, changeArgs);
+		}
+		if (tallies.isEmpty()) {
+			return changes;
+		}
+
+		List<Object[]> tallyArgs = new ArrayList<>(tallies.size());
+		List<Object[]> reputationArgs = new ArrayList<>(tallies.size());
+		for (Map.Entry<Integer, int[]> entry : tallies.entrySet()) {
+			int up = entry.getValue()[0];
+			int down = entry.getValue()[1];
+			tallyArgs.add(new Object[] { up, down, entry.getKey() });
+			if (up != down) {
+				reputationArgs.add(new Object[] { up - down, entry.getKey() });
+			}
+		}
+		jdbcTemplate.batchUpdate(table.tallySql, tallyArgs);
+		if (!reputationArgs.isEmpty()) {
+			jdbcTemplate.batchUpdate(table.reputationSql, reputationArgs);
+		}
+		return changes;
+	}
+
+	/**
+	 * Locks the target rows in id order, so writers of overlapping targets queue
+	 * behind each other instead of deadlocking
+	 */
+	private void lockTargets(Table table, Collection<Integer> targetIds) {
+		jdbcTemplate.query(table.lockTargetsSql + placeholders(targetIds.size()) + " ORDER BY " + table.idColumn
+				+ " FOR UPDATE", rs -> {
+				}, targetIds.toArray());
+	}
+
+	/**
+	 * Reads and locks the stored votes of the given developers and targets
+	 *
+	 * @return stored vote type by developer and target
+	 */
+	private Map<Long, VoteType> readStoredTypes(Table table, List<BufferedVote> votes) {
+		List<Object> args = new ArrayList<>(votes.size() * 2);
+		for (BufferedVote vote : votes) {
+			args.add(vote.getDeveloperId());
+		}
+		for (BufferedVote vote : votes) {
+			args.add(vote.getTargetId());
+		}
+
+		Map<Long, VoteType> storedTypes = new HashMap<>();
+		jdbcTemplate.query(table.readSql + placeholders(votes.size()) + " AND " + table.voteColumn + " IN "
+				+ placeholders(votes.size()) + " FOR UPDATE",
+				rs -> {
+					storedTypes.put(key(rs.getInt(1), rs.getInt(2)), VoteType.valueOf(rs.getString(3)));
+				}, args.toArray());
+		return storedTypes;
+	}
+
+	private static String placeholders(int count) {
+		StringJoiner placeholders = new StringJoiner(",", "(", ")");
+		for (int i = 0; i < count; i++) {
+			placeholders.add("?");
+		}
+		return placeholders.toString();
+	}
+
+	private static boolean allReported(int[] counts) {
+		for (int count : counts) {
+			if (count == Statement.SUCCESS_NO_INFO) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static long key(BufferedVote vote) {
+		return key(vote.getDeveloperId(), vote.getTargetId());
+	}
+
+	private static long key(int developerId, int targetId) {
+		return ((long) developerId << 32) | (targetId & 0xffffffffL);
+	}
+
+	private static void count(Map<Integer, int[]> tallies, int targetId, VoteType voteType, int delta) {
+		tallies.computeIfAbsent(targetId, id -> new int[2])[voteType == VoteType.UPVOTE ? 0 : 1] += delta;
+	}
+
+	private enum Table {
+		POST("post", "post_id", "post_id"),
+		RESPONSE("response", "resp_id", "response_id"),
+		COMMENT("comment", "comment_id", "comment_id");
+
+		private final String idColumn;
+		private final String voteColumn;
+		private final String lockTargetsSql;
+		private final String insertSql;
+		private final String changeSql;
+		private final String findIdSql;
+		private final String readSql;
+		private final String tallySql;
+		private final String reputationSql;
+
+		Table(String table, String idColumn, String voteColumn) {
+			this.idColumn = idColumn;
+			this.voteColumn = voteColumn;
+			this.lockTargetsSql = "SELECT " + idColumn + " FROM " + table + " WHERE " + idColumn + " IN ";
+			// selecting from the developer and target tables skips votes on rows that do not exist
+			this.insertSql = "INSERT IGNORE INTO votes (vote_type, developer_id, " + voteColumn + ") "
+					+ "SELECT ?, d.id, t." + idColumn + " FROM " + table + " t JOIN developer d ON d.id = ? "
+					+ "WHERE t." + idColumn + " = ?";
+			this.changeSql = "UPDATE votes SET vote_type = ? WHERE developer_id = ? AND " + voteColumn
+					+ " = ? AND vote_type <> ?";
+			this.findIdSql = "SELECT vote_id FROM votes WHERE developer_id = ? AND " + voteColumn + " = ?";
+			this.readSql = "SELECT developer_id, " + voteColumn + ", vote_type FROM votes WHERE developer_id IN ";
+			this.tallySql = "UPDATE " + table + " SET up_votes = up_votes + ?, down_votes = down_votes + ? WHERE "
+					+ idColumn + " = ?";
+			this.reputationSql = "UPDATE developer SET reputation = COALESCE(reputation, 0) + ? WHERE id = "
+					+ "(SELECT developer_id FROM " + table + " WHERE " + idColumn + " = ?)";
+		}
+
+		private static Table of(Target target) {
+			return valueOf(target.name());
+		}
+	}
+}
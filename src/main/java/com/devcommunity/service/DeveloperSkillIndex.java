@@ -0,0 +1,259 @@
+package com.devcommunity.service;
+
+import com.devcommunity.dto.DeveloperSkillDTO;
+import com.devcommunity.repository.IDevRepo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory index from normalised skill tags to the developers listing them.
+ * Developer.devSkill is split into lower case tags on commas, slashes,
+ * semicolons and whitespace, so "Java, Spring Boot" is tagged java, spring
+ * and boot while names like c++ or node.js stay whole. Each tag keeps a sorted
+ * array of developer ids, so matching every tag walks the rarest one.
+ * DeveloperServiceImpl indexes committed profiles and UserServiceImpl removes
+ * deleted ones; skill search scans the developer table per tag until the
+ * startup load has finished.
+ */
+@Service
+public class DeveloperSkillIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeveloperSkillIndex.class);
+
+    private static final Pattern TAG_SEPARATOR = Pattern.compile("[\\s,;/|]+");
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final int[] NO_DEVELOPERS = new int[0];
+
+    private final IDevRepo devRepo;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Integer, String[]> developerTags = new HashMap<>();
+    private final IndexRebuilder rebuilder = new IndexRebuilder(lock);
+
+    public DeveloperSkillIndex(IDevRepo devRepo) {
+        this.devRepo = devRepo;
+    }
+
+    public boolean isReady() {
+        return rebuilder.isReady();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return developerTags.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a developer to the index or replaces its previous skills
+     */
+    public void index(Integer developerId, String devSkill) {
+        rebuilder.update(developerId, id -> put(id, devSkill));
+    }
+
+    /**
+     * Drops a deleted developer from the index
+     */
+    public void remove(Integer developerId) {
+        rebuilder.update(developerId, this::delete);
+    }
+
+    /**
+     * Finds the developers listing the given tags
+     *
+     * @param tags     normalised tags, see {@link #tags(String)}
+     * @param matchAll true to require every tag, false to require any of them
+     * @return developer ids, ascending
+     */
+    public int[] search(List<String> tags, boolean matchAll) {
+        if (tags.isEmpty()) {
+            return NO_DEVELOPERS;
+        }
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>(tags.size());
+            for (String tag : new HashSet<>(tags)) {
+                Postings list = postings.get(tag);
+                if (list != null) {
+                    lists.add(list);
+                } else if (matchAll) {
+                    return NO_DEVELOPERS;
+                }
+            }
+            if (lists.isEmpty()) {
+                return NO_DEVELOPERS;
+            }
+            return matchAll ? intersect(lists) : union(lists);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread thread = new Thread(this::rebuild, "developer-skill-index-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Reloads every developer's skills from the database in batches ordered by id
+     */
+    public void rebuild() {
+        try {
+            int developers = rebuilder.rebuild(
+                    lastId -> devRepo.findSkillBatchAfter(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE)),
+                    REBUILD_BATCH_SIZE, DeveloperSkillDTO::getDeveloperId,
+                    developer -> put(developer.getDeveloperId(), developer.getDevSkill()), developerTags::keySet,
+                    this::delete);
+            logger.info("Developer skill index rebuilt with {} developers and {} skills", developers, skillCount());
+        } catch (RuntimeException e) {
+            logger.error("Developer skill index rebuild failed", e);
+        }
+    }
+
+    private int skillCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits a skill list into distinct lower case tags
+     */
+    public static List<String> tags(String skills) {
+        if (skills == null || skills.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(TAG_SEPARATOR.split(skills.toLowerCase(Locale.ROOT)))
+                .filter(tag -> !tag.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    private void put(int developerId, String devSkill) {
+        delete(developerId);
+        List<String> tags = tags(devSkill);
+        for (String tag : tags) {
+            postings.computeIfAbsent(tag, k -> new Postings()).add(developerId);
+        }
+        developerTags.put(developerId, tags.toArray(new String[0]));
+    }
+
+    private void delete(int developerId) {
+        String[] previous = developerTags.remove(developerId);
+        if (previous == null) {
+            return;
+        }
+        for (String tag : previous) {
+            Postings list = postings.get(tag);
+            if (list != null && list.remove(developerId) && list.size == 0) {
+                postings.remove(tag);
+            }
+        }
+    }
+
+    /**
+     * Walks the shortest list and probes the others, so the cost follows the rarest tag
+     */
+    private static int[] intersect(List<Postings> lists) {
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        Postings shortest = lists.get(0);
+        int[] result = new int[shortest.size];
+        int count = 0;
+        int[] from = new int[lists.size()];
+        candidates:
+        for (int i = 0; i < shortest.size; i++) {
+            int developerId = shortest.ids[i];
+            for (int l = 1; l < lists.size(); l++) {
+                Postings other = lists.get(l);
+                int idx = Arrays.binarySearch(other.ids, from[l], other.size, developerId);
+                if (idx < 0) {
+                    from[l] = -idx - 1;
+                    continue candidates;
+                }
+                from[l] = idx + 1;
+            }
+            result[count++] = developerId;
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static int[] union(List<Postings> lists) {
+        int total = 0;
+        for (Postings list : lists) {
+            total += list.size;
+        }
+        int[] all = new int[total];
+        int count = 0;
+        for (Postings list : lists) {
+            System.arraycopy(list.ids, 0, all, count, list.size);
+            count += list.size;
+        }
+        if (lists.size() == 1) {
+            return all;
+        }
+        Arrays.sort(all);
+        int distinct = 0;
+        for (int i = 0; i < all.length; i++) {
+            if (i == 0 || all[i] != all[i - 1]) {
+                all[distinct++] = all[i];
+            }
+        }
+        return Arrays.copyOf(all, distinct);
+    }
+
+    /**
+     * Developer ids listing a tag, sorted ascending
+     */
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        private void add(int developerId) {
+            int idx = Arrays.binarySearch(ids, 0, size, developerId);
+            if (idx >= 0) {
+                return;
+            }
+            idx = -idx - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, idx, ids, idx + 1, size - idx);
+            ids[idx] = developerId;
+            size++;
+        }
+
+        private boolean remove(int developerId) {
+            int idx = Arrays.binarySearch(ids, 0, size, developerId);
+            if (idx < 0) {
+                return false;
+            }
+            System.arraycopy(ids, idx + 1, ids, idx, size - idx - 1);
+            size--;
+            return true;
+        }
+    }
+}
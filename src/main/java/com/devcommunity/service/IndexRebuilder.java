@@ -0,0 +1,125 @@
+package com.devcommunity.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Reloads an in-memory index from the database while the index keeps taking
+ * live changes. Rows are read in batches ordered by id and each batch is applied
+ * under the index's write lock, so reads only wait for one batch at a time.
+ * Entries changed through {@link #update} while a reload runs are remembered and
+ * left alone by it, since the rows it reads for them may already be stale.
+ */
+final class IndexRebuilder {
+
+    private final ReentrantReadWriteLock lock;
+
+    private final Set<Integer> touchedDuringRebuild = new HashSet<>();
+    private boolean rebuilding;
+    private volatile boolean ready;
+
+    IndexRebuilder(ReentrantReadWriteLock lock) {
+        this.lock = lock;
+    }
+
+    /**
+     * @return true once a reload has completed
+     */
+    boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Applies a live change to one entry under the write lock
+     */
+    void update(Integer id, IntConsumer change) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                touchedDuringRebuild.add(id);
+            }
+            change.accept(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reloads every row, then deletes the entries whose rows no longer exist
+     *
+     * @param batchAfter loads the next batch of rows with an id above the given one, ordered by id
+     * @param batchSize  size of a full batch, a shorter one is the last
+     * @param idOf       id of a row
+     * @param put        adds or replaces the entry of a row
+     * @param indexedIds ids of the entries in the index
+     * @param delete     deletes an entry
+     * @return number of rows loaded
+     */
+    <R> int rebuild(IntFunction<List<R>> batchAfter, int batchSize, ToIntFunction<R> idOf, Consumer<R> put,
+            Supplier<Collection<Integer>> indexedIds, IntConsumer delete) {
+        lock.writeLock().lock();
+        try {
+            rebuilding = true;
+            touchedDuringRebuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Set<Integer> seen = new HashSet<>();
+        try {
+            int lastId = 0;
+            List<R> batch;
+            do {
+                batch = batchAfter.apply(lastId);
+                lock.writeLock().lock();
+                try {
+                    for (R row : batch) {
+                        int id = idOf.applyAsInt(row);
+                        seen.add(id);
+                        if (!touchedDuringRebuild.contains(id)) {
+                            put.accept(row);
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                if (!batch.isEmpty()) {
+                    lastId = idOf.applyAsInt(batch.get(batch.size() - 1));
+                }
+            } while (batch.size() == batchSize);
+
+            lock.writeLock().lock();
+            try {
+                for (Integer id : new ArrayList<>(indexedIds.get())) {
+                    if (!seen.contains(id) && !touchedDuringRebuild.contains(id)) {
+                        delete.accept(id);
+                    }
+                }
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return seen.size();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                rebuilding = false;
+                touchedDuringRebuild.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+}
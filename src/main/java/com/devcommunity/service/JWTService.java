@@ -1,13 +1,18 @@
 package com.devcommunity.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.devcommunity.util.ExpiringCache;
+
 import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
@@ -26,8 +31,24 @@ public class JWTService {
 	@Value("${jwt.refresh-token-expiration:604800000}") // 7 days default
 	private long refreshTokenExpiration;
 
+	@Value("${jwt.claims-cache.max-size:10000}")
+	private int claimsCacheMaxSize;
+
+	private SecretKey key;
+	private JwtParser parser;
+
+	// claims of tokens whose signature was already verified, each kept until the token expires
+	private ExpiringCache<String, Claims> verifiedClaims;
+
 	public JWTService() {} //NOSONAR
 
+	@PostConstruct
+	public void init() {
+		key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretkey));
+		parser = Jwts.parser().verifyWith(key).build();
+		verifiedClaims = new ExpiringCache<>(claimsCacheMaxSize);
+	}
+
 	public String generateToken(String username) {
 		Map<String, Object> claims = new HashMap<>();
 		return Jwts.builder()
@@ -36,7 +57,7 @@ public class JWTService {
 				.issuedAt(new Date(System.currentTimeMillis()))
 				.expiration(new Date(System.currentTimeMillis() + accessTokenExpiration))
 				.and()
-				.signWith(getKey())
+				.signWith(key)
 				.compact();
 	}
 
@@ -48,35 +69,44 @@ public class JWTService {
 		return refreshTokenExpiration;
 	}
 
-	private SecretKey getKey() {
-		byte[] keyBytes = Decoders.BASE64.decode(secretkey);
-		return Keys.hmacShaKeyFor(keyBytes);
-	}
-
 	public String extractUserName(String token) {
 		return extractClaim(token, Claims::getSubject);
 	}
 
+	/**
+	 * Verifies the token once and returns its subject
+	 *
+	 * @return the username, or null if the token is malformed, tampered with or expired
+	 */
+	public String getValidUserName(String token) {
+		try {
+			return extractAllClaims(token).getSubject();
+		} catch (JwtException | IllegalArgumentException e) {
+			return null;
+		}
+	}
+
 	private <T> T extractClaim(String token, Function<Claims, T> claimResolver) {
 		final Claims claims = extractAllClaims(token);
 		return claimResolver.apply(claims);
 	}
 
 	private Claims extractAllClaims(String token) {
-		return Jwts.parser().verifyWith(getKey()).build().parseSignedClaims(token).getPayload();
+		Claims claims = verifiedClaims.get(token);
+		if (claims != null) {
+			return claims;
+		}
+		// throws if the signature does not match or the token has expired
+		claims = parser.parseSignedClaims(token).getPayload();
+		if (claims.getExpiration() != null) {
+			verifiedClaims.put(token, claims, claims.getExpiration().getTime());
+		}
+		return claims;
 	}
 
 	public boolean validateToken(String token, UserDetails userDetails) {
-		final String userName = extractUserName(token);
-		return (userName.equals(userDetails.getUsername()) && !isTokenExpired(token));
-	}
-
-	private boolean isTokenExpired(String token) {
-		return extractExpiration(token).before(new Date());
-	}
-
-	private Date extractExpiration(String token) {
-		return extractClaim(token, Claims::getExpiration);
+		final Claims claims = extractAllClaims(token);
+		return (claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date()));
 	}
 
 }
\ No newline at end of file
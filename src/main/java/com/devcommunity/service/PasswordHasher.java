@@ -0,0 +1,159 @@
+package com.devcommunity.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.devcommunity.exception.ServiceBusyException;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * BCrypt password encoder that runs every hash and verification on a dedicated
+ * pool that by default uses half of the cores, so a burst of logins leaves the
+ * other half to the other endpoints. Callers wait for their hash, but once the queue
+ * is full new requests are refused with a ServiceBusyException instead of piling up.
+ */
+@Service
+public class PasswordHasher implements PasswordEncoder {
+
+	private static final Logger logger = LoggerFactory.getLogger(PasswordHasher.class);
+
+	private final PasswordEncoder delegate;
+	private final ThreadPoolExecutor executor;
+	private final long retryAfterSeconds;
+
+	private final AtomicLong hashCount = new AtomicLong();
+	private final AtomicLong hashNanos = new AtomicLong();
+	private final AtomicLong maxHashNanos = new AtomicLong();
+	private final AtomicLong rejectedCount = new AtomicLong();
+
+	@Autowired
+	public PasswordHasher(@Value("${security.password-hashing.threads:0}") int threads,
+			@Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+			@Value("${security.password-hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+		this(new BCryptPasswordEncoder(12), threads, queueCapacity, retryAfterSeconds);
+	}
+
+	public PasswordHasher(PasswordEncoder delegate, int threads, int queueCapacity, long retryAfterSeconds) {
+		this.delegate = delegate;
+		// 0 means half of the available cores, at least one
+		int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+		AtomicInteger threadNumber = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+					Thread thread = new Thread(runnable, "password-hasher-" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.AbortPolicy());
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return run(() -> delegate.encode(rawPassword));
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return run(() -> delegate.matches(rawPassword, encodedPassword));
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return delegate.upgradeEncoding(encodedPassword);
+	}
+
+	/**
+	 * @return number of hashes waiting for a free thread
+	 */
+	public int getQueueDepth() {
+		return executor.getQueue().size();
+	}
+
+	public int getPoolSize() {
+		return executor.getMaximumPoolSize();
+	}
+
+	public int getActiveCount() {
+		return executor.getActiveCount();
+	}
+
+	public long getHashCount() {
+		return hashCount.get();
+	}
+
+	public long getRejectedCount() {
+		return rejectedCount.get();
+	}
+
+	/**
+	 * @return average time spent hashing, excluding the time spent in the queue
+	 */
+	public double getAverageHashMillis() {
+		long count = hashCount.get();
+		return count == 0 ? 0 : hashNanos.get() / (count * 1_000_000.0);
+	}
+
+	public double getTotalHashMillis() {
+		return hashNanos.get() / 1_000_000.0;
+	}
+
+	public double getMaxHashMillis() {
+		return maxHashNanos.get() / 1_000_000.0;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	private <T> T run(Callable<T> hash) {
+		Future<T> future;
+		try {
+			future = executor.submit(() -> timed(hash));
+		} catch (RejectedExecutionException e) {
+			rejectedCount.incrementAndGet();
+			logger.debug("Password hashing queue is full, rejecting request");
+			throw new ServiceBusyException("Server is busy, please try again later", retryAfterSeconds);
+		}
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			future.cancel(true);
+			throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new IllegalStateException("Password hashing failed", e.getCause());
+		}
+	}
+
+	private <T> T timed(Callable<T> hash) throws Exception {
+		long start = System.nanoTime();
+		try {
+			return hash.call();
+		} finally {
+			long elapsed = System.nanoTime() - start;
+			hashCount.incrementAndGet();
+			hashNanos.addAndGet(elapsed);
+			maxHashNanos.accumulateAndGet(elapsed, Math::max);
+		}
+	}
+}
@@ -0,0 +1,256 @@
+package com.devcommunity.service;
+
+import com.devcommunity.dto.PostTextDTO;
+import com.devcommunity.repository.IPostRepo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over Post.topic and Post.query, ranked with BM25.
+ * Words of the topic count twice, and query words of three or more letters
+ * also match longer terms at half weight, so "hiber" finds hibernate.
+ * PostServiceImpl writes its committed post changes through to the index, and
+ * keyword search reads the posts table until the startup load has finished.
+ */
+@Service
+public class PostSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostSearchIndex.class);
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // topic words are counted this many times so that topic matches rank higher
+    private static final int TOPIC_BOOST = 2;
+    // query words shorter than this are not expanded to longer terms
+    private static final int MIN_PREFIX_LENGTH = 3;
+    private static final double PREFIX_MATCH_WEIGHT = 0.5;
+
+    private final IPostRepo postRepo;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Postings> postings = new TreeMap<>();
+    private final Map<Integer, Document> documents = new HashMap<>();
+    private long totalLength;
+    private final IndexRebuilder rebuilder = new IndexRebuilder(lock);
+
+    public PostSearchIndex(IPostRepo postRepo) {
+        this.postRepo = postRepo;
+    }
+
+    public boolean isReady() {
+        return rebuilder.isReady();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a post to the index or replaces its previous content
+     */
+    public void index(Integer postId, String topic, String query) {
+        rebuilder.update(postId, id -> put(id, topic, query));
+    }
+
+    public void remove(Integer postId) {
+        rebuilder.update(postId, this::delete);
+    }
+
+    /**
+     * Ranks the posts matching any word of the keyword
+     *
+     * @param keyword one or more words
+     * @param offset  number of ranked results to skip
+     * @param limit   maximum number of results
+     * @return post ids, best match first
+     */
+    public List<Integer> search(String keyword, int offset, int limit) {
+        List<String> words = tokenize(keyword);
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Map<Integer, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int docCount = documents.size();
+            if (docCount == 0) {
+                return List.of();
+            }
+            double avgLength = (double) totalLength / docCount;
+            for (String word : new HashSet<>(words)) {
+                for (Map.Entry<String, Postings> term : matchingTerms(word).entrySet()) {
+                    double weight = term.getKey().equals(word) ? 1.0 : PREFIX_MATCH_WEIGHT;
+                    accumulate(scores, term.getValue(), weight, docCount, avgLength);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .skip(offset)
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread thread = new Thread(this::rebuild, "post-search-index-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Reloads every post from the database in batches ordered by id
+     */
+    public void rebuild() {
+        try {
+            int posts = rebuilder.rebuild(
+                    lastId -> postRepo.findTextBatchAfter(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE)),
+                    REBUILD_BATCH_SIZE, PostTextDTO::getPostId,
+                    post -> put(post.getPostId(), post.getTopic(), post.getQuery()), documents::keySet,
+                    this::delete);
+            logger.info("Post search index rebuilt with {} posts", posts);
+        } catch (RuntimeException e) {
+            logger.error("Post search index rebuild failed", e);
+        }
+    }
+
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    private Map<String, Postings> matchingTerms(String word) {
+        if (word.length() < MIN_PREFIX_LENGTH) {
+            Postings exact = postings.get(word);
+            return exact == null ? Map.of() : Map.of(word, exact);
+        }
+        return postings.subMap(word, true, word + Character.MAX_VALUE, false);
+    }
+
+    private void accumulate(Map<Integer, Double> scores, Postings list, double weight, int docCount,
+            double avgLength) {
+        double idf = Math.log(1 + (docCount - list.size + 0.5) / (list.size + 0.5));
+        for (int i = 0; i < list.size; i++) {
+            int postId = list.docs[i];
+            int tf = list.freqs[i];
+            int length = documents.get(postId).length;
+            double norm = tf + K1 * (1 - B + B * length / avgLength);
+            scores.merge(postId, weight * idf * tf * (K1 + 1) / norm, Double::sum);
+        }
+    }
+
+    private void put(int postId, String topic, String query) {
+        delete(postId);
+
+        Map<String, Integer> freqs = new LinkedHashMap<>();
+        for (String token : tokenize(topic)) {
+            freqs.merge(token, TOPIC_BOOST, Integer::sum);
+        }
+        for (String token : tokenize(query)) {
+            freqs.merge(token, 1, Integer::sum);
+        }
+
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : freqs.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), k -> new Postings()).add(postId, entry.getValue());
+            length += entry.getValue();
+        }
+        documents.put(postId, new Document(freqs.keySet().toArray(new String[0]), length));
+        totalLength += length;
+    }
+
+    private void delete(int postId) {
+        Document previous = documents.remove(postId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms) {
+            Postings list = postings.get(term);
+            if (list != null && list.remove(postId) && list.size == 0) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= previous.length;
+    }
+
+    private static final class Document {
+        private final String[] terms;
+        private final int length;
+
+        private Document(String[] terms, int length) {
+            this.terms = terms;
+            this.length = length;
+        }
+    }
+
+    /**
+     * Post ids containing a term, sorted ascending, with the term frequency of each
+     */
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        private void add(int postId, int freq) {
+            int idx = Arrays.binarySearch(docs, 0, size, postId);
+            if (idx >= 0) {
+                freqs[idx] = freq;
+                return;
+            }
+            idx = -idx - 1;
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            System.arraycopy(docs, idx, docs, idx + 1, size - idx);
+            System.arraycopy(freqs, idx, freqs, idx + 1, size - idx);
+            docs[idx] = postId;
+            freqs[idx] = freq;
+            size++;
+        }
+
+        private boolean remove(int postId) {
+            int idx = Arrays.binarySearch(docs, 0, size, postId);
+            if (idx < 0) {
+                return false;
+            }
+            System.arraycopy(docs, idx + 1, docs, idx, size - idx - 1);
+            System.arraycopy(freqs, idx + 1, freqs, idx, size - idx - 1);
+            size--;
+            return true;
+        }
+    }
+}
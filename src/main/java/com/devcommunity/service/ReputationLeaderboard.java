@@ -0,0 +1,272 @@
+package com.devcommunity.service;
+
+import com.devcommunity.dto.DeveloperScoreDTO;
+import com.devcommunity.repository.IDevRepo;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory snapshot of every developer's reputation, ordered for the
+ * leaderboard. A snapshot is two sorted arrays: one of (reputation, id) keys
+ * in leaderboard order, which answers a page or the rank of a reputation with
+ * an index or a binary search, and one of developer ids for looking up a
+ * single developer. Snapshots are rebuilt from the database in the background
+ * every leaderboard.refresh-ms and swapped in whole, so reads take no lock and
+ * lag the database by at most one refresh. Before the first snapshot exists
+ * the leaderboard pages are read from the reputation index of the developer
+ * table instead.
+ */
+@Service
+public class ReputationLeaderboard {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReputationLeaderboard.class);
+
+    private static final int REBUILD_BATCH_SIZE = 10000;
+
+    private final IDevRepo devRepo;
+    private final long refreshMillis;
+
+    private volatile Snapshot snapshot;
+    private ScheduledExecutorService refresher;
+
+    public ReputationLeaderboard(IDevRepo devRepo, @Value("${leaderboard.refresh-ms:60000}") long refreshMillis) {
+        this.devRepo = devRepo;
+        this.refreshMillis = refreshMillis;
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    public int size() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.ranked.length;
+    }
+
+    /**
+     * Developers of one leaderboard page, highest reputation first and ties by id
+     *
+     * @param offset number of developers to skip
+     * @param limit  maximum number of developers
+     * @return standings, empty past the end or before the first rebuild
+     */
+    public List<Standing> page(int offset, int limit) {
+        Snapshot current = snapshot;
+        if (current == null || offset < 0 || offset >= current.ranked.length || limit <= 0) {
+            return List.of();
+        }
+        int end = (int) Math.min(current.ranked.length, (long) offset + limit);
+        List<Standing> standings = new ArrayList<>(end - offset);
+        int rank = 0;
+        long previousScore = 0;
+        for (int position = offset; position < end; position++) {
+            long key = current.ranked[position];
+            long score = scoreOf(key);
+            if (position == offset) {
+                rank = current.rankOf(score);
+            } else if (score != previousScore) {
+                rank = position + 1;
+            }
+            standings.add(new Standing(idOf(key), score, rank));
+            previousScore = score;
+        }
+        return standings;
+    }
+
+    /**
+     * @return standing of the developer, null if the developer is not in the snapshot
+     */
+    public Standing standingOf(int developerId) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return null;
+        }
+        int idx = Arrays.binarySearch(current.ids, developerId);
+        if (idx < 0) {
+            return null;
+        }
+        long score = current.scores[idx];
+        return new Standing(developerId, score, current.rankOf(score));
+    }
+
+    /**
+     * Orders the given developers like the leaderboard. Developers missing from
+     * the snapshot count as having no reputation.
+     *
+     * @param developerIds developers to order
+     * @param offset       number of ordered developers to skip
+     * @param limit        maximum number of developers
+     * @return developer ids, highest reputation first and ties by id
+     */
+    public List<Integer> order(int[] developerIds, int offset, int limit) {
+        if (offset < 0 || offset >= developerIds.length || limit <= 0) {
+            return List.of();
+        }
+        Snapshot current = snapshot;
+        long[] keys = new long[developerIds.length];
+        for (int i = 0; i < developerIds.length; i++) {
+            long score = 0;
+            if (current != null) {
+                int idx = Arrays.binarySearch(current.ids, developerIds[i]);
+                if (idx >= 0) {
+                    score = current.scores[idx];
+                }
+            }
+            keys[i] = keyOf(score, developerIds[i]);
+        }
+        Arrays.sort(keys);
+        int end = (int) Math.min(keys.length, (long) offset + limit);
+        List<Integer> ordered = new ArrayList<>(end - offset);
+        for (int i = offset; i < end; i++) {
+            ordered.add(idOf(keys[i]));
+        }
+        return ordered;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRefreshing() {
+        // a thread of its own, a rebuild over many developers must not hold up the shared scheduler
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reputation-leaderboard-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(this::rebuild, 0, refreshMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stopRefreshing() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    /**
+     * Reads every developer's reputation from the database in batches ordered by
+     * id and replaces the snapshot
+     */
+    public synchronized void rebuild() {
+        try {
+            int[] ids = new int[REBUILD_BATCH_SIZE];
+            long[] scores = new long[REBUILD_BATCH_SIZE];
+            int count = 0;
+            int lastId = 0;
+            List<DeveloperScoreDTO> batch;
+            do {
+                batch = devRepo.findScoreBatchAfter(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                if (count + batch.size() > ids.length) {
+                    ids = Arrays.copyOf(ids, Math.max(ids.length * 2, count + batch.size()));
+                    scores = Arrays.copyOf(scores, ids.length);
+                }
+                for (DeveloperScoreDTO row : batch) {
+                    ids[count] = row.getDeveloperId();
+                    scores[count] = row.getScore();
+                    count++;
+                }
+                if (!batch.isEmpty()) {
+                    lastId = batch.get(batch.size() - 1).getDeveloperId();
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+
+            long[] ranked = new long[count];
+            for (int i = 0; i < count; i++) {
+                ranked[i] = keyOf(scores[i], ids[i]);
+            }
+            Arrays.sort(ranked);
+            snapshot = new Snapshot(ranked, Arrays.copyOf(ids, count), Arrays.copyOf(scores, count));
+            logger.debug("Reputation leaderboard rebuilt with {} developers", count);
+        } catch (RuntimeException e) {
+            logger.error("Reputation leaderboard rebuild failed", e);
+        }
+    }
+
+    /**
+     * Sort key that puts higher scores first and breaks ties by ascending id.
+     * Ids are positive ints, so they fit below the negated score.
+     */
+    private static long keyOf(long score, int id) {
+        return (-score << 31) + id;
+    }
+
+    private static long scoreOf(long key) {
+        return -(key >> 31);
+    }
+
+    private static int idOf(long key) {
+        return (int) (key & Integer.MAX_VALUE);
+    }
+
+    private static final class Snapshot {
+        private final long[] ranked;
+        // ids ascending with the score of each
+        private final int[] ids;
+        private final long[] scores;
+
+        private Snapshot(long[] ranked, int[] ids, long[] scores) {
+            this.ranked = ranked;
+            this.ids = ids;
+            this.scores = scores;
+        }
+
+        /**
+         * @return one more than the number of developers with a higher score
+         */
+        private int rankOf(long score) {
+            long first = keyOf(score, 0);
+            int low = 0;
+            int high = ranked.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (ranked[mid] < first) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low + 1;
+        }
+    }
+
+    /**
+     * Place of one developer on the leaderboard
+     */
+    public static final class Standing {
+        private final int developerId;
+        private final long score;
+        private final int rank;
+
+        public Standing(int developerId, long score, int rank) {
+            this.developerId = developerId;
+            this.score = score;
+            this.rank = rank;
+        }
+
+        public int getDeveloperId() {
+            return developerId;
+        }
+
+        /**
+         * @return stored reputation score, not yet converted for display
+         */
+        public long getScore() {
+            return score;
+        }
+
+        public int getRank() {
+            return rank;
+        }
+    }
+}
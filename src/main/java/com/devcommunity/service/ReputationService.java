@@ -0,0 +1,96 @@
+package com.devcommunity.service;
+
+import com.devcommunity.entity.Developer;
+import com.devcommunity.entity.Vote;
+import com.devcommunity.repository.IDevRepo;
+import com.devcommunity.util.VoteType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps Developer.reputation in sync with the votes received on a developer's
+ * posts, responses and comments. The stored value is the raw net score
+ * (upvotes - downvotes); it is scaled down only when presented.
+ */
+@Service
+public class ReputationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReputationService.class);
+
+    /**
+     * Number of net upvotes that make up one point of displayed reputation
+     */
+    public static final int SCORE_PER_REPUTATION_POINT = 5;
+
+    private final IDevRepo devRepo;
+
+    public ReputationService(IDevRepo devRepo) {
+        this.devRepo = devRepo;
+    }
+
+    /**
+     * Credits the author of the voted content with the score of a newly saved vote
+     */
+    @Transactional
+    public void applyVote(Vote vote) {
+        adjust(vote, weightOf(vote.getVoteType()));
+    }
+
+    /**
+     * Takes back the score of a vote that is about to be removed
+     */
+    @Transactional
+    public void revertVote(Vote vote) {
+        adjust(vote, -weightOf(vote.getVoteType()));
+    }
+
+    /**
+     * Moves the author's score from the previous type of a flipped vote to its current type
+     */
+    @Transactional
+    public void changeVote(Vote vote, VoteType previousType) {
+        adjust(vote, weightOf(vote.getVoteType()) - weightOf(previousType));
+    }
+
+    /**
+     * Recomputes every developer's score from the votes table with one set-based UPDATE,
+     * so no vote committed while it runs is lost between reading and writing the scores.
+     * Corrects any drift, e.g. votes removed through cascades when content is deleted.
+     */
+    @Transactional
+    public void rebuildAll() {
+        int developers = devRepo.rebuildAllReputation();
+        logger.info("Reputation rebuilt for {} developers", developers);
+    }
+
+    public static int toDisplayReputation(Integer score) {
+        return score == null ? 0 : score / SCORE_PER_REPUTATION_POINT;
+    }
+
+    private void adjust(Vote vote, int delta) {
+        Developer author = authorOf(vote);
+        if (author == null || author.getId() == null) {
+            return;
+        }
+        devRepo.adjustReputation(author.getId(), delta);
+    }
+
+    private static Developer authorOf(Vote vote) {
+        if (vote.getPost() != null) {
+            return vote.getPost().getDeveloper();
+        }
+        if (vote.getResponse() != null) {
+            return vote.getResponse().getDeveloper();
+        }
+        if (vote.getComment() != null) {
+            return vote.getComment().getDeveloper();
+        }
+        return null;
+    }
+
+    private static int weightOf(VoteType voteType) {
+        return voteType == VoteType.UPVOTE ? 1 : -1;
+    }
+}
@@ -2,6 +2,7 @@ package com.devcommunity.service;
 
 import java.util.Optional;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -10,24 +11,56 @@ import org.springframework.stereotype.Service;
 import com.devcommunity.entity.User;
 import com.devcommunity.entity.UserPrincipal;
 import com.devcommunity.repository.IAuthRepo;
+import com.devcommunity.util.ExpiringCache;
 
+/**
+ * Loads users for authentication. Principals are cached by username for a
+ * bounded time so that authenticated requests do not query the user table;
+ * UserServiceImpl evicts an entry whenever the user is changed or deleted.
+ */
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
 	    private IAuthRepo authRepo;
+
+	    private final ExpiringCache<String, UserDetails> principals;
+	    private final long cacheTtlMillis;
 	    
-	    public UserDetailsServiceImpl(IAuthRepo authRepo) {
+	    public UserDetailsServiceImpl(IAuthRepo authRepo,
+	    		@Value("${security.user-cache.ttl-ms:300000}") long cacheTtlMillis,
+	    		@Value("${security.user-cache.max-size:10000}") int cacheMaxSize) {
 	    	this.authRepo = authRepo;
+	    	this.cacheTtlMillis = cacheTtlMillis;
+	    	this.principals = new ExpiringCache<>(cacheMaxSize);
 	    }
 
 
 	    @Override
 	    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+	        UserDetails cached = principals.get(username);
+	        if (cached != null) {
+	            return cached;
+	        }
+
 	        Optional<User> user = authRepo.findByUsername(username);
 	        if (user.isEmpty()) {
 	            throw new UsernameNotFoundException("user not found");
 	        }
 	        
-	        return new UserPrincipal(user.get());
+	        // cache a detached copy without the developer graph, it is shared across requests
+	        User snapshot = new User(user.get().getUsername(), user.get().getPassword());
+	        snapshot.setId(user.get().getId());
+	        UserDetails principal = new UserPrincipal(snapshot);
+	        principals.put(username, principal, System.currentTimeMillis() + cacheTtlMillis);
+	        return principal;
+	    }
+
+	    /**
+	     * Drops the cached principal of a user whose username or password changed, or who was deleted
+	     */
+	    public void evict(String username) {
+	        if (username != null) {
+	            principals.invalidate(username);
+	        }
 	    }
 
 }
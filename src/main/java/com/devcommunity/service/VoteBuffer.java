@@ -0,0 +1,314 @@
+package com.devcommunity.service;
+
+import com.devcommunity.repository.VoteWriter;
+import com.devcommunity.util.BufferedVote;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Write-behind buffer for votes. Accepted votes are appended to a spill file and
+ * kept in a striped map keyed by (developer, target), so repeated votes by the same
+ * developer on the same target collapse into the latest one. A scheduled flush
+ * drains every stripe and stores the votes with JDBC batches. Spill segments are
+ * deleted only after their votes are committed, and are replayed on startup, so
+ * buffered votes survive a crash.
+ * With vote.buffer.sync-writes a submit returns only once its line is forced to
+ * disk. The force is a group commit: submitters append under a short lock, then
+ * one of them forces everything appended so far while the others wait for it,
+ * so concurrent votes share one fsync. Without sync-writes a vote that is not
+ * yet flushed is lost if the machine, not just the process, goes down before
+ * the operating system writes the page cache out.
+ */
+@Service
+public class VoteBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(VoteBuffer.class);
+
+    private static final String SEGMENT_PREFIX = "votes-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final VoteWriter voteWriter;
+    private final Path spillDir;
+    private final boolean syncWrites;
+    private final Stripe[] stripes;
+
+    // submit holds the read lock, flush takes the write lock to swap stripes and seal the segment atomically
+    private final ReentrantReadWriteLock rotationLock = new ReentrantReadWriteLock();
+    // guards the open segment, held only while a line is written
+    private final Object spillMonitor = new Object();
+    private FileChannel segment;
+    private Path segmentPath;
+    private long nextSegment;
+    private long appendedLines;
+
+    // held by the submitter forcing the segment, so only one fsync runs at a time. Submitters sync under the
+    // read lock of rotationLock, so the segment cannot be sealed while it is being forced
+    private final Object syncMonitor = new Object();
+    private long syncedLines;
+    private final AtomicLong syncCount = new AtomicLong();
+
+    // segments whose votes are drained but not yet committed, only touched by flush
+    private final List<Path> sealedSegments = new ArrayList<>();
+
+    public VoteBuffer(VoteWriter voteWriter,
+            @Value("${vote.buffer.spill-dir:vote-buffer}") String spillDir,
+            @Value("${vote.buffer.sync-writes:true}") boolean syncWrites,
+            @Value("${vote.buffer.stripes:16}") int stripeCount) {
+        this.voteWriter = voteWriter;
+        this.spillDir = Paths.get(spillDir);
+        this.syncWrites = syncWrites;
+        this.stripes = new Stripe[Math.max(1, stripeCount)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Reloads the votes of spill segments left behind by a previous run
+     */
+    @PostConstruct
+    public void recover() {
+        if (!Files.isDirectory(spillDir)) {
+            return;
+        }
+        List<Path> segments = listSegments();
+        int recovered = 0;
+        for (Path path : segments) {
+            try (Stream<String> lines = Files.lines(path, StandardCharsets.UTF_8)) {
+                for (String line : (Iterable<String>) lines::iterator) {
+                    BufferedVote vote = BufferedVote.fromLine(line);
+                    if (vote != null) {
+                        stripeFor(vote).put(vote);
+                        recovered++;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read vote spill segment " + path, e);
+            }
+            sealedSegments.add(path);
+            nextSegment = Math.max(nextSegment, sequenceOf(path) + 1);
+        }
+        if (recovered > 0) {
+            logger.info("Recovered {} buffered votes from {} spill segments", recovered, segments.size());
+        }
+    }
+
+    /**
+     * Accepts a vote. It replaces any vote still buffered for the same developer and target.
+     */
+    public void submit(BufferedVote vote) {
+        rotationLock.readLock().lock();
+        try {
+            long line = append(vote);
+            if (syncWrites) {
+                awaitSync(line);
+            }
+            stripeFor(vote).put(vote);
+        } finally {
+            rotationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of votes waiting to be stored
+     */
+    public int pending() {
+        int count = 0;
+        for (Stripe stripe : stripes) {
+            count += stripe.size();
+        }
+        return count;
+    }
+
+    /**
+     * @return number of times the spill segment was forced to disk
+     */
+    public long getSyncCount() {
+        return syncCount.get();
+    }
+
+    /**
+     * Stores every buffered vote. On failure the votes go back into the buffer,
+     * unless a newer vote for the same key arrived meanwhile, and their spill
+     * segments are kept.
+     */
+    @Scheduled(fixedDelayString = "${vote.buffer.flush-interval-ms:500}")
+    public synchronized void flush() {
+        List<BufferedVote> drained = new ArrayList<>();
+        rotationLock.writeLock().lock();
+        try {
+            for (Stripe stripe : stripes) {
+                stripe.drainTo(drained);
+            }
+            sealSegment();
+        } finally {
+            rotationLock.writeLock().unlock();
+        }
+
+        if (!drained.isEmpty()) {
+            try {
+                int stored = voteWriter.write(drained);
+                logger.debug("Flushed {} buffered votes, {} stored", drained.size(), stored);
+            } catch (RuntimeException e) {
+                logger.error("Flushing {} buffered votes failed, keeping them for the next flush", drained.size(), e);
+                for (BufferedVote vote : drained) {
+                    stripeFor(vote).putIfAbsent(vote);
+                }
+                return;
+            }
+        }
+        deleteSealedSegments();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * @return number of the appended line, counted over all segments
+     */
+    private long append(BufferedVote vote) {
+        ByteBuffer bytes = ByteBuffer.wrap((vote.toLine() + "\n").getBytes(StandardCharsets.UTF_8));
+        synchronized (spillMonitor) {
+            try {
+                if (segment == null) {
+                    openSegment();
+                }
+                while (bytes.hasRemaining()) {
+                    segment.write(bytes);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write vote spill segment " + segmentPath, e);
+            }
+            return ++appendedLines;
+        }
+    }
+
+    /**
+     * Waits until the given line is on disk. The first submitter to get here forces every
+     * line appended so far, the ones queued behind it find their line already synced.
+     */
+    private void awaitSync(long line) {
+        synchronized (syncMonitor) {
+            if (syncedLines >= line) {
+                return;
+            }
+            FileChannel channel;
+            long lines;
+            synchronized (spillMonitor) {
+                channel = segment;
+                lines = appendedLines;
+            }
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not sync vote spill segment", e);
+            }
+            syncCount.incrementAndGet();
+            syncedLines = lines;
+        }
+    }
+
+    private void openSegment() throws IOException {
+        Files.createDirectories(spillDir);
+        segmentPath = spillDir.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, nextSegment++, SEGMENT_SUFFIX));
+        segment = FileChannel.open(segmentPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    private void sealSegment() {
+        synchronized (spillMonitor) {
+            if (segment == null) {
+                return;
+            }
+            try {
+                segment.close();
+            } catch (IOException e) {
+                logger.warn("Could not close vote spill segment {}", segmentPath, e);
+            }
+            sealedSegments.add(segmentPath);
+            segment = null;
+            segmentPath = null;
+        }
+    }
+
+    private void deleteSealedSegments() {
+        for (Path path : sealedSegments) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                // replaying it later only re-submits votes that are already stored
+                logger.warn("Could not delete vote spill segment {}", path, e);
+            }
+        }
+        sealedSegments.clear();
+    }
+
+    private List<Path> listSegments() {
+        try (Stream<Path> files = Files.list(spillDir)) {
+            return files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }).sorted().toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list vote spill segments in " + spillDir, e);
+        }
+    }
+
+    private static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private Stripe stripeFor(BufferedVote vote) {
+        return stripes[Math.floorMod(vote.key().hashCode(), stripes.length)];
+    }
+
+    private static final class Stripe {
+        private Map<BufferedVote.Key, BufferedVote> votes = new LinkedHashMap<>();
+
+        private synchronized void put(BufferedVote vote) {
+            votes.put(vote.key(), vote);
+        }
+
+        private synchronized void putIfAbsent(BufferedVote vote) {
+            votes.putIfAbsent(vote.key(), vote);
+        }
+
+        private synchronized int size() {
+            return votes.size();
+        }
+
+        private synchronized void drainTo(List<BufferedVote> target) {
+            target.addAll(votes.values());
+            votes = new LinkedHashMap<>();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.devcommunity.service;
+
+import com.devcommunity.entity.Vote;
+import com.devcommunity.repository.ICommentRepo;
+import com.devcommunity.repository.IPostRepo;
+import com.devcommunity.repository.IResponseRepo;
+import com.devcommunity.util.VoteType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps the upVotes/downVotes counters on posts, responses and comments in
+ * sync with the votes table. Every vote change is a single atomic UPDATE of
+ * the voted row, so readers never have to count votes.
+ */
+@Service
+public class VoteTallyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VoteTallyService.class);
+
+    private final IPostRepo postRepo;
+    private final IResponseRepo responseRepo;
+    private final ICommentRepo commentRepo;
+
+    public VoteTallyService(IPostRepo postRepo, IResponseRepo responseRepo, ICommentRepo commentRepo) {
+        this.postRepo = postRepo;
+        this.responseRepo = responseRepo;
+        this.commentRepo = commentRepo;
+    }
+
+    /**
+     * Counts a newly saved vote on its post, response or comment
+     */
+    @Transactional
+    public void applyVote(Vote vote) {
+        adjust(vote, 1);
+    }
+
+    /**
+     * Uncounts a vote that is about to be removed
+     */
+    @Transactional
+    public void revertVote(Vote vote) {
+        adjust(vote, -1);
+    }
+
+    /**
+     * Moves a flipped vote from its previous type to its current type in one UPDATE
+     */
+    @Transactional
+    public void changeVote(Vote vote, VoteType previousType) {
+        adjust(vote, countOf(vote.getVoteType(), VoteType.UPVOTE) - countOf(previousType, VoteType.UPVOTE),
+                countOf(vote.getVoteType(), VoteType.DOWNVOTE) - countOf(previousType, VoteType.DOWNVOTE));
+    }
+
+    /**
+     * Recomputes every counter from the votes table with one set-based UPDATE per table.
+     * Used to backfill rows created before the counters existed and to correct drift.
+     */
+    @Transactional
+    public void rebuildAll() {
+        int posts = postRepo.recountVotes();
+        int responses = responseRepo.recountVotes();
+        int comments = commentRepo.recountVotes();
+        logger.info("Vote counters rebuilt for {} posts, {} responses and {} comments", posts, responses,
+                comments);
+    }
+
+    private void adjust(Vote vote, int sign) {
+        adjust(vote, countOf(vote.getVoteType(), VoteType.UPVOTE) * sign,
+                countOf(vote.getVoteType(), VoteType.DOWNVOTE) * sign);
+    }
+
+    private void adjust(Vote vote, int up, int down) {
+        if (vote.getPost() != null) {
+            postRepo.adjustVotes(vote.getPost().getPostId(), up, down);
+        } else if (vote.getResponse() != null) {
+            responseRepo.adjustVotes(vote.getResponse().getRespId(), up, down);
+        } else if (vote.getComment() != null) {
+            commentRepo.adjustVotes(vote.getComment().getCommentId(), up, down);
+        }
+    }
+
+    private static int countOf(VoteType voteType, VoteType counted) {
+        return voteType == counted ? 1 : 0;
+    }
+}
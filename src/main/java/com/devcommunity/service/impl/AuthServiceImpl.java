@@ -1,10 +1,9 @@
 package com.devcommunity.service.impl;
 
-import org.modelmapper.ModelMapper;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.devcommunity.dto.TokenResponse;
@@ -13,37 +12,43 @@ import com.devcommunity.dto.UserResponseDTO;
 import com.devcommunity.entity.RefreshToken;
 import com.devcommunity.entity.User;
 import com.devcommunity.exception.DeveloperCommunityException;
+import com.devcommunity.exception.ServiceBusyException;
+import com.devcommunity.mapper.UserMapper;
 import com.devcommunity.repository.IAuthRepo;
 import com.devcommunity.service.JWTService;
+import com.devcommunity.service.PasswordHasher;
 import com.devcommunity.service.RefreshTokenService;
 import com.devcommunity.service.interfaces.IAuthService;
 import com.devcommunity.service.interfaces.IUserService;
+import com.devcommunity.util.PasswordPolicy;
 
 @Service
+@Timed(value = "devcommunity.service", histogram = true)
 public class AuthServiceImpl implements IAuthService {
 	private JWTService jwtService;
 	private AuthenticationManager authManager;
 	private IAuthRepo repo;
-	private ModelMapper modelMapper;
+	private UserMapper userMapper;
 	private IUserService userService;
 	private RefreshTokenService refreshTokenService;
+	private PasswordHasher encoder;
 
 	public AuthServiceImpl(JWTService jwtService, AuthenticationManager authManager, IAuthRepo repo,
-			ModelMapper modelMapper, IUserService userService, RefreshTokenService refreshTokenService) {
+			UserMapper userMapper, IUserService userService, RefreshTokenService refreshTokenService,
+			PasswordHasher encoder) {
 		this.jwtService = jwtService;
 		this.authManager = authManager;
 		this.repo = repo;
-		this.modelMapper = modelMapper;
+		this.userMapper = userMapper;
 		this.userService = userService;
 		this.refreshTokenService = refreshTokenService;
+		this.encoder = encoder;
 	}
 
-	private BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(12);
-
 	@Override
 	public UserResponseDTO register(UserRequestDTO userDTO) throws DeveloperCommunityException {
 		// Validate password first
-		if (!userDTO.getPassword().matches("^(?=.*\\d)(?=.*[A-Z])(?=.*[a-z])(?=.*[@#$%^&+=])(?=\\S+$).{8,20}$")) {
+		if (!PasswordPolicy.isValid(userDTO.getPassword())) {
 			throw new DeveloperCommunityException(
 					"Password must be 8-20 characters long, have at least one digit, one special character, one lowercase, one uppercase letter, and no whitespace.");
 		}
@@ -52,15 +57,15 @@ public class AuthServiceImpl implements IAuthService {
 		}
 
 		// Proceed with registration
-		User user = modelMapper.map(userDTO, User.class);
+		User user = userMapper.toEntity(userDTO);
 		user.setPassword(encoder.encode(userDTO.getPassword()));
-		return modelMapper.map(repo.save(user), UserResponseDTO.class);
+		return userMapper.toResponseDTO(repo.save(user));
 	}
 
 	@Override
 	public TokenResponse verify(UserRequestDTO userDTO) throws DeveloperCommunityException {
 		try {
-			User user = modelMapper.map(userDTO, User.class);
+			User user = userMapper.toEntity(userDTO);
 			String userName = user.getUsername();
 			Authentication authentication = authManager
 					.authenticate(new UsernamePasswordAuthenticationToken(user.getUsername(), user.getPassword()));
@@ -84,7 +89,13 @@ public class AuthServiceImpl implements IAuthService {
 				throw new DeveloperCommunityException("Authentication failed for user: " + user.getUsername());
 			}
 
+		} catch (ServiceBusyException e) {
+			// the password check was refused, not failed, so let the client retry
+			throw e;
 		} catch (Exception e) {
+			if (e.getCause() instanceof ServiceBusyException busy) {
+				throw busy;
+			}
 			throw new DeveloperCommunityException("Error during authentication: " + e.getMessage());
 		}
 	}
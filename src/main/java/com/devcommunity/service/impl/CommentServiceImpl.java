@@ -1,11 +1,14 @@
 package com.devcommunity.service.impl;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
-import org.modelmapper.ModelMapper;
+import java.util.Optional;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.devcommunity.dto.CommentRequestDTO;
 import com.devcommunity.dto.CommentResponseDTO;
@@ -14,15 +17,17 @@ import com.devcommunity.entity.Developer;
 import com.devcommunity.entity.Post;
 import com.devcommunity.entity.Response;
 import com.devcommunity.exception.DeveloperCommunityException;
+import com.devcommunity.mapper.CommentMapper;
 import com.devcommunity.repository.ICommentRepo;
 import com.devcommunity.repository.IDevRepo;
 import com.devcommunity.repository.IPostRepo;
 import com.devcommunity.repository.IResponseRepo;
-import com.devcommunity.repository.IVoteRepo;
 import com.devcommunity.service.interfaces.ICommentService;
+import com.devcommunity.util.ExistingIds;
 import com.devcommunity.util.VoteType;
 
 @Service
+@Timed(value = "devcommunity.service", histogram = true)
 public class CommentServiceImpl implements ICommentService {
 
 
@@ -34,19 +39,17 @@ public class CommentServiceImpl implements ICommentService {
 	    private final IDevRepo devRepo;
 	    private final IPostRepo postRepo;
 	    private final IResponseRepo responseRepo;
-	    private final IVoteRepo voteRepo;
-	    private final ModelMapper modelMapper;
+	    private final CommentMapper commentMapper;
 
 	    // Constructor injection for all required repositories and utilities
 	    public CommentServiceImpl(ICommentRepo iCommentRepo, IDevRepo developerRepository,
-	    		IPostRepo postRepository,IResponseRepo responseRepository,IVoteRepo iVoteRepo,ModelMapper modelMapper)
+	    		IPostRepo postRepository,IResponseRepo responseRepository,CommentMapper commentMapper)
 	    {
 	        this.commentRepo = iCommentRepo;
 	        this.devRepo = developerRepository;
 	        this.postRepo = postRepository;
 	        this.responseRepo = responseRepository;
-	        this.voteRepo = iVoteRepo;
-	        this.modelMapper = modelMapper;
+	        this.commentMapper = commentMapper;
 	    }
 
 	    // Authentication: Check if developer exists
@@ -65,6 +68,7 @@ public class CommentServiceImpl implements ICommentService {
 	    }
 
 	    @Override
+	    @Transactional
 	    public CommentResponseDTO addComment(CommentRequestDTO dto) throws DeveloperCommunityException {
 	    	 logger.info("Adding comment: {}", dto);
 	    	Developer developer = authenticateDeveloper(dto.getDeveloperId());
@@ -91,7 +95,49 @@ public class CommentServiceImpl implements ICommentService {
 	        return mapToResponseDTO(saved);
 	    }
 
+	    // Adds several comments in one transaction, the referenced rows are checked with one query per table
+	    // and the comments are inserted in JDBC batches. Returns the new ids in request order.
 	    @Override
+	    @Transactional
+	    public List<Integer> addComments(List<CommentRequestDTO> dtos) throws DeveloperCommunityException {
+	    	logger.info("Adding {} comments", dtos.size());
+	        List<Integer> postIds = new ArrayList<>();
+	        List<Integer> responseIds = new ArrayList<>();
+	        for (CommentRequestDTO dto : dtos) {
+	            if (dto.getPostId() != 0) {
+	                postIds.add(dto.getPostId());
+	            } else if (dto.getResponseId() != 0) {
+	                responseIds.add(dto.getResponseId());
+	            } else {
+	                throw new DeveloperCommunityException("Either postId or responseId must be provided");
+	            }
+	        }
+	        ExistingIds.requireAll("Developer", dtos.stream().map(CommentRequestDTO::getDeveloperId).toList(),
+	        		devRepo::findExistingIds);
+	        ExistingIds.requireAll("Post", postIds, postRepo::findExistingIds);
+	        ExistingIds.requireAll("Response", responseIds, responseRepo::findExistingIds);
+
+	        LocalDate today = LocalDate.now();
+	        List<Comment> comments = new ArrayList<>(dtos.size());
+	        for (CommentRequestDTO dto : dtos) {
+	            Comment comment = new Comment();
+	            comment.setText(dto.getText());
+	            comment.setCreatedDate(today);
+	            comment.setDeveloper(devRepo.getReferenceById(dto.getDeveloperId()));
+	            if (dto.getPostId() != 0) {
+	                comment.setPost(postRepo.getReferenceById(dto.getPostId()));
+	            } else {
+	                comment.setResponse(responseRepo.getReferenceById(dto.getResponseId()));
+	            }
+	            comments.add(comment);
+	        }
+
+	        commentRepo.saveAll(comments);
+	        return comments.stream().map(Comment::getCommentId).toList();
+	    }
+
+	    @Override
+	    @Transactional
 	    public CommentResponseDTO updateComment(CommentRequestDTO dto) throws DeveloperCommunityException {
 	    	logger.info("Updating comment with ID: {}", dto.getCommentId());
 	        Comment comment = commentRepo.findByCommentId(dto.getCommentId())
@@ -110,6 +156,7 @@ public class CommentServiceImpl implements ICommentService {
 
 	 
 	    @Override
+	    @Transactional(readOnly = true)
 	    public String getNoOfVotesOnCommentByVoteType(String voteType, int commentId) {
             logger.info("Counting votes of type '{}' for comment ID: {}", voteType, commentId);
 	        VoteType type;
@@ -120,13 +167,16 @@ public class CommentServiceImpl implements ICommentService {
 	            throw new IllegalArgumentException("Invalid vote type: " + voteType + ". Allowed values: UPVOTE, DOWNVOTE");
 	        }
 
-	        int count=voteRepo.countByVoteTypeAndComment_CommentId(type, commentId);
+	        Optional<Integer> tally = type == VoteType.UPVOTE ? commentRepo.findUpVotesByCommentId(commentId)
+	                : commentRepo.findDownVotesByCommentId(commentId);
+	        int count = tally.orElse(0);
 	        logger.debug("Vote count for type '{}' on comment ID {}: {}", voteType, commentId, count);
 	         return "Votecount for "+voteType+" of commentId "+commentId+" : "+count;
 	    }
 
 
 	    @Override
+	    @Transactional(readOnly = true)
 	    public CommentResponseDTO getByCommentId(int commentId) throws DeveloperCommunityException {
 	    	logger.info("Fetching comment by ID: {}", commentId);
 	    	Comment comment = commentRepo.findByCommentId(commentId)
@@ -134,6 +184,7 @@ public class CommentServiceImpl implements ICommentService {
 	        return mapToResponseDTO(comment);
 	    }
 
+	    @Transactional(readOnly = true)
 	    public List<CommentResponseDTO> getCommentsByPostId(Integer postId) throws DeveloperCommunityException {
 	        logger.info("Fetching comments for post ID: {}", postId);
 	    	List<Comment> comments = commentRepo.findByPost_PostId(postId);
@@ -145,6 +196,7 @@ public class CommentServiceImpl implements ICommentService {
 	    }
 
 	    @Override
+	    @Transactional(readOnly = true)
 	    public List<CommentResponseDTO> getCommentsByResponseId(Integer responseId) throws DeveloperCommunityException {
 	    	logger.info("Fetching comments for response ID: {}", responseId);
 	    	List<Comment> comments = commentRepo.findByResponse_RespId(responseId);
@@ -157,15 +209,11 @@ public class CommentServiceImpl implements ICommentService {
 	    }
 
 	    private CommentResponseDTO mapToResponseDTO(Comment comment) {
-	        CommentResponseDTO dto = modelMapper.map(comment, CommentResponseDTO.class);
-	        dto.setDeveloperId(comment.getDeveloper().getId());
-	        dto.setDeveloperName(comment.getDeveloper().getDevName());
-	        if (comment.getPost() != null) dto.setPostId(comment.getPost().getPostId());
-	        if (comment.getResponse() != null) dto.setResponseId(comment.getResponse().getRespId());
-	        return dto;
+	        return commentMapper.toResponseDTO(comment);
 	    }
 
 	    @Override
+	    @Transactional
 	    public CommentResponseDTO removeComment(int commentId) throws DeveloperCommunityException 
 	    {
 	        logger.info("Removing comment with ID: {}", commentId);
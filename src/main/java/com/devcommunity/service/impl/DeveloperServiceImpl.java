@@ -2,69 +2,93 @@ package com.devcommunity.service.impl;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import org.modelmapper.ModelMapper;
+import java.util.Map;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.devcommunity.dto.DeveloperNameDTO;
 import com.devcommunity.dto.DeveloperRequestDTO;
 import com.devcommunity.dto.DeveloperResponseDTO;
+import com.devcommunity.dto.DeveloperStatsDTO;
+import com.devcommunity.dto.LeaderboardEntryDTO;
 import com.devcommunity.entity.Developer;
 import com.devcommunity.entity.User;
-import com.devcommunity.entity.Vote;
 import com.devcommunity.exception.DeveloperCommunityException;
+import com.devcommunity.mapper.DeveloperMapper;
 import com.devcommunity.repository.IDevRepo;
 import com.devcommunity.repository.IUserRepo;
-import com.devcommunity.repository.IVoteRepo;
+import com.devcommunity.service.DeveloperSkillIndex;
+import com.devcommunity.service.ReputationLeaderboard;
+import com.devcommunity.service.ReputationService;
 import com.devcommunity.service.interfaces.IDeveloperService;
-import com.devcommunity.util.VoteType;
+import com.devcommunity.util.AfterCommit;
 
 @Service
+@Timed(value = "devcommunity.service", histogram = true)
 public class DeveloperServiceImpl implements IDeveloperService {
+	public static final int DEFAULT_PAGE_SIZE = 20;
+	public static final int MAX_PAGE_SIZE = 100;
+
+	private static final String DEVELOPER_NOT_FOUND = "Developer not found.";
+	private static final String INVALID_SORT = "Invalid sort, use one of: id, name, reputation, memberSince.";
+	private static final String INVALID_MATCH = "Invalid match, use all or any.";
+	private static final Map<String, Sort> DIRECTORY_SORTS = Map.of(
+			"id", Sort.by("id"),
+			"name", Sort.by("devName", "id"),
+			"reputation", Sort.by(Sort.Order.desc("reputation"), Sort.Order.asc("id")),
+			"memberSince", Sort.by(Sort.Order.desc("memberSince"), Sort.Order.asc("id")));
+
 	private IDevRepo iDevRepo;
 	private IUserRepo iUserRepo;
-	private ModelMapper modelMapper;
-	private IVoteRepo iVoteRepo;
+	private DeveloperMapper developerMapper;
+	private ReputationLeaderboard leaderboard;
+	private DeveloperSkillIndex skillIndex;
 
-	public DeveloperServiceImpl(IDevRepo iDevRepo, IUserRepo iUserRepo, ModelMapper modelMapper, IVoteRepo iVoteRepo) {
+	public DeveloperServiceImpl(IDevRepo iDevRepo, IUserRepo iUserRepo, DeveloperMapper developerMapper,
+			ReputationLeaderboard leaderboard, DeveloperSkillIndex skillIndex) {
 		this.iDevRepo = iDevRepo;
 		this.iUserRepo = iUserRepo;
-		this.modelMapper = modelMapper;
-		this.iVoteRepo = iVoteRepo;
+		this.developerMapper = developerMapper;
+		this.leaderboard = leaderboard;
+		this.skillIndex = skillIndex;
 	}
 
-	private DeveloperResponseDTO developerFieldSetterHelper(Developer developer) {
-		DeveloperResponseDTO devResponseDTO = modelMapper.map(developer, DeveloperResponseDTO.class);
-		devResponseDTO.setTotalPosts(developer.getListOfPosts().size());
-		devResponseDTO.setTotalResponses(developer.getListOfResponses().size());
-		devResponseDTO.setTotalComments(developer.getListOfComments().size());
-		devResponseDTO.setTotalVotes(developer.getListOfVotes().size());
-		List<Vote> votes = iVoteRepo.findAll();
-		votes = votes.stream()
-				.filter(x -> developer.getListOfPosts().contains(x.getPost())
-						|| developer.getListOfResponses().contains(x.getResponse())
-						|| developer.getListOfComments().contains(x.getComment()))
-				.toList();
-		int reputation = votes.stream().mapToInt(x -> x.getVoteType().equals(VoteType.UPVOTE) ? 1 : 0).reduce(0,
-				(a, b) -> a + b);
-		reputation += votes.stream().mapToInt(x -> x.getVoteType().equals(VoteType.DOWNVOTE) ? -1 : 0).reduce(0,
-				(a, b) -> a + b);
-		devResponseDTO.setReputation(reputation / 5);
+	/**
+	 * The totals come counted from the stats queries of IDevRepo, so listing any
+	 * number of developers is a single statement instead of four collection
+	 * loads per developer
+	 */
+	private DeveloperResponseDTO developerFieldSetterHelper(DeveloperStatsDTO developer) {
+		DeveloperResponseDTO devResponseDTO = developerMapper.toResponseDTO(developer);
+		// reputation is maintained incrementally by ReputationService, no need to scan the votes
+		devResponseDTO.setReputation(ReputationService.toDisplayReputation(developer.getReputation()));
 		return devResponseDTO;
 	}
 
 	@Override
+	@Transactional
 	public String addDeveloper(int id, DeveloperRequestDTO dto) throws DeveloperCommunityException {
 		User user = iUserRepo.findById(id).orElseThrow(() -> new DeveloperCommunityException("User not found."));
-		Developer developer = modelMapper.map(dto, Developer.class);
+		Developer developer = developerMapper.toEntity(dto);
 		developer.setUser(user);
 		developer.setMemberSince(LocalDate.now());
 		developer.setReputation(0);
 		iDevRepo.save(developer);
+		AfterCommit.run(() -> skillIndex.index(developer.getId(), developer.getDevSkill()));
 
 		return "Developer added successfully!";
 	}
 
 	@Override
+	@Transactional
 	public String updateDeveloper(int id, DeveloperRequestDTO dto) throws DeveloperCommunityException {
 		if (iDevRepo.findById(id).isEmpty()) {
 			addDeveloper(id, dto);
@@ -77,43 +101,222 @@ public class DeveloperServiceImpl implements IDeveloperService {
 		if (newDevSkill != null)
 			developer.setDevSkill(dto.getDevSkill());
 		iDevRepo.save(developer);
+		AfterCommit.run(() -> skillIndex.index(developer.getId(), developer.getDevSkill()));
 		return "Developer updated successfully!";
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public DeveloperResponseDTO getDeveloperById(Integer devId) throws DeveloperCommunityException {
-		Developer developer = iDevRepo.findById(devId)
-				.orElseThrow(() -> new DeveloperCommunityException("Developer not found."));
+		DeveloperStatsDTO developer = iDevRepo.findStatsById(devId)
+				.orElseThrow(() -> new DeveloperCommunityException(DEVELOPER_NOT_FOUND));
 
 		return developerFieldSetterHelper(developer);
 	}
 
+	/**
+	 * Fetches one page of the developer directory, or every developer when
+	 * neither page nor size is given
+	 * 
+	 * @param page zero based page number
+	 * @param size number of developers per page, clamped to MAX_PAGE_SIZE
+	 * @param sort one of the keys of DIRECTORY_SORTS, id when omitted
+	 * @return developers of the page
+	 * @throws DeveloperCommunityException if the sort is unknown
+	 */
 	@Override
-	public List<DeveloperResponseDTO> getAllDevelopers() {
-		List<Developer> dbResult = iDevRepo.findAll();
-		List<DeveloperResponseDTO> responseResult = new ArrayList<>();
-		for (Developer developer : dbResult) {
-			responseResult.add(developerFieldSetterHelper(developer));
+	@Transactional(readOnly = true)
+	public List<DeveloperResponseDTO> getAllDevelopers(Integer page, Integer size, String sort)
+			throws DeveloperCommunityException {
+		Sort order = DIRECTORY_SORTS.get(sort == null || sort.isBlank() ? "id" : sort);
+		if (order == null) {
+			throw new DeveloperCommunityException(INVALID_SORT);
 		}
-		return responseResult;
+		Pageable pageable = page == null && size == null ? Pageable.unpaged(order)
+				: PageRequest.of(pageNumber(page), pageSize(size), order);
+		return iDevRepo.findStatsPage(pageable).stream().map(this::developerFieldSetterHelper).toList();
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public DeveloperResponseDTO getByMaxReputation() throws DeveloperCommunityException {
-		Developer developer = iDevRepo.findTopByOrderByReputationDesc();
-		if (developer == null) {
+		List<DeveloperStatsDTO> top = iDevRepo.findStatsByReputation(PageRequest.of(0, 1));
+		if (top.isEmpty()) {
 			throw new DeveloperCommunityException("There are no developers in the database.");
 		}
-		return developerFieldSetterHelper(developer);
+		return developerFieldSetterHelper(top.get(0));
+	}
+
+	/**
+	 * Fetches developers by skill tags, highest reputation first. Served from the
+	 * in-memory DeveloperSkillIndex and ordered with the ReputationLeaderboard
+	 * snapshot, falls back to a database scan while the index is still being
+	 * built at startup.
+	 * 
+	 * @param skill one or more skills separated by commas or spaces
+	 * @param match all to require every skill, any to require one of them
+	 * @param page  zero based page number
+	 * @param size  number of developers per page, clamped to MAX_PAGE_SIZE
+	 * @return developers of the page
+	 * @throws DeveloperCommunityException if the match is unknown
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<DeveloperResponseDTO> searchDevelopersBySkill(String skill, String match, Integer page, Integer size)
+			throws DeveloperCommunityException {
+		boolean matchAll;
+		if (match == null || match.isBlank() || match.equalsIgnoreCase("all")) {
+			matchAll = true;
+		} else if (match.equalsIgnoreCase("any")) {
+			matchAll = false;
+		} else {
+			throw new DeveloperCommunityException(INVALID_MATCH);
+		}
+		List<String> tags = DeveloperSkillIndex.tags(skill);
+		if (tags.isEmpty()) {
+			return List.of();
+		}
+		int pageSize = pageSize(size);
+		int offset = pageNumber(page) * pageSize;
+
+		if (skillIndex.isReady()) {
+			Map<Integer, DeveloperStatsDTO> developers = new HashMap<>();
+			List<Integer> ids;
+			List<Integer> missing;
+			do {
+				ids = leaderboard.order(skillIndex.search(tags, matchAll), offset, pageSize);
+				List<Integer> unloaded = ids.stream().filter(id -> !developers.containsKey(id)).toList();
+				if (!unloaded.isEmpty()) {
+					for (DeveloperStatsDTO developer : iDevRepo.findStatsByIds(unloaded)) {
+						developers.put(developer.getId(), developer);
+					}
+				}
+				missing = unloaded.stream().filter(id -> !developers.containsKey(id)).toList();
+				// deleted since they were indexed, drop them and cut the page again so it stays full
+				missing.forEach(skillIndex::remove);
+			} while (!missing.isEmpty());
+			return ids.stream().map(developers::get).map(this::developerFieldSetterHelper).toList();
+		}
+
+		Map<Integer, DeveloperStatsDTO> matches = null;
+		for (String tag : tags) {
+			Map<Integer, DeveloperStatsDTO> found = new LinkedHashMap<>();
+			for (DeveloperStatsDTO developer : iDevRepo.searchStatsBySkill(tag)) {
+				found.put(developer.getId(), developer);
+			}
+			if (matches == null) {
+				matches = found;
+			} else if (matchAll) {
+				matches.keySet().retainAll(found.keySet());
+			} else {
+				found.forEach(matches::putIfAbsent);
+			}
+		}
+		return matches.values().stream()
+				.sorted(Comparator.comparingInt(DeveloperServiceImpl::scoreOf).reversed()
+						.thenComparing(DeveloperStatsDTO::getId))
+				.skip(offset).limit(pageSize).map(this::developerFieldSetterHelper).toList();
+	}
+
+	/**
+	 * Fetches one page of the reputation leaderboard, served from the in-memory
+	 * ReputationLeaderboard and ranked by idx_developer_reputation while it is
+	 * still loading
+	 * 
+	 * @param page zero based page number
+	 * @param size number of developers per page, clamped to MAX_PAGE_SIZE
+	 * @return developers of the page, highest reputation first
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<LeaderboardEntryDTO> getLeaderboard(Integer page, Integer size) {
+		int pageSize = pageSize(size);
+		int offset = pageNumber(page) * pageSize;
+		if (leaderboard.isReady()) {
+			List<ReputationLeaderboard.Standing> standings = leaderboard.page(offset, pageSize);
+			Map<Integer, String> names = namesOf(
+					standings.stream().map(ReputationLeaderboard.Standing::getDeveloperId).toList());
+			List<LeaderboardEntryDTO> entries = new ArrayList<>(standings.size());
+			for (ReputationLeaderboard.Standing standing : standings) {
+				// developers removed since the last refresh are skipped
+				if (names.containsKey(standing.getDeveloperId())) {
+					entries.add(toEntry(standing, names.get(standing.getDeveloperId())));
+				}
+			}
+			return entries;
+		}
+
+		// the snapshot is still loading, rank the page with idx_developer_reputation
+		List<DeveloperStatsDTO> developers = iDevRepo
+				.findStatsByReputation(PageRequest.of(pageNumber(page), pageSize));
+		List<LeaderboardEntryDTO> entries = new ArrayList<>(developers.size());
+		int rank = 0;
+		for (int i = 0; i < developers.size(); i++) {
+			DeveloperStatsDTO developer = developers.get(i);
+			int score = scoreOf(developer);
+			if (i == 0) {
+				rank = (int) iDevRepo.countByReputationGreaterThan(score) + 1;
+			} else if (score != scoreOf(developers.get(i - 1))) {
+				rank = offset + i + 1;
+			}
+			entries.add(new LeaderboardEntryDTO(rank, developer.getId(), developer.getDevName(),
+					ReputationService.toDisplayReputation(score)));
+		}
+		return entries;
 	}
 
+	/**
+	 * Fetches the leaderboard position of a developer
+	 * 
+	 * @param devId of the developer
+	 * @return rank and reputation of the developer
+	 * @throws DeveloperCommunityException if the developer does not exist
+	 */
 	@Override
-	public List<DeveloperResponseDTO> searchDevelopersBySkill(String skill) {
-		List<Developer> dbResult = iDevRepo.findByDevSkillContainingIgnoreCase(skill);
-		List<DeveloperResponseDTO> responseResult = new ArrayList<>();
-		for (Developer developer : dbResult) {
-			responseResult.add(developerFieldSetterHelper(developer));
+	@Transactional(readOnly = true)
+	public LeaderboardEntryDTO getLeaderboardRank(Integer devId) throws DeveloperCommunityException {
+		ReputationLeaderboard.Standing standing = leaderboard.standingOf(devId);
+		if (standing != null) {
+			Map<Integer, String> names = namesOf(List.of(devId));
+			if (!names.containsKey(devId)) {
+				throw new DeveloperCommunityException(DEVELOPER_NOT_FOUND);
+			}
+			return toEntry(standing, names.get(devId));
+		}
+
+		// not in the snapshot yet, e.g. joined after the last refresh
+		DeveloperStatsDTO developer = iDevRepo.findStatsById(devId)
+				.orElseThrow(() -> new DeveloperCommunityException(DEVELOPER_NOT_FOUND));
+		int score = scoreOf(developer);
+		int rank = (int) iDevRepo.countByReputationGreaterThan(score) + 1;
+		return new LeaderboardEntryDTO(rank, developer.getId(), developer.getDevName(),
+				ReputationService.toDisplayReputation(score));
+	}
+
+	private Map<Integer, String> namesOf(List<Integer> ids) {
+		Map<Integer, String> names = new HashMap<>();
+		if (!ids.isEmpty()) {
+			for (DeveloperNameDTO developer : iDevRepo.findNamesByIds(ids)) {
+				names.put(developer.getDeveloperId(), developer.getDevName());
+			}
 		}
-		return responseResult;
+		return names;
+	}
+
+	private static LeaderboardEntryDTO toEntry(ReputationLeaderboard.Standing standing, String devName) {
+		return new LeaderboardEntryDTO(standing.getRank(), standing.getDeveloperId(), devName,
+				ReputationService.toDisplayReputation((int) standing.getScore()));
+	}
+
+	private static int scoreOf(DeveloperStatsDTO developer) {
+		return developer.getReputation() == null ? 0 : developer.getReputation();
+	}
+
+	private static int pageNumber(Integer page) {
+		return page == null ? 0 : Math.max(0, page);
+	}
+
+	private static int pageSize(Integer size) {
+		return size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
 	}
 }
\ No newline at end of file
@@ -1,23 +1,41 @@
 package com.devcommunity.service.impl;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
-import org.modelmapper.ModelMapper;
+import java.util.Set;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.devcommunity.dto.BulkDeleteDTO;
+import com.devcommunity.dto.PostFeedDTO;
 import com.devcommunity.dto.PostRequestDTO;
 import com.devcommunity.dto.PostResponseDTO;
+import com.devcommunity.dto.PostSummaryDTO;
 import com.devcommunity.entity.Developer;
 import com.devcommunity.entity.Post;
 import com.devcommunity.exception.DeveloperCommunityException;
+import com.devcommunity.mapper.PostMapper;
+import com.devcommunity.repository.ICommentRepo;
 import com.devcommunity.repository.IDevRepo;
 import com.devcommunity.repository.IPostRepo;
+import com.devcommunity.repository.IResponseRepo;
+import com.devcommunity.repository.IVoteRepo;
+import com.devcommunity.service.PostSearchIndex;
 import com.devcommunity.service.interfaces.IPostService;
+import com.devcommunity.util.AfterCommit;
+import com.devcommunity.util.ExistingIds;
+import com.devcommunity.util.FeedCursor;
 
 @Service
+@Timed(value = "devcommunity.service", histogram = true)
 public class PostServiceImpl implements IPostService {
 
 	private static final Logger logger = LoggerFactory.getLogger(PostServiceImpl.class);
@@ -32,32 +50,85 @@ public class PostServiceImpl implements IPostService {
 	private static final String POST_BY_DEV_NOT_FOUND = "There are no posts by this Developer";
 	private static final String POST_BY_KEYWORD_NOT_FOUND = "There are no posts with this keyword";
 
+	public static final int DEFAULT_FEED_SIZE = 20;
+	public static final int MAX_FEED_SIZE = 100;
+
 	private final IDevRepo devRepo;
 	private final IPostRepo postRepo;
-	private final ModelMapper modelMapper;
-
-	public PostServiceImpl(IPostRepo postRepo, ModelMapper modelMapper, IDevRepo devRepo) {
+	private final IResponseRepo respRepo;
+	private final ICommentRepo commentRepo;
+	private final IVoteRepo voteRepo;
+	private final PostMapper postMapper;
+	private final PostSearchIndex searchIndex;
+
+	public PostServiceImpl(IPostRepo postRepo, IResponseRepo respRepo, ICommentRepo commentRepo, IVoteRepo voteRepo,
+			PostMapper postMapper, IDevRepo devRepo, PostSearchIndex searchIndex) {
 		this.devRepo = devRepo;
 		this.postRepo = postRepo;
-		this.modelMapper = modelMapper;
+		this.respRepo = respRepo;
+		this.commentRepo = commentRepo;
+		this.voteRepo = voteRepo;
+		this.postMapper = postMapper;
+		this.searchIndex = searchIndex;
 	}
 
 	/**
-	 * Fetches all posts
+	 * Fetches summaries of all posts, newest first
 	 * 
-	 * @return list of posts
+	 * @return list of post summaries
 	 * @throws DeveloperCommunityException if there are no posts
 	 */
 	@Override
-	public List<PostResponseDTO> getAllPost() throws DeveloperCommunityException {
-		List<Post> postList = postRepo.findAll();
+	@Transactional(readOnly = true)
+	public List<PostSummaryDTO> getAllPost() throws DeveloperCommunityException {
+		List<PostSummaryDTO> postList = postRepo.findAllSummaries();
 
 		if (postList.isEmpty()) {
 			logger.error(TABLE_EMPTY);
 			throw (new DeveloperCommunityException(TABLE_EMPTY));
 		}
 
-		return postList.stream().map(e -> modelMapper.map(e, PostResponseDTO.class)).toList();
+		return postList;
+	}
+
+	/**
+	 * Fetches one page of the post feed, newest first, using keyset pagination
+	 * on (postDateTime, postId) so every page is a bounded index range scan.
+	 * Posts without a date are listed after all dated posts.
+	 * 
+	 * @param cursor token returned with the previous page, null for the first page
+	 * @param size   number of posts per page, clamped to MAX_FEED_SIZE
+	 * @return page of posts with the cursor for the next page
+	 * @throws DeveloperCommunityException if the cursor is invalid
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public PostFeedDTO getPostFeed(String cursor, Integer size) throws DeveloperCommunityException {
+		int pageSize = size == null ? DEFAULT_FEED_SIZE : Math.max(1, Math.min(size, MAX_FEED_SIZE));
+		// fetch one extra row to know whether another page exists
+		PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+		List<PostSummaryDTO> postList;
+		if (cursor == null || cursor.isBlank()) {
+			postList = postRepo.findFeedFirstPage(limit);
+		} else {
+			FeedCursor after = FeedCursor.decode(cursor);
+			postList = after.getDateTime() == null ? postRepo.findUndatedFeedPageAfter(after.getId(), limit)
+					: postRepo.findFeedPageAfter(after.getDateTime(), after.getId(), limit);
+		}
+
+		boolean hasMore = postList.size() > pageSize;
+		if (hasMore) {
+			postList = postList.subList(0, pageSize);
+		}
+
+		String nextCursor = null;
+		if (hasMore) {
+			PostSummaryDTO last = postList.get(postList.size() - 1);
+			nextCursor = new FeedCursor(last.getPostDateTime(), last.getPostId()).encode();
+		}
+
+		return new PostFeedDTO(postList, nextCursor, hasMore);
 	}
 
 	/**
@@ -68,57 +139,78 @@ public class PostServiceImpl implements IPostService {
 	 * @throws DeveloperCommunityException if the post id does not exist
 	 */
 	@Override
+	@Transactional(readOnly = true)
 	public PostResponseDTO getPostById(Integer postId) throws DeveloperCommunityException {
-		Optional<Post> post = postRepo.findById(postId);
+		Optional<Post> post = postRepo.findDetailByPostId(postId);
 
 		if (post.isEmpty()) {
 			logger.error(POST_ID_NOT_FOUND);
 			throw (new DeveloperCommunityException(POST_ID_NOT_FOUND));
 		}
 
-		return modelMapper.map(post.get(), PostResponseDTO.class);
+		return postMapper.toResponseDTO(post.get());
 	}
 
 	/**
-	 * Fetches post by developer
+	 * Fetches summaries of posts by developer
 	 * 
 	 * @param devId of the developer
-	 * @return List of posts
+	 * @return List of post summaries
 	 * @throws DeveloperCommunityException if there are no posts by the developer
 	 */
 	@Override
-	public List<PostResponseDTO> getAllPostByDev(Integer devId) throws DeveloperCommunityException {
-		Developer developer = devRepo.findById(devId)
-				.orElseThrow(() -> new DeveloperCommunityException(DEV_ID_NOT_FOUND));
+	@Transactional(readOnly = true)
+	public List<PostSummaryDTO> getAllPostByDev(Integer devId) throws DeveloperCommunityException {
+		if (!devRepo.existsById(devId)) {
+			throw new DeveloperCommunityException(DEV_ID_NOT_FOUND);
+		}
 
-		List<Post> postList = postRepo.findByDeveloper(developer);
+		List<PostSummaryDTO> postList = postRepo.findSummariesByDeveloperId(devId);
 
 		if (postList.isEmpty()) {
 			logger.error(POST_BY_DEV_NOT_FOUND);
 			throw (new DeveloperCommunityException(POST_BY_DEV_NOT_FOUND));
 		}
 
-		return postList.stream().map(e -> modelMapper.map(e, PostResponseDTO.class)).toList();
+		return postList;
 	}
 
 	/**
-	 * Fetches post by keyword checks if keyword is present in the query or topic
+	 * Fetches posts matching any word of the keyword in the query or topic, best
+	 * match first. Served from the in-memory search index, falls back to a
+	 * database scan while the index is still being built at startup.
 	 * 
-	 * @param keyword
-	 * @return List of posts
+	 * @param keyword one or more words
+	 * @param page    zero based page number
+	 * @param size    number of posts per page, clamped to MAX_FEED_SIZE
+	 * @return List of post summaries
 	 * @throws DeveloperCommunityException if there are not posts with the keyword
 	 *                                     present
 	 */
 	@Override
-	public List<PostResponseDTO> getPostByKeyword(String keyword) throws DeveloperCommunityException {
-		List<Post> postList = postRepo.searchPosts(keyword);
+	@Transactional(readOnly = true)
+	public List<PostSummaryDTO> getPostByKeyword(String keyword, Integer page, Integer size)
+			throws DeveloperCommunityException {
+		int pageSize = size == null ? DEFAULT_FEED_SIZE : Math.max(1, Math.min(size, MAX_FEED_SIZE));
+		int offset = (page == null ? 0 : Math.max(0, page)) * pageSize;
+
+		List<PostSummaryDTO> postList;
+		if (searchIndex.isReady()) {
+			List<Integer> ids = searchIndex.search(keyword, offset, pageSize);
+			postList = ids.isEmpty() ? List.of()
+					: postRepo.findSummariesByIds(ids).stream()
+							.sorted(Comparator.comparingInt(e -> ids.indexOf(e.getPostId()))).toList();
+		} else {
+			List<PostSummaryDTO> matches = postRepo.searchPosts(keyword);
+			postList = matches.subList(Math.min(offset, matches.size()), Math.min(offset + pageSize, matches.size()));
+		}
 
 		if (postList.isEmpty()) {
 			logger.error(POST_BY_KEYWORD_NOT_FOUND);
 			throw (new DeveloperCommunityException(POST_BY_KEYWORD_NOT_FOUND));
 		}
 
-		return postList.stream().map(e -> modelMapper.map(e, PostResponseDTO.class)).toList();
+		return postList;
 	}
 
 	/**
@@ -128,9 +220,9 @@ public class PostServiceImpl implements IPostService {
 	 * @return string confirming operation
 	 */
 	@Override
+	@Transactional
 	public String addPost(PostRequestDTO postDTO) {
-		Post post = modelMapper.map(postDTO, Post.class);
-		post.setPostId(null);
+		Post post = postMapper.toEntity(postDTO);
 		Optional<Developer> developer = devRepo.findById(postDTO.getDeveloperId());
 
 		if (developer.isPresent())
@@ -138,10 +230,41 @@ public class PostServiceImpl implements IPostService {
 		post.setPostDateTime(LocalDateTime.now());
 
 		postRepo.save(post);
+		AfterCommit.run(() -> searchIndex.index(post.getPostId(), post.getTopic(), post.getQuery()));
 
 		return POST_CREATED;
 	}
 
+	/**
+	 * Adds several posts in one transaction. The authors are checked with one
+	 * query and the posts are inserted in JDBC batches.
+	 * 
+	 * @param postDTOs containing post details
+	 * @return ids of the new posts, in request order
+	 * @throws DeveloperCommunityException if a developer id does not exist
+	 */
+	@Override
+	@Transactional
+	public List<Integer> addPosts(List<PostRequestDTO> postDTOs) throws DeveloperCommunityException {
+		ExistingIds.requireAll("Developer", postDTOs.stream().map(PostRequestDTO::getDeveloperId).toList(),
+				devRepo::findExistingIds);
+
+		LocalDateTime now = LocalDateTime.now();
+		List<Post> posts = new ArrayList<>(postDTOs.size());
+		for (PostRequestDTO postDTO : postDTOs) {
+			Post post = postMapper.toEntity(postDTO);
+			post.setDeveloper(devRepo.getReferenceById(postDTO.getDeveloperId()));
+			post.setPostDateTime(now);
+			posts.add(post);
+		}
+
+		postRepo.saveAll(posts);
+		AfterCommit.run(() -> posts.forEach(post -> searchIndex.index(post.getPostId(), post.getTopic(),
+				post.getQuery())));
+
+		return posts.stream().map(Post::getPostId).toList();
+	}
+
 	/**
 	 * Updates the post by its id
 	 * 
@@ -151,6 +274,7 @@ public class PostServiceImpl implements IPostService {
 	 * @throws DeveloperCommunityException if post id does not exist
 	 */
 	@Override
+	@Transactional
 	public String updatePost(Integer postId, PostRequestDTO postDTO) throws DeveloperCommunityException {
 		Optional<Post> post = postRepo.findById(postId);
 
@@ -159,7 +283,7 @@ public class PostServiceImpl implements IPostService {
 			throw (new DeveloperCommunityException(POST_ID_NOT_FOUND));
 		}
 
-		Post updatePost = modelMapper.map(postDTO, Post.class);
+		Post updatePost = postMapper.toEntity(postDTO);
 
 //		checking if it is blank, to set previous values to the field.
 //		otherwise field will be blank or user will be forced to enter values for every field
@@ -176,6 +300,7 @@ public class PostServiceImpl implements IPostService {
 		updatePost.setVotes(post.get().getVotes());
 
 		postRepo.save(updatePost);
+		AfterCommit.run(() -> searchIndex.index(postId, updatePost.getTopic(), updatePost.getQuery()));
 
 		return POST_UPDATED;
 	}
@@ -188,9 +313,11 @@ public class PostServiceImpl implements IPostService {
 	 * @throws DeveloperCommunityException if post id does not exist
 	 */
 	@Override
+	@Transactional
 	public String removePost(Integer postId) throws DeveloperCommunityException {
 		if (postRepo.existsById(postId)) {
 			postRepo.deleteById(postId);
+			AfterCommit.run(() -> searchIndex.remove(postId));
 
 			return POST_DELETED;
 		}
@@ -201,25 +328,32 @@ public class PostServiceImpl implements IPostService {
 
 	/**
 	 * Deletes the posts by its ids Only deletes if all the ids exist, batch
-	 * operation
+	 * operation. The ids are checked with one query and the posts are removed
+	 * with their responses, comments and votes by one delete per table, in a
+	 * single transaction.
 	 * 
 	 * @param List of ids
-	 * @return string confirming the operation
+	 * @return rows removed from each table
 	 * @throws DeveloperCommunityException if post id does not exist
 	 */
 	@Override
-	public String removeMultiplePost(List<Integer> postIds) throws DeveloperCommunityException {
-
-		for (Integer id : postIds) {
-			if (!postRepo.existsById(id)) {
-				logger.error("Post ID: " + id + " does not exist"); //NOSONAR
-				throw (new DeveloperCommunityException("Post ID: " + id + " does not exist"));
-			}
+	@Transactional
+	public BulkDeleteDTO removeMultiplePost(List<Integer> postIds) throws DeveloperCommunityException {
+		Set<Integer> ids = new LinkedHashSet<>(postIds);
+		if (ids.isEmpty()) {
+			return new BulkDeleteDTO(POSTS_DELETED, 0, 0, 0, 0);
 		}
 
-		postRepo.deleteAllById(postIds);
+		ExistingIds.requireAll("Post", ids, postRepo::findExistingIds);
+
+		// leaves first, the rows below a post reference it without ON DELETE CASCADE
+		int votes = voteRepo.deleteOnPosts(ids);
+		int comments = commentRepo.deleteOnPosts(ids);
+		int responses = respRepo.deleteOnPosts(ids);
+		int posts = postRepo.deleteInBulk(ids);
+		AfterCommit.run(() -> ids.forEach(searchIndex::remove));
 
-		return POSTS_DELETED;
+		return new BulkDeleteDTO(POSTS_DELETED, posts, responses, comments, votes);
 	}
 
 }
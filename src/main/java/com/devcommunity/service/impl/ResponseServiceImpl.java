@@ -1,25 +1,35 @@
 package com.devcommunity.service.impl;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
-import org.modelmapper.ModelMapper;
+import java.util.Set;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.devcommunity.dto.BulkDeleteDTO;
 import com.devcommunity.dto.ResponseRequestDTO;
 import com.devcommunity.dto.ResponseResponseDTO;
 import com.devcommunity.entity.Developer;
 import com.devcommunity.entity.Post;
 import com.devcommunity.entity.Response;
 import com.devcommunity.exception.DeveloperCommunityException;
+import com.devcommunity.mapper.ResponseMapper;
+import com.devcommunity.repository.ICommentRepo;
 import com.devcommunity.repository.IDevRepo;
 import com.devcommunity.repository.IPostRepo;
 import com.devcommunity.repository.IResponseRepo;
+import com.devcommunity.repository.IVoteRepo;
 import com.devcommunity.service.interfaces.IResponseService;
+import com.devcommunity.util.ExistingIds;
 
 @Service
+@Timed(value = "devcommunity.service", histogram = true)
 public class ResponseServiceImpl implements IResponseService {
 
 	private static final Logger logger = LoggerFactory.getLogger(ResponseServiceImpl.class);
@@ -37,13 +47,18 @@ public class ResponseServiceImpl implements IResponseService {
 	private final IResponseRepo respRepo;
 	private final IPostRepo postRepo;
 	private final IDevRepo devRepo;
-	private final ModelMapper modelMapper;
+	private final ICommentRepo commentRepo;
+	private final IVoteRepo voteRepo;
+	private final ResponseMapper responseMapper;
 
-	public ResponseServiceImpl(IResponseRepo respRepo, IPostRepo postRepo, IDevRepo devRepo, ModelMapper modelMapper) {
+	public ResponseServiceImpl(IResponseRepo respRepo, IPostRepo postRepo, IDevRepo devRepo, ICommentRepo commentRepo,
+			IVoteRepo voteRepo, ResponseMapper responseMapper) {
 		this.respRepo = respRepo;
 		this.postRepo = postRepo;
 		this.devRepo = devRepo;
-		this.modelMapper = modelMapper;
+		this.commentRepo = commentRepo;
+		this.voteRepo = voteRepo;
+		this.responseMapper = responseMapper;
 	}
 
 	/**
@@ -54,15 +69,16 @@ public class ResponseServiceImpl implements IResponseService {
 	 * @throws DeveloperCommunityException if there are no responses to the post
 	 */
 	@Override
+	@Transactional(readOnly = true)
 	public List<ResponseResponseDTO> getAllResponseByPost(Integer postId) throws DeveloperCommunityException {
 		if (postRepo.existsById(postId)) {
-			List<Response> responses = respRepo.findByPost_postId(postId);
+			List<Response> responses = respRepo.findDetailByPost_postId(postId);
 
 			if (responses.isEmpty()) {
 				throw (new DeveloperCommunityException(RESP_NOT_FOUND_FOR_POST));
 			}
 
-			return responses.stream().map(e -> modelMapper.map(e, ResponseResponseDTO.class))
+			return responses.stream().map(responseMapper::toResponseDTO)
 					.toList();
 		}
 
@@ -79,6 +95,7 @@ public class ResponseServiceImpl implements IResponseService {
 	 *                                     with that id
 	 */
 	@Override
+	@Transactional(readOnly = true)
 	public List<ResponseResponseDTO> getAllResponseByDeveloper(Integer devId) throws DeveloperCommunityException {
 		if (devRepo.existsById(devId)) {
 			List<Response> responses = respRepo.findByDeveloper_id(devId);
@@ -87,7 +104,7 @@ public class ResponseServiceImpl implements IResponseService {
 				throw (new DeveloperCommunityException(RESP_NOT_FOUND_FOR_DEV));
 			}
 
-			return responses.stream().map(e -> modelMapper.map(e, ResponseResponseDTO.class))
+			return responses.stream().map(responseMapper::toResponseDTO)
 					.toList();
 		}
 
@@ -101,8 +118,9 @@ public class ResponseServiceImpl implements IResponseService {
 	 * @return string confirming operation
 	 */
 	@Override
+	@Transactional
 	public String addResponse(ResponseRequestDTO responseDTO) {
-		Response response = modelMapper.map(responseDTO, Response.class);
+		Response response = responseMapper.toEntity(responseDTO);
 
 		Optional<Post> post = postRepo.findById(responseDTO.getPostId());
 		Optional<Developer> developer = devRepo.findById(responseDTO.getDeveloperId());
@@ -118,6 +136,37 @@ public class ResponseServiceImpl implements IResponseService {
 		return RESP_CREATED;
 	}
 
+	/**
+	 * Adds several responses in one transaction. The posts and authors are
+	 * checked with one query each and the responses are inserted in JDBC batches.
+	 * 
+	 * @param responseDTOs containing response details
+	 * @return ids of the new responses, in request order
+	 * @throws DeveloperCommunityException if a post id or developer id does not exist
+	 */
+	@Override
+	@Transactional
+	public List<Integer> addResponses(List<ResponseRequestDTO> responseDTOs) throws DeveloperCommunityException {
+		ExistingIds.requireAll("Post", responseDTOs.stream().map(ResponseRequestDTO::getPostId).toList(),
+				postRepo::findExistingIds);
+		ExistingIds.requireAll("Developer", responseDTOs.stream().map(ResponseRequestDTO::getDeveloperId).toList(),
+				devRepo::findExistingIds);
+
+		LocalDateTime now = LocalDateTime.now();
+		List<Response> responses = new ArrayList<>(responseDTOs.size());
+		for (ResponseRequestDTO responseDTO : responseDTOs) {
+			Response response = responseMapper.toEntity(responseDTO);
+			response.setPost(postRepo.getReferenceById(responseDTO.getPostId()));
+			response.setDeveloper(devRepo.getReferenceById(responseDTO.getDeveloperId()));
+			response.setRespDateTime(now);
+			responses.add(response);
+		}
+
+		respRepo.saveAll(responses);
+
+		return responses.stream().map(Response::getRespId).toList();
+	}
+
 	/**
 	 * Updates a response by its id
 	 * 
@@ -128,6 +177,7 @@ public class ResponseServiceImpl implements IResponseService {
 	 *                                     does not exist
 	 */
 	@Override
+	@Transactional
 	public String updateResponse(Integer respId, ResponseRequestDTO responseDTO) throws DeveloperCommunityException {
 		Optional<Response> response = respRepo.findById(respId);
 		Optional<Developer> developer = devRepo.findById(responseDTO.getDeveloperId());
@@ -143,7 +193,7 @@ public class ResponseServiceImpl implements IResponseService {
 			throw (new DeveloperCommunityException(POST_NOT_FOUND));
 		}
 
-		Response updateResponse = modelMapper.map(responseDTO, Response.class);
+		Response updateResponse = responseMapper.toEntity(responseDTO);
 		updateResponse.setRespId(response.get().getRespId());
 		updateResponse.setPost(post.get());
 		updateResponse.setDeveloper(developer.get());
@@ -165,6 +215,7 @@ public class ResponseServiceImpl implements IResponseService {
 	 * @throws DeveloperCommunityException if the response id does not exist
 	 */
 	@Override
+	@Transactional
 	public String removeResponse(Integer respId) throws DeveloperCommunityException {
 		if (respRepo.existsById(respId)) {
 			respRepo.deleteById(respId);
@@ -177,25 +228,30 @@ public class ResponseServiceImpl implements IResponseService {
 
 	/**
 	 * Deletes responses by its ids Only deletes if all the ids exist, batch
-	 * operation
+	 * operation. The ids are checked with one query and the responses are
+	 * removed with their comments and votes by one delete per table, in a single
+	 * transaction.
 	 * 
 	 * @param List of ids
-	 * @return string confirming operation
+	 * @return rows removed from each table
 	 * @throws DeveloperCommunityException if response id does not exist
 	 */
 	@Override
-	public String removeMultipleResponse(List<Integer> respIds) throws DeveloperCommunityException {
-
-		for (Integer id : respIds) {
-			if (!respRepo.existsById(id)) {
-				logger.error("Response ID: " + id + " does not exist"); //NOSONAR
-				throw (new DeveloperCommunityException("Response ID: " + id + " does not exist"));
-			}
+	@Transactional
+	public BulkDeleteDTO removeMultipleResponse(List<Integer> respIds) throws DeveloperCommunityException {
+		Set<Integer> ids = new LinkedHashSet<>(respIds);
+		if (ids.isEmpty()) {
+			return new BulkDeleteDTO(RESPS_DELETED, 0, 0, 0, 0);
 		}
 
-		respRepo.deleteAllById(respIds);
+		ExistingIds.requireAll("Response", ids, respRepo::findExistingIds);
+
+		// leaves first, the rows below a response reference it without ON DELETE CASCADE
+		int votes = voteRepo.deleteOnResponses(ids);
+		int comments = commentRepo.deleteOnResponses(ids);
+		int responses = respRepo.deleteInBulk(ids);
 
-		return RESPS_DELETED;
+		return new BulkDeleteDTO(RESPS_DELETED, 0, responses, comments, votes);
 	}
 
 }
@@ -1,30 +1,42 @@
 package com.devcommunity.service.impl;
 
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.devcommunity.dto.UserRequestDTO;
 import com.devcommunity.entity.User;
 import com.devcommunity.exception.DeveloperCommunityException;
 import com.devcommunity.repository.IUserRepo;
+import com.devcommunity.service.DeveloperSkillIndex;
+import com.devcommunity.service.PasswordHasher;
+import com.devcommunity.service.UserDetailsServiceImpl;
 import com.devcommunity.service.interfaces.IUserService;
+import com.devcommunity.util.AfterCommit;
+import com.devcommunity.util.PasswordPolicy;
 
 @Service
+@Timed(value = "devcommunity.service", histogram = true)
 public class UserServiceImpl implements IUserService {
 
 	private IUserRepo repo;
 
-	private BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(12);
+	private UserDetailsServiceImpl userDetailsService;
 
-	public UserServiceImpl(IUserRepo repo) {
-		this.repo = repo;
-	}
+	private PasswordHasher encoder;
 
-	private boolean validatePassword(String rawPassword) {
-		return rawPassword.matches("^(?=.*\\d)(?=.*[A-Z])(?=.*[a-z])(?=.*[@#$%^&+=])(?=\\S+$).{8,20}$");
+	private DeveloperSkillIndex skillIndex;
+
+	public UserServiceImpl(IUserRepo repo, UserDetailsServiceImpl userDetailsService, PasswordHasher encoder,
+			DeveloperSkillIndex skillIndex) {
+		this.repo = repo;
+		this.userDetailsService = userDetailsService;
+		this.encoder = encoder;
+		this.skillIndex = skillIndex;
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public User getUser(int id) throws DeveloperCommunityException {
 		if (repo.existsById(id)) {
 			return repo.findById(id).get(); // NOSONAR
@@ -37,6 +49,7 @@ public class UserServiceImpl implements IUserService {
 		User user = repo.findById(id)
 				.orElseThrow(() -> new DeveloperCommunityException("User with ID " + id + " not found."));
 
+		String oldUsername = user.getUsername();
 		String newUsername = userDTO.getUsername();
 		String newPassword = userDTO.getPassword();
 
@@ -46,8 +59,9 @@ public class UserServiceImpl implements IUserService {
 
 		if (newPassword == null) {
 			repo.save(user);
+			userDetailsService.evict(oldUsername);
 			return "User updated successfully";
-		} else if (validatePassword(newPassword)) {
+		} else if (PasswordPolicy.isValid(newPassword)) {
 			user.setPassword(encoder.encode(newPassword));
 		} else {
 			throw new DeveloperCommunityException(
@@ -55,6 +69,7 @@ public class UserServiceImpl implements IUserService {
 		}
 
 		repo.save(user);
+		userDetailsService.evict(oldUsername);
 		return "User updated successfully";
 	}
 
@@ -63,10 +78,14 @@ public class UserServiceImpl implements IUserService {
 		User user = repo.findById(id)
 				.orElseThrow(() -> new DeveloperCommunityException("User with ID " + id + " not found."));
 		repo.delete(user);
+		userDetailsService.evict(user.getUsername());
+		// the developer shares the user's id and is deleted with it
+		AfterCommit.run(() -> skillIndex.remove(id));
 		return "User deleted successfully";
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public User getUserByUsername(String name) throws DeveloperCommunityException {
 		if (repo.existsByUsername(name)) {
 			return repo.findByUsername(name).get(); // NOSONAR
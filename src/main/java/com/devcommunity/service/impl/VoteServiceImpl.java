@@ -1,12 +1,24 @@
 package com.devcommunity.service.impl;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import org.modelmapper.ModelMapper;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.devcommunity.dto.VoteBatchResultDTO;
 import com.devcommunity.dto.VoteRequestDTO;
 import com.devcommunity.dto.VoteResponseDTO;
 import com.devcommunity.entity.Comment;
@@ -15,17 +27,26 @@ import com.devcommunity.entity.Post;
 import com.devcommunity.entity.Response;
 import com.devcommunity.entity.Vote;
 import com.devcommunity.exception.DeveloperCommunityException;
+import com.devcommunity.mapper.VoteMapper;
 import com.devcommunity.repository.ICommentRepo;
 import com.devcommunity.repository.IDevRepo;
 import com.devcommunity.repository.IPostRepo;
 import com.devcommunity.repository.IResponseRepo;
 import com.devcommunity.repository.IVoteRepo;
+import com.devcommunity.repository.VoteWriter;
+import com.devcommunity.service.ReputationService;
+import com.devcommunity.service.VoteBuffer;
+import com.devcommunity.service.VoteTallyService;
 import com.devcommunity.service.interfaces.IVoteService;
+import com.devcommunity.util.BufferedVote;
 import com.devcommunity.util.VoteType;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
+@Timed(value = "devcommunity.service", histogram = true)
 @Slf4j
 public class VoteServiceImpl implements IVoteService {
 
@@ -33,47 +54,67 @@ public class VoteServiceImpl implements IVoteService {
 	private final IDevRepo devRepo;
 	private final IPostRepo postRepo;
 	private final IResponseRepo responseRepo;
-	private final ModelMapper modelMapper;
+	private final VoteMapper voteMapper;
 	private final ICommentRepo commentRepo;
+	private final ReputationService reputationService;
+	private final VoteTallyService voteTallyService;
+	private final VoteBuffer voteBuffer;
+	private final VoteWriter voteWriter;
+	private final Validator validator;
 
 	public VoteServiceImpl(ICommentRepo commentRepo, IPostRepo postRepo, IResponseRepo responseRepo, IVoteRepo voteRepo,
-			IDevRepo devRepo, ModelMapper modelMapper) {
+			IDevRepo devRepo, VoteMapper voteMapper, ReputationService reputationService,
+			VoteTallyService voteTallyService, VoteBuffer voteBuffer, VoteWriter voteWriter, Validator validator) {
 		this.postRepo = postRepo;
 		this.responseRepo = responseRepo;
 		this.voteRepo = voteRepo;
-		this.modelMapper = modelMapper;
+		this.voteMapper = voteMapper;
 		this.devRepo = devRepo;
 		this.commentRepo = commentRepo;
+		this.reputationService = reputationService;
+		this.voteTallyService = voteTallyService;
+		this.voteBuffer = voteBuffer;
+		this.voteWriter = voteWriter;
+		this.validator = validator;
 	}
 
 	private static final Logger logger = LoggerFactory.getLogger(VoteServiceImpl.class);
 
+	private static final String NO_TARGET = "Either postId or responseId or commentId must be provided to vote";
+
 	@Override
+	@Transactional(readOnly = true)
 	public List<VoteResponseDTO> getVotesByPostId(int postId) {
 		logger.info("Fetching votes for postId: {}", postId);
-		return voteRepo.findByPost_PostId(postId).stream().map(vote -> modelMapper.map(vote, VoteResponseDTO.class))
-				.toList();
+		return voteRepo.findByPost_PostId(postId).stream().map(voteMapper::toResponseDTO).toList();
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<VoteResponseDTO> getVotesByRespId(int responseId) {
 		logger.info("Fetching votes for responseId: {}", responseId);
 		return voteRepo.findByResponse_RespId(responseId).stream()
-				.map(vote -> modelMapper.map(vote, VoteResponseDTO.class)).toList();
+				.map(voteMapper::toResponseDTO).toList();
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<VoteResponseDTO> getVotesByCommentId(int commentId) {
 		logger.info("Fetching votes for commentId: {}", commentId);
 		List<Vote> votes = voteRepo.findByComment_CommentId(commentId);
-		return votes.stream().map(vote -> modelMapper.map(vote, VoteResponseDTO.class)).toList();
+		return votes.stream().map(voteMapper::toResponseDTO).toList();
 	}
 
 	private Developer authenticateDeveloper(int developerId) throws DeveloperCommunityException {
 		return devRepo.findById(developerId).orElseThrow(() -> new DeveloperCommunityException("Developer not found"));
 	}
 
+	/**
+	 * Adds a vote, or changes the type of the developer's existing vote on the same target.
+	 * Re-sending the same vote leaves it unchanged.
+	 */
 	@Override
+	@Transactional
 	public VoteResponseDTO addVote(VoteRequestDTO voteDto) throws DeveloperCommunityException {
 		logger.info("Adding new vote: {}", voteDto);
 		Developer developer = authenticateDeveloper(voteDto.getDeveloperId());
@@ -82,18 +123,17 @@ public class VoteServiceImpl implements IVoteService {
 		vote.setVoteType(voteDto.getVoteType());
 		vote.setDeveloper(developer);
 
+		BufferedVote.Target target;
+		int targetId;
+
 		// Set comment if commentId is present
 		if (voteDto.getCommentId() != null && voteDto.getCommentId() != 0) {
 
 			Comment comment = commentRepo.findById(voteDto.getCommentId()).orElseThrow(
 					() -> new DeveloperCommunityException("Comment not found with ID: " + voteDto.getCommentId()));
-
-			List<Vote> existingVote = voteRepo.findByDeveloperIdAndComment_CommentId(developer.getId(),
-					voteDto.getCommentId());
-			if (!existingVote.isEmpty()) {
-				throw new DeveloperCommunityException("You have already voted on this comment.");
-			}
 			vote.setComment(comment);
+			target = BufferedVote.Target.COMMENT;
+			targetId = comment.getCommentId();
 		}
 
 		// Set post if postId is present
@@ -101,13 +141,9 @@ public class VoteServiceImpl implements IVoteService {
 
 			Post post = postRepo.findById(voteDto.getPostId()).orElseThrow(
 					() -> new DeveloperCommunityException("Post not found with ID: " + voteDto.getPostId()));
-
-			List<Vote> existingVote = voteRepo.findByDeveloperIdAndPost_PostId(developer.getId(), voteDto.getPostId());
-			if (!existingVote.isEmpty()) {
-				throw new DeveloperCommunityException("You have already voted on this post.");
-			}
-
 			vote.setPost(post);
+			target = BufferedVote.Target.POST;
+			targetId = post.getPostId();
 		}
 
 		// Set response if responseId is present
@@ -115,24 +151,177 @@ public class VoteServiceImpl implements IVoteService {
 
 			Response response = responseRepo.findById(voteDto.getRespId()).orElseThrow(
 					() -> new DeveloperCommunityException("Response not found with ID: " + voteDto.getRespId()));
-			List<Vote> existingVote = voteRepo.findByDeveloperIdAndResponse_RespId(developer.getId(),
-					voteDto.getRespId());
-			if (!existingVote.isEmpty()) {
-				throw new DeveloperCommunityException("You have already voted on this response.");
-			}
-
 			vote.setResponse(response);
+			target = BufferedVote.Target.RESPONSE;
+			targetId = response.getRespId();
 		}
 
 		else {
-			throw new DeveloperCommunityException("Either postId or responseId or commentId must be provided to vote");
+			throw new DeveloperCommunityException(NO_TARGET);
+		}
+
+		VoteWriter.Upsert upsert = voteWriter.upsert(target, targetId, developer.getId(), vote.getVoteType());
+		if (upsert == null) {
+			throw new DeveloperCommunityException("Vote could not be saved");
+		}
+		vote.setVoteId(upsert.getVoteId());
+
+		if (upsert.getChange() == VoteWriter.Change.INSERTED) {
+			reputationService.applyVote(vote);
+			voteTallyService.applyVote(vote);
+		} else if (upsert.getChange() == VoteWriter.Change.CHANGED) {
+			VoteType previousType = vote.getVoteType().opposite();
+			reputationService.changeVote(vote, previousType);
+			voteTallyService.changeVote(vote, previousType);
+			logger.info("Vote {} changed from {} to {}", vote.getVoteId(), previousType, vote.getVoteType());
+		} else {
+			logger.debug("Vote {} is already {}", vote.getVoteId(), vote.getVoteType());
+		}
+		return voteMapper.toResponseDTO(vote);
+	}
+
+	/**
+	 * Queues a vote in the write-behind buffer without touching the database.
+	 * Developer and target are checked when the buffer is flushed, votes on
+	 * missing targets and repeated votes are dropped there.
+	 */
+	@Override
+	public void submitVote(VoteRequestDTO voteDto) throws DeveloperCommunityException {
+		logger.info("Buffering vote: {}", voteDto);
+		BufferedVote vote = toBufferedVote(voteDto);
+		if (vote == null) {
+			throw new DeveloperCommunityException(NO_TARGET);
+		}
+		voteBuffer.submit(vote);
+	}
+
+	/**
+	 * Stores a batch of votes, e.g. replayed from an offline client, with one
+	 * status per vote instead of failing the whole batch. Each vote is validated
+	 * on its own and reported INVALID if it fails. Developers and targets
+	 * are looked up with one IN query per table, repeated votes by a developer on
+	 * the same target collapse into the last one, and the remaining votes are
+	 * stored in one JDBC batch per target table.
+	 */
+	@Override
+	@Transactional
+	public List<VoteBatchResultDTO> addVotes(List<VoteRequestDTO> voteDtos) {
+		logger.info("Adding {} votes in a batch", voteDtos.size());
+		VoteBatchResultDTO[] results = new VoteBatchResultDTO[voteDtos.size()];
+		BufferedVote[] votes = new BufferedVote[voteDtos.size()];
+		Map<BufferedVote.Key, Integer> latest = new HashMap<>();
+		Set<Integer> developerIds = new HashSet<>();
+		Map<BufferedVote.Target, Set<Integer>> targetIds = new EnumMap<>(BufferedVote.Target.class);
+		for (int i = 0; i < votes.length; i++) {
+			String violations = violations(voteDtos.get(i));
+			if (violations != null) {
+				results[i] = new VoteBatchResultDTO(i, VoteBatchResultDTO.Status.INVALID, violations);
+				continue;
+			}
+			BufferedVote vote = toBufferedVote(voteDtos.get(i));
+			if (vote == null) {
+				results[i] = new VoteBatchResultDTO(i, VoteBatchResultDTO.Status.INVALID, NO_TARGET);
+				continue;
+			}
+			Integer previous = latest.put(vote.key(), i);
+			if (previous != null) {
+				votes[previous] = null;
+				results[previous] = new VoteBatchResultDTO(previous, VoteBatchResultDTO.Status.SUPERSEDED,
+						"Replaced by vote " + i + " of the batch");
+			}
+			votes[i] = vote;
+			developerIds.add(vote.getDeveloperId());
+			targetIds.computeIfAbsent(vote.getTarget(), t -> new HashSet<>()).add(vote.getTargetId());
 		}
 
-		Vote savedVote = voteRepo.save(vote);
-		return modelMapper.map(savedVote, VoteResponseDTO.class);
+		Set<Integer> developers = existing(developerIds, devRepo::findExistingIds);
+		Map<BufferedVote.Target, Set<Integer>> targets = new EnumMap<>(BufferedVote.Target.class);
+		targetIds.forEach((target, ids) -> targets.put(target, existing(ids, switch (target) {
+			case POST -> postRepo::findExistingIds;
+			case RESPONSE -> responseRepo::findExistingIds;
+			case COMMENT -> commentRepo::findExistingIds;
+		})));
+
+		List<BufferedVote> toWrite = new ArrayList<>();
+		List<Integer> positions = new ArrayList<>();
+		for (int i = 0; i < votes.length; i++) {
+			BufferedVote vote = votes[i];
+			if (vote == null) {
+				continue;
+			}
+			if (!developers.contains(vote.getDeveloperId())) {
+				results[i] = new VoteBatchResultDTO(i, VoteBatchResultDTO.Status.NOT_FOUND, "Developer not found");
+			} else if (!targets.get(vote.getTarget()).contains(vote.getTargetId())) {
+				results[i] = new VoteBatchResultDTO(i, VoteBatchResultDTO.Status.NOT_FOUND,
+						targetName(vote.getTarget()) + " not found with ID: " + vote.getTargetId());
+			} else {
+				toWrite.add(vote);
+				positions.add(i);
+			}
+		}
+
+		List<VoteWriter.Change> changes = toWrite.isEmpty() ? List.of() : voteWriter.writeEach(toWrite);
+		for (int i = 0; i < changes.size(); i++) {
+			int position = positions.get(i);
+			results[position] = new VoteBatchResultDTO(position,
+					VoteBatchResultDTO.Status.valueOf(changes.get(i).name()), null);
+		}
+		logger.info("Stored {} of {} votes", changes.stream().filter(c -> c != VoteWriter.Change.UNCHANGED).count(),
+				voteDtos.size());
+		return Arrays.asList(results);
+	}
+
+	/**
+	 * @return the vote on the comment, post or response of the request, in that
+	 *         order, or null if none is given
+	 */
+	private static BufferedVote toBufferedVote(VoteRequestDTO voteDto) {
+		BufferedVote.Target target;
+		int targetId;
+		if (voteDto.getCommentId() != null && voteDto.getCommentId() != 0) {
+			target = BufferedVote.Target.COMMENT;
+			targetId = voteDto.getCommentId();
+		} else if (voteDto.getPostId() != null && voteDto.getPostId() != 0) {
+			target = BufferedVote.Target.POST;
+			targetId = voteDto.getPostId();
+		} else if (voteDto.getRespId() != null && voteDto.getRespId() != 0) {
+			target = BufferedVote.Target.RESPONSE;
+			targetId = voteDto.getRespId();
+		} else {
+			return null;
+		}
+		return new BufferedVote(voteDto.getDeveloperId(), target, targetId, voteDto.getVoteType());
+	}
+
+	/**
+	 * @return the messages of the constraints the vote violates, sorted and
+	 *         joined, or null if it is valid
+	 */
+	private String violations(VoteRequestDTO voteDto) {
+		if (voteDto == null) {
+			return "Vote must not be null";
+		}
+		Set<ConstraintViolation<VoteRequestDTO>> violations = validator.validate(voteDto);
+		if (violations.isEmpty()) {
+			return null;
+		}
+		return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+	}
+
+	private static Set<Integer> existing(Set<Integer> ids, Function<Collection<Integer>, List<Integer>> lookup) {
+		return ids.isEmpty() ? Set.of() : new HashSet<>(lookup.apply(ids));
+	}
+
+	private static String targetName(BufferedVote.Target target) {
+		return switch (target) {
+			case POST -> "Post";
+			case RESPONSE -> "Response";
+			case COMMENT -> "Comment";
+		};
 	}
 
 	@Override
+	@Transactional
 	public String deleteVote(int voteId) throws DeveloperCommunityException {
 		Optional<Vote> voteOptional = voteRepo.findById(voteId);
 
@@ -147,6 +336,8 @@ public class VoteServiceImpl implements IVoteService {
 				throw new DeveloperCommunityException("You are not authorized to delete this vote.");
 			}
 
+			reputationService.revertVote(vote);
+			voteTallyService.revertVote(vote);
 			voteRepo.deleteById(voteId);
 			logger.info("Vote deleted successfully with ID: {}", voteId);
 			return "Vote deleted successfully";
@@ -157,15 +348,17 @@ public class VoteServiceImpl implements IVoteService {
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public Optional<VoteResponseDTO> getVoteByVoteId(int voteId) {
 		logger.info("Fetching vote by voteId: {}", voteId);
 
 		Optional<Vote> voteOptional = voteRepo.findByVoteId(voteId);
 
-		return voteOptional.map(vote -> modelMapper.map(vote, VoteResponseDTO.class));
+		return voteOptional.map(voteMapper::toResponseDTO);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public String countByVoteTypeAndComment_CommentId(String voteType, int commentId) {
 		logger.info("Counting votes of type '{}' for comment ID: {}", voteType, commentId);
 
@@ -176,7 +369,9 @@ public class VoteServiceImpl implements IVoteService {
 			logger.error("Invalid vote type received: {}", voteType);
 			throw new IllegalArgumentException("Invalid vote type: " + voteType);
 		}
-		int count = voteRepo.countByVoteTypeAndComment_CommentId(type, commentId);
+		Optional<Integer> tally = type == VoteType.UPVOTE ? commentRepo.findUpVotesByCommentId(commentId)
+				: commentRepo.findDownVotesByCommentId(commentId);
+		int count = tally.orElse(0);
 		logger.debug("Vote count for type '{}' on comment ID {}: {}", voteType, commentId, count);
 		return "Votecount for " + voteType + " of commentId " + commentId + " : " + count;
 	}
@@ -11,6 +11,8 @@ public interface ICommentService {
 
 	public CommentResponseDTO addComment(CommentRequestDTO  dto) throws DeveloperCommunityException;
 
+	public List<Integer> addComments(List<CommentRequestDTO> dtos) throws DeveloperCommunityException;
+
 	public List<CommentResponseDTO > getCommentsByPostId(Integer postId) throws DeveloperCommunityException;
 
 	public List<CommentResponseDTO > getCommentsByResponseId(Integer resId) throws DeveloperCommunityException;
@@ -4,6 +4,7 @@ import java.util.List;
 
 import com.devcommunity.dto.DeveloperRequestDTO;
 import com.devcommunity.dto.DeveloperResponseDTO;
+import com.devcommunity.dto.LeaderboardEntryDTO;
 import com.devcommunity.exception.DeveloperCommunityException;
 
 public interface IDeveloperService {
@@ -14,10 +15,16 @@ public interface IDeveloperService {
 
 	DeveloperResponseDTO getDeveloperById(Integer devId) throws DeveloperCommunityException;
 
-	List<DeveloperResponseDTO> getAllDevelopers();
+	List<DeveloperResponseDTO> getAllDevelopers(Integer page, Integer size, String sort)
+			throws DeveloperCommunityException;
 
 	DeveloperResponseDTO getByMaxReputation() throws DeveloperCommunityException;
 	
-	List<DeveloperResponseDTO> searchDevelopersBySkill(String skill);
+	List<DeveloperResponseDTO> searchDevelopersBySkill(String skill, String match, Integer page, Integer size)
+			throws DeveloperCommunityException;
+
+	List<LeaderboardEntryDTO> getLeaderboard(Integer page, Integer size);
+
+	LeaderboardEntryDTO getLeaderboardRank(Integer devId) throws DeveloperCommunityException;
 
 }
@@ -2,26 +2,33 @@ package com.devcommunity.service.interfaces;
 
 import java.util.List;
 
+import com.devcommunity.dto.BulkDeleteDTO;
+import com.devcommunity.dto.PostFeedDTO;
 import com.devcommunity.dto.PostRequestDTO;
 import com.devcommunity.dto.PostResponseDTO;
+import com.devcommunity.dto.PostSummaryDTO;
 import com.devcommunity.exception.DeveloperCommunityException;
 
 public interface IPostService {
 	
-	public List<PostResponseDTO> getAllPost() throws DeveloperCommunityException; 
+	public List<PostSummaryDTO> getAllPost() throws DeveloperCommunityException; 
+
+	public PostFeedDTO getPostFeed(String cursor, Integer size) throws DeveloperCommunityException;
 
 	public PostResponseDTO getPostById(Integer postId) throws DeveloperCommunityException;
 	
-	public List<PostResponseDTO> getAllPostByDev(Integer devId) throws DeveloperCommunityException; 
+	public List<PostSummaryDTO> getAllPostByDev(Integer devId) throws DeveloperCommunityException; 
 	
-	public List<PostResponseDTO> getPostByKeyword(String keyword) throws DeveloperCommunityException; 
+	public List<PostSummaryDTO> getPostByKeyword(String keyword, Integer page, Integer size) throws DeveloperCommunityException; 
 		
 	public String addPost(PostRequestDTO postDTO);
 
+	public List<Integer> addPosts(List<PostRequestDTO> postDTOs) throws DeveloperCommunityException;
+
 	public String updatePost(Integer postId, PostRequestDTO postDTO) throws DeveloperCommunityException;
 
 	public String removePost(Integer postId) throws DeveloperCommunityException;
 	
-	public String removeMultiplePost(List<Integer> postIds) throws DeveloperCommunityException;  
+	public BulkDeleteDTO removeMultiplePost(List<Integer> postIds) throws DeveloperCommunityException;  
 
 }
\ No newline at end of file
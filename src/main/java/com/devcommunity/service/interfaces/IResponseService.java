@@ -2,6 +2,7 @@ package com.devcommunity.service.interfaces;
 
 import java.util.List;
 
+import com.devcommunity.dto.BulkDeleteDTO;
 import com.devcommunity.dto.ResponseRequestDTO;
 import com.devcommunity.dto.ResponseResponseDTO;
 import com.devcommunity.exception.DeveloperCommunityException;
@@ -14,10 +15,12 @@ public interface IResponseService {
 	
 	public String addResponse(ResponseRequestDTO response);
 
+	public List<Integer> addResponses(List<ResponseRequestDTO> responses) throws DeveloperCommunityException;
+
 	public String updateResponse(Integer respId, ResponseRequestDTO response) throws DeveloperCommunityException;
 	
 	public String removeResponse(Integer respId) throws DeveloperCommunityException;
 	
-	public String removeMultipleResponse(List<Integer> respIds) throws DeveloperCommunityException;
+	public BulkDeleteDTO removeMultipleResponse(List<Integer> respIds) throws DeveloperCommunityException;
 
 }
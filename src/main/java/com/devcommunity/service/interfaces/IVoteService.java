@@ -3,6 +3,7 @@ package com.devcommunity.service.interfaces;
 import java.util.List;
 import java.util.Optional;
 
+import com.devcommunity.dto.VoteBatchResultDTO;
 import com.devcommunity.dto.VoteRequestDTO;
 import com.devcommunity.dto.VoteResponseDTO;
 import com.devcommunity.exception.DeveloperCommunityException;
@@ -15,6 +16,10 @@ public interface IVoteService {
 
 		public VoteResponseDTO addVote(VoteRequestDTO voteDTO) throws DeveloperCommunityException;
 
+		public void submitVote(VoteRequestDTO voteDTO) throws DeveloperCommunityException;
+
+		public List<VoteBatchResultDTO> addVotes(List<VoteRequestDTO> voteDTOs);
+
 		public Optional<VoteResponseDTO> getVoteByVoteId(int voteId);
 
 		public List<VoteResponseDTO> getVotesByRespId(int responseId);
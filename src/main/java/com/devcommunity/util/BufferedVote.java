@@ -0,0 +1,108 @@
+package com.devcommunity.util;
+
+import java.util.Objects;
+
+/**
+ * A vote accepted by the write-behind buffer but not yet stored in the votes table.
+ * Two buffered votes are the same key when they are by the same developer on the same target,
+ * regardless of the vote type.
+ */
+public final class BufferedVote {
+
+	public enum Target {
+		POST, RESPONSE, COMMENT
+	}
+
+	private static final String SEPARATOR = ",";
+
+	private final int developerId;
+	private final Target target;
+	private final int targetId;
+	private final VoteType voteType;
+
+	public BufferedVote(int developerId, Target target, int targetId, VoteType voteType) {
+		this.developerId = developerId;
+		this.target = target;
+		this.targetId = targetId;
+		this.voteType = voteType;
+	}
+
+	public int getDeveloperId() {
+		return developerId;
+	}
+
+	public Target getTarget() {
+		return target;
+	}
+
+	public int getTargetId() {
+		return targetId;
+	}
+
+	public VoteType getVoteType() {
+		return voteType;
+	}
+
+	/**
+	 * Identity of the vote for deduplication, (developer, target)
+	 */
+	public Key key() {
+		return new Key(developerId, target, targetId);
+	}
+
+	/**
+	 * Single line representation used in the spill file
+	 */
+	public String toLine() {
+		return developerId + SEPARATOR + target + SEPARATOR + targetId + SEPARATOR + voteType;
+	}
+
+	/**
+	 * @return the parsed vote, or null if the line is malformed (e.g. a torn write at crash time)
+	 */
+	public static BufferedVote fromLine(String line) {
+		String[] parts = line.split(SEPARATOR);
+		if (parts.length != 4) {
+			return null;
+		}
+		try {
+			return new BufferedVote(Integer.parseInt(parts[0]), Target.valueOf(parts[1]), Integer.parseInt(parts[2]),
+					VoteType.valueOf(parts[3]));
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return toLine();
+	}
+
+	public static final class Key {
+		private final int developerId;
+		private final Target target;
+		private final int targetId;
+
+		private Key(int developerId, Target target, int targetId) {
+			this.developerId = developerId;
+			this.target = target;
+			this.targetId = targetId;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key other)) {
+				return false;
+			}
+			return developerId == other.developerId && targetId == other.targetId && target == other.target;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(developerId, target, targetId);
+		}
+	}
+}
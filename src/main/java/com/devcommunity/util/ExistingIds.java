@@ -0,0 +1,44 @@
+package com.devcommunity.util;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.devcommunity.exception.DeveloperCommunityException;
+
+/**
+ * Checks the ids of a batch request with one IN query instead of one lookup per id
+ */
+public final class ExistingIds {
+
+	private static final Logger logger = LoggerFactory.getLogger(ExistingIds.class);
+
+	private ExistingIds() {
+	}
+
+	/**
+	 * @param entity name of the entity for the error message, e.g. Post
+	 * @param ids    requested ids, duplicates are looked up once
+	 * @param lookup returns which of the given ids exist
+	 * @throws DeveloperCommunityException naming the first requested id that does not exist
+	 */
+	public static void requireAll(String entity, Collection<Integer> ids,
+			Function<Collection<Integer>, List<Integer>> lookup) throws DeveloperCommunityException {
+		Set<Integer> requested = new LinkedHashSet<>(ids);
+		Set<Integer> lookedUp = new LinkedHashSet<>(requested);
+		lookedUp.remove(null);
+		Set<Integer> existing = lookedUp.isEmpty() ? Set.of() : new HashSet<>(lookup.apply(lookedUp));
+		for (Integer id : requested) {
+			if (id == null || !existing.contains(id)) {
+				logger.error("{} ID: {} does not exist", entity, id);
+				throw new DeveloperCommunityException(entity + " ID: " + id + " does not exist");
+			}
+		}
+	}
+}
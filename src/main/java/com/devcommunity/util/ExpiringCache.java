@@ -0,0 +1,81 @@
+package com.devcommunity.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Small thread-safe LRU cache whose entries each carry their own expiry time.
+ * Expired entries are never returned and are dropped when looked up; when the
+ * cache is full the least recently used entry makes room.
+ */
+public final class ExpiringCache<K, V> {
+
+	private final int maxSize;
+	private final LongSupplier clock;
+	private final LinkedHashMap<K, Entry<V>> entries;
+
+	public ExpiringCache(int maxSize) {
+		this(maxSize, System::currentTimeMillis);
+	}
+
+	public ExpiringCache(int maxSize, LongSupplier clock) {
+		this.maxSize = Math.max(1, maxSize);
+		this.clock = clock;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	/**
+	 * @return the cached value, or null if absent or expired
+	 */
+	public synchronized V get(K key) {
+		Entry<V> entry = entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (entry.expiresAt <= clock.getAsLong()) {
+			entries.remove(key);
+			return null;
+		}
+		return entry.value;
+	}
+
+	/**
+	 * Caches a value until the given time in epoch milliseconds
+	 */
+	public synchronized void put(K key, V value, long expiresAt) {
+		long now = clock.getAsLong();
+		if (expiresAt <= now) {
+			return;
+		}
+		entries.put(key, new Entry<>(value, expiresAt));
+		if (entries.size() > maxSize) {
+			// least recently used first
+			Iterator<Entry<V>> eldest = entries.values().iterator();
+			eldest.next();
+			eldest.remove();
+		}
+	}
+
+	public synchronized void invalidate(K key) {
+		entries.remove(key);
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	private static final class Entry<V> {
+		private final V value;
+		private final long expiresAt;
+
+		private Entry(V value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package com.devcommunity.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.devcommunity.exception.DeveloperCommunityException;
+
+/**
+ * Opaque continuation token for keyset pagination.
+ * Holds the sort key (date time, id) of the last row of the previous page.
+ * The date time is null when that row has none, which is encoded as an empty date.
+ */
+public final class FeedCursor {
+
+	private static final String SEPARATOR = "|";
+	private static final String INVALID_CURSOR = "Invalid cursor";
+
+	private final LocalDateTime dateTime;
+	private final Integer id;
+
+	public FeedCursor(LocalDateTime dateTime, Integer id) {
+		this.dateTime = dateTime;
+		this.id = id;
+	}
+
+	public LocalDateTime getDateTime() {
+		return dateTime;
+	}
+
+	public Integer getId() {
+		return id;
+	}
+
+	public String encode() {
+		String raw = (dateTime == null ? "" : dateTime.toString()) + SEPARATOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static FeedCursor decode(String token) throws DeveloperCommunityException {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			int idx = raw.lastIndexOf(SEPARATOR);
+			if (idx < 0) {
+				throw new DeveloperCommunityException(INVALID_CURSOR);
+			}
+			String date = raw.substring(0, idx);
+			return new FeedCursor(date.isEmpty() ? null : LocalDateTime.parse(date),
+					Integer.valueOf(raw.substring(idx + 1)));
+		} catch (IllegalArgumentException | DateTimeParseException e) {
+			throw new DeveloperCommunityException(INVALID_CURSOR);
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package com.devcommunity.util;
+
+import java.util.regex.Pattern;
+
+/**
+ * Password rules shared by registration and password updates. The pattern is
+ * compiled once instead of on every String.matches call.
+ */
+public final class PasswordPolicy {
+
+	public static final String REGEX = "^(?=.*\\d)(?=.*[A-Z])(?=.*[a-z])(?=.*[@#$%^&+=])(?=\\S+$).{8,20}$";
+
+	private static final Pattern PATTERN = Pattern.compile(REGEX);
+
+	private PasswordPolicy() {
+	}
+
+	public static boolean isValid(String password) {
+		return password != null && PATTERN.matcher(password).matches();
+	}
+}
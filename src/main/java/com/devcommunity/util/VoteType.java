@@ -4,5 +4,9 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 
 @JsonFormat(shape = JsonFormat.Shape.STRING)
 public enum VoteType {
-	UPVOTE,DOWNVOTE
+	UPVOTE,DOWNVOTE;
+
+	public VoteType opposite() {
+		return this == UPVOTE ? DOWNVOTE : UPVOTE;
+	}
 }
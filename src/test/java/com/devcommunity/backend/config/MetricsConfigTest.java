@@ -0,0 +1,54 @@
+package com.devcommunity.backend.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.devcommunity.config.MetricsConfig;
+import com.devcommunity.service.PasswordHasher;
+import com.devcommunity.service.VoteBuffer;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MetricsConfigTest {
+
+    private final MetricsConfig metricsConfig = new MetricsConfig();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void testPasswordHasherMetrics_ReadLiveValues() {
+        PasswordHasher hasher = mock(PasswordHasher.class);
+        when(hasher.getQueueDepth()).thenReturn(3);
+        when(hasher.getRejectedCount()).thenReturn(2L);
+        when(hasher.getHashCount()).thenReturn(4L);
+        when(hasher.getTotalHashMillis()).thenReturn(1000.0);
+
+        metricsConfig.passwordHasherMetrics(hasher).bindTo(registry);
+
+        assertEquals(3, registry.get("password.hashing.queued").gauge().value());
+        assertEquals(2, registry.get("password.hashing.rejected").functionCounter().count());
+        FunctionTimer timer = registry.get("password.hashing").functionTimer();
+        assertEquals(4, timer.count());
+        assertEquals(250, timer.mean(TimeUnit.MILLISECONDS));
+
+        when(hasher.getQueueDepth()).thenReturn(0);
+        assertEquals(0, registry.get("password.hashing.queued").gauge().value());
+    }
+
+    @Test
+    void testVoteBufferMetrics_ReportPendingVotes() {
+        VoteBuffer voteBuffer = mock(VoteBuffer.class);
+        when(voteBuffer.pending()).thenReturn(7);
+        when(voteBuffer.getSyncCount()).thenReturn(3L);
+
+        metricsConfig.voteBufferMetrics(voteBuffer).bindTo(registry);
+
+        assertEquals(7, registry.get("vote.buffer.pending").gauge().value());
+        assertEquals(3, registry.get("vote.buffer.syncs").functionCounter().count());
+    }
+}
@@ -0,0 +1,38 @@
+package com.devcommunity.backend.config;
+
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Transaction manager without a resource, for unit tests that check what a
+ * service defers until commit. Commit and rollback run the registered
+ * transaction synchronizations like a real manager does.
+ */
+public final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+    public static TransactionTemplate transactionTemplate() {
+        return new TransactionTemplate(new NoOpTransactionManager());
+    }
+
+    @Override
+    protected Object doGetTransaction() {
+        return new Object();
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        // nothing to open
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        // nothing to commit
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+        // nothing to roll back
+    }
+}
@@ -0,0 +1,106 @@
+package com.devcommunity.backend.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.devcommunity.config.ReadReplicaConfig;
+import com.devcommunity.config.ReadWriteRoutingDataSource;
+import com.devcommunity.config.ReplicaLagMonitor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for ReadWriteRoutingDataSource with two embedded databases that
+ * each know their own name, wired like ReadReplicaConfig wires the real pools
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private final ReplicaLagMonitor lagMonitor = mock(ReplicaLagMonitor.class);
+    private ReadWriteRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        routingDataSource = new ReadWriteRoutingDataSource(database("primary"), database("replica"), lagMonitor);
+        routingDataSource.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+    }
+
+    @Test
+    void testReadOnlyTransaction_UsesReplica() {
+        assertEquals("replica", readOnlyTransaction.execute(status -> databaseName()));
+        assertEquals(1, routingDataSource.getReplicaConnections());
+    }
+
+    @Test
+    void testWriteTransaction_UsesPrimary() {
+        writeTransaction.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = 'written'"));
+
+        assertEquals("written", jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+        assertEquals("replica", readOnlyTransaction.execute(status -> databaseName()));
+    }
+
+    @Test
+    void testNoTransaction_UsesPrimary() {
+        assertEquals("primary", databaseName());
+        assertEquals(0, routingDataSource.getReplicaConnections());
+    }
+
+    @Test
+    void testLaggingReplica_ReadsFallBackToPrimary() {
+        when(lagMonitor.isReplicaUsable()).thenReturn(false);
+
+        assertEquals("primary", readOnlyTransaction.execute(status -> databaseName()));
+        assertEquals(1, routingDataSource.getFallbacks());
+        assertEquals(0, routingDataSource.getReplicaConnections());
+    }
+
+    @Test
+    void testMetrics_CountConnectionsPerPool() {
+        when(lagMonitor.getLagMillis()).thenReturn(250L);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new ReadReplicaConfig().readReplicaMetrics(routingDataSource, lagMonitor).bindTo(registry);
+
+        readOnlyTransaction.execute(status -> databaseName());
+        readOnlyTransaction.execute(status -> databaseName());
+
+        assertEquals(2, registry.get("datasource.routing.connections").tag("pool", "replica").functionCounter()
+                .count());
+        assertEquals(250, registry.get("datasource.replica.lag").gauge().value());
+        assertEquals(1, registry.get("datasource.replica.usable").gauge().value());
+    }
+
+    private String databaseName() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,109 @@
+package com.devcommunity.backend.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.devcommunity.config.ReplicaLagMonitor;
+
+/**
+ * Unit tests for ReplicaLagMonitor against two embedded databases, copying the
+ * heartbeat row by hand where a real replica would receive it by replication
+ */
+class ReplicaLagMonitorTest {
+
+    private static final long MAX_LAG_MS = 1000;
+
+    private final AtomicLong now = new AtomicLong(1_700_000_000_000L);
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private ReplicaLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        monitor = new ReplicaLagMonitor(primary, replica, MAX_LAG_MS, new TestClock());
+        monitor.afterSingletonsInstantiated();
+    }
+
+    @Test
+    void testCheck_ReplicaWithoutHeartbeatIsNotUsed() {
+        assertFalse(monitor.isReplicaUsable());
+        assertEquals(-1, monitor.getLagMillis());
+        assertEquals(now.get(), primary.queryForObject("SELECT beat_at FROM replica_heartbeat", Long.class));
+    }
+
+    @Test
+    void testCheck_ReplicaKeepingUp() {
+        createHeartbeatTable(replica);
+        replicate();
+        now.addAndGet(300);
+
+        monitor.check();
+
+        assertTrue(monitor.isReplicaUsable());
+        assertEquals(300, monitor.getLagMillis());
+    }
+
+    @Test
+    void testCheck_LaggingReplicaIsNotUsedUntilItCatchesUp() {
+        createHeartbeatTable(replica);
+        replicate();
+        monitor.check();
+        assertTrue(monitor.isReplicaUsable());
+
+        now.addAndGet(MAX_LAG_MS + 1);
+        monitor.check();
+        assertFalse(monitor.isReplicaUsable());
+        assertEquals(MAX_LAG_MS + 1, monitor.getLagMillis());
+
+        replicate();
+        now.addAndGet(10);
+        monitor.check();
+        assertTrue(monitor.isReplicaUsable());
+        assertEquals(10, monitor.getLagMillis());
+    }
+
+    private void replicate() {
+        Long beat = primary.queryForObject("SELECT beat_at FROM replica_heartbeat WHERE id = 1", Long.class);
+        replica.update("DELETE FROM replica_heartbeat");
+        replica.update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)", beat);
+    }
+
+    private static void createHeartbeatTable(JdbcTemplate database) {
+        database.execute("CREATE TABLE replica_heartbeat (id INT NOT NULL PRIMARY KEY, beat_at BIGINT NOT NULL)");
+    }
+
+    private static JdbcTemplate database(String name) {
+        return new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+    }
+
+    private final class TestClock extends Clock {
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(now.get());
+        }
+    }
+}
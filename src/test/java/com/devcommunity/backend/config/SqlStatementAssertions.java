@@ -0,0 +1,70 @@
+package com.devcommunity.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.function.Supplier;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import com.devcommunity.config.SqlStatementCounter;
+import com.devcommunity.config.SqlStatementFilter;
+
+/**
+ * Fails a test when code runs more SQL statements than expected, so query
+ * count regressions such as a new N+1 are caught before they reach production.
+ * Statements are counted through the Hibernate hooks of {@link SqlStatementCounter},
+ * so the test needs a context with a real EntityManager and SqlStatementConfig.
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    public static <T> T assertMaxStatements(int maxStatements, Supplier<T> action) {
+        try (SqlStatementCounter.Counts counts = SqlStatementCounter.start()) {
+            T result = action.get();
+            if (counts.getStatements() > maxStatements) {
+                fail("Expected at most " + maxStatements + " SQL statements but " + counts.getStatements()
+                        + " were executed, most repeated (" + counts.getMostRepeatedCount() + " times): "
+                        + counts.getMostRepeatedStatement());
+            }
+            return result;
+        }
+    }
+
+    public static void assertMaxStatements(int maxStatements, Runnable action) {
+        assertMaxStatements(maxStatements, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Fails when any single statement runs more than maxExecutions times, the
+     * usual shape of an N+1 query, whatever the total count is
+     */
+    public static void assertNoRepeatedStatement(int maxExecutions, Runnable action) {
+        try (SqlStatementCounter.Counts counts = SqlStatementCounter.start()) {
+            action.run();
+            if (counts.getMostRepeatedCount() > maxExecutions) {
+                fail("Possible N+1 query, this statement ran " + counts.getMostRepeatedCount() + " times: "
+                        + counts.getMostRepeatedStatement());
+            }
+        }
+    }
+
+    /**
+     * MockMvc matcher on the header written by SqlStatementFilter, which needs
+     * sql.statement-counter.headers=true
+     */
+    public static ResultMatcher maxStatements(int maxStatements) {
+        return result -> {
+            String header = result.getResponse().getHeader(SqlStatementFilter.STATEMENT_COUNT_HEADER);
+            assertTrue(header != null, "Response has no " + SqlStatementFilter.STATEMENT_COUNT_HEADER + " header");
+            int statements = Integer.parseInt(header);
+            assertTrue(statements <= maxStatements,
+                    "Expected at most " + maxStatements + " SQL statements but " + statements + " were executed");
+        };
+    }
+}
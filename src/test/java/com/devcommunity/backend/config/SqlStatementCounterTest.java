@@ -0,0 +1,116 @@
+package com.devcommunity.backend.config;
+
+import static com.devcommunity.backend.config.SqlStatementAssertions.assertMaxStatements;
+import static com.devcommunity.backend.config.SqlStatementAssertions.assertNoRepeatedStatement;
+import static com.devcommunity.backend.config.SqlStatementAssertions.maxStatements;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.devcommunity.config.SqlStatementCounter;
+import com.devcommunity.config.SqlStatementFilter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class SqlStatementCounterTest {
+
+    private static final String SELECT_POST = "select p1_0.post_id from post p1_0 where p1_0.post_id=?";
+    private static final String SELECT_VOTES = "select v1_0.vote_id from votes v1_0 where v1_0.post_id=?";
+
+    private final SqlStatementCounter counter = new SqlStatementCounter();
+
+    @Test
+    void testCounts_OnlyInsideScopeAndNested() {
+        counter.inspect(SELECT_POST);
+
+        try (SqlStatementCounter.Counts outer = SqlStatementCounter.start()) {
+            counter.inspect(SELECT_POST);
+            try (SqlStatementCounter.Counts inner = SqlStatementCounter.start()) {
+                counter.inspect(SELECT_VOTES);
+                counter.inspect(SELECT_VOTES);
+                counter.onLoad(new Object(), (Object) 1, null, null, null);
+                assertEquals(2, inner.getStatements());
+                assertEquals(1, inner.getEntityLoads());
+            }
+            counter.inspect(SELECT_POST);
+
+            assertEquals(4, outer.getStatements());
+            assertEquals(1, outer.getEntityLoads());
+            assertEquals(2, outer.getMostRepeatedCount());
+        }
+    }
+
+    @Test
+    void testInspect_ReturnsStatementUnchanged() {
+        assertEquals(SELECT_POST, counter.inspect(SELECT_POST));
+    }
+
+    @Test
+    void testFilter_AddsHeadersAndRecordsMetrics() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SqlStatementFilter filter = new SqlStatementFilter(registry, true, 50, 10);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/posts/{id}");
+                counter.inspect(SELECT_POST);
+                resp.getWriter().write("{\"postId\":1}");
+                resp.flushBuffer();
+                // a lazy load while the body is being written still counts
+                counter.inspect(SELECT_VOTES);
+                counter.onLoad(new Object(), (Object) 1, null, null, null);
+            }
+        }));
+
+        assertEquals("2", response.getHeader(SqlStatementFilter.STATEMENT_COUNT_HEADER));
+        assertEquals("1", response.getHeader(SqlStatementFilter.ENTITY_LOAD_COUNT_HEADER));
+        assertEquals("{\"postId\":1}", response.getContentAsString());
+        DistributionSummary statements = registry.get("http.server.requests.sql.statements")
+                .tags("method", "GET", "uri", "/api/posts/{id}").summary();
+        assertEquals(1, statements.count());
+        assertEquals(2, statements.totalAmount());
+
+        MvcResult result = mock(MvcResult.class);
+        when(result.getResponse()).thenReturn(response);
+        maxStatements(2).match(result);
+        assertThrows(AssertionFailedError.class, () -> maxStatements(1).match(result));
+    }
+
+    @Test
+    void testAssertions_FailWhenQueriesRegress() {
+        assertEquals("ok", assertMaxStatements(2, () -> {
+            counter.inspect(SELECT_POST);
+            counter.inspect(SELECT_VOTES);
+            return "ok";
+        }));
+
+        AssertionFailedError tooMany = assertThrows(AssertionFailedError.class, () -> assertMaxStatements(1, () -> {
+            counter.inspect(SELECT_POST);
+            counter.inspect(SELECT_POST);
+        }));
+        assertTrue(tooMany.getMessage().contains(SELECT_POST));
+
+        assertThrows(AssertionFailedError.class, () -> assertNoRepeatedStatement(2, () -> {
+            for (int i = 0; i < 3; i++) {
+                counter.inspect(SELECT_VOTES);
+            }
+        }));
+    }
+}
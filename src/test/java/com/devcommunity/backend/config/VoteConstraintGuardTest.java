@@ -0,0 +1,76 @@
+package com.devcommunity.backend.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.devcommunity.config.VoteConstraintGuard;
+
+/**
+ * Unit tests for VoteConstraintGuard on an embedded database holding a votes
+ * table from before the unique constraints existed
+ */
+class VoteConstraintGuardTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private VoteConstraintGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:votes" + UUID.randomUUID()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", ""));
+        guard = new VoteConstraintGuard(jdbcTemplate);
+    }
+
+    @Test
+    void testRemoveDuplicates_NoTableYet() {
+        assertEquals(0, guard.removeDuplicates());
+        assertThrows(IllegalStateException.class, guard::checkConstraints);
+    }
+
+    @Test
+    void testRemoveDuplicates_KeepsLowestVoteId() {
+        jdbcTemplate.execute("CREATE TABLE votes (vote_id INT AUTO_INCREMENT PRIMARY KEY, vote_type VARCHAR(10), "
+                + "developer_id INT, post_id INT, response_id INT, comment_id INT)");
+        insert(1, 1, null, null, "UPVOTE");
+        insert(1, 1, null, null, "DOWNVOTE");
+        insert(1, 1, null, null, "UPVOTE");
+        insert(1, 2, null, null, "UPVOTE");
+        insert(2, 1, null, null, "DOWNVOTE");
+        insert(1, null, 1, null, "UPVOTE");
+        insert(1, null, 1, null, "UPVOTE");
+        insert(1, null, null, 1, "DOWNVOTE");
+        insert(1, null, null, 1, "UPVOTE");
+
+        assertEquals(4, guard.removeDuplicates());
+
+        assertEquals(List.of(1, 4, 5, 6, 8),
+                jdbcTemplate.queryForList("SELECT vote_id FROM votes ORDER BY vote_id", Integer.class));
+        assertEquals(0, guard.removeDuplicates());
+    }
+
+    @Test
+    void testCheckConstraints_FailsUntilEveryConstraintExists() {
+        jdbcTemplate.execute("CREATE TABLE votes (vote_id INT AUTO_INCREMENT PRIMARY KEY, vote_type VARCHAR(10), "
+                + "developer_id INT, post_id INT, response_id INT, comment_id INT, "
+                + "CONSTRAINT uk_vote_developer_post UNIQUE (developer_id, post_id))");
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, guard::checkConstraints);
+        assertTrue(ex.getMessage().contains("[uk_vote_developer_response, uk_vote_developer_comment]"));
+
+        jdbcTemplate.execute("ALTER TABLE votes ADD CONSTRAINT uk_vote_developer_response UNIQUE (developer_id, response_id)");
+        jdbcTemplate.execute("ALTER TABLE votes ADD CONSTRAINT uk_vote_developer_comment UNIQUE (developer_id, comment_id)");
+        assertDoesNotThrow(guard::checkConstraints);
+    }
+
+    private void insert(Integer developerId, Integer postId, Integer responseId, Integer commentId, String type) {
+        jdbcTemplate.update("INSERT INTO votes (vote_type, developer_id, post_id, response_id, comment_id) "
+                + "VALUES (?, ?, ?, ?, ?)", type, developerId, postId, responseId, commentId);
+    }
+}
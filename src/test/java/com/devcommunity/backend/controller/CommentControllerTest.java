@@ -26,6 +26,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.devcommunity.controller.CommentController;
+import com.devcommunity.dto.BatchRequestDTO;
 import com.devcommunity.dto.CommentRequestDTO;
 import com.devcommunity.dto.CommentResponseDTO;
 import com.devcommunity.exception.DeveloperCommunityException;
@@ -100,6 +101,31 @@ class CommentControllerTest {
     }
 
     
+    @Test
+    void testAddComments_Success() throws Exception {
+        when(commentService.addComments(List.of(requestDTO))).thenReturn(List.of(5));
+
+        mockMvc.perform(post("/api/comments/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BatchRequestDTO<>(List.of(requestDTO))))
+                .with(user("testUser").roles("DEVELOPER"))
+                .with(csrf()))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0]").value(5));
+    }
+
+    @Test
+    void testAddComments_InvalidItem() throws Exception {
+        CommentRequestDTO invalidDTO = new CommentRequestDTO(); // blank text
+
+        mockMvc.perform(post("/api/comments/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BatchRequestDTO<>(List.of(requestDTO, invalidDTO))))
+                .with(user("testUser").roles("DEVELOPER"))
+                .with(csrf()))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testGetByCommentId_Success() throws Exception {
         when(commentService.getByCommentId(anyInt())).thenReturn(responseDTO);
@@ -10,6 +10,7 @@ import com.devcommunity.backend.config.NoSecurityConfig;
 import com.devcommunity.controller.DeveloperController;
 import com.devcommunity.dto.DeveloperRequestDTO;
 import com.devcommunity.dto.DeveloperResponseDTO;
+import com.devcommunity.dto.LeaderboardEntryDTO;
 import com.devcommunity.exception.DeveloperCommunityException;
 import com.devcommunity.exception.ErrorResponse;
 import com.devcommunity.service.JWTService;
@@ -60,7 +61,7 @@ class DeveloperControllerTest {
 
     @Test
     void testGetAllDevelopers_Success() throws Exception {
-        when(service.getAllDevelopers()).thenReturn(List.of(responseDTO));
+        when(service.getAllDevelopers(null, null, null)).thenReturn(List.of(responseDTO));
 
         mockMvc.perform(get("/api/dev/all"))
             .andExpect(status().isOk())
@@ -68,6 +69,45 @@ class DeveloperControllerTest {
             .andExpect(jsonPath("$[0].devSkill").value("Java"));
     }
 
+    @Test
+    void testGetAllDevelopers_PageAndSort() throws Exception {
+        when(service.getAllDevelopers(2, 10, "name")).thenReturn(List.of(responseDTO));
+
+        mockMvc.perform(get("/api/dev/all").param("page", "2").param("size", "10").param("sort", "name"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    @Test
+    void testGetAllDevelopers_InvalidSort() throws Exception {
+        when(service.getAllDevelopers(null, null, "password"))
+            .thenThrow(new DeveloperCommunityException("Invalid sort, use one of: id, name, reputation, memberSince."));
+
+        mockMvc.perform(get("/api/dev/all").param("sort", "password"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetLeaderboard_Success() throws Exception {
+        when(service.getLeaderboard(0, 2)).thenReturn(
+            List.of(new LeaderboardEntryDTO(1, 4, "Ann", 30), new LeaderboardEntryDTO(1, 1, "John", 30)));
+
+        mockMvc.perform(get("/api/dev/leaderboard").param("page", "0").param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[1].rank").value(1))
+            .andExpect(jsonPath("$[1].devName").value("John"));
+    }
+
+    @Test
+    void testGetLeaderboardRank_Success() throws Exception {
+        when(service.getLeaderboardRank(1)).thenReturn(new LeaderboardEntryDTO(12, 1, "John", 10));
+
+        mockMvc.perform(get("/api/dev/leaderboard/1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.rank").value(12))
+            .andExpect(jsonPath("$.reputation").value(10));
+    }
+
     @Test
     void testGetDeveloperById_Success() throws Exception {
         when(service.getDeveloperById(1)).thenReturn(responseDTO);
@@ -107,16 +147,25 @@ class DeveloperControllerTest {
 
     @Test
     void testSearchDevelopersBySkill_Success() throws Exception {
-        when(service.searchDevelopersBySkill("Java")).thenReturn(List.of(responseDTO));
+        when(service.searchDevelopersBySkill("Java", null, null, null)).thenReturn(List.of(responseDTO));
 
         mockMvc.perform(get("/api/dev/skill/Java"))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$[0].devSkill").value("Java"));
     }
 
+    @Test
+    void testSearchDevelopersBySkill_AnyOfSeveral() throws Exception {
+        when(service.searchDevelopersBySkill("java,go", "any", 1, 5)).thenReturn(List.of(responseDTO));
+
+        mockMvc.perform(get("/api/dev/skill/java,go").param("match", "any").param("page", "1").param("size", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id").value(1));
+    }
+
     @Test
     void testSearchDevelopersBySkill_Empty() throws Exception {
-        when(service.searchDevelopersBySkill("Unknown")).thenReturn(Collections.emptyList());
+        when(service.searchDevelopersBySkill("Unknown", null, null, null)).thenReturn(Collections.emptyList());
 
         mockMvc.perform(get("/api/dev/skill/Unknown"))
             .andExpect(status().isOk())
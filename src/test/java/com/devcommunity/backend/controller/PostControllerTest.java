@@ -3,6 +3,7 @@ package com.devcommunity.backend.controller;
 import static org.mockito.ArgumentMatchers.anyInt;
 
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import java.time.LocalDateTime;
@@ -21,8 +22,12 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 
 import com.devcommunity.controller.PostController;
+import com.devcommunity.dto.BatchRequestDTO;
+import com.devcommunity.dto.BulkDeleteDTO;
+import com.devcommunity.dto.PostFeedDTO;
 import com.devcommunity.dto.PostRequestDTO;
 import com.devcommunity.dto.PostResponseDTO;
+import com.devcommunity.dto.PostSummaryDTO;
 import com.devcommunity.exception.DeveloperCommunityException;
 import com.devcommunity.service.JWTService;
 import com.devcommunity.service.interfaces.IPostService;
@@ -50,6 +55,7 @@ class PostControllerTest {
 		
 	private PostRequestDTO reqDTO;
 	private PostResponseDTO resDTO;
+	private PostSummaryDTO summaryDTO;
 	
 	@BeforeEach
 	void setUp() {
@@ -64,11 +70,13 @@ class PostControllerTest {
 		resDTO.setPostDateTime(LocalDateTime.now());
 		resDTO.setPostId(5);
 		resDTO.setDeveloperId(1);
+		
+		summaryDTO = new PostSummaryDTO(5, "Java", "What is Java?", LocalDateTime.now(), 1, "Josh", 0L, 0L, 0L);
 	}
 	
 	@Test
 	void testGetAllPosts_Success() throws Exception {
-		when(service.getAllPost()).thenReturn(List.of(resDTO));
+		when(service.getAllPost()).thenReturn(List.of(summaryDTO));
 		
 
 		mockMvc.perform(get("/api/posts/all")
@@ -91,6 +99,30 @@ class PostControllerTest {
             .andExpect(jsonPath("$.message").value("There are no posts to display"));
 	}
 	
+	@Test
+	void testGetPostFeed_Success() throws Exception {
+		when(service.getPostFeed(isNull(), anyInt())).thenReturn(new PostFeedDTO(List.of(summaryDTO), "abc", true));
+		
+		mockMvc.perform(get("/api/posts/feed").param("size", "1")
+				.with(user("testUser").roles("DEVELOPER"))
+				.with(csrf()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.posts.size()").value(1))
+			.andExpect(jsonPath("$.nextCursor").value("abc"))
+			.andExpect(jsonPath("$.hasMore").value(true));
+	}
+	@Test
+	void testGetPostFeed_Failure() throws Exception {
+		when(service.getPostFeed(anyString(), isNull()))
+		.thenThrow(new DeveloperCommunityException("Invalid cursor"));
+		
+		mockMvc.perform(get("/api/posts/feed").param("cursor", "bad")
+				.with(user("testUser").roles("DEVELOPER"))
+				.with(csrf()))
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.message").value("Invalid cursor"));
+	}
+	
 	@Test
 	void testGetPostById_Success() throws Exception {
 		when(service.getPostById(anyInt())).thenReturn(resDTO);
@@ -116,7 +148,7 @@ class PostControllerTest {
 	
 	@Test
 	void testGetPostByDev_Success() throws Exception {
-		when(service.getAllPostByDev(anyInt())).thenReturn(List.of(resDTO));
+		when(service.getAllPostByDev(anyInt())).thenReturn(List.of(summaryDTO));
 		
 		mockMvc.perform(get("/api/posts/developer/1")
 				.with(user("testUser").roles("DEVELOPER"))
@@ -140,7 +172,7 @@ class PostControllerTest {
 	
 	@Test
 	void testSearchPostByKeyword_Success() throws Exception {
-		when(service.getPostByKeyword(anyString())).thenReturn(List.of(resDTO));
+		when(service.getPostByKeyword(anyString(), isNull(), isNull())).thenReturn(List.of(summaryDTO));
 		
 		mockMvc.perform(get("/api/posts/topic/Java")
 				.with(user("testUser").roles("DEVELOPER"))
@@ -151,7 +183,7 @@ class PostControllerTest {
 	}
 	@Test
 	void testSearchPostByKeyword_Failure() throws Exception {
-		when(service.getPostByKeyword(anyString()))
+		when(service.getPostByKeyword(anyString(), isNull(), isNull()))
 		.thenThrow(new DeveloperCommunityException("There are no posts with this keyword"));
 		
 
@@ -175,6 +207,29 @@ class PostControllerTest {
 			.andExpect(content().string("The post has been added"));
 	}
 	
+	@Test
+	void testAddPosts() throws Exception {
+		when(service.addPosts(List.of(reqDTO, reqDTO))).thenReturn(List.of(7, 8));
+		
+		mockMvc.perform(post("/api/posts/batch")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(new BatchRequestDTO<>(List.of(reqDTO, reqDTO))))
+				.with(user("testUser").roles("DEVELOPER"))
+				.with(csrf()))
+			.andExpect(status().isCreated())
+			.andExpect(jsonPath("$[1]").value(8));
+	}
+	
+	@Test
+	void testAddPosts_EmptyBatch() throws Exception {
+		mockMvc.perform(post("/api/posts/batch")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"items\": []}")
+				.with(user("testUser").roles("DEVELOPER"))
+				.with(csrf()))
+			.andExpect(status().isBadRequest());
+	}
+	
 	@Test
 	void testUpdatePost_Success() throws Exception {
 		when(service.updatePost(1, reqDTO)).thenReturn("The post has been updated");
@@ -227,7 +282,8 @@ class PostControllerTest {
 	
 	@Test
 	void testDeleteMultiplePost_Success() throws Exception {
-		when(service.removeMultiplePost(List.of(1, 2))).thenReturn("The posts have been deleted");
+		when(service.removeMultiplePost(List.of(1, 2)))
+		.thenReturn(new BulkDeleteDTO("The posts have been deleted", 2, 3, 4, 9));
 		
 		mockMvc.perform(delete("/api/posts/delete")
 				.contentType(MediaType.APPLICATION_JSON)
@@ -235,7 +291,9 @@ class PostControllerTest {
 				.with(user("testUser").roles("DEVELOPER"))
 				.with(csrf()))
 			.andExpect(status().isOk())
-			.andExpect(content().string("The posts have been deleted"));
+			.andExpect(jsonPath("$.message").value("The posts have been deleted"))
+			.andExpect(jsonPath("$.posts").value(2))
+			.andExpect(jsonPath("$.votes").value(9));
 	}
 	@Test
 	void testDeleteMultiplePost_Failure() throws Exception {
@@ -19,6 +19,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 
 import com.devcommunity.controller.ResponseController;
+import com.devcommunity.dto.BatchRequestDTO;
+import com.devcommunity.dto.BulkDeleteDTO;
 import com.devcommunity.dto.ResponseRequestDTO;
 import com.devcommunity.dto.ResponseResponseDTO;
 import com.devcommunity.exception.DeveloperCommunityException;
@@ -122,6 +124,19 @@ class ResponseControllerTest {
 			.andExpect(content().string("The response has been added"));
 	}
 	
+	@Test
+	void testAddResponses() throws Exception {
+		when(service.addResponses(List.of(reqDTO))).thenReturn(List.of(12));
+		
+		mockMvc.perform(post("/api/responses/batch")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(new BatchRequestDTO<>(List.of(reqDTO))))
+				.with(user("testUser").roles("DEVELOPER"))
+				.with(csrf()))
+			.andExpect(status().isCreated())
+			.andExpect(jsonPath("$[0]").value(12));
+	}
+	
 	@Test
 	void testUpdateResponse_Success() throws Exception {
 		when(service.updateResponse(1, reqDTO)).thenReturn("The response has been updated");
@@ -172,7 +187,8 @@ class ResponseControllerTest {
 	
 	@Test
 	void testDeleteMultipleResponse_Success() throws Exception {
-		when(service.removeMultipleResponse(List.of(2, 3))).thenReturn("The responses have been deleted");
+		when(service.removeMultipleResponse(List.of(2, 3)))
+		.thenReturn(new BulkDeleteDTO("The responses have been deleted", 0, 2, 4, 5));
 		
 		mockMvc.perform(delete("/api/responses/delete")
 				.contentType(MediaType.APPLICATION_JSON)
@@ -180,7 +196,10 @@ class ResponseControllerTest {
 				.with(user("testUser").roles("DEVELOPER"))
 				.with(csrf()))
 			.andExpect(status().isOk())
-			.andExpect(content().string("The responses have been deleted"));
+			.andExpect(jsonPath("$.message").value("The responses have been deleted"))
+			.andExpect(jsonPath("$.responses").value(2))
+			.andExpect(jsonPath("$.comments").value(4))
+			.andExpect(jsonPath("$.votes").value(5));
 	}
 	@Test
 	void testDeleteMultipleResponse_Failure() throws Exception {
@@ -1,6 +1,8 @@
 package com.devcommunity.backend.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
@@ -23,6 +25,8 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.devcommunity.controller.VoteController;
+import com.devcommunity.dto.BatchRequestDTO;
+import com.devcommunity.dto.VoteBatchResultDTO;
 import com.devcommunity.dto.VoteRequestDTO;
 import com.devcommunity.dto.VoteResponseDTO;
 import com.devcommunity.exception.DeveloperCommunityException;
@@ -79,6 +83,62 @@ class VoteControllerTest {
                 .andExpect(jsonPath("$.voteType").value("UPVOTE"));
     }
 
+    @Test
+    void testSubmitVote_Accepted() throws Exception {
+        mockMvc.perform(post("/api/votes/buffered")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDTO))
+                .with(user("testUser").roles("DEVELOPER"))
+                .with(csrf()))
+                .andExpect(status().isAccepted())
+                .andExpect(content().string("Vote accepted"));
+
+        verify(voteService).submitVote(any(VoteRequestDTO.class));
+    }
+
+    @Test
+    void testAddVotes_StatusPerVote() throws Exception {
+        when(voteService.addVotes(any())).thenReturn(List.of(
+                new VoteBatchResultDTO(0, VoteBatchResultDTO.Status.INSERTED, null),
+                new VoteBatchResultDTO(1, VoteBatchResultDTO.Status.NOT_FOUND, "Developer not found")));
+
+        mockMvc.perform(post("/api/votes/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BatchRequestDTO<>(List.of(requestDTO, requestDTO))))
+                .with(user("testUser").roles("DEVELOPER"))
+                .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("INSERTED"))
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].message").value("Developer not found"));
+    }
+
+    @Test
+    void testAddVotes_InvalidVoteLeftToService() throws Exception {
+        when(voteService.addVotes(any())).thenReturn(List.of(
+                new VoteBatchResultDTO(0, VoteBatchResultDTO.Status.INSERTED, null),
+                new VoteBatchResultDTO(1, VoteBatchResultDTO.Status.INVALID, "Vote type must not be null")));
+
+        mockMvc.perform(post("/api/votes/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BatchRequestDTO<>(List.of(requestDTO, new VoteRequestDTO()))))
+                .with(user("testUser").roles("DEVELOPER"))
+                .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].status").value("INVALID"));
+    }
+
+    @Test
+    void testAddVotes_EmptyBatch() throws Exception {
+        mockMvc.perform(post("/api/votes/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BatchRequestDTO<>(List.of())))
+                .with(user("testUser").roles("DEVELOPER"))
+                .with(csrf()))
+                .andExpect(status().isBadRequest());
+        verify(voteService, never()).addVotes(any());
+    }
+
     @Test
     void testAddVote_InvalidInput() throws Exception {
         VoteRequestDTO invalidDTO = new VoteRequestDTO();
@@ -0,0 +1,214 @@
+package com.devcommunity.backend.mapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.devcommunity.dto.CommentResponseDTO;
+import com.devcommunity.dto.DeveloperRequestDTO;
+import com.devcommunity.dto.DeveloperResponseDTO;
+import com.devcommunity.dto.DeveloperStatsDTO;
+import com.devcommunity.dto.PostRequestDTO;
+import com.devcommunity.dto.PostResponseDTO;
+import com.devcommunity.dto.ResponseRequestDTO;
+import com.devcommunity.dto.ResponseResponseDTO;
+import com.devcommunity.dto.UserRequestDTO;
+import com.devcommunity.dto.UserResponseDTO;
+import com.devcommunity.dto.VoteResponseDTO;
+import com.devcommunity.entity.Comment;
+import com.devcommunity.entity.Developer;
+import com.devcommunity.entity.Post;
+import com.devcommunity.entity.Response;
+import com.devcommunity.entity.User;
+import com.devcommunity.entity.Vote;
+import com.devcommunity.mapper.CommentMapperImpl;
+import com.devcommunity.mapper.DeveloperMapperImpl;
+import com.devcommunity.mapper.EntityReferences;
+import com.devcommunity.mapper.PostMapper;
+import com.devcommunity.mapper.PostMapperImpl;
+import com.devcommunity.mapper.ResponseMapperImpl;
+import com.devcommunity.mapper.UserMapperImpl;
+import com.devcommunity.mapper.VoteMapperImpl;
+import com.devcommunity.util.VoteType;
+
+class DtoMapperTest {
+
+    private VoteMapperImpl voteMapper;
+    private CommentMapperImpl commentMapper;
+    private ResponseMapperImpl responseMapper;
+    private PostMapper postMapper;
+
+    private Developer developer;
+    private Post post;
+    private Response response;
+    private Comment postComment;
+    private Comment responseComment;
+    private Vote responseVote;
+
+    @BeforeEach
+    void setUp() {
+        EntityReferences references = new EntityReferences();
+        voteMapper = new VoteMapperImpl();
+        commentMapper = new CommentMapperImpl(voteMapper);
+        responseMapper = new ResponseMapperImpl(commentMapper, voteMapper, references);
+        postMapper = new PostMapperImpl(responseMapper, commentMapper, voteMapper, references);
+
+        developer = new Developer();
+        developer.setId(7);
+        developer.setDevName("Bob");
+
+        post = new Post();
+        post.setPostId(1);
+        post.setQuery("How to map?");
+        post.setTopic("Java");
+        post.setPostDateTime(LocalDateTime.of(2024, 1, 1, 10, 0));
+        post.setDeveloper(developer);
+        post.setUpVotes(3);
+        post.setDownVotes(1);
+
+        response = new Response();
+        response.setRespId(2);
+        response.setAnswer("Generate it");
+        response.setPost(post);
+        response.setDeveloper(developer);
+        response.setUpVotes(4);
+
+        postComment = new Comment();
+        postComment.setCommentId(3);
+        postComment.setText("on the post");
+        postComment.setCreatedDate(LocalDate.of(2024, 1, 2));
+        postComment.setPost(post);
+        postComment.setDeveloper(developer);
+
+        responseComment = new Comment();
+        responseComment.setCommentId(4);
+        responseComment.setText("on the response");
+        responseComment.setResponse(response);
+        responseComment.setDeveloper(developer);
+
+        Vote postVote = newVote(5, VoteType.UPVOTE);
+        postVote.setPost(post);
+        responseVote = newVote(6, VoteType.DOWNVOTE);
+        responseVote.setResponse(response);
+        Vote commentVote = newVote(8, VoteType.UPVOTE);
+        commentVote.setComment(postComment);
+
+        post.setResponses(List.of(response));
+        post.setComments(List.of(postComment));
+        post.setVotes(List.of(postVote));
+        response.setListOfComments(List.of(responseComment));
+        response.setListOfVotes(List.of(responseVote));
+        postComment.setListOfVotes(List.of(commentVote));
+    }
+
+    private Vote newVote(int voteId, VoteType voteType) {
+        Vote vote = new Vote();
+        vote.setVoteId(voteId);
+        vote.setVoteType(voteType);
+        vote.setDeveloper(developer);
+        return vote;
+    }
+
+    @Test
+    void testPostToResponseDTO_MapsWholeGraph() {
+        PostResponseDTO dto = postMapper.toResponseDTO(post);
+
+        assertEquals(1, dto.getPostId());
+        assertEquals("How to map?", dto.getQuery());
+        assertEquals("Java", dto.getTopic());
+        assertEquals(7, dto.getDeveloperId());
+        assertEquals("Bob", dto.getDeveloperName());
+        assertEquals(3, dto.getUpVotes());
+        assertEquals(1, dto.getDownVotes());
+        assertEquals(1, dto.getVotes().get(0).getPostId());
+
+        ResponseResponseDTO responseDTO = dto.getResponses().get(0);
+        assertEquals(2, responseDTO.getRespId());
+        assertEquals(1, responseDTO.getPostId());
+        assertEquals(4, responseDTO.getUpVotes());
+        assertEquals(4, responseDTO.getComments().get(0).getCommentId());
+        assertEquals(2, responseDTO.getComments().get(0).getResponseId());
+        assertEquals(0, responseDTO.getComments().get(0).getPostId());
+
+        CommentResponseDTO commentDTO = dto.getComments().get(0);
+        assertEquals("on the post", commentDTO.getText());
+        assertEquals(1, commentDTO.getPostId());
+        assertEquals("Bob", commentDTO.getDeveloperName());
+        assertEquals(3, commentDTO.getVotes().get(0).getCommentId());
+    }
+
+    @Test
+    void testVoteToResponseDTO_SetsResponseId() {
+        VoteResponseDTO dto = voteMapper.toResponseDTO(responseVote);
+
+        assertEquals(6, dto.getVoteId());
+        assertEquals(VoteType.DOWNVOTE, dto.getVoteType());
+        assertEquals(7, dto.getDeveloperId());
+        assertEquals(2, dto.getRespId());
+        assertNull(dto.getPostId());
+        assertNull(dto.getCommentId());
+    }
+
+    @Test
+    void testPostToEntity_NeverTakesPostIdFromRequest() {
+        PostRequestDTO dto = new PostRequestDTO();
+        dto.setQuery("q");
+        dto.setTopic("t");
+        dto.setDeveloperId(7);
+
+        Post mapped = postMapper.toEntity(dto);
+
+        assertNull(mapped.getPostId());
+        assertEquals("q", mapped.getQuery());
+        assertEquals(7, mapped.getDeveloper().getId());
+    }
+
+    @Test
+    void testResponseToEntity_MapsReferences() {
+        ResponseRequestDTO dto = new ResponseRequestDTO();
+        dto.setAnswer("a");
+        dto.setPostId(1);
+
+        Response mapped = responseMapper.toEntity(dto);
+
+        assertEquals("a", mapped.getAnswer());
+        assertEquals(1, mapped.getPost().getPostId());
+        assertNull(mapped.getDeveloper());
+    }
+
+    @Test
+    void testDeveloperAndUserMappers() {
+        developer.setDevSkill("java");
+        developer.setReputation(12);
+        DeveloperResponseDTO developerDTO = new DeveloperMapperImpl().toResponseDTO(developer);
+        assertEquals(7, developerDTO.getId());
+        assertEquals("java", developerDTO.getDevSkill());
+        assertEquals(12, developerDTO.getReputation());
+
+        DeveloperResponseDTO statsDTO = new DeveloperMapperImpl().toResponseDTO(
+                new DeveloperStatsDTO(7, "Ann", "java", null, 12, 4L, 3L, 2L, 1L));
+        assertEquals("Ann", statsDTO.getDevName());
+        assertEquals(4, statsDTO.getTotalPosts());
+        assertEquals(3, statsDTO.getTotalComments());
+        assertEquals(2, statsDTO.getTotalResponses());
+        assertEquals(1, statsDTO.getTotalVotes());
+
+        Developer mapped = new DeveloperMapperImpl().toEntity(new DeveloperRequestDTO("Ann", "go"));
+        assertEquals("Ann", mapped.getDevName());
+        assertNull(mapped.getId());
+
+        UserMapperImpl userMapper = new UserMapperImpl();
+        User user = userMapper.toEntity(new UserRequestDTO("ann", "secret"));
+        assertEquals("ann", user.getUsername());
+        assertNull(user.getId());
+        user.setId(9);
+        UserResponseDTO userDTO = userMapper.toResponseDTO(user);
+        assertEquals(9, userDTO.getId());
+        assertNull(userDTO.getToken());
+    }
+}
@@ -0,0 +1,429 @@
+package com.devcommunity.backend.repository;
+
+import static com.devcommunity.backend.config.SqlStatementAssertions.assertMaxStatements;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import com.devcommunity.config.SqlStatementCounter;
+import com.devcommunity.dto.BulkDeleteDTO;
+import com.devcommunity.dto.DeveloperResponseDTO;
+import com.devcommunity.dto.LeaderboardEntryDTO;
+import com.devcommunity.dto.PostFeedDTO;
+import com.devcommunity.dto.PostRequestDTO;
+import com.devcommunity.dto.PostResponseDTO;
+import com.devcommunity.dto.ResponseResponseDTO;
+import com.devcommunity.entity.Comment;
+import com.devcommunity.entity.Developer;
+import com.devcommunity.entity.Post;
+import com.devcommunity.entity.Response;
+import com.devcommunity.entity.User;
+import com.devcommunity.entity.Vote;
+import com.devcommunity.exception.DeveloperCommunityException;
+import com.devcommunity.mapper.CommentMapperImpl;
+import com.devcommunity.mapper.DeveloperMapperImpl;
+import com.devcommunity.mapper.EntityReferences;
+import com.devcommunity.mapper.PostMapperImpl;
+import com.devcommunity.mapper.ResponseMapperImpl;
+import com.devcommunity.mapper.VoteMapperImpl;
+import com.devcommunity.repository.ICommentRepo;
+import com.devcommunity.repository.IDevRepo;
+import com.devcommunity.repository.IPostRepo;
+import com.devcommunity.repository.IResponseRepo;
+import com.devcommunity.repository.IUserRepo;
+import com.devcommunity.repository.IVoteRepo;
+import com.devcommunity.service.DeveloperSkillIndex;
+import com.devcommunity.service.PostSearchIndex;
+import com.devcommunity.service.ReputationLeaderboard;
+import com.devcommunity.service.ReputationService;
+import com.devcommunity.service.impl.DeveloperServiceImpl;
+import com.devcommunity.service.impl.PostServiceImpl;
+import com.devcommunity.service.impl.ResponseServiceImpl;
+import com.devcommunity.util.VoteType;
+
+/**
+ * Guards the number of SQL statements of the detail reads, the developer
+ * listing, the batch inserts and the bulk deletes, which used to grow with the
+ * number of rows they touch
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:fetchplan;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop" })
+class FetchPlanQueryCountTest {
+
+    private static final int RESPONSES = 6;
+    private static final int COMMENTS_PER_RESPONSE = 3;
+    // raw reputation scores of dev0 to dev3
+    private static final int[] SCORES = { 50, 125, 125, 25 };
+    private static final String[] SKILLS = { "Java, Spring", "java", "Go / Java", "Spring Boot" };
+
+    @TestConfiguration
+    static class CounterConfig {
+        @Bean
+        HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+            SqlStatementCounter counter = new SqlStatementCounter();
+            return properties -> {
+                properties.put(AvailableSettings.STATEMENT_INSPECTOR, counter);
+                properties.put(AvailableSettings.INTERCEPTOR, counter);
+            };
+        }
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private IPostRepo postRepo;
+    @Autowired
+    private IResponseRepo responseRepo;
+    @Autowired
+    private IDevRepo devRepo;
+    @Autowired
+    private IUserRepo userRepo;
+    @Autowired
+    private ICommentRepo commentRepo;
+    @Autowired
+    private IVoteRepo voteRepo;
+
+    private PostServiceImpl postService;
+    private ResponseServiceImpl responseService;
+    private DeveloperServiceImpl developerService;
+    private ReputationLeaderboard leaderboard;
+    private DeveloperSkillIndex skillIndex;
+
+    private Integer postId;
+    private Integer authorId;
+
+    @BeforeEach
+    void setUp() {
+        EntityReferences references = new EntityReferences();
+        VoteMapperImpl voteMapper = new VoteMapperImpl();
+        CommentMapperImpl commentMapper = new CommentMapperImpl(voteMapper);
+        ResponseMapperImpl responseMapper = new ResponseMapperImpl(commentMapper, voteMapper, references);
+        postService = new PostServiceImpl(postRepo, responseRepo, commentRepo, voteRepo,
+                new PostMapperImpl(responseMapper, commentMapper, voteMapper, references), devRepo,
+                new PostSearchIndex(postRepo));
+        responseService = new ResponseServiceImpl(responseRepo, postRepo, devRepo, commentRepo, voteRepo,
+                responseMapper);
+        leaderboard = new ReputationLeaderboard(devRepo, 60000);
+        skillIndex = new DeveloperSkillIndex(devRepo);
+        developerService = new DeveloperServiceImpl(devRepo, userRepo, new DeveloperMapperImpl(), leaderboard,
+                skillIndex);
+
+        List<Developer> developers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            developers.add(developer(i));
+        }
+        Developer author = developers.get(0);
+        Post post = new Post();
+        post.setQuery("How do I avoid N+1 selects?");
+        post.setTopic("Hibernate");
+        post.setPostDateTime(LocalDateTime.now());
+        post.setDeveloper(author);
+        entityManager.persist(post);
+        for (Developer voter : developers.subList(1, 4)) {
+            vote(voter, post, null, null);
+        }
+        for (int r = 0; r < RESPONSES; r++) {
+            Developer responder = developers.get(1 + r % 3);
+            Response response = new Response();
+            response.setAnswer("answer " + r);
+            response.setRespDateTime(LocalDateTime.now());
+            response.setPost(post);
+            response.setDeveloper(responder);
+            entityManager.persist(response);
+            vote(author, null, response, null);
+            for (int c = 0; c < COMMENTS_PER_RESPONSE; c++) {
+                Comment comment = new Comment();
+                comment.setText("comment " + c);
+                comment.setCreatedDate(LocalDate.now());
+                comment.setResponse(response);
+                comment.setDeveloper(developers.get(c));
+                entityManager.persist(comment);
+                vote(developers.get(3 - c), null, null, comment);
+            }
+            Comment onPost = new Comment();
+            onPost.setText("on the post " + r);
+            onPost.setCreatedDate(LocalDate.now());
+            onPost.setPost(post);
+            onPost.setDeveloper(responder);
+            entityManager.persist(onPost);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        postId = post.getPostId();
+        authorId = author.getId();
+    }
+
+    @Test
+    void testGetPostById_ConstantStatements() {
+        PostResponseDTO dto = assertMaxStatements(7, () -> call(() -> postService.getPostById(postId)));
+
+        assertEquals(RESPONSES, dto.getResponses().size());
+        assertEquals(RESPONSES, dto.getComments().size());
+        assertEquals(3, dto.getVotes().size());
+        ResponseResponseDTO first = dto.getResponses().get(0);
+        assertEquals(COMMENTS_PER_RESPONSE, first.getComments().size());
+        assertEquals(1, first.getComments().get(0).getVotes().size());
+        assertEquals("dev0", dto.getDeveloperName());
+    }
+
+    @Test
+    void testGetAllResponseByPost_ConstantStatements() {
+        List<ResponseResponseDTO> responses = assertMaxStatements(4,
+                () -> call(() -> responseService.getAllResponseByPost(postId)));
+
+        assertEquals(RESPONSES, responses.size());
+        assertTrue(responses.stream().allMatch(r -> r.getComments().size() == COMMENTS_PER_RESPONSE));
+        assertTrue(responses.stream().allMatch(r -> r.getVotes().size() == 1 && r.getDeveloperName() != null));
+    }
+
+    @Test
+    void testGetDeveloperById_SingleStatement() {
+        DeveloperResponseDTO dto = assertMaxStatements(1,
+                () -> call(() -> developerService.getDeveloperById(authorId)));
+
+        assertEquals(1, dto.getTotalPosts());
+        assertEquals(COMMENTS_PER_RESPONSE * RESPONSES / 3, dto.getTotalComments());
+        assertEquals(0, dto.getTotalResponses());
+        assertEquals(RESPONSES, dto.getTotalVotes());
+    }
+
+    @Test
+    void testGetAllDevelopers_SingleStatement() {
+        List<DeveloperResponseDTO> developers = assertMaxStatements(1,
+                () -> call(() -> developerService.getAllDevelopers(null, null, null)));
+
+        assertEquals(4, developers.size());
+        assertEquals(authorId, developers.get(0).getId());
+        assertEquals(RESPONSES / 3, developers.get(1).getTotalResponses());
+        assertEquals(1 + RESPONSES, developers.get(3).getTotalVotes());
+    }
+
+    @Test
+    void testSearchDevelopersBySkill_IndexMatchesDatabaseScan() {
+        List<DeveloperResponseDTO> scanned = call(() -> developerService.searchDevelopersBySkill("JAVA spring", null, 0, 10));
+        assertEquals(List.of("dev0"), scanned.stream().map(DeveloperResponseDTO::getDevName).toList());
+
+        skillIndex.rebuild();
+        leaderboard.rebuild();
+        List<DeveloperResponseDTO> java = assertMaxStatements(1,
+                () -> call(() -> developerService.searchDevelopersBySkill("java", null, 0, 10)));
+        assertEquals(List.of("dev1", "dev2", "dev0"), java.stream().map(DeveloperResponseDTO::getDevName).toList());
+        assertEquals(scanned, call(() -> developerService.searchDevelopersBySkill("JAVA spring", "all", 0, 10)));
+
+        List<DeveloperResponseDTO> any = call(() -> developerService.searchDevelopersBySkill("go,boot", "any", 0, 10));
+        assertEquals(List.of("dev2", "dev3"), any.stream().map(DeveloperResponseDTO::getDevName).toList());
+        assertEquals(RESPONSES / 3, any.get(0).getTotalResponses());
+    }
+
+    @Test
+    void testGetAllDevelopers_SortedPage() {
+        List<DeveloperResponseDTO> page = call(() -> developerService.getAllDevelopers(1, 2, "reputation"));
+
+        assertEquals(List.of("dev0", "dev3"), page.stream().map(DeveloperResponseDTO::getDevName).toList());
+        assertEquals(1 + RESPONSES, page.get(1).getTotalVotes());
+        assertEquals("dev3", call(() -> developerService.getAllDevelopers(0, 1, "memberSince")).get(0).getDevName());
+        List<DeveloperResponseDTO> all = call(() -> developerService.getAllDevelopers(null, null, "reputation"));
+        assertEquals(List.of("dev1", "dev2", "dev0", "dev3"),
+                all.stream().map(DeveloperResponseDTO::getDevName).toList());
+    }
+
+    @Test
+    void testGetLeaderboard_SameRanksFromDatabaseAndSnapshot() {
+        List<LeaderboardEntryDTO> fromDatabase = assertMaxStatements(2, () -> developerService.getLeaderboard(0, 3));
+        leaderboard.rebuild();
+        List<LeaderboardEntryDTO> fromSnapshot = assertMaxStatements(1, () -> developerService.getLeaderboard(0, 3));
+
+        assertEquals(fromDatabase, fromSnapshot);
+        assertEquals(List.of(1, 1, 3), fromSnapshot.stream().map(LeaderboardEntryDTO::getRank).toList());
+        assertEquals(List.of("dev1", "dev2", "dev0"),
+                fromSnapshot.stream().map(LeaderboardEntryDTO::getDevName).toList());
+        assertEquals(25, fromSnapshot.get(0).getReputation());
+
+        LeaderboardEntryDTO second = call(() -> developerService.getLeaderboard(1, 3)).get(0);
+        assertEquals(4, second.getRank());
+        assertEquals(3, call(() -> developerService.getLeaderboardRank(authorId)).getRank());
+    }
+
+    @Test
+    void testAddPosts_BatchedInserts() {
+        List<PostRequestDTO> batch = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            PostRequestDTO dto = new PostRequestDTO();
+            dto.setQuery("question " + i);
+            dto.setTopic("Batching");
+            dto.setDeveloperId(authorId);
+            batch.add(dto);
+        }
+
+        // the author check and one insert statement executed in JDBC batches, instead of 120 inserts.
+        // The blocks of ids are taken in a separate transaction that is not counted here.
+        List<Integer> ids = assertMaxStatements(2, () -> call(() -> {
+            List<Integer> created = postService.addPosts(batch);
+            entityManager.flush();
+            return created;
+        }));
+
+        assertEquals(120, ids.size());
+        assertTrue(ids.get(0) > postId);
+        assertEquals(120, ids.stream().distinct().count());
+        entityManager.clear();
+        assertEquals("question 119", postRepo.findById(ids.get(119)).orElseThrow().getQuery());
+        assertEquals(authorId, postRepo.findById(ids.get(0)).orElseThrow().getDeveloper().getId());
+    }
+
+    @Test
+    void testRemoveMultiplePost_SetBasedDeletes() {
+        Post other = new Post();
+        other.setQuery("Unrelated");
+        other.setTopic("Java");
+        other.setPostDateTime(LocalDateTime.now());
+        other.setDeveloper(devRepo.findById(authorId).orElseThrow());
+        entityManager.persist(other);
+        entityManager.flush();
+        entityManager.clear();
+
+        // one select to check the ids, then one delete each for votes, comments, responses and posts
+        BulkDeleteDTO deleted = assertMaxStatements(5, () -> call(() -> postService.removeMultiplePost(List.of(postId))));
+
+        assertEquals(1, deleted.getPosts());
+        assertEquals(RESPONSES, deleted.getResponses());
+        assertEquals(RESPONSES * COMMENTS_PER_RESPONSE + RESPONSES, deleted.getComments());
+        assertEquals(3 + RESPONSES + RESPONSES * COMMENTS_PER_RESPONSE, deleted.getVotes());
+        assertEquals(List.of(other.getPostId()), postRepo.findAll().stream().map(Post::getPostId).toList());
+        assertEquals(0, responseRepo.count() + commentRepo.count() + voteRepo.count());
+    }
+
+    @Test
+    void testRemoveMultipleResponse_SetBasedDeletes() {
+        List<Integer> respIds = responseRepo.findDetailByPost_postId(postId).stream()
+                .map(Response::getRespId).limit(2).toList();
+        entityManager.clear();
+
+        BulkDeleteDTO deleted = assertMaxStatements(4,
+                () -> call(() -> responseService.removeMultipleResponse(respIds)));
+
+        assertEquals(2, deleted.getResponses());
+        assertEquals(2 * COMMENTS_PER_RESPONSE, deleted.getComments());
+        assertEquals(2 + 2 * COMMENTS_PER_RESPONSE, deleted.getVotes());
+        assertEquals(RESPONSES - 2, responseRepo.count());
+        assertEquals(RESPONSES * COMMENTS_PER_RESPONSE + RESPONSES - 2 * COMMENTS_PER_RESPONSE, commentRepo.count());
+    }
+
+    @Test
+    void testGetPostFeed_UndatedPostsPagedLast() {
+        List<Integer> undatedIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Post undated = new Post();
+            undated.setQuery("undated " + i);
+            undated.setTopic("Hibernate");
+            entityManager.persist(undated);
+            undatedIds.add(0, undated.getPostId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Integer> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            String after = cursor;
+            PostFeedDTO page = assertMaxStatements(1, () -> call(() -> postService.getPostFeed(after, 1)));
+            page.getPosts().forEach(summary -> ids.add(summary.getPostId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        List<Integer> expected = new ArrayList<>(List.of(postId));
+        expected.addAll(undatedIds);
+        assertEquals(expected, ids);
+    }
+
+    @Test
+    void testRebuildReputation_SingleStatement() {
+        User user = new User("newcomer", "secret");
+        entityManager.persist(user);
+        Developer newcomer = new Developer();
+        newcomer.setUser(user);
+        newcomer.setDevName("newcomer");
+        newcomer.setDevSkill("Kotlin");
+        newcomer.setMemberSince(LocalDate.now());
+        newcomer.setReputation(40);
+        entityManager.persist(newcomer);
+        entityManager.flush();
+        entityManager.clear();
+        ReputationService reputationService = new ReputationService(devRepo);
+
+        assertMaxStatements(1, reputationService::rebuildAll);
+        entityManager.clear();
+
+        List<Integer> reputations = devRepo.findAll(Sort.by("devName")).stream().map(Developer::getReputation)
+                .toList();
+        assertEquals(List.of(9, 8, 8, 2, 0), reputations);
+    }
+
+    @Test
+    void testRemoveMultiplePost_UnknownIdDeletesNothing() {
+        DeveloperCommunityException ex = assertThrows(DeveloperCommunityException.class,
+                () -> postService.removeMultiplePost(List.of(postId, postId + 1000)));
+
+        assertEquals("Post ID: " + (postId + 1000) + " does not exist", ex.getMessage());
+        assertEquals(RESPONSES, responseRepo.count());
+    }
+
+    private Developer developer(int index) {
+        String name = "dev" + index;
+        User user = new User(name, "secret");
+        entityManager.persist(user);
+        Developer developer = new Developer();
+        developer.setUser(user);
+        developer.setDevName(name);
+        developer.setDevSkill(SKILLS[index]);
+        developer.setMemberSince(LocalDate.now().minusDays(SCORES.length - index));
+        developer.setReputation(SCORES[index]);
+        entityManager.persist(developer);
+        return developer;
+    }
+
+    private void vote(Developer developer, Post post, Response response, Comment comment) {
+        Vote vote = new Vote();
+        vote.setVoteType(VoteType.UPVOTE);
+        vote.setDeveloper(developer);
+        vote.setPost(post);
+        vote.setResponse(response);
+        vote.setComment(comment);
+        entityManager.persist(vote);
+    }
+
+    private static <T> T call(ThrowingSupplier<T> action) {
+        try {
+            return action.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThrowingSupplier<T> {
+        T get() throws Exception;
+    }
+}
@@ -0,0 +1,92 @@
+package com.devcommunity.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.devcommunity.entity.Post;
+import com.devcommunity.repository.IPostRepo;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Checks what the services get from @Transactional(readOnly = true) without
+ * open-in-view: the session of a read-only transaction does not flush and keeps
+ * no dirty-checking snapshots, so changes made to loaded entities are dropped
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:readonly;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop" })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReadOnlyTransactionTest {
+
+    @Autowired
+    private IPostRepo postRepo;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+    private Integer postId;
+
+    @BeforeEach
+    void setUp() {
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        postRepo.deleteAll();
+        Post post = new Post();
+        post.setQuery("Why is my read path slow?");
+        post.setTopic("JPA");
+        post.setPostDateTime(LocalDateTime.now());
+        postId = postRepo.save(post).getPostId();
+    }
+
+    @Test
+    void testReadOnlyTransaction_NoFlushNoSnapshots() {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            Post post = postRepo.findById(postId).orElseThrow();
+
+            assertEquals(FlushMode.MANUAL, session.getHibernateFlushMode());
+            assertTrue(session.isReadOnly(post));
+            post.setTopic("changed");
+        });
+
+        assertEquals("JPA", postRepo.findById(postId).orElseThrow().getTopic());
+    }
+
+    @Test
+    void testWriteTransaction_FlushesChanges() {
+        writeTransaction.executeWithoutResult(status -> {
+            Post post = postRepo.findById(postId).orElseThrow();
+
+            assertFalse(entityManager.unwrap(Session.class).isReadOnly(post));
+            post.setTopic("changed");
+        });
+
+        assertEquals("changed", postRepo.findById(postId).orElseThrow().getTopic());
+    }
+}
@@ -0,0 +1,156 @@
+package com.devcommunity.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.devcommunity.entity.Developer;
+import com.devcommunity.entity.Post;
+import com.devcommunity.entity.User;
+import com.devcommunity.repository.VoteWriter;
+import com.devcommunity.repository.VoteWriter.Change;
+import com.devcommunity.repository.VoteWriter.Upsert;
+import com.devcommunity.util.BufferedVote;
+import com.devcommunity.util.BufferedVote.Target;
+import com.devcommunity.util.VoteType;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Races a single vote against a rewritten batch holding the same developer and
+ * post, in separate transactions. The single vote arrives while the batch is
+ * about to insert, so only one of them may report the vote as inserted.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:votewriterconcurrency;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+                + "NON_KEYWORDS=USER,VALUE;LOCK_TIMEOUT=10000",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop" })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class VoteWriterConcurrencyTest {
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private TransactionTemplate transaction;
+    private JdbcTemplate jdbcTemplate;
+    private int postId;
+    private int voterId;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transaction.executeWithoutResult(status -> {
+            Developer author = developer("author");
+            Post post = new Post();
+            post.setQuery("Who inserted my vote?");
+            post.setTopic("JDBC");
+            post.setPostDateTime(LocalDateTime.now());
+            post.setDeveloper(author);
+            entityManager.persist(post);
+            entityManager.flush();
+            postId = post.getPostId();
+            voterId = developer("voter").getId();
+        });
+    }
+
+    @Test
+    void testWriteEach_ConcurrentUpsertOfSameVote() throws Exception {
+        CountDownLatch batchStarted = new CountDownLatch(1);
+        VoteWriter batchWriter = new VoteWriter(new PausingJdbcTemplate(dataSource, batchStarted));
+        VoteWriter singleWriter = new VoteWriter(jdbcTemplate);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<Change>> batch = executor.submit(() -> transaction.execute(status -> batchWriter
+                    .writeEach(List.of(new BufferedVote(voterId, Target.POST, postId, VoteType.UPVOTE)))));
+            assertTrue(batchStarted.await(10, TimeUnit.SECONDS));
+            Future<Upsert> single = executor.submit(() -> transaction.execute(
+                    status -> singleWriter.upsert(Target.POST, postId, voterId, VoteType.DOWNVOTE)));
+
+            // the batch holds the post row, so the single vote waits for it and flips its vote
+            assertEquals(List.of(Change.INSERTED), batch.get(10, TimeUnit.SECONDS));
+            assertEquals(Change.CHANGED, single.get(10, TimeUnit.SECONDS).getChange());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(List.of("DOWNVOTE"), jdbcTemplate.queryForList(
+                "SELECT vote_type FROM votes WHERE developer_id = ? AND post_id = ?", String.class, voterId, postId));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT up_votes FROM post WHERE post_id = ?", Integer.class,
+                postId));
+    }
+
+    private Developer developer(String name) {
+        User user = new User(name, "secret");
+        entityManager.persist(user);
+        Developer developer = new Developer();
+        developer.setUser(user);
+        developer.setDevName(name);
+        developer.setDevSkill("Java");
+        developer.setMemberSince(LocalDate.now());
+        entityManager.persist(developer);
+        return developer;
+    }
+
+    /**
+     * Answers batches like a driver that rewrote them, and holds back the first
+     * one long enough for another transaction to write the same vote
+     */
+    private static final class PausingJdbcTemplate extends JdbcTemplate {
+        private final CountDownLatch started;
+
+        PausingJdbcTemplate(DataSource dataSource, CountDownLatch started) {
+            super(dataSource);
+            this.started = started;
+        }
+
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+            if (started.getCount() > 0) {
+                started.countDown();
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            int[] counts = super.batchUpdate(sql, batchArgs);
+            Arrays.fill(counts, Statement.SUCCESS_NO_INFO);
+            return counts;
+        }
+    }
+}
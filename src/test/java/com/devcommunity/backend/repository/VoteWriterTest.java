@@ -0,0 +1,144 @@
+package com.devcommunity.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import com.devcommunity.entity.Developer;
+import com.devcommunity.entity.Post;
+import com.devcommunity.entity.User;
+import com.devcommunity.repository.VoteWriter;
+import com.devcommunity.repository.VoteWriter.Change;
+import com.devcommunity.util.BufferedVote;
+import com.devcommunity.util.BufferedVote.Target;
+import com.devcommunity.util.VoteType;
+
+/**
+ * Runs the vote batches against an embedded database, once with per statement
+ * update counts and once the way MySQL Connector/J answers a batch it rewrote
+ * with rewriteBatchedStatements=true, with SUCCESS_NO_INFO for every statement
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:votewriter;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop" })
+class VoteWriterTest {
+
+    private static final int MISSING_POST_ID = 999_999;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private int postId;
+    private int authorId;
+    private int[] voterIds;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        Developer author = developer("author");
+        voterIds = new int[] { developer("voter1").getId(), developer("voter2").getId() };
+        Post post = new Post();
+        post.setQuery("Why are my batch counts -2?");
+        post.setTopic("JDBC");
+        post.setPostDateTime(LocalDateTime.now());
+        post.setDeveloper(author);
+        entityManager.persist(post);
+        entityManager.flush();
+        postId = post.getPostId();
+        authorId = author.getId();
+    }
+
+    @Test
+    void testWriteEach_UpdateCountsReported() {
+        assertVoteAndFlip(new VoteWriter(jdbcTemplate));
+    }
+
+    @Test
+    void testWriteEach_BatchRewrittenByDriver() {
+        assertVoteAndFlip(new VoteWriter(new RewritingJdbcTemplate(dataSource)));
+    }
+
+    private void assertVoteAndFlip(VoteWriter voteWriter) {
+        List<Change> first = voteWriter.writeEach(List.of(vote(voterIds[0], postId, VoteType.UPVOTE),
+                vote(voterIds[1], postId, VoteType.UPVOTE), vote(voterIds[0], MISSING_POST_ID, VoteType.UPVOTE)));
+
+        assertEquals(List.of(Change.INSERTED, Change.INSERTED, Change.UNCHANGED), first);
+        assertTallies(2, 0);
+        assertEquals(2, reputation());
+
+        List<Change> second = voteWriter.writeEach(List.of(vote(voterIds[0], postId, VoteType.DOWNVOTE),
+                vote(voterIds[1], postId, VoteType.UPVOTE)));
+
+        assertEquals(List.of(Change.CHANGED, Change.UNCHANGED), second);
+        assertTallies(1, 1);
+        assertEquals(0, reputation());
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM votes", Integer.class));
+    }
+
+    private void assertTallies(int up, int down) {
+        assertEquals(up, jdbcTemplate.queryForObject("SELECT up_votes FROM post WHERE post_id = ?", Integer.class,
+                postId));
+        assertEquals(down, jdbcTemplate.queryForObject("SELECT down_votes FROM post WHERE post_id = ?",
+                Integer.class, postId));
+    }
+
+    private int reputation() {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(reputation, 0) FROM developer WHERE id = ?",
+                Integer.class, authorId);
+    }
+
+    private Developer developer(String name) {
+        User user = new User(name, "secret");
+        entityManager.persist(user);
+        Developer developer = new Developer();
+        developer.setUser(user);
+        developer.setDevName(name);
+        developer.setDevSkill("Java");
+        developer.setMemberSince(LocalDate.now());
+        entityManager.persist(developer);
+        return developer;
+    }
+
+    private static BufferedVote vote(int developerId, int targetId, VoteType voteType) {
+        return new BufferedVote(developerId, Target.POST, targetId, voteType);
+    }
+
+    /**
+     * Reports every statement of a batch like a rewritten batch does
+     */
+    private static final class RewritingJdbcTemplate extends JdbcTemplate {
+        RewritingJdbcTemplate(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+            int[] counts = super.batchUpdate(sql, batchArgs);
+            Arrays.fill(counts, Statement.SUCCESS_NO_INFO);
+            return counts;
+        }
+    }
+}
@@ -4,14 +4,18 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,21 +25,20 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
-import org.modelmapper.ModelMapper;
 
 import com.devcommunity.dto.CommentRequestDTO;
 import com.devcommunity.dto.CommentResponseDTO;
 import com.devcommunity.entity.Comment;
 import com.devcommunity.entity.Developer;
 import com.devcommunity.entity.Post;
+import com.devcommunity.entity.Response;
 import com.devcommunity.exception.DeveloperCommunityException;
+import com.devcommunity.mapper.CommentMapper;
 import com.devcommunity.repository.ICommentRepo;
 import com.devcommunity.repository.IDevRepo;
 import com.devcommunity.repository.IPostRepo;
 import com.devcommunity.repository.IResponseRepo;
-import com.devcommunity.repository.IVoteRepo;
 import com.devcommunity.service.impl.CommentServiceImpl;
-import com.devcommunity.util.VoteType;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -53,9 +56,7 @@ class CommentServiceImplTest {
 	@Mock
 	private IResponseRepo responseRepo;
 	@Mock
-	private IVoteRepo voteRepo;
-	@Mock
-	private ModelMapper modelMapper;
+	private CommentMapper commentMapper;
 
 	private CommentRequestDTO commentRequestDTO;
 	private CommentResponseDTO commentResponseDTO;
@@ -101,7 +102,7 @@ class CommentServiceImplTest {
 		when(devRepo.findById(1)).thenReturn(Optional.of(developer));
 		when(postRepo.findById(100)).thenReturn(Optional.of(post));
 		when(commentRepo.save(any(Comment.class))).thenReturn(comment);
-		when(modelMapper.map(any(Comment.class), eq(CommentResponseDTO.class))).thenReturn(commentResponseDTO);
+		when(commentMapper.toResponseDTO(any(Comment.class))).thenReturn(commentResponseDTO);
 
 		CommentResponseDTO result = commentServiceImpl.addComment(commentRequestDTO);
 
@@ -122,6 +123,56 @@ class CommentServiceImplTest {
 		assertEquals("Developer not found", exception.getMessage());
 	}
 
+	@Test
+	void testAddComments_Success() throws DeveloperCommunityException {
+		CommentRequestDTO onResponse = new CommentRequestDTO();
+		onResponse.setDeveloperId(1);
+		onResponse.setText("Same here");
+		onResponse.setResponseId(7);
+		Post post = new Post();
+		post.setPostId(100);
+		Response response = new Response();
+		response.setRespId(7);
+
+		when(devRepo.findExistingIds(Set.of(1))).thenReturn(List.of(1));
+		when(postRepo.findExistingIds(Set.of(100))).thenReturn(List.of(100));
+		when(responseRepo.findExistingIds(Set.of(7))).thenReturn(List.of(7));
+		when(devRepo.getReferenceById(1)).thenReturn(developer);
+		when(postRepo.getReferenceById(100)).thenReturn(post);
+		when(responseRepo.getReferenceById(7)).thenReturn(response);
+		when(commentRepo.saveAll(anyList())).thenAnswer(inv -> {
+			List<Comment> saved = new ArrayList<>(inv.getArgument(0));
+			for (int i = 0; i < saved.size(); i++) {
+				saved.get(i).setCommentId(30 + i);
+			}
+			return saved;
+		});
+
+		List<Integer> ids = commentServiceImpl.addComments(List.of(commentRequestDTO, onResponse));
+
+		assertEquals(List.of(30, 31), ids);
+		verify(commentRepo).saveAll(argThat(comments -> {
+			List<Comment> list = new ArrayList<>();
+			comments.forEach(list::add);
+			return list.get(0).getPost() == post && list.get(1).getResponse() == response;
+		}));
+	}
+
+	@Test
+	void testAddComments_UnknownResponse() {
+		commentRequestDTO.setPostId(0);
+		commentRequestDTO.setResponseId(7);
+		when(devRepo.findExistingIds(Set.of(1))).thenReturn(List.of(1));
+		when(responseRepo.findExistingIds(Set.of(7))).thenReturn(List.of());
+
+		DeveloperCommunityException exception = assertThrows(DeveloperCommunityException.class, () -> {
+			commentServiceImpl.addComments(List.of(commentRequestDTO));
+		});
+
+		assertEquals("Response ID: 7 does not exist", exception.getMessage());
+		verify(commentRepo, never()).saveAll(any());
+	}
+
 	@Test
 	void testUpdateComment_Success() throws DeveloperCommunityException {
 		// Arrange
@@ -138,7 +189,7 @@ class CommentServiceImplTest {
 		when(commentRepo.findByCommentId(1)).thenReturn(Optional.of(comment));
 		when(devRepo.findById(1)).thenReturn(Optional.of(comment.getDeveloper()));
 		when(commentRepo.save(any(Comment.class))).thenReturn(updatedComment);
-		when(modelMapper.map(any(Comment.class), eq(CommentResponseDTO.class))).thenReturn(expectedResponse);
+		when(commentMapper.toResponseDTO(any(Comment.class))).thenReturn(expectedResponse);
 
 		// Act
 		CommentResponseDTO result = commentServiceImpl.updateComment(commentRequestDTO);
@@ -178,7 +229,7 @@ class CommentServiceImplTest {
 
 	@Test
 	void testGetNoOfVotesOnCommentByVoteType_Success() {
-		when(voteRepo.countByVoteTypeAndComment_CommentId(VoteType.UPVOTE, 1)).thenReturn(5);
+		when(commentRepo.findUpVotesByCommentId(1)).thenReturn(Optional.of(5));
 
 		String resultTemp = commentServiceImpl.getNoOfVotesOnCommentByVoteType("UPVOTE", 1);
 		int idx = resultTemp.lastIndexOf(":");
@@ -186,6 +237,14 @@ class CommentServiceImplTest {
 		assertEquals(5, count);
 	}
 
+	@Test
+	void testGetNoOfVotesOnCommentByVoteType_MissingCommentCountsZero() {
+		when(commentRepo.findDownVotesByCommentId(99)).thenReturn(Optional.empty());
+
+		String result = commentServiceImpl.getNoOfVotesOnCommentByVoteType("DOWNVOTE", 99);
+		assertEquals("Votecount for DOWNVOTE of commentId 99 : 0", result);
+	}
+
 	@Test
 	void testGetNoOfVotesOnCommentByVoteTypeInvalidType() {
 		assertThrows(IllegalArgumentException.class, () -> {
@@ -196,7 +255,7 @@ class CommentServiceImplTest {
 	@Test
 	void testGetByCommentId_Success() throws DeveloperCommunityException {
 		when(commentRepo.findByCommentId(10)).thenReturn(Optional.of(comment));
-		when(modelMapper.map(comment, CommentResponseDTO.class)).thenReturn(commentResponseDTO);
+		when(commentMapper.toResponseDTO(comment)).thenReturn(commentResponseDTO);
 		CommentResponseDTO result = commentServiceImpl.getByCommentId(10);
 		assertNotNull(result);
 		assertEquals(1, result.getCommentId());
@@ -219,7 +278,7 @@ class CommentServiceImplTest {
 	void testGetCommentsByPostId_Success() throws DeveloperCommunityException {
 		List<Comment> comments = List.of(comment);
 		when(commentRepo.findByPost_PostId(100)).thenReturn(comments);
-		when(modelMapper.map(comment, CommentResponseDTO.class)).thenReturn(commentResponseDTO);
+		when(commentMapper.toResponseDTO(comment)).thenReturn(commentResponseDTO);
 
 		List<CommentResponseDTO> result = commentServiceImpl.getCommentsByPostId(100);
 
@@ -256,7 +315,7 @@ class CommentServiceImplTest {
 	void testGetCommentsByResponseId_Success() throws DeveloperCommunityException {
 		List<Comment> comments = List.of(comment);
 		when(commentRepo.findByResponse_RespId(200)).thenReturn(comments);
-		when(modelMapper.map(comment, CommentResponseDTO.class)).thenReturn(commentResponseDTO);
+		when(commentMapper.toResponseDTO(comment)).thenReturn(commentResponseDTO);
 
 		List<CommentResponseDTO> result = commentServiceImpl.getCommentsByResponseId(200);
 
@@ -292,7 +351,7 @@ class CommentServiceImplTest {
 		// Arrange
 		when(commentRepo.findByCommentId(10)).thenReturn(Optional.of(comment));
 		when(devRepo.findById(1)).thenReturn(Optional.of(developer));
-		when(modelMapper.map(comment, CommentResponseDTO.class)).thenReturn(commentResponseDTO);
+		when(commentMapper.toResponseDTO(comment)).thenReturn(commentResponseDTO);
 
 		// Act
 		CommentResponseDTO result = commentServiceImpl.removeComment(10);
@@ -1,5 +1,6 @@
 package com.devcommunity.backend.service;
 
+import static com.devcommunity.backend.config.NoOpTransactionManager.transactionTemplate;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -17,10 +18,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Pageable;
 
+import com.devcommunity.dto.DeveloperNameDTO;
 import com.devcommunity.dto.DeveloperRequestDTO;
 import com.devcommunity.dto.DeveloperResponseDTO;
+import com.devcommunity.dto.DeveloperStatsDTO;
+import com.devcommunity.dto.LeaderboardEntryDTO;
 import com.devcommunity.entity.Comment;
 import com.devcommunity.entity.Developer;
 import com.devcommunity.entity.Post;
@@ -28,8 +32,11 @@ import com.devcommunity.entity.Response;
 import com.devcommunity.entity.User;
 import com.devcommunity.entity.Vote;
 import com.devcommunity.exception.DeveloperCommunityException;
+import com.devcommunity.mapper.DeveloperMapper;
 import com.devcommunity.repository.IDevRepo;
 import com.devcommunity.repository.IUserRepo;
+import com.devcommunity.service.DeveloperSkillIndex;
+import com.devcommunity.service.ReputationLeaderboard;
 import com.devcommunity.service.impl.DeveloperServiceImpl;
 import com.devcommunity.util.VoteType;
 
@@ -44,12 +51,19 @@ class DeveloperServiceTest {
     private IUserRepo iUserRepo;
 
     @Mock
-    private ModelMapper modelMapper;
+    private DeveloperMapper developerMapper;
+
+    @Mock
+    private ReputationLeaderboard leaderboard;
+
+    @Mock
+    private DeveloperSkillIndex skillIndex;
 
     @InjectMocks
     private DeveloperServiceImpl service;
 
     private Developer developer;
+    private DeveloperStatsDTO stats;
     private DeveloperResponseDTO responseDTO;
 
     @BeforeEach
@@ -72,6 +86,8 @@ class DeveloperServiceTest {
             upVote,upVote,upVote,downVote,downVote
         ));
 
+        stats = new DeveloperStatsDTO(1, "John", "Java", LocalDate.of(2025, 1, 1), 2, 2L, 3L, 1L, 5L);
+
         responseDTO = new DeveloperResponseDTO();
         responseDTO.setId(1);
         responseDTO.setDevName("John");
@@ -85,8 +101,8 @@ class DeveloperServiceTest {
 
     @Test
     void testGetDeveloperById_Success() throws DeveloperCommunityException {
-        when(iDevRepo.findById(1)).thenReturn(Optional.of(developer));
-        when(modelMapper.map(developer, DeveloperResponseDTO.class)).thenReturn(new DeveloperResponseDTO());
+        when(iDevRepo.findStatsById(1)).thenReturn(Optional.of(stats));
+        when(developerMapper.toResponseDTO(stats)).thenReturn(responseDTO);
 
         DeveloperResponseDTO result = service.getDeveloperById(1);
         assertNotNull(result);
@@ -95,9 +111,19 @@ class DeveloperServiceTest {
         assertEquals(3, result.getTotalComments());
     }
 
+    @Test
+    void testGetDeveloperById_UsesStoredReputation() throws DeveloperCommunityException {
+        stats.setReputation(23);
+        when(iDevRepo.findStatsById(1)).thenReturn(Optional.of(stats));
+        when(developerMapper.toResponseDTO(stats)).thenReturn(new DeveloperResponseDTO());
+
+        DeveloperResponseDTO result = service.getDeveloperById(1);
+        assertEquals(4, result.getReputation());
+    }
+
     @Test
     void testGetDeveloperById_NotFound() {
-        when(iDevRepo.findById(99)).thenReturn(Optional.empty());
+        when(iDevRepo.findStatsById(99)).thenReturn(Optional.empty());
 
         DeveloperCommunityException exception = assertThrows(
             DeveloperCommunityException.class,
@@ -108,27 +134,123 @@ class DeveloperServiceTest {
     }
 
     @Test
-    void testGetAllDevelopers_EmptyList() {
-        when(iDevRepo.findAll()).thenReturn(Collections.emptyList());
+    void testGetAllDevelopers_EmptyList() throws DeveloperCommunityException {
+        when(iDevRepo.findStatsPage(any(Pageable.class))).thenReturn(Collections.emptyList());
 
-        List<DeveloperResponseDTO> result = service.getAllDevelopers();
+        List<DeveloperResponseDTO> result = service.getAllDevelopers(null, null, null);
         assertTrue(result.isEmpty());
     }
 
     @Test
-    void testGetAllDevelopers_Success() {
-        when(iDevRepo.findAll()).thenReturn(Arrays.asList(developer));
-        when(modelMapper.map(developer, DeveloperResponseDTO.class)).thenReturn(responseDTO);
+    void testGetAllDevelopers_Success() throws DeveloperCommunityException {
+        when(iDevRepo.findStatsPage(any(Pageable.class))).thenReturn(Arrays.asList(stats));
+        when(developerMapper.toResponseDTO(stats)).thenReturn(responseDTO);
 
-        List<DeveloperResponseDTO> result = service.getAllDevelopers();
+        List<DeveloperResponseDTO> result = service.getAllDevelopers(null, null, null);
         assertEquals(1, result.size());
         assertEquals("John", result.get(0).getDevName());
     }
 
+    @Test
+    void testGetAllDevelopers_UnpagedWithoutPageAndSize() throws DeveloperCommunityException {
+        when(iDevRepo.findStatsPage(any(Pageable.class))).thenReturn(Collections.emptyList());
+
+        service.getAllDevelopers(null, null, "name");
+
+        verify(iDevRepo).findStatsPage(argThat(pageable -> pageable.isUnpaged()
+                && pageable.getSort().getOrderFor("devName") != null));
+    }
+
+    @Test
+    void testGetAllDevelopers_SizeOnlyIsPaged() throws DeveloperCommunityException {
+        when(iDevRepo.findStatsPage(any(Pageable.class))).thenReturn(Collections.emptyList());
+
+        service.getAllDevelopers(null, 5, null);
+
+        verify(iDevRepo).findStatsPage(argThat(pageable -> pageable.getPageNumber() == 0
+                && pageable.getPageSize() == 5));
+    }
+
+    @Test
+    void testGetAllDevelopers_ClampsPageAndSorts() throws DeveloperCommunityException {
+        when(iDevRepo.findStatsPage(any(Pageable.class))).thenReturn(Collections.emptyList());
+
+        service.getAllDevelopers(2, 1000, "reputation");
+
+        verify(iDevRepo).findStatsPage(argThat(pageable -> pageable.getPageNumber() == 2
+                && pageable.getPageSize() == DeveloperServiceImpl.MAX_PAGE_SIZE
+                && pageable.getSort().getOrderFor("reputation").isDescending()));
+    }
+
+    @Test
+    void testGetAllDevelopers_InvalidSort() {
+        DeveloperCommunityException exception = assertThrows(DeveloperCommunityException.class,
+            () -> service.getAllDevelopers(0, 10, "password"));
+
+        assertTrue(exception.getMessage().startsWith("Invalid sort"));
+        verify(iDevRepo, never()).findStatsPage(any(Pageable.class));
+    }
+
+    @Test
+    void testGetLeaderboard_FromSnapshot() {
+        when(leaderboard.isReady()).thenReturn(true);
+        when(leaderboard.page(20, 20)).thenReturn(List.of(new ReputationLeaderboard.Standing(1, 50, 21),
+            new ReputationLeaderboard.Standing(2, 40, 22)));
+        when(iDevRepo.findNamesByIds(List.of(1, 2))).thenReturn(List.of(new DeveloperNameDTO(1, "John")));
+
+        List<LeaderboardEntryDTO> result = service.getLeaderboard(1, null);
+
+        assertEquals(List.of(new LeaderboardEntryDTO(21, 1, "John", 10)), result);
+        verify(iDevRepo, never()).findStatsByReputation(any(Pageable.class));
+    }
+
+    @Test
+    void testGetLeaderboard_FallsBackToDatabase() {
+        DeveloperStatsDTO tied = new DeveloperStatsDTO(2, "Jane", "Go", null, 2, 0L, 0L, 0L, 0L);
+        DeveloperStatsDTO lower = new DeveloperStatsDTO(3, "Jim", "C", null, null, 0L, 0L, 0L, 0L);
+        when(leaderboard.isReady()).thenReturn(false);
+        when(iDevRepo.findStatsByReputation(any(Pageable.class))).thenReturn(List.of(stats, tied, lower));
+        when(iDevRepo.countByReputationGreaterThan(2)).thenReturn(6L);
+
+        List<LeaderboardEntryDTO> result = service.getLeaderboard(2, 3);
+
+        assertEquals(List.of(7, 7, 9), result.stream().map(LeaderboardEntryDTO::getRank).toList());
+        assertEquals("Jim", result.get(2).getDevName());
+    }
+
+    @Test
+    void testGetLeaderboardRank_FromSnapshot() throws DeveloperCommunityException {
+        when(leaderboard.standingOf(1)).thenReturn(new ReputationLeaderboard.Standing(1, 23, 4));
+        when(iDevRepo.findNamesByIds(List.of(1))).thenReturn(List.of(new DeveloperNameDTO(1, "John")));
+
+        LeaderboardEntryDTO result = service.getLeaderboardRank(1);
+
+        assertEquals(new LeaderboardEntryDTO(4, 1, "John", 4), result);
+        verify(iDevRepo, never()).countByReputationGreaterThan(any());
+    }
+
+    @Test
+    void testGetLeaderboardRank_NotInSnapshot() throws DeveloperCommunityException {
+        when(iDevRepo.findStatsById(1)).thenReturn(Optional.of(stats));
+        when(iDevRepo.countByReputationGreaterThan(2)).thenReturn(0L);
+
+        assertEquals(1, service.getLeaderboardRank(1).getRank());
+    }
+
+    @Test
+    void testGetLeaderboardRank_NotFound() {
+        when(iDevRepo.findStatsById(99)).thenReturn(Optional.empty());
+
+        DeveloperCommunityException exception = assertThrows(DeveloperCommunityException.class,
+            () -> service.getLeaderboardRank(99));
+
+        assertEquals("Developer not found.", exception.getMessage());
+    }
+
     @Test
     void testGetByMaxReputation_Success() throws DeveloperCommunityException {
-        when(iDevRepo.findTopByOrderByReputationDesc()).thenReturn(developer);
-        when(modelMapper.map(developer, DeveloperResponseDTO.class)).thenReturn(new DeveloperResponseDTO());
+        when(iDevRepo.findStatsByReputation(any(Pageable.class))).thenReturn(Arrays.asList(stats));
+        when(developerMapper.toResponseDTO(stats)).thenReturn(new DeveloperResponseDTO());
 
         DeveloperResponseDTO result = service.getByMaxReputation();
         assertNotNull(result);
@@ -137,7 +259,7 @@ class DeveloperServiceTest {
 
     @Test
     void testGetByMaxReputation_NoDeveloper() {
-        when(iDevRepo.findTopByOrderByReputationDesc()).thenReturn(null);
+        when(iDevRepo.findStatsByReputation(any(Pageable.class))).thenReturn(Collections.emptyList());
 
         DeveloperCommunityException exception = assertThrows(
             DeveloperCommunityException.class,
@@ -148,15 +270,76 @@ class DeveloperServiceTest {
     }
 
     @Test
-    void testSearchDevelopersBySkill_Success() {
-        when(iDevRepo.findByDevSkillContainingIgnoreCase("Java")).thenReturn(Arrays.asList(developer));
-        when(modelMapper.map(developer, DeveloperResponseDTO.class)).thenReturn(responseDTO);
+    void testSearchDevelopersBySkill_Success() throws DeveloperCommunityException {
+        when(iDevRepo.searchStatsBySkill("java")).thenReturn(Arrays.asList(stats));
+        when(developerMapper.toResponseDTO(stats)).thenReturn(responseDTO);
 
-        List<DeveloperResponseDTO> result = service.searchDevelopersBySkill("Java");
+        List<DeveloperResponseDTO> result = service.searchDevelopersBySkill("Java", null, null, null);
         assertFalse(result.isEmpty());
         assertEquals("Java", result.get(0).getDevSkill());
     }
 
+    @Test
+    void testSearchDevelopersBySkill_FromIndexByReputation() throws DeveloperCommunityException {
+        DeveloperStatsDTO other = new DeveloperStatsDTO(2, "Jane", "Java", null, 40, 0L, 0L, 0L, 0L);
+        int[] matches = { 1, 2 };
+        when(skillIndex.isReady()).thenReturn(true);
+        when(skillIndex.search(List.of("java", "spring"), false)).thenReturn(matches);
+        when(leaderboard.order(matches, 0, 20)).thenReturn(List.of(2, 1));
+        when(iDevRepo.findStatsByIds(List.of(2, 1))).thenReturn(List.of(stats, other));
+        when(developerMapper.toResponseDTO(stats)).thenReturn(responseDTO);
+        when(developerMapper.toResponseDTO(other)).thenReturn(new DeveloperResponseDTO());
+
+        List<DeveloperResponseDTO> result = service.searchDevelopersBySkill("Java, Spring", "any", null, null);
+
+        assertEquals(2, result.size());
+        assertEquals(8, result.get(0).getReputation());
+        assertEquals("John", result.get(1).getDevName());
+        verify(iDevRepo, never()).searchStatsBySkill(any());
+    }
+
+    @Test
+    void testSearchDevelopersBySkill_DeletedDeveloperDroppedBeforePaging() throws DeveloperCommunityException {
+        DeveloperStatsDTO third = new DeveloperStatsDTO(3, "Jim", "Java", null, 10, 0L, 0L, 0L, 0L);
+        int[] indexed = { 1, 2, 3 };
+        int[] remaining = { 1, 3 };
+        when(skillIndex.isReady()).thenReturn(true);
+        when(skillIndex.search(List.of("java"), true)).thenReturn(indexed, remaining);
+        when(leaderboard.order(indexed, 0, 2)).thenReturn(List.of(2, 1));
+        when(leaderboard.order(remaining, 0, 2)).thenReturn(List.of(1, 3));
+        when(iDevRepo.findStatsByIds(List.of(2, 1))).thenReturn(List.of(stats));
+        when(iDevRepo.findStatsByIds(List.of(3))).thenReturn(List.of(third));
+        when(developerMapper.toResponseDTO(stats)).thenReturn(responseDTO);
+        when(developerMapper.toResponseDTO(third)).thenReturn(new DeveloperResponseDTO());
+
+        List<DeveloperResponseDTO> result = service.searchDevelopersBySkill("Java", null, 0, 2);
+
+        assertEquals(2, result.size());
+        assertEquals("John", result.get(0).getDevName());
+        verify(skillIndex).remove(2);
+    }
+
+    @Test
+    void testSearchDevelopersBySkill_ScanRequiresEveryTag() throws DeveloperCommunityException {
+        DeveloperStatsDTO other = new DeveloperStatsDTO(2, "Jane", "Java", null, 40, 0L, 0L, 0L, 0L);
+        when(iDevRepo.searchStatsBySkill("java")).thenReturn(List.of(stats, other));
+        when(iDevRepo.searchStatsBySkill("spring")).thenReturn(List.of(stats));
+        when(developerMapper.toResponseDTO(stats)).thenReturn(responseDTO);
+
+        List<DeveloperResponseDTO> result = service.searchDevelopersBySkill("java spring", "ALL", 0, 10);
+
+        assertEquals(1, result.size());
+        verify(developerMapper, never()).toResponseDTO(other);
+    }
+
+    @Test
+    void testSearchDevelopersBySkill_InvalidMatch() {
+        DeveloperCommunityException exception = assertThrows(DeveloperCommunityException.class,
+            () -> service.searchDevelopersBySkill("java", "most", null, null));
+
+        assertEquals("Invalid match, use all or any.", exception.getMessage());
+    }
+
     @Test
     void testAddDeveloper_Success() throws DeveloperCommunityException {
         DeveloperRequestDTO requestDTO = new DeveloperRequestDTO();
@@ -165,11 +348,12 @@ class DeveloperServiceTest {
 
         User user = new User();
         when(iUserRepo.findById(1)).thenReturn(Optional.of(user));
-        when(modelMapper.map(requestDTO, Developer.class)).thenReturn(developer);
+        when(developerMapper.toEntity(requestDTO)).thenReturn(developer);
 
         String result = service.addDeveloper(1, requestDTO);
         assertEquals("Developer added successfully!", result);
         verify(iDevRepo, times(1)).save(developer);
+        verify(skillIndex).index(1, "Java");
     }
 
     @Test
@@ -184,5 +368,23 @@ class DeveloperServiceTest {
         assertEquals("Developer updated successfully!", result);
         assertEquals("Johnny", developer.getDevName());
         assertEquals("Spring", developer.getDevSkill());
+        verify(skillIndex).index(1, "Spring");
+    }
+
+    @Test
+    void testUpdateDeveloper_RolledBack_IndexUnchanged() {
+        DeveloperRequestDTO requestDTO = new DeveloperRequestDTO();
+        requestDTO.setDevSkill("Spring");
+
+        when(iDevRepo.findById(1)).thenReturn(Optional.of(developer));
+
+        transactionTemplate().executeWithoutResult(status -> {
+            assertDoesNotThrow(() -> service.updateDeveloper(1, requestDTO));
+            verifyNoInteractions(skillIndex);
+            status.setRollbackOnly();
+        });
+
+        verify(iDevRepo).save(developer);
+        verifyNoInteractions(skillIndex);
     }
 }
\ No newline at end of file
@@ -0,0 +1,115 @@
+package com.devcommunity.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import com.devcommunity.dto.DeveloperSkillDTO;
+import com.devcommunity.repository.IDevRepo;
+import com.devcommunity.service.DeveloperSkillIndex;
+
+/**
+ * Unit tests for DeveloperSkillIndex
+ * Covers tagging, AND/OR queries, updates and rebuild
+ */
+@ExtendWith(MockitoExtension.class)
+class DeveloperSkillIndexTest {
+
+	@Mock
+	private IDevRepo devRepo;
+
+	@InjectMocks
+	private DeveloperSkillIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index.index(1, "Java, Spring Boot");
+		index.index(2, "java/kotlin");
+		index.index(3, "C++; Go");
+		index.index(4, "Spring");
+	}
+
+	@Test
+	void testTags_NormalisedAndDistinct() {
+		assertEquals(List.of("java", "spring", "boot", "node.js", "c++"),
+				DeveloperSkillIndex.tags(" Java,Spring  Boot | node.js;C++ java"));
+		assertTrue(DeveloperSkillIndex.tags("  ").isEmpty());
+	}
+
+	@Test
+	void testSearch_MatchAll() {
+		assertArrayEquals(new int[] { 1, 2 }, index.search(List.of("java"), true));
+		assertArrayEquals(new int[] { 1 }, index.search(List.of("java", "spring"), true));
+		assertArrayEquals(new int[0], index.search(List.of("java", "rust"), true));
+	}
+
+	@Test
+	void testSearch_MatchAny() {
+		assertArrayEquals(new int[] { 1, 2, 3 }, index.search(List.of("kotlin", "c++", "java"), false));
+		assertArrayEquals(new int[] { 1, 3, 4 }, index.search(List.of("go", "rust", "spring"), false));
+	}
+
+	@Test
+	void testIndex_ReplacesPreviousSkills() {
+		index.index(2, "Rust");
+
+		assertArrayEquals(new int[] { 1 }, index.search(List.of("java"), true));
+		assertArrayEquals(new int[0], index.search(List.of("kotlin"), false));
+		assertArrayEquals(new int[] { 2 }, index.search(List.of("rust"), true));
+		assertEquals(4, index.size());
+	}
+
+	@Test
+	void testRemove_DropsDeveloperFromEveryTag() {
+		index.remove(1);
+
+		assertArrayEquals(new int[] { 2 }, index.search(List.of("java"), true));
+		assertArrayEquals(new int[] { 4 }, index.search(List.of("spring"), true));
+		assertArrayEquals(new int[0], index.search(List.of("boot"), false));
+		assertEquals(3, index.size());
+	}
+
+	@Test
+	void testRebuild_ReplacesContentAndBecomesReady() {
+		when(devRepo.findSkillBatchAfter(eq(0), any(Pageable.class)))
+				.thenReturn(List.of(new DeveloperSkillDTO(1, "Go"), new DeveloperSkillDTO(5, "Java")));
+
+		assertFalse(index.isReady());
+		index.rebuild();
+
+		assertTrue(index.isReady());
+		assertEquals(2, index.size());
+		assertArrayEquals(new int[] { 5 }, index.search(List.of("java"), true));
+		assertArrayEquals(new int[] { 1 }, index.search(List.of("go"), true));
+	}
+
+	@Test
+	void testRebuild_KeepsChangesMadeWhileLoading() {
+		// developer 2 changes skills and developer 3 is deleted while the batch is being read
+		when(devRepo.findSkillBatchAfter(eq(0), any(Pageable.class))).thenAnswer(invocation -> {
+			index.index(2, "Rust");
+			index.remove(3);
+			return List.of(new DeveloperSkillDTO(2, "Java"), new DeveloperSkillDTO(3, "Go"));
+		});
+
+		index.rebuild();
+
+		assertArrayEquals(new int[] { 2 }, index.search(List.of("rust"), true));
+		assertArrayEquals(new int[0], index.search(List.of("java", "go"), false));
+		assertEquals(1, index.size());
+	}
+}
@@ -0,0 +1,93 @@
+package com.devcommunity.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.devcommunity.service.JWTService;
+import com.devcommunity.util.ExpiringCache;
+
+class JWTServiceTest {
+
+    // 256 bit key, Base64 encoded
+    private static final String SECRET = "c2VjcmV0LWtleS1mb3ItdGVzdHMtb25seS0xMjM0NTY3ODkwYWJjZGVmZ2hpams=";
+
+    private JWTService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = newService(900000);
+    }
+
+    private JWTService newService(long accessTokenExpiration) {
+        JWTService service = new JWTService();
+        ReflectionTestUtils.setField(service, "secretkey", SECRET);
+        ReflectionTestUtils.setField(service, "accessTokenExpiration", accessTokenExpiration);
+        ReflectionTestUtils.setField(service, "claimsCacheMaxSize", 100);
+        service.init();
+        return service;
+    }
+
+    @Test
+    void testGetValidUserName_RoundTrip() {
+        String token = jwtService.generateToken("alice");
+
+        assertEquals("alice", jwtService.getValidUserName(token));
+        assertEquals("alice", jwtService.extractUserName(token));
+        assertTrue(jwtService.validateToken(token, User.withUsername("alice").password("x").build()));
+        assertFalse(jwtService.validateToken(token, User.withUsername("bob").password("x").build()));
+    }
+
+    @Test
+    void testGetValidUserName_RepeatedTokenServedFromCache() {
+        String token = jwtService.generateToken("alice");
+        jwtService.getValidUserName(token);
+
+        // a parser with a different key would reject the token, so a hit proves verification was skipped
+        ReflectionTestUtils.setField(jwtService, "parser", null);
+
+        assertEquals("alice", jwtService.getValidUserName(token));
+    }
+
+    @Test
+    void testGetValidUserName_TamperedToken() {
+        String token = jwtService.generateToken("alice");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertNull(jwtService.getValidUserName(tampered));
+        assertNull(jwtService.getValidUserName("not-a-token"));
+    }
+
+    @Test
+    void testGetValidUserName_ExpiredToken() {
+        String token = newService(-1000).generateToken("alice");
+
+        assertNull(jwtService.getValidUserName(token));
+    }
+
+    @Test
+    void testExpiringCache_DropsExpiredAndLeastRecentlyUsed() {
+        AtomicLong now = new AtomicLong(1000);
+        ExpiringCache<String, String> cache = new ExpiringCache<>(2, now::get);
+
+        cache.put("a", "1", 2000);
+        cache.put("b", "2", 5000);
+        cache.put("expired", "x", 1000);
+        assertNull(cache.get("expired"));
+
+        cache.get("a");
+        cache.put("c", "3", 5000);
+        assertEquals("1", cache.get("a"));
+        assertNull(cache.get("b"));
+
+        now.set(2000);
+        assertNull(cache.get("a"));
+        assertEquals("3", cache.get("c"));
+        assertEquals(1, cache.size());
+    }
+}
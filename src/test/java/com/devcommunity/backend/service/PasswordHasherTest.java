@@ -0,0 +1,105 @@
+package com.devcommunity.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.devcommunity.exception.ServiceBusyException;
+import com.devcommunity.service.PasswordHasher;
+
+class PasswordHasherTest {
+
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void tearDown() {
+        hasher.shutdown();
+    }
+
+    @Test
+    void testEncodeAndMatches_RunOnPoolAndRecordLatency() {
+        hasher = new PasswordHasher(new PlainEncoder(null, null), 2, 4, 1);
+
+        assertEquals("{plain}secret", hasher.encode("secret"));
+        assertTrue(hasher.matches("secret", "{plain}secret"));
+        assertFalse(hasher.matches("other", "{plain}secret"));
+
+        assertEquals(3, hasher.getHashCount());
+        assertEquals(0, hasher.getRejectedCount());
+        assertTrue(hasher.getMaxHashMillis() >= hasher.getAverageHashMillis());
+    }
+
+    @Test
+    void testEncode_FullQueueIsRejectedWithRetryAfter() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        hasher = new PasswordHasher(new PlainEncoder(started, release), 1, 1, 3);
+
+        // one hash occupies the only thread, the next one fills the queue
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.encode("b"));
+        while (hasher.getQueueDepth() == 0) {
+            Thread.onSpinWait();
+        }
+
+        ServiceBusyException exception = assertThrows(ServiceBusyException.class, () -> hasher.encode("c"));
+        assertEquals(3, exception.getRetryAfterSeconds());
+        assertEquals(1, hasher.getRejectedCount());
+
+        release.countDown();
+        assertEquals("{plain}a", running.get(5, TimeUnit.SECONDS));
+        assertEquals("{plain}b", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testDefaultPoolSize_LeavesHalfOfTheCoresFree() {
+        hasher = new PasswordHasher(new PlainEncoder(null, null), 0, 1, 1);
+
+        assertEquals(Math.max(1, Runtime.getRuntime().availableProcessors() / 2), hasher.getPoolSize());
+    }
+
+    @Test
+    void testMatches_DelegateFailureIsRethrown() {
+        hasher = new PasswordHasher(new PlainEncoder(null, null), 1, 1, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> hasher.matches("secret", null));
+    }
+
+    private static final class PlainEncoder implements PasswordEncoder {
+        private final CountDownLatch started;
+        private final CountDownLatch release;
+
+        private PlainEncoder(CountDownLatch started, CountDownLatch release) {
+            this.started = started;
+            this.release = release;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            if (started != null) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "{plain}" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            if (encodedPassword == null) {
+                throw new IllegalArgumentException("Encoded password is missing");
+            }
+            return encodedPassword.equals("{plain}" + rawPassword);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.devcommunity.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.devcommunity.dto.PostTextDTO;
+import com.devcommunity.repository.IPostRepo;
+import com.devcommunity.service.PostSearchIndex;
+
+/**
+ * Unit tests for PostSearchIndex
+ * Covers indexing, ranking, pagination and rebuild
+ */
+@ExtendWith(MockitoExtension.class)
+class PostSearchIndexTest {
+
+	@Mock
+	private IPostRepo postRepo;
+
+	@InjectMocks
+	private PostSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index.index(1, "Java", "How do I sort a list in Java?");
+		index.index(2, "Spring", "Spring boot cannot find my Java bean");
+		index.index(3, "Python", "List comprehension in Python");
+	}
+
+	@Test
+	void testSearch_RanksTopicMatchFirst() {
+		assertEquals(List.of(1, 2), index.search("java", 0, 10));
+	}
+
+	@Test
+	void testSearch_MultipleWordsAndCase() {
+		List<Integer> result = index.search("PYTHON list", 0, 10);
+
+		assertEquals(3, result.get(0));
+		assertTrue(result.contains(1));
+		assertFalse(result.contains(2));
+	}
+
+	@Test
+	void testSearch_PrefixMatch() {
+		assertEquals(List.of(3), index.search("compre", 0, 10));
+	}
+
+	@Test
+	void testSearch_Pagination() {
+		assertEquals(List.of(2), index.search("java", 1, 1));
+		assertEquals(List.of(), index.search("java", 2, 1));
+	}
+
+	@Test
+	void testIndex_UpdateReplacesContent() {
+		index.index(1, "Kotlin", "Coroutines");
+
+		assertEquals(List.of(2), index.search("java", 0, 10));
+		assertEquals(List.of(1), index.search("kotlin", 0, 10));
+	}
+
+	@Test
+	void testRemove() {
+		index.remove(3);
+
+		assertEquals(List.of(), index.search("python", 0, 10));
+		assertEquals(2, index.size());
+	}
+
+	@Test
+	void testRebuild_LoadsAllPostsAndDropsDeleted() {
+		when(postRepo.findTextBatchAfter(eq(0), any()))
+				.thenReturn(List.of(new PostTextDTO(1, "Java", "Streams"), new PostTextDTO(4, "Go", "Goroutines")));
+
+		assertFalse(index.isReady());
+		index.rebuild();
+
+		assertTrue(index.isReady());
+		assertEquals(2, index.size());
+		assertEquals(List.of(4), index.search("goroutines", 0, 10));
+		assertEquals(List.of(), index.search("python", 0, 10));
+	}
+
+	@Test
+	void testRebuild_KeepsChangesMadeWhileLoading() {
+		// post 1 is edited and post 3 deleted after the batch was read, but before it is applied
+		when(postRepo.findTextBatchAfter(eq(0), any())).thenAnswer(invocation -> {
+			index.index(1, "Kotlin", "Coroutines");
+			index.remove(3);
+			return List.of(new PostTextDTO(1, "Java", "Streams"), new PostTextDTO(3, "Python", "Generators"));
+		});
+
+		index.rebuild();
+
+		assertEquals(List.of(1), index.search("coroutines", 0, 10));
+		assertEquals(List.of(), index.search("streams", 0, 10));
+		assertEquals(List.of(), index.search("generators", 0, 10));
+		assertEquals(1, index.size());
+	}
+}
@@ -2,8 +2,10 @@ package com.devcommunity.backend.service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,22 +13,39 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 
+import static com.devcommunity.backend.config.NoOpTransactionManager.transactionTemplate;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.PageRequest;
 
+import com.devcommunity.dto.BulkDeleteDTO;
+import com.devcommunity.dto.PostFeedDTO;
 import com.devcommunity.dto.PostRequestDTO;
 import com.devcommunity.dto.PostResponseDTO;
+import com.devcommunity.dto.PostSummaryDTO;
 import com.devcommunity.entity.Developer;
 import com.devcommunity.entity.Post;
 import com.devcommunity.exception.DeveloperCommunityException;
+import com.devcommunity.mapper.PostMapper;
+import com.devcommunity.repository.ICommentRepo;
 import com.devcommunity.repository.IDevRepo;
 import com.devcommunity.repository.IPostRepo;
+import com.devcommunity.repository.IResponseRepo;
+import com.devcommunity.repository.IVoteRepo;
+import com.devcommunity.service.PostSearchIndex;
 import com.devcommunity.service.impl.PostServiceImpl;
+import com.devcommunity.util.FeedCursor;
 
 /**
  * Unit tests for PostServiceImpl
@@ -38,11 +57,23 @@ class PostServiceImplTest {
 	@Mock
 	private IPostRepo postRepo;
 	
+	@Mock
+	private IResponseRepo respRepo;
+
+	@Mock
+	private ICommentRepo commentRepo;
+
+	@Mock
+	private IVoteRepo voteRepo;
+
 	@Mock
 	private IDevRepo devRepo;
 	
 	@Mock
-	private ModelMapper modelMapper;
+	private PostMapper postMapper;
+	
+	@Mock
+	private PostSearchIndex searchIndex;
 	
 	@InjectMocks
 	private PostServiceImpl service; 
@@ -51,6 +82,7 @@ class PostServiceImplTest {
 	private Post post;
 	private PostRequestDTO postReqDTO;
 	private PostResponseDTO postResDTO;
+	private PostSummaryDTO summaryDTO;
 	
 	@BeforeEach
 	void setUp() {
@@ -79,22 +111,25 @@ class PostServiceImplTest {
 		postResDTO.setTopic("Java");
 		postResDTO.setPostDateTime(LocalDateTime.now());
 		postResDTO.setDeveloperId(1);
+		
+		summaryDTO = new PostSummaryDTO(5, "Java", "I need help with the project! Pls send helppp",
+				post.getPostDateTime(), 1, "Josh", 2L, 1L, 3L);
 	}
 	
 	@Test
 	void testGetAllPost_Success() throws DeveloperCommunityException {
-		when(postRepo.findAll()).thenReturn(List.of(post));
-		when(modelMapper.map(post, PostResponseDTO.class)).thenReturn(postResDTO);
+		when(postRepo.findAllSummaries()).thenReturn(List.of(summaryDTO));
 		
-		List<PostResponseDTO> postList = service.getAllPost();
+		List<PostSummaryDTO> postList = service.getAllPost();
 		
 		assertEquals(1, postList.size());
-		assertEquals(postResDTO, postList.get(0));
-		verify(postRepo, times(1)).findAll();
+		assertEquals(summaryDTO, postList.get(0));
+		verify(postRepo, times(1)).findAllSummaries();
+		verify(postMapper, never()).toResponseDTO(any());
 	}	
 	@Test
 	void testGetAllPost_Failure() {
-		when(postRepo.findAll()).thenReturn(List.of());
+		when(postRepo.findAllSummaries()).thenReturn(List.of());
 		
 		DeveloperCommunityException ex = 
 				assertThrows(DeveloperCommunityException.class, () -> {
@@ -102,23 +137,81 @@ class PostServiceImplTest {
 				});
 		
 		assertEquals("There are no posts to display", ex.getMessage());
-		verify(postRepo, times(1)).findAll();
+		verify(postRepo, times(1)).findAllSummaries();
+	}
+	
+	@Test
+	void testGetPostFeed_FirstPage() throws DeveloperCommunityException {
+		PostSummaryDTO older = new PostSummaryDTO();
+		older.setPostId(4);
+		older.setPostDateTime(post.getPostDateTime().minusMinutes(1));
+		when(postRepo.findFeedFirstPage(PageRequest.of(0, 2))).thenReturn(List.of(summaryDTO, older));
+		
+		PostFeedDTO feed = service.getPostFeed(null, 1);
+		
+		assertEquals(1, feed.getPosts().size());
+		assertTrue(feed.isHasMore());
+		FeedCursor next = FeedCursor.decode(feed.getNextCursor());
+		assertEquals(5, next.getId());
+		assertEquals(post.getPostDateTime(), next.getDateTime());
+	}
+	@Test
+	void testGetPostFeed_NextPage() throws DeveloperCommunityException {
+		LocalDateTime time = LocalDateTime.of(2025, 1, 1, 10, 0);
+		String cursor = new FeedCursor(time, 9).encode();
+		when(postRepo.findFeedPageAfter(time, 9, PageRequest.of(0, PostServiceImpl.DEFAULT_FEED_SIZE + 1)))
+				.thenReturn(List.of(summaryDTO));
+		
+		PostFeedDTO feed = service.getPostFeed(cursor, null);
+		
+		assertEquals(1, feed.getPosts().size());
+		assertFalse(feed.isHasMore());
+		assertNull(feed.getNextCursor());
+	}
+	@Test
+	void testGetPostFeed_UndatedLastPost() throws DeveloperCommunityException {
+		PostSummaryDTO undated = new PostSummaryDTO();
+		undated.setPostId(3);
+		PostSummaryDTO olderUndated = new PostSummaryDTO();
+		olderUndated.setPostId(2);
+		when(postRepo.findFeedFirstPage(PageRequest.of(0, 3))).thenReturn(List.of(summaryDTO, undated, olderUndated));
+		when(postRepo.findUndatedFeedPageAfter(3, PageRequest.of(0, 3))).thenReturn(List.of(olderUndated));
+		
+		PostFeedDTO first = service.getPostFeed(null, 2);
+		FeedCursor next = FeedCursor.decode(first.getNextCursor());
+		PostFeedDTO second = service.getPostFeed(first.getNextCursor(), 2);
+		
+		assertNull(next.getDateTime());
+		assertEquals(3, next.getId());
+		assertEquals(List.of(olderUndated), second.getPosts());
+		assertFalse(second.isHasMore());
+		verify(postRepo, never()).findFeedPageAfter(any(), any(), any());
+	}
+	@Test
+	void testGetPostFeed_InvalidCursor() {
+		DeveloperCommunityException ex = 
+				assertThrows(DeveloperCommunityException.class, () -> {
+					service.getPostFeed("not-a-cursor", 10);
+				});
+		
+		assertEquals("Invalid cursor", ex.getMessage());
+		verify(postRepo, never()).findFeedPageAfter(any(), any(), any());
 	}
 	
 	@Test
 	void testGetPostById_Success() throws DeveloperCommunityException {
-		when(postRepo.findById(anyInt())).thenReturn(Optional.of(post));
-		when(modelMapper.map(post, PostResponseDTO.class)).thenReturn(postResDTO);
+		when(postRepo.findDetailByPostId(anyInt())).thenReturn(Optional.of(post));
+		when(postMapper.toResponseDTO(post)).thenReturn(postResDTO);
 		
 		PostResponseDTO result = service.getPostById(anyInt());
 		
 		assertNotNull(result);
 		assertEquals(5, result.getPostId());
-		verify(postRepo, times(1)).findById(anyInt());
+		verify(postRepo, times(1)).findDetailByPostId(anyInt());
 	}
 	@Test
 	void testGetPostById_Failure() {
-		when(postRepo.findById(anyInt())).thenReturn(Optional.empty());
+		when(postRepo.findDetailByPostId(anyInt())).thenReturn(Optional.empty());
 		
 		DeveloperCommunityException ex = 
 				assertThrows(DeveloperCommunityException.class, () -> {
@@ -126,56 +219,67 @@ class PostServiceImplTest {
 				});
 		
 		assertEquals("Post does not exist", ex.getMessage());
-		verify(postRepo, times(1)).findById(anyInt());
+		verify(postRepo, times(1)).findDetailByPostId(anyInt());
 	}
 	
 	@Test
 	void testGetAllPostByDev_Success() throws DeveloperCommunityException {
-		when(devRepo.findById(anyInt())).thenReturn(Optional.of(developer));
-		when(postRepo.findByDeveloper(developer)).thenReturn(List.of(post));
-		when(modelMapper.map(post, PostResponseDTO.class)).thenReturn(postResDTO);
+		when(devRepo.existsById(1)).thenReturn(true);
+		when(postRepo.findSummariesByDeveloperId(1)).thenReturn(List.of(summaryDTO));
 		
-		List<PostResponseDTO> postList = service.getAllPostByDev(anyInt());
+		List<PostSummaryDTO> postList = service.getAllPostByDev(1);
 		
 		assertEquals(1, postList.size());
-		assertEquals(postResDTO, postList.get(0));
+		assertEquals(summaryDTO, postList.get(0));
 		assertEquals(1, postList.get(0).getDeveloperId());
-		verify(devRepo, times(1)).findById(anyInt());
-		verify(postRepo, times(1)).findByDeveloper(developer);
+		verify(devRepo, times(1)).existsById(1);
+		verify(postRepo, times(1)).findSummariesByDeveloperId(1);
 	}
 	@Test
 	void testGetAllPostByDev_Failure() {
-		when(devRepo.findById(anyInt())).thenReturn(Optional.of(developer));
-		when(postRepo.findByDeveloper(developer)).thenReturn(List.of());
+		when(devRepo.existsById(1)).thenReturn(true);
+		when(postRepo.findSummariesByDeveloperId(1)).thenReturn(List.of());
 		
 		DeveloperCommunityException ex = 
 				assertThrows(DeveloperCommunityException.class, () -> {
-					service.getAllPostByDev(anyInt());
+					service.getAllPostByDev(1);
 				});
 		
 		assertEquals("There are no posts by this Developer", ex.getMessage());
-		verify(devRepo, times(1)).findById(anyInt());
-		verify(postRepo, times(1)).findByDeveloper(developer);
+		verify(devRepo, times(1)).existsById(1);
+		verify(postRepo, times(1)).findSummariesByDeveloperId(1);
 	}
 	
 	@Test
 	void testGetPostByKeyword_Success() throws DeveloperCommunityException {
-		when(postRepo.searchPosts("Java")).thenReturn(List.of(post));
-		when(modelMapper.map(post, PostResponseDTO.class)).thenReturn(postResDTO);
+		when(postRepo.searchPosts("Java")).thenReturn(List.of(summaryDTO));
 		
-		List<PostResponseDTO> postList = service.getPostByKeyword("Java");
+		List<PostSummaryDTO> postList = service.getPostByKeyword("Java", null, null);
 		
 		assertEquals(1, postList.size());
-		assertEquals(List.of(postResDTO), postList);
+		assertEquals(List.of(summaryDTO), postList);
 		verify(postRepo, times(1)).searchPosts("Java");
 	}
 	@Test
+	void testGetPostByKeyword_FromIndex() throws DeveloperCommunityException {
+		PostSummaryDTO other = new PostSummaryDTO();
+		other.setPostId(7);
+		when(searchIndex.isReady()).thenReturn(true);
+		when(searchIndex.search("Java", 10, 10)).thenReturn(List.of(7, 5));
+		when(postRepo.findSummariesByIds(List.of(7, 5))).thenReturn(List.of(summaryDTO, other));
+		
+		List<PostSummaryDTO> postList = service.getPostByKeyword("Java", 1, 10);
+		
+		assertEquals(List.of(other, summaryDTO), postList);
+		verify(postRepo, never()).searchPosts(anyString());
+	}
+	@Test
 	void testGetPostByKeyword_Failure() {
 		when(postRepo.searchPosts("Python")).thenReturn(List.of());
 		
 		DeveloperCommunityException ex = 
 				assertThrows(DeveloperCommunityException.class, () -> {
-					service.getPostByKeyword("Python");
+					service.getPostByKeyword("Python", null, null);
 				});
 		
 		assertEquals("There are no posts with this keyword", ex.getMessage());
@@ -184,7 +288,7 @@ class PostServiceImplTest {
 	
 	@Test
 	void testAddPost() {
-		when(modelMapper.map(postReqDTO, Post.class)).thenReturn(post);
+		when(postMapper.toEntity(postReqDTO)).thenReturn(post);
 		when(devRepo.findById(anyInt())).thenReturn(Optional.of(developer));
 		when(postRepo.save(post)).thenReturn(post);
 		
@@ -195,11 +299,91 @@ class PostServiceImplTest {
 		verify(devRepo, times(1)).findById(anyInt());
 		verify(postRepo, times(1)).save(post);
 	}
+
+	@Test
+	void testAddPost_IndexedAfterCommit() {
+		when(postMapper.toEntity(postReqDTO)).thenReturn(post);
+		when(devRepo.findById(anyInt())).thenReturn(Optional.of(developer));
+
+		transactionTemplate().executeWithoutResult(status -> {
+			service.addPost(postReqDTO);
+			verify(searchIndex, never()).index(anyInt(), any(), any());
+		});
+
+		verify(searchIndex).index(5, "Java", post.getQuery());
+	}
+
+	@Test
+	void testAddPost_RolledBack_IndexUnchanged() {
+		when(postMapper.toEntity(postReqDTO)).thenReturn(post);
+		when(devRepo.findById(anyInt())).thenReturn(Optional.of(developer));
+
+		transactionTemplate().executeWithoutResult(status -> {
+			service.addPost(postReqDTO);
+			status.setRollbackOnly();
+		});
+
+		verifyNoInteractions(searchIndex);
+	}
 	
+	@Test
+	void testAddPosts_Success() throws DeveloperCommunityException {
+		PostRequestDTO second = new PostRequestDTO();
+		second.setQuery("Another question");
+		second.setTopic("Spring");
+		second.setDeveloperId(1);
+		when(devRepo.findExistingIds(Set.of(1))).thenReturn(List.of(1));
+		when(devRepo.getReferenceById(1)).thenReturn(developer);
+		when(postMapper.toEntity(any(PostRequestDTO.class))).thenAnswer(inv -> new Post());
+		when(postRepo.saveAll(anyList())).thenAnswer(inv -> {
+			List<Post> saved = new ArrayList<>(inv.getArgument(0));
+			for (int i = 0; i < saved.size(); i++) {
+				saved.get(i).setPostId(10 + i);
+			}
+			return saved;
+		});
+
+		List<Integer> ids = service.addPosts(List.of(postReqDTO, second));
+
+		assertEquals(List.of(10, 11), ids);
+		verify(devRepo, times(1)).findExistingIds(Set.of(1));
+		verify(devRepo, never()).findById(anyInt());
+		verify(postRepo, never()).save(any());
+		verify(searchIndex).index(eq(11), any(), any());
+	}
+
+	@Test
+	void testAddPosts_RolledBack_IndexUnchanged() {
+		when(devRepo.findExistingIds(Set.of(1))).thenReturn(List.of(1));
+		when(devRepo.getReferenceById(1)).thenReturn(developer);
+		when(postMapper.toEntity(any(PostRequestDTO.class))).thenAnswer(inv -> new Post());
+
+		transactionTemplate().executeWithoutResult(status -> {
+			assertDoesNotThrow(() -> service.addPosts(List.of(postReqDTO, postReqDTO)));
+			status.setRollbackOnly();
+		});
+
+		verify(postRepo).saveAll(anyList());
+		verifyNoInteractions(searchIndex);
+	}
+
+	@Test
+	void testAddPosts_UnknownDeveloper() {
+		when(devRepo.findExistingIds(Set.of(1))).thenReturn(List.of());
+
+		DeveloperCommunityException ex =
+				assertThrows(DeveloperCommunityException.class, () -> {
+					service.addPosts(List.of(postReqDTO));
+				});
+
+		assertEquals("Developer ID: 1 does not exist", ex.getMessage());
+		verify(postRepo, never()).saveAll(any());
+	}
+
 	@Test
 	void testUpdatePost_Success() throws DeveloperCommunityException {
 		when(postRepo.findById(anyInt())).thenReturn(Optional.of(post));
-		when(modelMapper.map(postReqDTO, Post.class)).thenReturn(post);
+		when(postMapper.toEntity(postReqDTO)).thenReturn(post);
 		when(postRepo.save(post)).thenReturn(post);
 		
 		String result = service.updatePost(anyInt(), postReqDTO);
@@ -208,6 +392,7 @@ class PostServiceImplTest {
 		assertEquals("The post has been updated", result);
 		verify(postRepo, times(1)).findById(anyInt());
 		verify(postRepo, times(1)).save(post);
+		verify(searchIndex, times(1)).index(anyInt(), eq("Java"), anyString());
 	}
 	@Test
 	void testUpdatePost_Failure() {
@@ -233,6 +418,7 @@ class PostServiceImplTest {
 		assertEquals("The post has been deleted", result);
 		verify(postRepo, times(1)).existsById(anyInt());
 		verify(postRepo, times(1)).deleteById(anyInt());
+		verify(searchIndex, times(1)).remove(anyInt());
 	}
 	@Test
 	void testRemovePost_Failure() {
@@ -249,22 +435,46 @@ class PostServiceImplTest {
 	
 	@Test
 	void testRemoveMultiplePost_Success() throws DeveloperCommunityException {
-		when(postRepo.existsById(5)).thenReturn(true);
-		when(postRepo.existsById(6)).thenReturn(true);
-		doNothing().when(postRepo).deleteAllById(List.of(5, 6));
-		
-		String result = service.removeMultiplePost(List.of(5, 6));
-		
-		assertNotNull(result);
-		assertEquals("The posts have been deleted", result);
-		verify(postRepo, times(1)).existsById(5);
-		verify(postRepo, times(1)).existsById(6);
-		verify(postRepo, times(1)).deleteAllById(List.of(5, 6));
+		when(postRepo.findExistingIds(Set.of(5, 6))).thenReturn(List.of(6, 5));
+		when(voteRepo.deleteOnPosts(Set.of(5, 6))).thenReturn(9);
+		when(commentRepo.deleteOnPosts(Set.of(5, 6))).thenReturn(4);
+		when(respRepo.deleteOnPosts(Set.of(5, 6))).thenReturn(3);
+		when(postRepo.deleteInBulk(Set.of(5, 6))).thenReturn(2);
+		
+		BulkDeleteDTO result = service.removeMultiplePost(List.of(5, 6, 5));
+		
+		assertEquals(new BulkDeleteDTO("The posts have been deleted", 2, 3, 4, 9), result);
+		verify(postRepo, times(1)).findExistingIds(Set.of(5, 6));
+		verify(postRepo, never()).existsById(anyInt());
+		verify(postRepo, never()).deleteAllById(any());
+		verify(searchIndex).remove(5);
+		verify(searchIndex).remove(6);
+	}
+
+	@Test
+	void testRemoveMultiplePost_RolledBack_IndexUnchanged() {
+		when(postRepo.findExistingIds(Set.of(5, 6))).thenReturn(List.of(5, 6));
+
+		transactionTemplate().executeWithoutResult(status -> {
+			assertDoesNotThrow(() -> service.removeMultiplePost(List.of(5, 6)));
+			status.setRollbackOnly();
+		});
+
+		verify(postRepo).deleteInBulk(Set.of(5, 6));
+		verifyNoInteractions(searchIndex);
+	}
+
+	@Test
+	void testRemoveMultiplePost_EmptyList() throws DeveloperCommunityException {
+		BulkDeleteDTO result = service.removeMultiplePost(List.of());
+
+		assertEquals(new BulkDeleteDTO("The posts have been deleted", 0, 0, 0, 0), result);
+		verifyNoInteractions(postRepo, respRepo, commentRepo, voteRepo);
 	}
 //	test to check if error is thrown when invalid id is given before valid id
 	@Test
 	void testRemoveMultiplePost_Failure_First() {
-		when(postRepo.existsById(8)).thenReturn(false);
+		when(postRepo.findExistingIds(Set.of(8, 5))).thenReturn(List.of(5));
 		
 		DeveloperCommunityException ex = 
 				assertThrows(DeveloperCommunityException.class, () -> {
@@ -272,13 +482,13 @@ class PostServiceImplTest {
 				});
 		
 		assertEquals("Post ID: 8 does not exist", ex.getMessage());
-		verify(postRepo, times(1)).existsById(8);
+		verifyNoInteractions(respRepo, commentRepo, voteRepo);
+		verify(postRepo, never()).deleteInBulk(any());
 	}
 //	test to check if error is thrown when invalid id is given after valid id
 	@Test
 	void testRemoveMultiplePost_Failure_Subsequent() {
-		when(postRepo.existsById(5)).thenReturn(true);
-		when(postRepo.existsById(8)).thenReturn(false);
+		when(postRepo.findExistingIds(Set.of(5, 8))).thenReturn(List.of(5));
 		
 		DeveloperCommunityException ex = 
 				assertThrows(DeveloperCommunityException.class, () -> {
@@ -286,8 +496,8 @@ class PostServiceImplTest {
 				});
 		
 		assertEquals("Post ID: 8 does not exist", ex.getMessage());
-		verify(postRepo, times(1)).existsById(5);
-		verify(postRepo, times(1)).existsById(8);
+		verifyNoInteractions(respRepo, commentRepo, voteRepo);
+		verify(postRepo, never()).deleteInBulk(any());
 	}
 	
 }
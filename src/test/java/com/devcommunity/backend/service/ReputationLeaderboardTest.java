@@ -0,0 +1,127 @@
+package com.devcommunity.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import com.devcommunity.dto.DeveloperScoreDTO;
+import com.devcommunity.repository.IDevRepo;
+import com.devcommunity.service.ReputationLeaderboard;
+
+/**
+ * Unit tests for ReputationLeaderboard
+ * Covers ordering, shared ranks, paging and rebuild in batches
+ */
+@ExtendWith(MockitoExtension.class)
+class ReputationLeaderboardTest {
+
+	@Mock
+	private IDevRepo devRepo;
+
+	private ReputationLeaderboard leaderboard;
+
+	@BeforeEach
+	void setUp() {
+		leaderboard = new ReputationLeaderboard(devRepo, 60000);
+	}
+
+	@Test
+	void testPage_HighestScoreFirstWithSharedRanks() {
+		load(score(1, 10), score(2, 40), score(3, -5), score(4, 40), score(5, 0));
+
+		List<ReputationLeaderboard.Standing> page = leaderboard.page(0, 10);
+
+		assertEquals(List.of(2, 4, 1, 5, 3), page.stream().map(ReputationLeaderboard.Standing::getDeveloperId).toList());
+		assertEquals(List.of(1, 1, 3, 4, 5), page.stream().map(ReputationLeaderboard.Standing::getRank).toList());
+		assertEquals(-5, page.get(4).getScore());
+	}
+
+	@Test
+	void testPage_LaterPageKeepsSharedRank() {
+		load(score(1, 40), score(2, 30), score(3, 30), score(4, 30), score(5, 10));
+
+		List<ReputationLeaderboard.Standing> page = leaderboard.page(2, 2);
+
+		assertEquals(List.of(3, 4), page.stream().map(ReputationLeaderboard.Standing::getDeveloperId).toList());
+		assertEquals(List.of(2, 2), page.stream().map(ReputationLeaderboard.Standing::getRank).toList());
+		assertTrue(leaderboard.page(5, 2).isEmpty());
+	}
+
+	@Test
+	void testStandingOf() {
+		load(score(7, 3), score(9, 12), score(11, 3));
+
+		ReputationLeaderboard.Standing standing = leaderboard.standingOf(11);
+		assertEquals(2, standing.getRank());
+		assertEquals(3, standing.getScore());
+		assertNull(leaderboard.standingOf(8));
+	}
+
+	@Test
+	void testOrder_ByScoreThenIdWithUnknownAsZero() {
+		load(score(1, 10), score(2, 40), score(4, -5));
+
+		assertEquals(List.of(2, 1, 3, 9, 4), leaderboard.order(new int[] { 1, 2, 3, 4, 9 }, 0, 10));
+		assertEquals(List.of(3, 9), leaderboard.order(new int[] { 1, 2, 3, 4, 9 }, 2, 2));
+		assertTrue(leaderboard.order(new int[] { 1 }, 1, 10).isEmpty());
+	}
+
+	@Test
+	void testNotReadyBeforeRebuild() {
+		assertFalse(leaderboard.isReady());
+		assertTrue(leaderboard.page(0, 10).isEmpty());
+		assertNull(leaderboard.standingOf(1));
+	}
+
+	@Test
+	void testRebuild_ReadsAllBatches() {
+		List<DeveloperScoreDTO> first = new ArrayList<>();
+		for (int id = 1; id <= 10000; id++) {
+			first.add(score(id, id % 100));
+		}
+		when(devRepo.findScoreBatchAfter(eq(0), any(Pageable.class))).thenReturn(first);
+		when(devRepo.findScoreBatchAfter(eq(10000), any(Pageable.class))).thenReturn(List.of(score(10001, 500)));
+
+		leaderboard.rebuild();
+
+		assertTrue(leaderboard.isReady());
+		assertEquals(10001, leaderboard.size());
+		assertEquals(1, leaderboard.standingOf(10001).getRank());
+		// 100 developers for each score from 0 to 99, plus the one above them
+		assertEquals(2, leaderboard.standingOf(99).getRank());
+		assertEquals(9902, leaderboard.standingOf(100).getRank());
+	}
+
+	@Test
+	void testRebuild_FailureKeepsPreviousSnapshot() {
+		load(score(1, 5));
+		when(devRepo.findScoreBatchAfter(eq(0), any(Pageable.class))).thenThrow(new IllegalStateException("down"));
+
+		leaderboard.rebuild();
+
+		assertEquals(1, leaderboard.size());
+	}
+
+	private void load(DeveloperScoreDTO... scores) {
+		when(devRepo.findScoreBatchAfter(eq(0), any(Pageable.class))).thenReturn(List.of(scores));
+		leaderboard.rebuild();
+	}
+
+	private static DeveloperScoreDTO score(int developerId, long score) {
+		return new DeveloperScoreDTO(developerId, score);
+	}
+}
@@ -3,16 +3,22 @@ package com.devcommunity.backend.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,17 +26,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 
+import com.devcommunity.dto.BulkDeleteDTO;
 import com.devcommunity.dto.ResponseRequestDTO;
 import com.devcommunity.dto.ResponseResponseDTO;
 import com.devcommunity.entity.Developer;
 import com.devcommunity.entity.Post;
 import com.devcommunity.entity.Response;
 import com.devcommunity.exception.DeveloperCommunityException;
+import com.devcommunity.mapper.ResponseMapper;
+import com.devcommunity.repository.ICommentRepo;
 import com.devcommunity.repository.IDevRepo;
 import com.devcommunity.repository.IPostRepo;
 import com.devcommunity.repository.IResponseRepo;
+import com.devcommunity.repository.IVoteRepo;
 import com.devcommunity.service.impl.ResponseServiceImpl;
 
 /**
@@ -50,7 +59,13 @@ class ResponseServiceImplTest {
 	private IDevRepo devRepo;
 	
 	@Mock
-	private ModelMapper modelMapper;
+	private ICommentRepo commentRepo;
+	
+	@Mock
+	private IVoteRepo voteRepo;
+	
+	@Mock
+	private ResponseMapper responseMapper;
 	
 	@InjectMocks
 	private ResponseServiceImpl service;
@@ -100,15 +115,15 @@ class ResponseServiceImplTest {
 	@Test
 	void testGetAllResponseByPost_Success() throws DeveloperCommunityException {
 		when(postRepo.existsById(anyInt())).thenReturn(true);
-		when(respRepo.findByPost_postId(anyInt())).thenReturn(List.of(response));
-		when(modelMapper.map(response, ResponseResponseDTO.class)).thenReturn(respResDTO);
+		when(respRepo.findDetailByPost_postId(anyInt())).thenReturn(List.of(response));
+		when(responseMapper.toResponseDTO(response)).thenReturn(respResDTO);
 		
 		List<ResponseResponseDTO> respList = service.getAllResponseByPost(anyInt());
 		
 		assertEquals(1, respList.size());
 		assertEquals(respResDTO, respList.get(0));
 		verify(postRepo, times(1)).existsById(anyInt());
-		verify(respRepo, times(1)).findByPost_postId(anyInt());
+		verify(respRepo, times(1)).findDetailByPost_postId(anyInt());
 	}
 	@Test
 	void testGetAllResponsesByPost_Failure_Post() {
@@ -125,7 +140,7 @@ class ResponseServiceImplTest {
 	@Test
 	void testGetAllResponsesByPost_Failure_Resp() {
 		when(postRepo.existsById(anyInt())).thenReturn(true);
-		when(respRepo.findByPost_postId(anyInt())).thenReturn(List.of());
+		when(respRepo.findDetailByPost_postId(anyInt())).thenReturn(List.of());
 		
 		DeveloperCommunityException ex = 
 				assertThrows(DeveloperCommunityException.class, () -> {
@@ -134,14 +149,14 @@ class ResponseServiceImplTest {
 		
 		assertEquals("There are no responses for this post", ex.getMessage());
 		verify(postRepo, times(1)).existsById(anyInt());
-		verify(respRepo, times(1)).findByPost_postId(anyInt());
+		verify(respRepo, times(1)).findDetailByPost_postId(anyInt());
 	}
 	
 	@Test
 	void testGetAllResponseByDeveloper_Success() throws DeveloperCommunityException {
 		when(devRepo.existsById(anyInt())).thenReturn(true);
 		when(respRepo.findByDeveloper_id(anyInt())).thenReturn(List.of(response));
-		when(modelMapper.map(response, ResponseResponseDTO.class)).thenReturn(respResDTO);
+		when(responseMapper.toResponseDTO(response)).thenReturn(respResDTO);
 		
 		List<ResponseResponseDTO> respList = service.getAllResponseByDeveloper(anyInt());
 		
@@ -179,7 +194,7 @@ class ResponseServiceImplTest {
 	
 	@Test
 	void testAddResponse() {
-		when(modelMapper.map(respReqDTO, Response.class)).thenReturn(response);
+		when(responseMapper.toEntity(respReqDTO)).thenReturn(response);
 		when(postRepo.findById(anyInt())).thenReturn(Optional.of(post));
 		when(devRepo.findById(anyInt())).thenReturn(Optional.of(developer));
 		when(respRepo.save(response)).thenReturn(response);
@@ -193,12 +208,47 @@ class ResponseServiceImplTest {
 		verify(respRepo, times(1)).save(response);
 	}
 	
+	@Test
+	void testAddResponses_Success() throws DeveloperCommunityException {
+		when(postRepo.findExistingIds(Set.of(5))).thenReturn(List.of(5));
+		when(devRepo.findExistingIds(Set.of(2))).thenReturn(List.of(2));
+		when(postRepo.getReferenceById(5)).thenReturn(post);
+		when(devRepo.getReferenceById(2)).thenReturn(developer);
+		when(responseMapper.toEntity(respReqDTO)).thenAnswer(inv -> new Response());
+		when(respRepo.saveAll(anyList())).thenAnswer(inv -> {
+			List<Response> saved = new ArrayList<>(inv.getArgument(0));
+			for (int i = 0; i < saved.size(); i++) {
+				saved.get(i).setRespId(20 + i);
+			}
+			return saved;
+		});
+
+		List<Integer> ids = service.addResponses(List.of(respReqDTO, respReqDTO));
+
+		assertEquals(List.of(20, 21), ids);
+		verify(postRepo, never()).findById(anyInt());
+		verify(respRepo, never()).save(any());
+	}
+
+	@Test
+	void testAddResponses_UnknownPost() {
+		when(postRepo.findExistingIds(Set.of(5))).thenReturn(List.of());
+
+		DeveloperCommunityException ex =
+				assertThrows(DeveloperCommunityException.class, () -> {
+					service.addResponses(List.of(respReqDTO));
+				});
+
+		assertEquals("Post ID: 5 does not exist", ex.getMessage());
+		verify(respRepo, never()).saveAll(any());
+	}
+
 	@Test
 	void testUpdateResponse_Success() throws DeveloperCommunityException {
 		when(respRepo.findById(anyInt())).thenReturn(Optional.of(response));
 		when(devRepo.findById(anyInt())).thenReturn(Optional.of(developer));
 		when(postRepo.findById(anyInt())).thenReturn(Optional.of(post));
-		when(modelMapper.map(respReqDTO, Response.class)).thenReturn(response);
+		when(responseMapper.toEntity(respReqDTO)).thenReturn(response);
 		when(respRepo.save(response)).thenReturn(response);
 		
 		String result = service.updateResponse(anyInt(), respReqDTO);
@@ -277,22 +327,22 @@ class ResponseServiceImplTest {
 	
 	@Test
 	void testRemoveMultipleResponse_Success() throws DeveloperCommunityException {
-		when(respRepo.existsById(2)).thenReturn(true);
-		when(respRepo.existsById(3)).thenReturn(true);
-		doNothing().when(respRepo).deleteAllById(List.of(2, 3));
+		when(respRepo.findExistingIds(Set.of(2, 3))).thenReturn(List.of(2, 3));
+		when(voteRepo.deleteOnResponses(Set.of(2, 3))).thenReturn(5);
+		when(commentRepo.deleteOnResponses(Set.of(2, 3))).thenReturn(4);
+		when(respRepo.deleteInBulk(Set.of(2, 3))).thenReturn(2);
 		
-		String result = service.removeMultipleResponse(List.of(2, 3));
+		BulkDeleteDTO result = service.removeMultipleResponse(List.of(2, 3));
 		
-		assertNotNull(result);
-		assertEquals("The responses have been deleted", result);
-		verify(respRepo, times(1)).existsById(2);
-		verify(respRepo, times(1)).existsById(3);
-		verify(respRepo, times(1)).deleteAllById(List.of(2, 3));
+		assertEquals(new BulkDeleteDTO("The responses have been deleted", 0, 2, 4, 5), result);
+		verify(respRepo, times(1)).findExistingIds(Set.of(2, 3));
+		verify(respRepo, never()).existsById(anyInt());
+		verify(respRepo, never()).deleteAllById(any());
 	}
 //	test to check if error is thrown when invalid id is given before valid id
 	@Test
 	void testRemoveMultipleResponse_Failure_First() {
-		when(respRepo.existsById(8)).thenReturn(false);
+		when(respRepo.findExistingIds(Set.of(8, 2))).thenReturn(List.of(2));
 		
 		DeveloperCommunityException ex = 
 				assertThrows(DeveloperCommunityException.class, () -> {
@@ -300,13 +350,13 @@ class ResponseServiceImplTest {
 				});
 		
 		assertEquals("Response ID: 8 does not exist", ex.getMessage());
-		verify(respRepo, times(1)).existsById(8);
+		verifyNoInteractions(commentRepo, voteRepo);
+		verify(respRepo, never()).deleteInBulk(any());
 	}
 //	test to check if error is thrown when invalid id is given after valid id
 	@Test
 	void testRemoveMultipleResponse_Failure_Subsequent() {
-		when(respRepo.existsById(2)).thenReturn(true);
-		when(respRepo.existsById(8)).thenReturn(false);
+		when(respRepo.findExistingIds(Set.of(2, 8))).thenReturn(List.of(2));
 		
 		DeveloperCommunityException ex = 
 				assertThrows(DeveloperCommunityException.class, () -> {
@@ -314,8 +364,8 @@ class ResponseServiceImplTest {
 				});
 		
 		assertEquals("Response ID: 8 does not exist", ex.getMessage());
-		verify(respRepo, times(1)).existsById(2);
-		verify(respRepo, times(1)).existsById(8);
+		verifyNoInteractions(commentRepo, voteRepo);
+		verify(respRepo, never()).deleteInBulk(any());
 	}
 	
 }
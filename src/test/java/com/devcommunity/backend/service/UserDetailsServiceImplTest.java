@@ -0,0 +1,70 @@
+package com.devcommunity.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.devcommunity.entity.User;
+import com.devcommunity.repository.IAuthRepo;
+import com.devcommunity.service.UserDetailsServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class UserDetailsServiceImplTest {
+
+    @Mock
+    IAuthRepo authRepo;
+
+    private UserDetailsServiceImpl service;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        service = new UserDetailsServiceImpl(authRepo, 60000, 100);
+        user = new User("John", "hash");
+        user.setId(1);
+    }
+
+    @Test
+    void testLoadUserByUsername_CachedAfterFirstLoad() {
+        when(authRepo.findByUsername("John")).thenReturn(Optional.of(user));
+
+        UserDetails first = service.loadUserByUsername("John");
+        UserDetails second = service.loadUserByUsername("John");
+
+        assertEquals("John", second.getUsername());
+        assertEquals("hash", second.getPassword());
+        assertSame(first, second);
+        verify(authRepo, times(1)).findByUsername("John");
+    }
+
+    @Test
+    void testEvict_ReloadsChangedUser() {
+        when(authRepo.findByUsername("John")).thenReturn(Optional.of(user));
+        service.loadUserByUsername("John");
+
+        user.setPassword("new-hash");
+        service.evict("John");
+
+        assertEquals("new-hash", service.loadUserByUsername("John").getPassword());
+        verify(authRepo, times(2)).findByUsername("John");
+    }
+
+    @Test
+    void testLoadUserByUsername_UnknownUserNotCached() {
+        when(authRepo.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("ghost"));
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("ghost"));
+        verify(authRepo, times(2)).findByUsername("ghost");
+    }
+}
@@ -13,12 +13,14 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import com.devcommunity.dto.UserRequestDTO;
 import com.devcommunity.entity.User;
 import com.devcommunity.exception.DeveloperCommunityException;
 import com.devcommunity.repository.IUserRepo;
+import com.devcommunity.service.DeveloperSkillIndex;
+import com.devcommunity.service.PasswordHasher;
+import com.devcommunity.service.UserDetailsServiceImpl;
 import com.devcommunity.service.impl.UserServiceImpl;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,11 +31,17 @@ class UserServiceImplTest {
     UserServiceImpl service;
     
     @Mock
-    private BCryptPasswordEncoder encoder;
+    private PasswordHasher encoder;
     
     @Mock
     IUserRepo repo;
 
+    @Mock
+    UserDetailsServiceImpl userDetailsService;
+
+    @Mock
+    DeveloperSkillIndex skillIndex;
+
     private User user;
     private UserRequestDTO userDTO;
 
@@ -78,6 +86,17 @@ class UserServiceImplTest {
 
         assertEquals("User updated successfully", result);
         verify(repo).save(user);
+        verify(userDetailsService).evict("John");
+    }
+
+    @Test
+    void testUpdateUser_RenameEvictsOldUsername() throws DeveloperCommunityException {
+        when(repo.findById(1)).thenReturn(Optional.of(user));
+
+        service.updateUser(1, new UserRequestDTO("Johnny", null));
+
+        assertEquals("Johnny", user.getUsername());
+        verify(userDetailsService).evict("John");
     }
 
     @Test
@@ -113,6 +132,8 @@ class UserServiceImplTest {
         String result = service.deleteUser(1);
 
         assertEquals("User deleted successfully", result);
+        verify(userDetailsService).evict("John");
+        verify(skillIndex).remove(1);
     }
 
     @Test
@@ -0,0 +1,194 @@
+package com.devcommunity.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import com.devcommunity.repository.VoteWriter;
+import com.devcommunity.service.VoteBuffer;
+import com.devcommunity.util.BufferedVote;
+import com.devcommunity.util.BufferedVote.Target;
+import com.devcommunity.util.VoteType;
+
+class VoteBufferTest {
+
+	@TempDir
+	Path spillDir;
+
+	private VoteWriter voteWriter;
+	private VoteBuffer buffer;
+
+	@BeforeEach
+	void setUp() {
+		voteWriter = mock(VoteWriter.class);
+		buffer = newBuffer();
+	}
+
+	private VoteBuffer newBuffer() {
+		VoteBuffer voteBuffer = new VoteBuffer(voteWriter, spillDir.toString(), false, 4);
+		voteBuffer.recover();
+		return voteBuffer;
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<BufferedVote> flushAndCapture(VoteBuffer voteBuffer) {
+		ArgumentCaptor<Collection<BufferedVote>> captor = ArgumentCaptor.forClass(Collection.class);
+		voteBuffer.flush();
+		verify(voteWriter).write(captor.capture());
+		return new ArrayList<>(captor.getValue());
+	}
+
+	@Test
+	void testSubmit_DeduplicatesPerDeveloperAndTarget() {
+		buffer.submit(new BufferedVote(1, Target.POST, 10, VoteType.UPVOTE));
+		buffer.submit(new BufferedVote(1, Target.POST, 10, VoteType.DOWNVOTE));
+		buffer.submit(new BufferedVote(1, Target.RESPONSE, 10, VoteType.UPVOTE));
+		buffer.submit(new BufferedVote(2, Target.POST, 10, VoteType.UPVOTE));
+
+		assertEquals(3, buffer.pending());
+
+		List<BufferedVote> written = flushAndCapture(buffer);
+		assertEquals(3, written.size());
+		assertEquals(VoteType.DOWNVOTE, written.stream()
+				.filter(v -> v.getDeveloperId() == 1 && v.getTarget() == Target.POST).findFirst().get().getVoteType());
+		assertEquals(0, buffer.pending());
+	}
+
+	@Test
+	void testFlush_DeletesSpillSegmentsOnceStored() throws IOException {
+		buffer.submit(new BufferedVote(1, Target.COMMENT, 5, VoteType.UPVOTE));
+		try (var files = Files.list(spillDir)) {
+			assertEquals(1, files.count());
+		}
+
+		buffer.flush();
+
+		try (var files = Files.list(spillDir)) {
+			assertEquals(0, files.count());
+		}
+	}
+
+	@Test
+	void testRecover_ReplaysVotesLeftBehindByCrash() {
+		buffer.submit(new BufferedVote(1, Target.POST, 10, VoteType.UPVOTE));
+		buffer.submit(new BufferedVote(1, Target.POST, 10, VoteType.DOWNVOTE));
+		buffer.submit(new BufferedVote(2, Target.COMMENT, 7, VoteType.UPVOTE));
+
+		// a new instance on the same directory, as after a restart without shutdown
+		VoteBuffer restarted = newBuffer();
+
+		assertEquals(2, restarted.pending());
+		List<BufferedVote> written = flushAndCapture(restarted);
+		assertEquals(2, written.size());
+		assertEquals(VoteType.DOWNVOTE, written.stream()
+				.filter(v -> v.getTarget() == Target.POST).findFirst().get().getVoteType());
+	}
+
+	@Test
+	void testFlush_FailureKeepsVotesAndNewerVoteWins() throws IOException {
+		when(voteWriter.write(anyCollection())).thenThrow(new RuntimeException("db down")).thenReturn(1);
+		buffer.submit(new BufferedVote(1, Target.POST, 10, VoteType.UPVOTE));
+
+		buffer.flush();
+		assertEquals(1, buffer.pending());
+		try (var files = Files.list(spillDir)) {
+			assertEquals(1, files.count());
+		}
+
+		buffer.submit(new BufferedVote(1, Target.POST, 10, VoteType.DOWNVOTE));
+		buffer.flush();
+
+		assertEquals(0, buffer.pending());
+		try (var files = Files.list(spillDir)) {
+			assertEquals(0, files.count());
+		}
+	}
+
+	@Test
+	void testSubmit_SyncedWritesShareForcesAcrossThreads() throws Exception {
+		VoteBuffer synced = new VoteBuffer(voteWriter, spillDir.toString(), true, 4);
+		Set<BufferedVote.Key> stored = ConcurrentHashMap.newKeySet();
+		when(voteWriter.write(anyCollection())).thenAnswer(invocation -> {
+			Collection<BufferedVote> votes = invocation.getArgument(0);
+			votes.forEach(vote -> stored.add(vote.key()));
+			return votes.size();
+		});
+		int threads = 8;
+		int votesPerThread = 100;
+		ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicBoolean submitting = new AtomicBoolean(true);
+		try {
+			List<Future<?>> submitters = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				int developerId = t;
+				submitters.add(executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < votesPerThread; i++) {
+						synced.submit(new BufferedVote(developerId, Target.POST, i, VoteType.UPVOTE));
+					}
+					return null;
+				}));
+			}
+			// flushes keep sealing segments while the submitters force them
+			Future<?> flusher = executor.submit(() -> {
+				while (submitting.get()) {
+					synced.flush();
+				}
+			});
+			start.countDown();
+			for (Future<?> submitter : submitters) {
+				submitter.get(30, TimeUnit.SECONDS);
+			}
+			submitting.set(false);
+			flusher.get(30, TimeUnit.SECONDS);
+		} finally {
+			executor.shutdownNow();
+		}
+		synced.flush();
+
+		assertEquals(threads * votesPerThread, stored.size());
+		assertTrue(synced.getSyncCount() > 0);
+		assertTrue(synced.getSyncCount() <= threads * votesPerThread);
+		try (var files = Files.list(spillDir)) {
+			assertEquals(0, files.count());
+		}
+	}
+
+	@Test
+	void testFlush_EmptyBufferSkipsDatabase() {
+		buffer.flush();
+
+		verify(voteWriter, never()).write(anyCollection());
+	}
+
+	@Test
+	void testFromLine_IgnoresTornLine() {
+		assertEquals(null, BufferedVote.fromLine("1,POST,1"));
+		assertEquals("1,POST,1,UPVOTE", BufferedVote.fromLine("1,POST,1,UPVOTE").toLine());
+	}
+}
@@ -5,21 +5,29 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import com.devcommunity.dto.VoteBatchResultDTO;
 import com.devcommunity.dto.VoteRequestDTO;
 import com.devcommunity.dto.VoteResponseDTO;
 import com.devcommunity.entity.Comment;
@@ -28,14 +36,23 @@ import com.devcommunity.entity.Post;
 import com.devcommunity.entity.Response;
 import com.devcommunity.entity.Vote;
 import com.devcommunity.exception.DeveloperCommunityException;
+import com.devcommunity.mapper.VoteMapper;
 import com.devcommunity.repository.ICommentRepo;
 import com.devcommunity.repository.IDevRepo;
 import com.devcommunity.repository.IPostRepo;
 import com.devcommunity.repository.IResponseRepo;
 import com.devcommunity.repository.IVoteRepo;
+import com.devcommunity.repository.VoteWriter;
+import com.devcommunity.service.ReputationService;
+import com.devcommunity.service.VoteBuffer;
+import com.devcommunity.service.VoteTallyService;
 import com.devcommunity.service.impl.VoteServiceImpl;
+import com.devcommunity.util.BufferedVote;
 import com.devcommunity.util.VoteType;
 
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
 @ExtendWith(MockitoExtension.class)
 class VoteServiceImplTest {
 
@@ -50,7 +67,17 @@ class VoteServiceImplTest {
     @Mock 
     private ICommentRepo commentRepo;
     @Mock 
-    private ModelMapper modelMapper;
+    private VoteMapper voteMapper;
+    @Mock 
+    private ReputationService reputationService;
+    @Mock 
+    private VoteTallyService voteTallyService;
+    @Mock 
+    private VoteBuffer voteBuffer;
+    @Mock 
+    private VoteWriter voteWriter;
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
 
     @InjectMocks 
     private VoteServiceImpl voteServiceImpl;
@@ -65,7 +92,7 @@ class VoteServiceImplTest {
         dto.setVoteType(VoteType.UPVOTE);
 
         when(voteRepo.findByPost_PostId(1)).thenReturn(List.of(vote));
-        when(modelMapper.map(vote, VoteResponseDTO.class)).thenReturn(dto);
+        when(voteMapper.toResponseDTO(vote)).thenReturn(dto);
 
         List<VoteResponseDTO> result = voteServiceImpl.getVotesByPostId(1);
 
@@ -94,7 +121,7 @@ class VoteServiceImplTest {
            dto.setVoteType(VoteType.UPVOTE);
 
            when(voteRepo.findByResponse_RespId(1)).thenReturn(List.of(vote));
-           when(modelMapper.map(vote, VoteResponseDTO.class)).thenReturn(dto);
+           when(voteMapper.toResponseDTO(vote)).thenReturn(dto);
 
            List<VoteResponseDTO> result = voteServiceImpl.getVotesByRespId(1);
 
@@ -121,7 +148,7 @@ class VoteServiceImplTest {
            dto.setVoteType(VoteType.DOWNVOTE);
 
            when(voteRepo.findByComment_CommentId(1)).thenReturn(List.of(vote));
-           when(modelMapper.map(vote, VoteResponseDTO.class)).thenReturn(dto);
+           when(voteMapper.toResponseDTO(vote)).thenReturn(dto);
 
            List<VoteResponseDTO> result = voteServiceImpl.getVotesByCommentId(1);
 
@@ -152,17 +179,8 @@ class VoteServiceImplTest {
            Post post = new Post();
            post.setPostId(101);
 
-           Vote vote = new Vote();
-           vote.setVoteType(VoteType.UPVOTE);
-           vote.setDeveloper(developer);
-           vote.setPost(post);
-
-           Vote savedVote = new Vote();
-           savedVote.setVoteType(VoteType.UPVOTE);
-           savedVote.setDeveloper(developer);
-           savedVote.setPost(post);
-
            VoteResponseDTO responseDTO = new VoteResponseDTO();
+           responseDTO.setVoteId(5);
            responseDTO.setVoteType(VoteType.UPVOTE);
            responseDTO.setDeveloperId(1);
            responseDTO.setPostId(101);
@@ -170,17 +188,95 @@ class VoteServiceImplTest {
            // Mock dependencies
            when(devRepo.findById(1)).thenReturn(Optional.of(developer));
            when(postRepo.findById(101)).thenReturn(Optional.of(post));
-           when(voteRepo.save(any(Vote.class))).thenReturn(savedVote);
-           when(modelMapper.map(savedVote, VoteResponseDTO.class)).thenReturn(responseDTO);
+           when(voteWriter.upsert(BufferedVote.Target.POST, 101, 1, VoteType.UPVOTE))
+                   .thenReturn(new VoteWriter.Upsert(5, VoteWriter.Change.INSERTED));
+           when(voteMapper.toResponseDTO(any(Vote.class))).thenReturn(responseDTO);
 
            // Act
            VoteResponseDTO result = voteServiceImpl.addVote(voteDto);
 
            // Assert
            assertNotNull(result);
+           assertEquals(5, result.getVoteId());
            assertEquals(VoteType.UPVOTE, result.getVoteType());
            assertEquals(1, result.getDeveloperId());
            assertEquals(101, result.getPostId());
+
+           ArgumentCaptor<Vote> captor = ArgumentCaptor.forClass(Vote.class);
+           verify(reputationService).applyVote(captor.capture());
+           assertEquals(5, captor.getValue().getVoteId());
+           assertEquals(post, captor.getValue().getPost());
+           verify(voteTallyService).applyVote(captor.getValue());
+           verify(voteRepo, never()).findByDeveloperIdAndPost_PostId(anyInt(), anyInt());
+       }
+
+       @Test
+       void testAddVote_FlipChangesTalliesOnce() throws DeveloperCommunityException {
+           VoteRequestDTO voteDto = new VoteRequestDTO();
+           voteDto.setDeveloperId(1);
+           voteDto.setVoteType(VoteType.DOWNVOTE);
+           voteDto.setRespId(7);
+
+           Developer developer = new Developer();
+           developer.setId(1);
+           Response response = new Response();
+           response.setRespId(7);
+
+           when(devRepo.findById(1)).thenReturn(Optional.of(developer));
+           when(responseRepo.findById(7)).thenReturn(Optional.of(response));
+           when(voteWriter.upsert(BufferedVote.Target.RESPONSE, 7, 1, VoteType.DOWNVOTE))
+                   .thenReturn(new VoteWriter.Upsert(3, VoteWriter.Change.CHANGED));
+
+           voteServiceImpl.addVote(voteDto);
+
+           verify(reputationService).changeVote(any(Vote.class), eq(VoteType.UPVOTE));
+           verify(voteTallyService).changeVote(any(Vote.class), eq(VoteType.UPVOTE));
+           verify(reputationService, never()).applyVote(any());
+           verify(voteTallyService, never()).applyVote(any());
+       }
+
+       @Test
+       void testAddVote_SameVoteAgainIsNoOp() throws DeveloperCommunityException {
+           VoteRequestDTO voteDto = new VoteRequestDTO();
+           voteDto.setDeveloperId(1);
+           voteDto.setVoteType(VoteType.UPVOTE);
+           voteDto.setCommentId(4);
+
+           Developer developer = new Developer();
+           developer.setId(1);
+           Comment comment = new Comment();
+           comment.setCommentId(4);
+
+           when(devRepo.findById(1)).thenReturn(Optional.of(developer));
+           when(commentRepo.findById(4)).thenReturn(Optional.of(comment));
+           when(voteWriter.upsert(BufferedVote.Target.COMMENT, 4, 1, VoteType.UPVOTE))
+                   .thenReturn(new VoteWriter.Upsert(9, VoteWriter.Change.UNCHANGED));
+
+           voteServiceImpl.addVote(voteDto);
+
+           verify(reputationService, never()).applyVote(any());
+           verify(reputationService, never()).changeVote(any(), any());
+           verify(voteTallyService, never()).applyVote(any());
+           verify(voteTallyService, never()).changeVote(any(), any());
+       }
+
+       @Test
+       void testDeleteVote_RevertsReputation() throws DeveloperCommunityException {
+           Developer developer = new Developer();
+           developer.setId(1);
+
+           Vote vote = new Vote();
+           vote.setVoteId(7);
+           vote.setVoteType(VoteType.DOWNVOTE);
+           vote.setDeveloper(developer);
+           vote.setPost(new Post());
+
+           when(voteRepo.findById(7)).thenReturn(Optional.of(vote));
+
+           assertEquals("Vote deleted successfully", voteServiceImpl.deleteVote(7));
+           verify(reputationService).revertVote(vote);
+           verify(voteTallyService).revertVote(vote);
+           verify(voteRepo).deleteById(7);
        }
 
 
@@ -226,7 +322,7 @@ class VoteServiceImplTest {
         dto.setVoteType(VoteType.UPVOTE);
 
         when(voteRepo.findByVoteId(1)).thenReturn(Optional.of(vote));
-        when(modelMapper.map(vote, VoteResponseDTO.class)).thenReturn(dto);
+        when(voteMapper.toResponseDTO(vote)).thenReturn(dto);
 
         Optional<VoteResponseDTO> result = voteServiceImpl.getVoteByVoteId(1);
 
@@ -236,7 +332,7 @@ class VoteServiceImplTest {
   
     @Test
     void testCountByVoteTypeAndComment_CommentIdSuccess() {
-        when(voteRepo.countByVoteTypeAndComment_CommentId(VoteType.UPVOTE, 1)).thenReturn(5);
+        when(commentRepo.findUpVotesByCommentId(1)).thenReturn(Optional.of(5));
 
         String result = voteServiceImpl.countByVoteTypeAndComment_CommentId("UPVOTE", 1);
         int idx = result.lastIndexOf(":");
@@ -253,4 +349,95 @@ class VoteServiceImplTest {
 
         assertEquals("Invalid vote type: INVALID_TYPE", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSubmitVote_BuffersVoteOnResponse() throws DeveloperCommunityException {
+        VoteRequestDTO dto = new VoteRequestDTO();
+        dto.setDeveloperId(3);
+        dto.setRespId(9);
+        dto.setVoteType(VoteType.DOWNVOTE);
+
+        voteServiceImpl.submitVote(dto);
+
+        ArgumentCaptor<BufferedVote> captor = ArgumentCaptor.forClass(BufferedVote.class);
+        verify(voteBuffer).submit(captor.capture());
+        assertEquals("3,RESPONSE,9,DOWNVOTE", captor.getValue().toLine());
+    }
+
+    @Test
+    void testSubmitVote_NoTarget() {
+        VoteRequestDTO dto = new VoteRequestDTO();
+        dto.setDeveloperId(3);
+        dto.setVoteType(VoteType.UPVOTE);
+
+        assertThrows(DeveloperCommunityException.class, () -> voteServiceImpl.submitVote(dto));
+        verify(voteBuffer, never()).submit(any());
+    }
+
+    @Test
+    void testAddVotes_StatusPerVote() {
+        List<VoteRequestDTO> batch = List.of(
+                voteOn(1, 10, null, VoteType.UPVOTE),
+                voteOn(1, null, 20, VoteType.UPVOTE),
+                voteOn(1, 10, null, VoteType.DOWNVOTE),
+                voteOn(2, null, null, VoteType.UPVOTE),
+                voteOn(99, 10, null, VoteType.UPVOTE),
+                voteOn(2, 11, null, VoteType.UPVOTE),
+                voteOn(2, null, 20, VoteType.DOWNVOTE));
+        when(devRepo.findExistingIds(any())).thenReturn(List.of(1, 2));
+        when(postRepo.findExistingIds(any())).thenReturn(List.of(10));
+        when(responseRepo.findExistingIds(any())).thenReturn(List.of(20));
+        when(voteWriter.writeEach(any())).thenReturn(
+                List.of(VoteWriter.Change.INSERTED, VoteWriter.Change.CHANGED, VoteWriter.Change.UNCHANGED));
+
+        List<VoteBatchResultDTO> results = voteServiceImpl.addVotes(batch);
+
+        assertEquals(List.of(VoteBatchResultDTO.Status.SUPERSEDED, VoteBatchResultDTO.Status.INSERTED,
+                VoteBatchResultDTO.Status.CHANGED, VoteBatchResultDTO.Status.INVALID,
+                VoteBatchResultDTO.Status.NOT_FOUND, VoteBatchResultDTO.Status.NOT_FOUND,
+                VoteBatchResultDTO.Status.UNCHANGED), results.stream().map(VoteBatchResultDTO::getStatus).toList());
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6), results.stream().map(VoteBatchResultDTO::getIndex).toList());
+        assertEquals("Developer not found", results.get(4).getMessage());
+        assertEquals("Post not found with ID: 11", results.get(5).getMessage());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BufferedVote>> captor = ArgumentCaptor.forClass(List.class);
+        verify(voteWriter).writeEach(captor.capture());
+        assertEquals(List.of("1,RESPONSE,20,UPVOTE", "1,POST,10,DOWNVOTE", "2,RESPONSE,20,DOWNVOTE"),
+                captor.getValue().stream().map(BufferedVote::toLine).toList());
+        verify(commentRepo, never()).findExistingIds(any());
+    }
+
+    @Test
+    void testAddVotes_NothingToWrite() {
+        List<VoteBatchResultDTO> results = voteServiceImpl.addVotes(List.of(voteOn(1, null, null, VoteType.UPVOTE)));
+
+        assertEquals(VoteBatchResultDTO.Status.INVALID, results.get(0).getStatus());
+        verify(devRepo, never()).findExistingIds(any());
+        verify(voteWriter, never()).writeEach(any());
+    }
+
+    @Test
+    void testAddVotes_InvalidVoteReportedNotRejected() {
+        when(devRepo.findExistingIds(any())).thenReturn(List.of(1));
+        when(postRepo.findExistingIds(any())).thenReturn(List.of(10));
+        when(voteWriter.writeEach(any())).thenReturn(List.of(VoteWriter.Change.INSERTED));
+
+        List<VoteBatchResultDTO> results = voteServiceImpl.addVotes(
+                List.of(voteOn(0, 10, null, null), voteOn(1, 10, null, VoteType.UPVOTE)));
+
+        assertEquals(VoteBatchResultDTO.Status.INVALID, results.get(0).getStatus());
+        assertEquals("Developer ID must be a positive number; Vote type must not be null", results.get(0).getMessage());
+        assertEquals(VoteBatchResultDTO.Status.INSERTED, results.get(1).getStatus());
+        verify(devRepo).findExistingIds(Set.of(1));
+    }
+
+    private static VoteRequestDTO voteOn(int developerId, Integer postId, Integer respId, VoteType voteType) {
+        VoteRequestDTO dto = new VoteRequestDTO();
+        dto.setDeveloperId(developerId);
+        dto.setPostId(postId);
+        dto.setRespId(respId);
+        dto.setVoteType(voteType);
+        return dto;
+    }
+}